@@ -0,0 +1,177 @@
+package de.unibremen.swp2.kcb.benchmark;
+
+import de.unibremen.swp2.kcb.model.Job;
+import de.unibremen.swp2.kcb.model.Locations.Workstation;
+import de.unibremen.swp2.kcb.model.Procedure;
+import de.unibremen.swp2.kcb.model.ProcessStep;
+import de.unibremen.swp2.kcb.model.StateMachine.State;
+import de.unibremen.swp2.kcb.model.StateMachine.StateExec;
+import de.unibremen.swp2.kcb.model.StateMachine.StateHistory;
+import de.unibremen.swp2.kcb.model.StateMachine.StateMachine;
+import de.unibremen.swp2.kcb.model.parameter.Parameter;
+import de.unibremen.swp2.kcb.model.parameter.Value;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds synthetic in-memory {@link Job} graphs of configurable size for the benchmarks.
+ * Every procedure executes a {@link StateMachine} whose last state is the "Transport" state,
+ * like the state machines created by the web app.
+ *
+ * @author Marius
+ */
+final class JobGraph {
+
+    /**
+     * Name of the state procedures wait in until their assembly is collected
+     */
+    static final String TRANSPORT = "Transport";
+
+    /**
+     * Point in time all StateExecs are started at
+     */
+    private static final LocalDateTime START = LocalDateTime.of(2020, 3, 1, 8, 0);
+
+    /**
+     * Utility class, no instances.
+     */
+    private JobGraph() {
+    }
+
+    /**
+     * Create a StateMachine with the given number of states. The last state is the "Transport" state.
+     *
+     * @param states number of states, at least one
+     * @return the StateMachine
+     */
+    static StateMachine stateMachine(final int states) {
+        final List<State> stateList = new ArrayList<>();
+        for (int i = 0; i < states - 1; i++)
+            stateList.add(state("State " + i));
+        stateList.add(state(TRANSPORT));
+
+        final StateMachine stateMachine = new StateMachine();
+        stateMachine.setName("StateMachine " + states);
+        stateMachine.setStateList(stateList);
+        return stateMachine;
+    }
+
+    /**
+     * Create a Job with the given number of procedures all executing the given StateMachine.
+     * The first half of the procedures is complete, the current procedure is in the middle of its StateMachine
+     * and the remaining procedures haven't been started.
+     *
+     * @param stateMachine the StateMachine of every procedure
+     * @param procedures   number of procedures
+     * @param values       number of values of every procedure
+     * @return the Job
+     */
+    static Job job(final StateMachine stateMachine, final int procedures, final int values) {
+        final List<Procedure> procedureList = new ArrayList<>();
+        final int current = procedures / 2;
+        final int states = stateMachine.getStateList().size();
+
+        for (int i = 0; i < procedures; i++) {
+            final Procedure procedure;
+            if (i < current)
+                procedure = procedure(stateMachine, i, states, true);
+            else if (i == current)
+                procedure = procedure(stateMachine, i, Math.max(1, states / 2), false);
+            else
+                procedure = procedure(stateMachine, i, 0, false);
+            procedure.setValues(values(values));
+            procedureList.add(procedure);
+        }
+
+        final Job job = new Job();
+        job.setName("Job " + procedures);
+        job.setProcedures(procedureList);
+        return job;
+    }
+
+    /**
+     * Create a procedure that executed every state of the given StateMachine and waits in the "Transport" state.
+     *
+     * @param stateMachine the StateMachine of the procedure
+     * @return the procedure
+     */
+    static Procedure collectableProcedure(final StateMachine stateMachine) {
+        final int states = stateMachine.getStateList().size();
+        final Procedure procedure = procedure(stateMachine, 0, states, false);
+        procedure.setValues(new ArrayList<>());
+        return procedure;
+    }
+
+    /**
+     * Create a procedure whose StateHistory contains one StateExec for each of the first executed states.
+     * All StateExecs are finished, except the last one if the procedure isn't finished.
+     *
+     * @param stateMachine the StateMachine of the procedure
+     * @param index        index of the procedure in its job
+     * @param executed     number of executed states
+     * @param finished     whether the last StateExec is finished
+     * @return the procedure
+     */
+    private static Procedure procedure(final StateMachine stateMachine, final int index,
+                                       final int executed, final boolean finished) {
+        final Workstation workstation = new Workstation();
+        workstation.setName("Workstation " + index);
+
+        final ProcessStep processStep = new ProcessStep();
+        processStep.setName("ProcessStep " + index);
+        processStep.setStateMachine(stateMachine);
+        processStep.setWorkstation(workstation);
+
+        final List<StateExec> stateExecs = new ArrayList<>();
+        for (int i = 0; i < executed; i++) {
+            final StateExec stateExec = new StateExec();
+            stateExec.setState(stateMachine.getStateList().get(i));
+            stateExec.setStartedAt(START.plusMinutes(i));
+            if (i < executed - 1 || finished)
+                stateExec.setFinishedAt(START.plusMinutes(i + 1));
+            stateExecs.add(stateExec);
+        }
+
+        final StateHistory stateHistory = new StateHistory();
+        stateHistory.setStateExecs(stateExecs);
+
+        final Procedure procedure = new Procedure();
+        procedure.setProcessStep(processStep);
+        procedure.setStateHistory(stateHistory);
+        return procedure;
+    }
+
+    /**
+     * Create values as entered in the web app. Every other value contains a unit.
+     *
+     * @param count number of values
+     * @return the values
+     */
+    static List<Value> values(final int count) {
+        final List<Value> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final Parameter parameter = new Parameter();
+            parameter.setField("Parameter " + i);
+
+            final Value value = new Value();
+            value.setParameter(parameter);
+            value.setValue(i % 2 == 0 ? i + ".5 mm" : String.valueOf(i));
+            values.add(value);
+        }
+        return values;
+    }
+
+    /**
+     * Create a state with the given name.
+     *
+     * @param name the name
+     * @return the state
+     */
+    private static State state(final String name) {
+        final State state = new State();
+        state.setName(name);
+        return state;
+    }
+}
@@ -0,0 +1,126 @@
+package de.unibremen.swp2.kcb.benchmark;
+
+import de.unibremen.swp2.kcb.model.Job;
+import de.unibremen.swp2.kcb.model.Procedure;
+import de.unibremen.swp2.kcb.model.parameter.Value;
+import de.unibremen.swp2.kcb.service.JobService;
+import de.unibremen.swp2.kcb.service.ProcedureService;
+import de.unibremen.swp2.kcb.service.StateHistoryService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the progress queries of {@link JobService} that are evaluated for every job
+ * shown on the dashboard and the workstation views.
+ * The job is set up with its materialized progress stored, as the services store it on every change,
+ * so the plain methods measure the stored progress. Methods ending in "Recomputed" drop it first.
+ *
+ * @author Marius
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JobServiceBenchmark {
+
+    /**
+     * Number of procedures of the job
+     */
+    @Param({"5", "50", "500"})
+    private int procedures;
+
+    /**
+     * Number of states of the StateMachine of every procedure
+     */
+    @Param({"5", "20"})
+    private int states;
+
+    /**
+     * Number of values of every procedure
+     */
+    @Param({"10"})
+    private int values;
+
+    /**
+     * Service under test
+     */
+    private JobService jobService;
+
+    /**
+     * The job
+     */
+    private Job job;
+
+    /**
+     * Values of every procedure before they were parsed
+     */
+    private List<List<Value>> rawValues;
+
+    /**
+     * Wire the services, build the job graph and store the progress of the job.
+     */
+    @Setup
+    public void setUp() {
+        final StateHistoryService stateHistoryService = new StateHistoryService();
+        final ProcedureService procedureService = Services.wire(new ProcedureService(), stateHistoryService);
+        jobService = Services.wire(new JobService(), procedureService);
+
+        job = JobGraph.job(JobGraph.stateMachine(states), procedures, values);
+        jobService.refreshProgress(job);
+        rawValues = new ArrayList<>();
+        for (Procedure procedure : job.getProcedures())
+            rawValues.add(procedure.getValues());
+    }
+
+    @Benchmark
+    public Procedure getCurrentProcedure() {
+        return jobService.getCurrentProcedure(job);
+    }
+
+    @Benchmark
+    public Procedure getCurrentProcedureRecomputed() {
+        job.setProgress(null);
+        return jobService.getCurrentProcedure(job);
+    }
+
+    @Benchmark
+    public boolean isComplete() {
+        return jobService.isComplete(job);
+    }
+
+    @Benchmark
+    public boolean isCompleteRecomputed() {
+        job.setProgress(null);
+        return jobService.isComplete(job);
+    }
+
+    @Benchmark
+    public float getProgressInChain() {
+        return jobService.getProgressInChain(job);
+    }
+
+    @Benchmark
+    public float getProgressInChainRecomputed() {
+        job.setProgress(null);
+        return jobService.getProgressInChain(job);
+    }
+
+    /**
+     * Parses the values of every procedure. The unparsed values are restored first,
+     * since parsing replaces them.
+     *
+     * @return the job
+     */
+    @Benchmark
+    public Job parseValues() {
+        final List<Procedure> procedureList = job.getProcedures();
+        for (int i = 0; i < procedureList.size(); i++)
+            procedureList.get(i).setValues(rawValues.get(i));
+        return jobService.parseValues(job);
+    }
+}
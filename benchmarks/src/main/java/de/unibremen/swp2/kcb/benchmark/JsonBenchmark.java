@@ -0,0 +1,57 @@
+package de.unibremen.swp2.kcb.benchmark;
+
+import de.unibremen.swp2.kcb.model.Job;
+import de.unibremen.swp2.kcb.model.KCBEntity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the conversion of entities to json with {@link KCBEntity#toJSON()},
+ * as done by the REST-API and the exports.
+ *
+ * @author Marius
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+    /**
+     * Number of procedures of the job
+     */
+    @Param({"5", "50"})
+    private int procedures;
+
+    /**
+     * Number of values of every procedure
+     */
+    @Param({"10"})
+    private int values;
+
+    /**
+     * The job
+     */
+    private Job job;
+
+    /**
+     * Build the job graph.
+     */
+    @Setup
+    public void setUp() {
+        job = JobGraph.job(JobGraph.stateMachine(10), procedures, values);
+    }
+
+    @Benchmark
+    public String toJSON() {
+        return job.toJSON();
+    }
+
+    @Benchmark
+    public String toJSONPretty() {
+        return job.toJSON(true);
+    }
+}
@@ -0,0 +1,84 @@
+package de.unibremen.swp2.kcb.benchmark;
+
+import de.unibremen.swp2.kcb.model.Procedure;
+import de.unibremen.swp2.kcb.model.StateMachine.State;
+import de.unibremen.swp2.kcb.model.StateMachine.StateMachine;
+import de.unibremen.swp2.kcb.service.ProcedureService;
+import de.unibremen.swp2.kcb.service.StateHistoryService;
+import de.unibremen.swp2.kcb.service.StateService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the state queries of {@link ProcedureService} and {@link StateService}
+ * that are evaluated for every procedure by the transport and workstation views.
+ *
+ * @author Marius
+ */
+// Qualified, State is also the name of the StateMachine states
+@org.openjdk.jmh.annotations.State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcedureServiceBenchmark {
+
+    /**
+     * Number of states of the StateMachine
+     */
+    @Param({"5", "20", "100"})
+    private int states;
+
+    /**
+     * ProcedureService under test
+     */
+    private ProcedureService procedureService;
+
+    /**
+     * StateService under test
+     */
+    private StateService stateService;
+
+    /**
+     * StateMachine of the procedure
+     */
+    private StateMachine stateMachine;
+
+    /**
+     * Procedure waiting in the "Transport" state
+     */
+    private Procedure collectable;
+
+    /**
+     * State before the "Transport" state, the last executable state
+     */
+    private State lastExecutable;
+
+    /**
+     * Wire the services and build the procedure.
+     */
+    @Setup
+    public void setUp() {
+        procedureService = Services.wire(new ProcedureService(), new StateHistoryService());
+        stateService = new StateService();
+
+        stateMachine = JobGraph.stateMachine(states);
+        collectable = JobGraph.collectableProcedure(stateMachine);
+
+        final List<State> stateList = stateMachine.getStateList();
+        lastExecutable = stateList.get(Math.max(0, stateList.size() - 2));
+    }
+
+    @Benchmark
+    public boolean needsCollection() {
+        return procedureService.needsCollection(collectable);
+    }
+
+    @Benchmark
+    public boolean isLastExecutableState() {
+        return stateService.isLastExecutableState(lastExecutable, stateMachine);
+    }
+}
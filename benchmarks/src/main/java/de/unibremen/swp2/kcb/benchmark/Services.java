@@ -0,0 +1,62 @@
+package de.unibremen.swp2.kcb.benchmark;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Wires services outside of a CDI container. Services are created with their default constructor
+ * and the given dependencies are assigned to the matching injected fields.
+ * Dependencies that aren't given stay null, so only code paths that don't touch them can be benchmarked.
+ *
+ * @author Marius
+ */
+final class Services {
+
+    /**
+     * Utility class, no instances.
+     */
+    private Services() {
+    }
+
+    /**
+     * Assign every dependency to the fields of the service it can be assigned to.
+     *
+     * @param service      the service to be wired
+     * @param dependencies the dependencies of the service
+     * @param <T>          type of the service
+     * @return the wired service
+     */
+    static <T> T wire(final T service, final Object... dependencies) {
+        for (Object dependency : dependencies) {
+            boolean assigned = false;
+            for (Class<?> c = service.getClass(); c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && field.getType().isInstance(dependency)) {
+                        set(service, field, dependency);
+                        assigned = true;
+                    }
+                }
+            }
+            if (!assigned)
+                throw new IllegalArgumentException(service.getClass().getSimpleName() + " has no field of type "
+                        + dependency.getClass().getSimpleName());
+        }
+        return service;
+    }
+
+    /**
+     * Assign the value to the field of the given object.
+     *
+     * @param target the object
+     * @param field  the field
+     * @param value  the value
+     */
+    private static void set(final Object target, final Field field, final Object value) {
+        try {
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Can't wire " + field, e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package de.unibremen.swp2.kcb.api.v1;
+
+import com.google.gson.JsonObject;
+import de.unibremen.swp2.kcb.metrics.Monitored;
+import de.unibremen.swp2.kcb.model.User;
+import de.unibremen.swp2.kcb.security.ApiTokenManager;
+import de.unibremen.swp2.kcb.security.authz.KCBSecure;
+import de.unibremen.swp2.kcb.service.UserService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.shiro.authz.annotation.RequiresAuthentication;
+
+import javax.enterprise.context.RequestScoped;
+import javax.inject.Inject;
+import javax.ws.rs.NotAuthorizedException;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+/**
+ * Resource class to issue bearer tokens for the REST-API.
+ * This is the only resource accepting basic authentication, all other resources require a token.
+ *
+ * @author Marius
+ */
+@Path("/auth")
+@RequestScoped
+@Produces(MediaType.APPLICATION_JSON)
+@KCBSecure
+@Monitored
+public class AuthResource {
+
+    /**
+     * Logger object of the AuthResource class
+     */
+    private static final Logger logger = LogManager.getLogger(AuthResource.class);
+
+    /**
+     * UserService to get the authenticated user from
+     */
+    @Inject
+    private UserService userService;
+
+    /**
+     * Issue a new token for the authenticated user.
+     *
+     * @return json containing the token, its type and the number of seconds until it expires
+     */
+    @POST
+    @Path("token")
+    @RequiresAuthentication
+    public String issueToken() {
+        final User user = userService.getExecutingUser();
+        if (user == null)
+            throw new NotAuthorizedException("Bearer");
+        final String principal = user.getUsername();
+        final ApiTokenManager tokenManager = ApiTokenManager.getInstance();
+
+        JsonObject jsonObject = new JsonObject();
+        jsonObject.addProperty("token", tokenManager.issue(principal, user.getPassword()));
+        jsonObject.addProperty("tokenType", "Bearer");
+        jsonObject.addProperty("expiresIn", tokenManager.getValidity().getSeconds());
+        logger.debug("Issued API token for {}", principal);
+        return jsonObject.toString();
+    }
+}
@@ -3,9 +3,17 @@ package de.unibremen.swp2.kcb.api.v1;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
 import de.unibremen.swp2.kcb.model.KCBEntity;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 /**
  * Interface for all Resources made available via REST-API
@@ -17,6 +25,11 @@ import javax.ws.rs.PathParam;
  */
 public interface CRUDResource<T extends KCBEntity> {
 
+    /**
+     * Pattern of the query parameters that are used as filters: attribute paths like "priority.value"
+     */
+    Pattern FILTER_PATTERN = Pattern.compile("[a-zA-Z][a-zA-Z0-9]*(\\.[a-zA-Z][a-zA-Z0-9]*)*");
+
     /**
      * Create entity
      *
@@ -42,11 +55,16 @@ public interface CRUDResource<T extends KCBEntity> {
     String delete(String requestBody);
 
     /**
-     * Get all entities of this resource.
+     * Get all entities of this resource. The list can be paged, sorted and filtered with the query parameters
+     * offset, limit, after (id of the last entity of the previous page), sort (attribute, "-" prefix for descending)
+     * and any exposed attribute name for filtering.
+     *
+     * The json is written directly to the response stream.
      *
      * @return json response with all entities of this resource
+     * @see #makePageRequest(UriInfo)
      */
-    String getAll();
+    StreamingOutput getAll();
 
     /**
      * Get Entity with the given id
@@ -68,4 +86,55 @@ public interface CRUDResource<T extends KCBEntity> {
         jsonObject.add("message", new JsonPrimitive(message));
         return jsonObject.toString();
     }
+
+    /**
+     * Return a simple json response streaming the given message
+     *
+     * @param message to be included in json
+     * @return StreamingOutput writing a json string with given message
+     */
+    default StreamingOutput makeStreamingResponseMessage(final String message) {
+        final String response = makeResponseMessage(message);
+        return outputStream -> outputStream.write(response.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Create a page request from the query parameters of the current request.
+     * The parameters offset, limit, after and sort describe the page, all other parameters are used as filters
+     * and have to be attribute paths. Parameters that aren't attribute paths (e.g. "_" of cache busters) are rejected,
+     * attributes that don't exist or aren't exposed are rejected by the {@link de.unibremen.swp2.kcb.persistence.PageQuery}.
+     *
+     * @param uriInfo of the current request
+     * @return the requested page or null if the request contains no query parameters
+     * @throws IllegalArgumentException if a parameter is invalid or unknown
+     */
+    default PageRequest makePageRequest(final UriInfo uriInfo) {
+        if (uriInfo == null) return null;
+        final MultivaluedMap<String, String> parameters = uriInfo.getQueryParameters();
+        if (parameters == null || parameters.isEmpty()) return null;
+
+        final PageRequest pageRequest = new PageRequest();
+        for (Map.Entry<String, List<String>> parameter : parameters.entrySet()) {
+            final String value = parameter.getValue().isEmpty() ? null : parameter.getValue().get(0);
+            switch (parameter.getKey()) {
+                case "offset":
+                    pageRequest.setOffset(Integer.parseInt(value));
+                    break;
+                case "limit":
+                    pageRequest.setLimit(Integer.parseInt(value));
+                    break;
+                case "after":
+                    pageRequest.setAfter(value);
+                    break;
+                case "sort":
+                    pageRequest.setSort(value);
+                    break;
+                default:
+                    if (!FILTER_PATTERN.matcher(parameter.getKey()).matches())
+                        throw new IllegalArgumentException("Unknown query parameter \"" + parameter.getKey() + "\".");
+                    pageRequest.getFilters().put(parameter.getKey(), value);
+            }
+        }
+        return pageRequest;
+    }
 }
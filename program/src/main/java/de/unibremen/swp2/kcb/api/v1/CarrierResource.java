@@ -1,11 +1,13 @@
 package de.unibremen.swp2.kcb.api.v1;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.Carrier;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.security.authz.KCBSecure;
 import de.unibremen.swp2.kcb.service.CarrierService;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
+import de.unibremen.swp2.kcb.util.GsonRegistry;
 import de.unibremen.swp2.kcb.util.JsonUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -14,7 +16,10 @@ import org.apache.shiro.authz.annotation.RequiresAuthentication;
 import javax.enterprise.context.RequestScoped;
 import javax.inject.Inject;
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
 import java.util.List;
 
 /**
@@ -29,6 +34,7 @@ import java.util.List;
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 @KCBSecure
+@Monitored
 public class CarrierResource implements CRUDResource<Carrier> {
 
     /**
@@ -48,6 +54,12 @@ public class CarrierResource implements CRUDResource<Carrier> {
     @Inject
     private JsonUtil json;
 
+    /**
+     * Information about the URI of the current request
+     */
+    @Context
+    private UriInfo uriInfo;
+
     /**
      * Create a new carrier from request body.
      *
@@ -94,7 +106,7 @@ public class CarrierResource implements CRUDResource<Carrier> {
     @Override
     @RequiresAuthentication
     public String delete(String requestBody) {
-        JsonObject parsedBody = new Gson().fromJson(requestBody, JsonObject.class);
+        JsonObject parsedBody = GsonRegistry.get().fromJson(requestBody, JsonObject.class);
         if (!parsedBody.has("id"))
             return makeResponseMessage("Invalid request.");
         try {
@@ -113,11 +125,19 @@ public class CarrierResource implements CRUDResource<Carrier> {
      * @return json representation of all existing carriers.
      */
     @GET
+    @ConditionalGet
     @Override
     @RequiresAuthentication
-    public String getAll() {
-        List<Carrier> carriers = carrierService.getAll();
-        return this.json.marshal(carriers);
+    public StreamingOutput getAll() {
+        try {
+            final PageRequest pageRequest = makePageRequest(uriInfo);
+            List<Carrier> carriers = pageRequest == null ? carrierService.getAll()
+                    : carrierService.getAll(pageRequest);
+            return this.json.stream(carriers);
+        } catch (FindByException | IllegalArgumentException e) {
+            logger.debug("Error occurred during carrier fetching {}", e.getMessage());
+            return makeStreamingResponseMessage(e.getMessage());
+        }
     }
 
     /**
@@ -127,6 +147,7 @@ public class CarrierResource implements CRUDResource<Carrier> {
      */
     @Override
     @GET
+    @ConditionalGet
     @RequiresAuthentication
     @Path("{id}")
     public String getById(@PathParam("id") String id) {
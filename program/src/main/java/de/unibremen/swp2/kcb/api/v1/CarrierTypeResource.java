@@ -1,11 +1,13 @@
 package de.unibremen.swp2.kcb.api.v1;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.CarrierType;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.security.authz.KCBSecure;
 import de.unibremen.swp2.kcb.service.CarrierTypeService;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
+import de.unibremen.swp2.kcb.util.GsonRegistry;
 import de.unibremen.swp2.kcb.util.JsonUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -14,7 +16,10 @@ import org.apache.shiro.authz.annotation.RequiresAuthentication;
 import javax.enterprise.context.RequestScoped;
 import javax.inject.Inject;
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
 import java.util.List;
 
 /**
@@ -28,6 +33,7 @@ import java.util.List;
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 @KCBSecure
+@Monitored
 public class CarrierTypeResource implements CRUDResource<CarrierType> {
 
     /**
@@ -47,6 +53,12 @@ public class CarrierTypeResource implements CRUDResource<CarrierType> {
     @Inject
     private JsonUtil json;
 
+    /**
+     * Information about the URI of the current request
+     */
+    @Context
+    private UriInfo uriInfo;
+
     /**
      * Create a new carrierType from request body.
      *
@@ -93,7 +105,7 @@ public class CarrierTypeResource implements CRUDResource<CarrierType> {
     @Override
     @RequiresAuthentication
     public String delete(String requestBody) {
-        JsonObject parsedBody = new Gson().fromJson(requestBody, JsonObject.class);
+        JsonObject parsedBody = GsonRegistry.get().fromJson(requestBody, JsonObject.class);
         if (!parsedBody.has("id"))
             return makeResponseMessage("Invalid id.");
         try {
@@ -112,14 +124,25 @@ public class CarrierTypeResource implements CRUDResource<CarrierType> {
      * @return json representation of all existing carrierTypes.
      */
     @GET
+    @ConditionalGet
     @Override
     @RequiresAuthentication
-    public String getAll() {
+    public StreamingOutput getAll() {
+        final PageRequest pageRequest;
+        try {
+            pageRequest = makePageRequest(uriInfo);
+            if (pageRequest != null)
+                return this.json.stream(carrierTypeService.getAll(pageRequest));
+        } catch (FindByException | IllegalArgumentException e) {
+            logger.debug("Error occurred during carrier type fetching {}", e.getMessage());
+            return makeStreamingResponseMessage(e.getMessage());
+        }
+
         try {
             List<CarrierType> carrierTypes = carrierTypeService.getAll();
-            return this.json.marshal(carrierTypes);
+            return this.json.stream(carrierTypes);
         } catch (FindByException e) {
-            return makeResponseMessage("#dankeArvid, die Tests darfst du selber fixen!");
+            return makeStreamingResponseMessage("#dankeArvid, die Tests darfst du selber fixen!");
         }
     }
 
@@ -130,6 +153,7 @@ public class CarrierTypeResource implements CRUDResource<CarrierType> {
      */
     @Override
     @GET
+    @ConditionalGet
     @RequiresAuthentication
     @Path("{id}")
     public String getById(String id) {
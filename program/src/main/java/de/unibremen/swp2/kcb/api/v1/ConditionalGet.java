@@ -0,0 +1,19 @@
+package de.unibremen.swp2.kcb.api.v1;
+
+import javax.ws.rs.NameBinding;
+import java.lang.annotation.*;
+
+/**
+ * Annotation to answer requests of the annotated resource methods with an ETag
+ * and to answer them with 304 Not Modified if the ETag given in If-None-Match is still current.
+ *
+ * @see ConditionalGetFilter
+ *
+ * @author Marius
+ */
+@NameBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+
+}
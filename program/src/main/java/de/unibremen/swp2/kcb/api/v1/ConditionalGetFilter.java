@@ -0,0 +1,137 @@
+package de.unibremen.swp2.kcb.api.v1;
+
+import de.unibremen.swp2.kcb.persistence.EntityChangeTracker;
+import de.unibremen.swp2.kcb.security.authz.ShiroSecuredInterceptor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.shiro.SecurityUtils;
+import org.apache.shiro.UnavailableSecurityManagerException;
+import org.apache.shiro.subject.Subject;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.Provider;
+import java.net.URI;
+
+/**
+ * Filter for the resource methods annotated with {@link ConditionalGet}.
+ * The ETag of a response is the generation of the stored entities when the request was received,
+ * followed by a hash of the requested path and query and the requesting principal, so a tag is only current
+ * for the resource and the user it was issued for.
+ * If the client sends the current ETag in If-None-Match and may invoke the resource method,
+ * the request is answered with 304 Not Modified before the resource method loads or serializes anything.
+ * Otherwise the resource method is invoked, which rejects unauthorized callers and unknown resources.
+ *
+ * @see EntityChangeTracker
+ *
+ * @author Marius
+ */
+@Provider
+@ConditionalGet
+public class ConditionalGetFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    /**
+     * Logger object of the ConditionalGetFilter class
+     */
+    private static final Logger logger = LogManager.getLogger(ConditionalGetFilter.class);
+
+    /**
+     * Name of the request property the ETag of the request is kept in
+     */
+    static final String ETAG_PROPERTY = ConditionalGetFilter.class.getName() + ".ETAG";
+
+    /**
+     * Cache-Control header of the tagged responses, clients have to revalidate before reusing them
+     */
+    static final String CACHE_CONTROL = "private, no-cache";
+
+    /**
+     * The resource method matched for the request
+     */
+    @Context
+    private ResourceInfo resourceInfo;
+
+    /**
+     * Answer the request with 304 if the ETag given in If-None-Match is current
+     * and the subject may invoke the resource method.
+     *
+     * @param requestContext context of the request
+     */
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        if (!HttpMethod.GET.equals(requestContext.getMethod()))
+            return;
+
+        final Subject subject = getSubject();
+        final EntityTag tag = makeTag(requestContext.getUriInfo().getRequestUri(),
+                subject == null ? null : subject.getPrincipal());
+        requestContext.setProperty(ETAG_PROPERTY, tag);
+
+        final Response.ResponseBuilder notModified = requestContext.getRequest().evaluatePreconditions(tag);
+        if (notModified != null && this.isPermitted(subject)) {
+            logger.trace("{} not modified", requestContext.getUriInfo().getPath());
+            requestContext.abortWith(notModified.header(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL).build());
+        }
+    }
+
+    /**
+     * Return the ETag of the given request uri for the given principal at the current generation.
+     *
+     * @param requestUri the requested uri
+     * @param principal  the requesting principal, null if not logged in
+     * @return the ETag
+     */
+    static EntityTag makeTag(final URI requestUri, final Object principal) {
+        final String resource = principal + " " + requestUri.getRawPath() + "?" + requestUri.getRawQuery();
+        return new EntityTag(EntityChangeTracker.getGeneration() + "-" + Integer.toHexString(resource.hashCode()));
+    }
+
+    /**
+     * Check whether the given subject may invoke the resource method matched for the request.
+     *
+     * @param subject the requesting subject, null if there is none
+     * @return whether the subject may invoke the resource method
+     */
+    private boolean isPermitted(final Subject subject) {
+        if (subject == null || resourceInfo == null || resourceInfo.getResourceMethod() == null)
+            return false;
+        return ShiroSecuredInterceptor.isPermitted(subject, resourceInfo.getResourceClass(),
+                resourceInfo.getResourceMethod());
+    }
+
+    /**
+     * Return the subject of the request.
+     *
+     * @return the subject, null if there is no security manager
+     */
+    private static Subject getSubject() {
+        try {
+            return SecurityUtils.getSubject();
+        } catch (UnavailableSecurityManagerException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Add the ETag of the request to a successful response.
+     *
+     * @param requestContext  context of the request
+     * @param responseContext context of the response
+     */
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        final Object tag = requestContext.getProperty(ETAG_PROPERTY);
+        if (tag == null || responseContext.getStatus() != Response.Status.OK.getStatusCode())
+            return;
+        responseContext.getHeaders().putSingle(HttpHeaders.ETAG, tag);
+        responseContext.getHeaders().putSingle(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+    }
+}
@@ -1,14 +1,16 @@
 package de.unibremen.swp2.kcb.api.v1;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.GlobalConfig;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.security.authz.KCBSecure;
 import de.unibremen.swp2.kcb.service.GlobalConfigService;
 import de.unibremen.swp2.kcb.service.serviceExceptions.CreationException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.DeletionException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.FindByException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.UpdateException;
+import de.unibremen.swp2.kcb.util.GsonRegistry;
 import de.unibremen.swp2.kcb.util.JsonUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -17,7 +19,10 @@ import org.apache.shiro.authz.annotation.RequiresAuthentication;
 import javax.enterprise.context.RequestScoped;
 import javax.inject.Inject;
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
 import java.util.List;
 
 /**
@@ -30,6 +35,7 @@ import java.util.List;
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 @KCBSecure
+@Monitored
 public class GlobalConfigResource implements CRUDResource<GlobalConfig> {
 
     /**
@@ -49,6 +55,12 @@ public class GlobalConfigResource implements CRUDResource<GlobalConfig> {
     @Inject
     private JsonUtil json;
 
+    /**
+     * Information about the URI of the current request
+     */
+    @Context
+    private UriInfo uriInfo;
+
     /**
      * Create a new GlobalConfig from request body.
      *
@@ -95,7 +107,7 @@ public class GlobalConfigResource implements CRUDResource<GlobalConfig> {
     @Override
     @RequiresAuthentication
     public String delete(String requestBody) {
-        JsonObject parsedBody = new Gson().fromJson(requestBody, JsonObject.class);
+        JsonObject parsedBody = GsonRegistry.get().fromJson(requestBody, JsonObject.class);
         if (!parsedBody.has("id"))
             return makeResponseMessage("Invalid id...");
         try {
@@ -114,11 +126,19 @@ public class GlobalConfigResource implements CRUDResource<GlobalConfig> {
      * @return json representation of all existing globalConfigs.
      */
     @GET
+    @ConditionalGet
     @Override
     @RequiresAuthentication
-    public String getAll() {
-        List<GlobalConfig> globalConfig = globalConfigService.getAll();
-        return this.json.marshal(globalConfig);
+    public StreamingOutput getAll() {
+        try {
+            final PageRequest pageRequest = makePageRequest(uriInfo);
+            List<GlobalConfig> globalConfig = pageRequest == null ? globalConfigService.getAll()
+                    : globalConfigService.getAll(pageRequest);
+            return this.json.stream(globalConfig);
+        } catch (FindByException | IllegalArgumentException e) {
+            logger.debug("Error occurred during global config fetching {}", e.getMessage());
+            return makeStreamingResponseMessage(e.getMessage());
+        }
     }
 
     /**
@@ -128,6 +148,7 @@ public class GlobalConfigResource implements CRUDResource<GlobalConfig> {
      */
     @Override
     @GET
+    @ConditionalGet
     @RequiresAuthentication
     @Path("{id}")
     public String getById(@PathParam("id") String id) {
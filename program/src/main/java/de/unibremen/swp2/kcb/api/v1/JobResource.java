@@ -1,11 +1,13 @@
 package de.unibremen.swp2.kcb.api.v1;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.Job;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.security.authz.KCBSecure;
 import de.unibremen.swp2.kcb.service.JobService;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
+import de.unibremen.swp2.kcb.util.GsonRegistry;
 import de.unibremen.swp2.kcb.util.JsonUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -14,7 +16,10 @@ import org.apache.shiro.authz.annotation.RequiresAuthentication;
 import javax.enterprise.context.RequestScoped;
 import javax.inject.Inject;
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
 import java.util.List;
 
 /**
@@ -27,6 +32,7 @@ import java.util.List;
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 @KCBSecure
+@Monitored
 public class JobResource implements CRUDResource<Job> {
 
     /**
@@ -46,6 +52,12 @@ public class JobResource implements CRUDResource<Job> {
     @Inject
     private JsonUtil json;
 
+    /**
+     * Information about the URI of the current request
+     */
+    @Context
+    private UriInfo uriInfo;
+
     /**
      * Create a new Job from request body.
      *
@@ -92,7 +104,7 @@ public class JobResource implements CRUDResource<Job> {
     @Override
     @RequiresAuthentication
     public String delete(String requestBody) {
-        JsonObject parsedBody = new Gson().fromJson(requestBody, JsonObject.class);
+        JsonObject parsedBody = GsonRegistry.get().fromJson(requestBody, JsonObject.class);
         if (!parsedBody.has("id"))
             return makeResponseMessage("Invalid id...");
         try {
@@ -111,11 +123,44 @@ public class JobResource implements CRUDResource<Job> {
      * @return json representation of all existing jobs.
      */
     @GET
+    @ConditionalGet
     @Override
     @RequiresAuthentication
-    public String getAll() {
-        List<Job> jobs = jobService.getAll();
-        return this.json.marshal(jobs);
+    public StreamingOutput getAll() {
+        try {
+            final PageRequest pageRequest = makePageRequest(uriInfo);
+            List<Job> jobs = pageRequest == null ? jobService.getAll()
+                    : jobService.getAll(pageRequest);
+            return this.json.stream(jobs);
+        } catch (FindByException | IllegalArgumentException e) {
+            logger.debug("Error occurred during job fetching {}", e.getMessage());
+            return makeStreamingResponseMessage(e.getMessage());
+        }
+    }
+
+    /**
+     * Get a page of the jobs that need transport, ordered by priority and waiting time.
+     * The page is selected with the query parameters offset and limit, the order of the queue is fixed.
+     *
+     * @return json representation of the requested page of the transport queue
+     */
+    @GET
+    @ConditionalGet
+    @RequiresAuthentication
+    @Path("transport")
+    public StreamingOutput getTransportQueue() {
+        try {
+            final PageRequest pageRequest = makePageRequest(uriInfo);
+            if (pageRequest == null)
+                return this.json.stream(jobService.getJobsThatNeedTransport(0, PageRequest.DEFAULT_LIMIT));
+            if (pageRequest.getAfter() != null || !pageRequest.getFilters().isEmpty()
+                    || !pageRequest.getSort().equals("id") || !pageRequest.isAscending())
+                throw new IllegalArgumentException("The transport queue only supports offset and limit.");
+            return this.json.stream(jobService.getJobsThatNeedTransport(pageRequest.getOffset(), pageRequest.getLimit()));
+        } catch (IllegalArgumentException e) {
+            logger.debug("Error occurred during transport queue fetching {}", e.getMessage());
+            return makeStreamingResponseMessage(e.getMessage());
+        }
     }
 
     /**
@@ -125,6 +170,7 @@ public class JobResource implements CRUDResource<Job> {
      */
     @Override
     @GET
+    @ConditionalGet
     @RequiresAuthentication
     @Path("{id}")
     public String getById(@PathParam("id") String id) {
@@ -138,4 +184,63 @@ public class JobResource implements CRUDResource<Job> {
         }
     }
 
+    /**
+     * Get the json protocol of the job with the given id.
+     * The protocol is written directly to the response stream while the job is serialized.
+     *
+     * @param id of the job
+     * @return json protocol of the job or error message if the job couldn't be fetched
+     */
+    @GET
+    @ConditionalGet
+    @RequiresAuthentication
+    @Path("{id}/protocol")
+    public StreamingOutput getProtocol(@PathParam("id") String id) {
+        try {
+            final Job job = jobService.getById(id);
+            if (job == null)
+                return makeStreamingResponseMessage("job not found.");
+            return outputStream -> {
+                try {
+                    jobService.writeProtocol(job, outputStream);
+                } catch (ProtocolGenerationException e) {
+                    logger.debug("Error occurred during protocol generation {}", e.getMessage());
+                    throw new WebApplicationException(e);
+                }
+            };
+        } catch (InvalidIdException e) {
+            logger.debug("Error occurred during job fetching {}", e.getMessage());
+            return makeStreamingResponseMessage("Invalid id. Job couldn't be fetched.");
+        }
+    }
+
+    /**
+     * Get the parameters of the job with the given id in the format used by the sfb.
+     * The parameters are written directly to the response stream.
+     *
+     * @param id of the job
+     * @return json parameters of the job or error message if the job couldn't be fetched
+     */
+    @GET
+    @ConditionalGet
+    @RequiresAuthentication
+    @Path("{id}/parameters")
+    public StreamingOutput getParameters(@PathParam("id") String id) {
+        try {
+            final Job job = jobService.getById(id);
+            if (job == null)
+                return makeStreamingResponseMessage("job not found.");
+            return outputStream -> {
+                try {
+                    jobService.writeParameters(job, outputStream);
+                } catch (ExportException e) {
+                    logger.debug("Error occurred during parameter export {}", e.getMessage());
+                    throw new WebApplicationException(e);
+                }
+            };
+        } catch (InvalidIdException e) {
+            logger.debug("Error occurred during job fetching {}", e.getMessage());
+            return makeStreamingResponseMessage("Invalid id. Job couldn't be fetched.");
+        }
+    }
 }
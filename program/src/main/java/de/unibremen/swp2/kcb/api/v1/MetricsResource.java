@@ -0,0 +1,119 @@
+package de.unibremen.swp2.kcb.api.v1;
+
+import de.unibremen.swp2.kcb.metrics.MetricsRegistry;
+import de.unibremen.swp2.kcb.model.WorkstationLoad;
+import de.unibremen.swp2.kcb.security.authz.KCBSecure;
+import de.unibremen.swp2.kcb.service.JobService;
+import de.unibremen.swp2.kcb.service.TransportTaskService;
+import de.unibremen.swp2.kcb.service.WorkstationLoadService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.enterprise.context.RequestScoped;
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Resource class to expose the metrics of the system in the Prometheus text format.
+ * Contains the metrics of all monitored service and api methods and gauges of the current workload.
+ * Access is checked by the {@link de.unibremen.swp2.kcb.security.MetricsTokenFilter}, which also accepts
+ * the scrape token of monitoring systems without an authenticated user.
+ *
+ * @author Marius
+ */
+@Path("/metrics")
+@RequestScoped
+@KCBSecure
+public class MetricsResource {
+
+    /**
+     * Logger object of the MetricsResource class
+     */
+    private static final Logger logger = LogManager.getLogger(MetricsResource.class);
+
+    /**
+     * Content type of the Prometheus text format
+     */
+    static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * Registry of the method metrics
+     */
+    @Inject
+    private MetricsRegistry metricsRegistry;
+
+    /**
+     * Job Service to count the active jobs with
+     */
+    @Inject
+    private JobService jobService;
+
+    /**
+     * TransportTask Service to get the length of the transport queue from
+     */
+    @Inject
+    private TransportTaskService transportTaskService;
+
+    /**
+     * WorkstationLoad Service to get the load of the workstations from
+     */
+    @Inject
+    private WorkstationLoadService workstationLoadService;
+
+    /**
+     * Return all metrics in the Prometheus text format.
+     *
+     * @return the metrics
+     */
+    @GET
+    @Produces(CONTENT_TYPE)
+    public String getMetrics() {
+        final StringBuilder out = new StringBuilder();
+        metricsRegistry.write(out);
+        try {
+            this.writeGauges(out);
+        } catch (RuntimeException e) {
+            logger.warn("Collecting the workload gauges failed: {}", e.getMessage());
+        }
+        return out.toString();
+    }
+
+    /**
+     * Append the gauges of the current workload.
+     *
+     * @param out to append the gauges to
+     */
+    private void writeGauges(final StringBuilder out) {
+        MetricsRegistry.writeHeader(out, "active_jobs", "gauge", "Number of jobs currently being executed.");
+        MetricsRegistry.writeSample(out, "active_jobs", null, jobService.getActiveCount());
+
+        MetricsRegistry.writeHeader(out, "transport_queue_length", "gauge", "Number of jobs waiting for transport.");
+        MetricsRegistry.writeSample(out, "transport_queue_length", null, transportTaskService.getQueueLength());
+
+        final Map<String, WorkstationLoad> loads = new TreeMap<>(workstationLoadService.getAll());
+
+        MetricsRegistry.writeHeader(out, "workstation_active_jobs", "gauge", "Number of active jobs per workstation.");
+        for (Map.Entry<String, WorkstationLoad> entry : loads.entrySet())
+            MetricsRegistry.writeSample(out, "workstation_active_jobs",
+                    MetricsRegistry.label("workstation", entry.getKey()), entry.getValue().getActiveJobs());
+
+        MetricsRegistry.writeHeader(out, "workstation_running_procedures", "gauge", "Number of running procedures per workstation.");
+        for (Map.Entry<String, WorkstationLoad> entry : loads.entrySet())
+            MetricsRegistry.writeSample(out, "workstation_running_procedures",
+                    MetricsRegistry.label("workstation", entry.getKey()), entry.getValue().getRunningProcedures());
+
+        MetricsRegistry.writeHeader(out, "workstation_queued_minutes", "gauge", "Estimated minutes of work queued per workstation.");
+        for (Map.Entry<String, WorkstationLoad> entry : loads.entrySet())
+            MetricsRegistry.writeSample(out, "workstation_queued_minutes",
+                    MetricsRegistry.label("workstation", entry.getKey()), entry.getValue().getQueuedMinutes());
+
+        MetricsRegistry.writeHeader(out, "workstation_samples_in_progress", "gauge", "Number of samples in progress per workstation.");
+        for (Map.Entry<String, WorkstationLoad> entry : loads.entrySet())
+            MetricsRegistry.writeSample(out, "workstation_samples_in_progress",
+                    MetricsRegistry.label("workstation", entry.getKey()), entry.getValue().getSamplesInProgress());
+    }
+}
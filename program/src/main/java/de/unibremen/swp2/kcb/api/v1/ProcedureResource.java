@@ -1,14 +1,18 @@
 package de.unibremen.swp2.kcb.api.v1;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.Procedure;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.security.authz.KCBSecure;
 import de.unibremen.swp2.kcb.service.ProcedureService;
 import de.unibremen.swp2.kcb.service.serviceExceptions.CreationException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.DeletionException;
+import de.unibremen.swp2.kcb.service.serviceExceptions.ExportException;
+import de.unibremen.swp2.kcb.service.serviceExceptions.FindByException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.InvalidIdException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.UpdateException;
+import de.unibremen.swp2.kcb.util.GsonRegistry;
 import de.unibremen.swp2.kcb.util.JsonUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -17,7 +21,10 @@ import org.apache.shiro.authz.annotation.RequiresAuthentication;
 import javax.enterprise.context.RequestScoped;
 import javax.inject.Inject;
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
 import java.util.List;
 
 /**
@@ -30,6 +37,7 @@ import java.util.List;
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 @KCBSecure
+@Monitored
 public class ProcedureResource implements CRUDResource<Procedure> {
 
     /**
@@ -49,6 +57,12 @@ public class ProcedureResource implements CRUDResource<Procedure> {
     @Inject
     private JsonUtil json;
 
+    /**
+     * Information about the URI of the current request
+     */
+    @Context
+    private UriInfo uriInfo;
+
     /**
      * Create a new Procedure from request body.
      *
@@ -95,7 +109,7 @@ public class ProcedureResource implements CRUDResource<Procedure> {
     @Override
     @RequiresAuthentication
     public String delete(String requestBody) {
-        JsonObject parsedBody = new Gson().fromJson(requestBody, JsonObject.class);
+        JsonObject parsedBody = GsonRegistry.get().fromJson(requestBody, JsonObject.class);
         if (!parsedBody.has("id"))
             return makeResponseMessage("Invalid id...");
         try {
@@ -114,11 +128,19 @@ public class ProcedureResource implements CRUDResource<Procedure> {
      * @return json representation of all existing procedures.
      */
     @GET
+    @ConditionalGet
     @Override
     @RequiresAuthentication
-    public String getAll() {
-        List<Procedure> procedures = procedureService.getAll();
-        return this.json.marshal(procedures);
+    public StreamingOutput getAll() {
+        try {
+            final PageRequest pageRequest = makePageRequest(uriInfo);
+            List<Procedure> procedures = pageRequest == null ? procedureService.getAll()
+                    : procedureService.getAll(pageRequest);
+            return this.json.stream(procedures);
+        } catch (FindByException | IllegalArgumentException e) {
+            logger.debug("Error occurred during procedure fetching {}", e.getMessage());
+            return makeStreamingResponseMessage(e.getMessage());
+        }
     }
 
     /**
@@ -128,6 +150,7 @@ public class ProcedureResource implements CRUDResource<Procedure> {
      */
     @Override
     @GET
+    @ConditionalGet
     @RequiresAuthentication
     @Path("{id}")
     public String getById(@PathParam("id") String id) {
@@ -140,4 +163,33 @@ public class ProcedureResource implements CRUDResource<Procedure> {
         }
     }
 
+    /**
+     * Get the parameters of the procedure with the given id in the format used by the sfb.
+     * The parameters are written directly to the response stream.
+     *
+     * @param id of the procedure
+     * @return json parameters of the procedure or error message if the procedure couldn't be fetched
+     */
+    @GET
+    @ConditionalGet
+    @RequiresAuthentication
+    @Path("{id}/parameters")
+    public StreamingOutput getParameters(@PathParam("id") String id) {
+        try {
+            final Procedure procedure = procedureService.getById(id);
+            if (procedure == null)
+                return makeStreamingResponseMessage("Procedure not found.");
+            return outputStream -> {
+                try {
+                    procedureService.writeParameters(procedure, outputStream);
+                } catch (ExportException e) {
+                    logger.debug("Error occurred during parameter export {}", e.getMessage());
+                    throw new WebApplicationException(e);
+                }
+            };
+        } catch (InvalidIdException e) {
+            logger.debug("Error occurred during procedure fetching {}", e.getMessage());
+            return makeStreamingResponseMessage("Invalid id. Procedure couldn't be fetched.");
+        }
+    }
 }
@@ -1,13 +1,16 @@
 package de.unibremen.swp2.kcb.api.v1;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.StateMachine.StateExec;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.security.authz.KCBSecure;
 import de.unibremen.swp2.kcb.service.StateExecService;
 import de.unibremen.swp2.kcb.service.serviceExceptions.DeletionException;
+import de.unibremen.swp2.kcb.service.serviceExceptions.FindByException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.InvalidIdException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.UpdateException;
+import de.unibremen.swp2.kcb.util.GsonRegistry;
 import de.unibremen.swp2.kcb.util.JsonUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -16,7 +19,10 @@ import org.apache.shiro.authz.annotation.RequiresAuthentication;
 import javax.enterprise.context.RequestScoped;
 import javax.inject.Inject;
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
 import java.util.List;
 
 /**
@@ -29,6 +35,7 @@ import java.util.List;
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 @KCBSecure
+@Monitored
 public class StateExecResource implements CRUDResource<StateExec> {
 
     /**
@@ -50,6 +57,12 @@ public class StateExecResource implements CRUDResource<StateExec> {
     @Inject
     private JsonUtil json;
 
+    /**
+     * Information about the URI of the current request
+     */
+    @Context
+    private UriInfo uriInfo;
+
     /**
      * Create a new StateExec
      * from request body.
@@ -93,7 +106,7 @@ public class StateExecResource implements CRUDResource<StateExec> {
     @Override
     @RequiresAuthentication
     public String delete(String requestBody) {
-        JsonObject parsedBody = new Gson().fromJson(requestBody, JsonObject.class);
+        JsonObject parsedBody = GsonRegistry.get().fromJson(requestBody, JsonObject.class);
         if (!parsedBody.has("id"))
             return makeResponseMessage("Invalid id...");
         try {
@@ -113,11 +126,19 @@ public class StateExecResource implements CRUDResource<StateExec> {
      * @return json representation of all existing stateExecs.
      */
     @GET
+    @ConditionalGet
     @Override
     @RequiresAuthentication
-    public String getAll() {
-        List<StateExec> stateExecs = stateExecService.getAll();
-        return this.json.marshal(stateExecs);
+    public StreamingOutput getAll() {
+        try {
+            final PageRequest pageRequest = makePageRequest(uriInfo);
+            List<StateExec> stateExecs = pageRequest == null ? stateExecService.getAll()
+                    : stateExecService.getAll(pageRequest);
+            return this.json.stream(stateExecs);
+        } catch (FindByException | IllegalArgumentException e) {
+            logger.debug("Error occurred during state exec fetching {}", e.getMessage());
+            return makeStreamingResponseMessage(e.getMessage());
+        }
     }
 
     /**
@@ -127,6 +148,7 @@ public class StateExecResource implements CRUDResource<StateExec> {
      */
     @Override
     @GET
+    @ConditionalGet
     @RequiresAuthentication
     @Path("{id}")
     public String getById(@PathParam("id") String id) {
@@ -1,14 +1,17 @@
 package de.unibremen.swp2.kcb.api.v1;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.StateMachine.StateHistory;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.security.authz.KCBSecure;
 import de.unibremen.swp2.kcb.service.StateHistoryService;
 import de.unibremen.swp2.kcb.service.serviceExceptions.CreationException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.DeletionException;
+import de.unibremen.swp2.kcb.service.serviceExceptions.FindByException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.InvalidIdException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.UpdateException;
+import de.unibremen.swp2.kcb.util.GsonRegistry;
 import de.unibremen.swp2.kcb.util.JsonUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -17,7 +20,10 @@ import org.apache.shiro.authz.annotation.RequiresAuthentication;
 import javax.enterprise.context.RequestScoped;
 import javax.inject.Inject;
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
 import java.util.List;
 
 /**
@@ -30,6 +36,7 @@ import java.util.List;
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 @KCBSecure
+@Monitored
 public class StateHistoryResource implements CRUDResource<StateHistory> {
 
     /**
@@ -49,6 +56,12 @@ public class StateHistoryResource implements CRUDResource<StateHistory> {
     @Inject
     private JsonUtil json;
 
+    /**
+     * Information about the URI of the current request
+     */
+    @Context
+    private UriInfo uriInfo;
+
     /**
      * Create a new StateHistory from request body.
      *
@@ -95,7 +108,7 @@ public class StateHistoryResource implements CRUDResource<StateHistory> {
     @Override
     @RequiresAuthentication
     public String delete(String requestBody) {
-        JsonObject parsedBody = new Gson().fromJson(requestBody, JsonObject.class);
+        JsonObject parsedBody = GsonRegistry.get().fromJson(requestBody, JsonObject.class);
         if (!parsedBody.has("id"))
             return makeResponseMessage("Invalid id...");
         try {
@@ -114,11 +127,19 @@ public class StateHistoryResource implements CRUDResource<StateHistory> {
      * @return json representation of all existing stateHistories.
      */
     @GET
+    @ConditionalGet
     @Override
     @RequiresAuthentication
-    public String getAll() {
-        List<StateHistory> stateHistories = stateHistoryService.getAll();
-        return this.json.marshal(stateHistories);
+    public StreamingOutput getAll() {
+        try {
+            final PageRequest pageRequest = makePageRequest(uriInfo);
+            List<StateHistory> stateHistories = pageRequest == null ? stateHistoryService.getAll()
+                    : stateHistoryService.getAll(pageRequest);
+            return this.json.stream(stateHistories);
+        } catch (FindByException | IllegalArgumentException e) {
+            logger.debug("Error occurred during state history fetching {}", e.getMessage());
+            return makeStreamingResponseMessage(e.getMessage());
+        }
     }
 
     /**
@@ -128,6 +149,7 @@ public class StateHistoryResource implements CRUDResource<StateHistory> {
      */
     @Override
     @GET
+    @ConditionalGet
     @RequiresAuthentication
     @Path("{id}")
     public String getById(@PathParam("id") String id) {
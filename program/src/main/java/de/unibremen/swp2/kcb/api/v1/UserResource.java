@@ -1,11 +1,13 @@
 package de.unibremen.swp2.kcb.api.v1;
 
-import com.google.gson.Gson;
 import com.google.gson.JsonObject;
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.User;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.security.authz.KCBSecure;
 import de.unibremen.swp2.kcb.service.UserService;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
+import de.unibremen.swp2.kcb.util.GsonRegistry;
 import de.unibremen.swp2.kcb.util.JsonUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -14,7 +16,10 @@ import org.apache.shiro.authz.annotation.RequiresAuthentication;
 import javax.enterprise.context.RequestScoped;
 import javax.inject.Inject;
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
 import java.util.List;
 
 /**
@@ -28,6 +33,7 @@ import java.util.List;
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 @KCBSecure
+@Monitored
 public class UserResource implements CRUDResource<User> {
 
     /**
@@ -47,17 +53,31 @@ public class UserResource implements CRUDResource<User> {
     @Inject
     private JsonUtil json;
 
+    /**
+     * Information about the URI of the current request
+     */
+    @Context
+    private UriInfo uriInfo;
+
     /**
      * Get all users existing in the system.
      *
      * @return json representation of all existing users.
      */
     @GET
+    @ConditionalGet
     @Override
     @RequiresAuthentication
-    public String getAll() {
-        List<User> users = userService.getAll();
-        return this.json.marshal(users);
+    public StreamingOutput getAll() {
+        try {
+            final PageRequest pageRequest = makePageRequest(uriInfo);
+            List<User> users = pageRequest == null ? userService.getAll()
+                    : userService.getAll(pageRequest);
+            return this.json.stream(users);
+        } catch (FindByException | IllegalArgumentException e) {
+            logger.debug("Error occurred during user fetching {}", e.getMessage());
+            return makeStreamingResponseMessage(e.getMessage());
+        }
     }
 
     /**
@@ -112,7 +132,7 @@ public class UserResource implements CRUDResource<User> {
     @Override
     @RequiresAuthentication
     public String delete(String x) {
-        JsonObject requestBody = new Gson().fromJson(x, JsonObject.class);
+        JsonObject requestBody = GsonRegistry.get().fromJson(x, JsonObject.class);
         User user = this.getFromRequestBody(requestBody);
         if (user != null) {
             try {
@@ -133,6 +153,7 @@ public class UserResource implements CRUDResource<User> {
      */
     @Override
     @GET
+    @ConditionalGet
     @RequiresAuthentication
     @Path("{id}")
     public String getById(@PathParam("id") String id) {
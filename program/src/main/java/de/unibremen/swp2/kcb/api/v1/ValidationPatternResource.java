@@ -2,9 +2,12 @@ package de.unibremen.swp2.kcb.api.v1;
 
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.ValidationPattern;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.security.authz.KCBSecure;
 import de.unibremen.swp2.kcb.service.ValidationPatternService;
+import de.unibremen.swp2.kcb.service.serviceExceptions.FindByException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.UpdateException;
 import de.unibremen.swp2.kcb.util.JsonUtil;
 import org.apache.logging.log4j.LogManager;
@@ -14,7 +17,10 @@ import org.apache.shiro.authz.annotation.RequiresAuthentication;
 import javax.enterprise.context.RequestScoped;
 import javax.inject.Inject;
 import javax.ws.rs.*;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.core.UriInfo;
 import java.util.List;
 
 /**
@@ -27,6 +33,7 @@ import java.util.List;
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 @KCBSecure
+@Monitored
 public class ValidationPatternResource implements CRUDResource<ValidationPattern> {
 
     /**
@@ -46,6 +53,12 @@ public class ValidationPatternResource implements CRUDResource<ValidationPattern
     @Inject
     private JsonUtil json;
 
+    /**
+     * Information about the URI of the current request
+     */
+    @Context
+    private UriInfo uriInfo;
+
     /**
      * Create a new validationPattern from request body.
      *
@@ -96,11 +109,19 @@ public class ValidationPatternResource implements CRUDResource<ValidationPattern
      * @return json representation of all existing validationPatterns.
      */
     @GET
+    @ConditionalGet
     @Override
     @RequiresAuthentication
-    public String getAll() {
-        List<ValidationPattern> validationPatterns = validationPatternService.getAll();
-        return this.json.marshal(validationPatterns);
+    public StreamingOutput getAll() {
+        try {
+            final PageRequest pageRequest = makePageRequest(uriInfo);
+            List<ValidationPattern> validationPatterns = pageRequest == null ? validationPatternService.getAll()
+                    : validationPatternService.getAll(pageRequest);
+            return this.json.stream(validationPatterns);
+        } catch (FindByException | IllegalArgumentException e) {
+            logger.debug("Error occurred during validation pattern fetching {}", e.getMessage());
+            return makeStreamingResponseMessage(e.getMessage());
+        }
     }
 
     /**
@@ -110,6 +131,7 @@ public class ValidationPatternResource implements CRUDResource<ValidationPattern
      */
     @Override
     @GET
+    @ConditionalGet
     @RequiresAuthentication
     @Path("{id}")
     public String getById(@PathParam("id") String id) {
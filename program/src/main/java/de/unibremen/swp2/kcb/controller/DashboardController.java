@@ -0,0 +1,372 @@
+package de.unibremen.swp2.kcb.controller;
+
+import de.unibremen.swp2.kcb.model.Assembly;
+import de.unibremen.swp2.kcb.model.Carrier;
+import de.unibremen.swp2.kcb.model.Job;
+import de.unibremen.swp2.kcb.model.Locations.Workstation;
+import de.unibremen.swp2.kcb.model.Priority;
+import de.unibremen.swp2.kcb.model.Procedure;
+import de.unibremen.swp2.kcb.model.Role;
+import de.unibremen.swp2.kcb.model.User;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
+import de.unibremen.swp2.kcb.service.AssemblyService;
+import de.unibremen.swp2.kcb.service.CarrierService;
+import de.unibremen.swp2.kcb.service.JobService;
+import de.unibremen.swp2.kcb.service.PriorityService;
+import de.unibremen.swp2.kcb.service.UserService;
+import de.unibremen.swp2.kcb.service.WorkstationService;
+import de.unibremen.swp2.kcb.service.serviceExceptions.FindByException;
+import de.unibremen.swp2.kcb.service.serviceExceptions.GetAllActiveJobsForCurrentTechnologeException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.enterprise.context.RequestScoped;
+import javax.faces.application.FacesMessage;
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller class providing the data shown on the dashboard.
+ * Every value is queried at most once per request and reused by all references of the view,
+ * instead of querying it again on every EL evaluation.
+ *
+ * @author Marius
+ */
+@Named
+@RequestScoped
+public class DashboardController extends Controller {
+
+    /**
+     * Logger object of the DashboardController class
+     */
+    private static final Logger logger = LogManager.getLogger(DashboardController.class);
+
+    /**
+     * Orders jobs by the value of their priority, highest first
+     */
+    private static final Comparator<Job> BY_PRIORITY = Comparator.comparingInt(
+            (Job job) -> job.getPriority() == null ? Integer.MIN_VALUE : job.getPriority().getValue()).reversed();
+
+    /**
+     * Injected instance of {@link JobService} to handle business logic
+     */
+    @Inject
+    private JobService jobService;
+
+    /**
+     * Injected instance of {@link WorkstationService} to handle business logic
+     */
+    @Inject
+    private WorkstationService workstationService;
+
+    /**
+     * Injected instance of {@link PriorityService} to handle business logic
+     */
+    @Inject
+    private PriorityService priorityService;
+
+    /**
+     * Injected instance of {@link UserService} to handle business logic
+     */
+    @Inject
+    private UserService userService;
+
+    /**
+     * Injected instance of {@link AssemblyService} to handle business logic
+     */
+    @Inject
+    private AssemblyService assemblyService;
+
+    /**
+     * Injected instance of {@link CarrierService} to handle business logic
+     */
+    @Inject
+    private CarrierService carrierService;
+
+    /**
+     * Pending jobs ordered by priority
+     */
+    private List<Job> pending;
+
+    /**
+     * Number of active jobs
+     */
+    private Long activeJobCount;
+
+    /**
+     * Active jobs of the executing technologe that are not being transported, ordered by priority
+     */
+    private List<Job> activeJobs;
+
+    /**
+     * The three jobs with the highest priority
+     */
+    private List<Job> threeMostImportantJobs;
+
+    /**
+     * Workstations of the executing technologe
+     */
+    private List<Workstation> workstations;
+
+    /**
+     * Number of active workstations
+     */
+    private Long activeWorkstationCount;
+
+    /**
+     * Number of users
+     */
+    private Long userCount;
+
+    /**
+     * Number of assemblies
+     */
+    private Long assemblyCount;
+
+    /**
+     * Number of carriers
+     */
+    private Long carrierCount;
+
+    /**
+     * Colors of all priorities by their id
+     */
+    private Map<String, String> colors;
+
+    /**
+     * URLs of the current workstation by job id
+     */
+    private final Map<String, String> workstationRedirectURLs = new HashMap<>();
+
+    /**
+     * Return the {@link Job}s waiting for verification by {@link Role#LOGISTIKER}, ordered by priority.
+     *
+     * @return the pending jobs
+     */
+    public List<Job> getPending() {
+        if (pending == null) {
+            logger.debug("Querying pending Jobs");
+            pending = new ArrayList<>(jobService.getDetails(jobService.getPending()));
+            pending.sort(BY_PRIORITY);
+        }
+        return pending;
+    }
+
+    /**
+     * Return the number of {@link Job}s that are currently being executed. Counted by the database without loading the jobs.
+     *
+     * @return number of active jobs
+     */
+    public long getActiveJobCount() {
+        if (activeJobCount == null) {
+            logger.debug("Counting active Jobs");
+            activeJobCount = jobService.getActiveCount();
+        }
+        return activeJobCount;
+    }
+
+    /**
+     * Return the active {@link Job}s of the executing technologe that are not being transported,
+     * ordered by priority.
+     *
+     * @return the active jobs of the executing technologe
+     */
+    public List<Job> getActiveJobs() {
+        if (activeJobs == null) {
+            activeJobs = new ArrayList<>();
+            try {
+                logger.debug("Querying all active Jobs for current Technologe.");
+                activeJobs.addAll(jobService.getAllActiveJobForCurrentTechnologeNotBeingTransported());
+            } catch (GetAllActiveJobsForCurrentTechnologeException e) {
+                logger.debug("Couldn't find Jobs for Technologe for transport");
+                super.displayMessageFromResource("error.summary.jobs-not-found-by-technologe",
+                        "error.detail.jobs-not-found-by-technologe", FacesMessage.SEVERITY_ERROR);
+            }
+            activeJobs.sort(BY_PRIORITY);
+        }
+        return activeJobs;
+    }
+
+    /**
+     * Return the three {@link Job}s with the highest priority.
+     *
+     * @return the three most important jobs
+     */
+    public List<Job> getThreeMostImportantJobs() {
+        if (threeMostImportantJobs == null)
+            threeMostImportantJobs = jobService.getDetails(jobService.getThreeMostImportantJobs());
+        return threeMostImportantJobs;
+    }
+
+    /**
+     * Return the {@link Workstation}s the executing user is assigned to. Admins are assigned to all workstations.
+     *
+     * @return the workstations of the executing user
+     */
+    public List<Workstation> getWorkstations() {
+        if (workstations == null)
+            workstations = this.queryWorkstations();
+        return workstations;
+    }
+
+    /**
+     * Return the number of active {@link Workstation}s. Counted by the database without loading the workstations.
+     *
+     * @return number of active workstations
+     */
+    public long getActiveWorkstationCount() {
+        if (activeWorkstationCount == null) {
+            logger.debug("Counting active Workstations.");
+            activeWorkstationCount = workstationService.getActiveCount();
+        }
+        return activeWorkstationCount;
+    }
+
+    /**
+     * Return the number of {@link User}s. Counted by the database without loading the users.
+     *
+     * @return number of users
+     */
+    public long getUserCount() {
+        if (userCount == null) {
+            try {
+                userCount = userService.count(new PageRequest());
+            } catch (FindByException e) {
+                logger.info("Could not count Users.");
+                userCount = 0L;
+            }
+        }
+        return userCount;
+    }
+
+    /**
+     * Return the number of {@link Assembly}s. Counted by the database without loading the assemblies.
+     *
+     * @return number of assemblies
+     */
+    public long getAssemblyCount() {
+        if (assemblyCount == null) {
+            try {
+                assemblyCount = assemblyService.count(new PageRequest());
+            } catch (FindByException e) {
+                logger.info("Could not count Assemblies.");
+                assemblyCount = 0L;
+            }
+        }
+        return assemblyCount;
+    }
+
+    /**
+     * Return the number of {@link Carrier}s. Counted by the database without loading the carriers.
+     *
+     * @return number of carriers
+     */
+    public long getCarrierCount() {
+        if (carrierCount == null) {
+            try {
+                carrierCount = carrierService.count(new PageRequest());
+            } catch (FindByException e) {
+                logger.info("Could not count Carriers.");
+                carrierCount = 0L;
+            }
+        }
+        return carrierCount;
+    }
+
+    /**
+     * Return the color of the given priority.
+     *
+     * @param priority the priority
+     * @return a String containing RGB-Values
+     */
+    public String getColor(final Priority priority) {
+        if (colors == null)
+            colors = priorityService.getColors();
+
+        final String color = priority == null ? null : colors.get(priority.getId());
+        return color != null ? color : priorityService.getColor(priority);
+    }
+
+    /**
+     * Return URL to the currently active workstation for a given job.
+     *
+     * @param job to get workstation of
+     * @return url to currently active workstation or '#' if workstation is null;
+     */
+    public String getWorkstationRedirectURL(final Job job) {
+        if (job == null)
+            return "#";
+        return workstationRedirectURLs.computeIfAbsent(job.getId(), id -> {
+            final Procedure activeProcedure = jobService.getCurrentProcedure(job);
+            if (activeProcedure == null || activeProcedure.getProcessStep() == null)
+                return "#";
+            final Workstation activeWorkstation = activeProcedure.getProcessStep().getWorkstation();
+            return activeWorkstation != null ? "workstation.xhtml?id=" + activeWorkstation.getId() : "#";
+        });
+    }
+
+    /**
+     * Gets the number of finished procedures of the given job.
+     *
+     * @param job the job
+     * @return the current progress in chain
+     */
+    public int getCurrentProgressInChain(final Job job) {
+        return jobService.getCurrentProgressInChain(job);
+    }
+
+    /**
+     * Gets the number of remaining procedures of the given job.
+     *
+     * @param job the job
+     * @return the remaining progress in chain
+     */
+    public int getRemainingProgressInChain(final Job job) {
+        return jobService.getRemainingProgressInChain(job);
+    }
+
+    /**
+     * Gets progress of given job in processChain in percent.
+     *
+     * @param job the job
+     * @return the progress in chain
+     */
+    public float getProgressInChain(final Job job) {
+        return jobService.getProgressInChain(job);
+    }
+
+    /**
+     * Query the workstations of the executing user.
+     *
+     * @return the workstations of the executing user
+     */
+    private List<Workstation> queryWorkstations() {
+        final User currentUser = userService.getExecutingUser();
+
+        if (currentUser == null)
+            return new ArrayList<>();
+
+        // Admin should have access to all workstations
+        if (currentUser.getRoles().contains(Role.ADMIN))
+            return workstationService.getAll();
+
+        // User isn't admin or technologe, shouldn't have access to workstation
+        if (!currentUser.getRoles().contains(Role.TECHNOLOGE)) {
+            logger.trace("Current User is not a Technologe!");
+            return new ArrayList<>();
+        }
+
+        try {
+            logger.debug("Querying all assigned Workstations.");
+            return workstationService.getByUser(currentUser);
+        } catch (FindByException e) {
+            logger.info("Could not query all assigned Workstations.");
+            return new ArrayList<>();
+        }
+    }
+}
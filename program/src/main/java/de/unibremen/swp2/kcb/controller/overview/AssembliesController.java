@@ -57,11 +57,12 @@ public class AssembliesController extends OverviewController<Assembly> {
     private StockService stockService;
 
     /**
-     * Initially refreshes data content after injections are done
+     * Creates the lazy data model after injections are done. The collection of all {@link Assembly}s
+     * is only loaded if it is accessed.
      */
     @PostConstruct
     public void init() {
-        this.refresh();
+        this.lazyModel = new EntityDataModel<>(assemblyService::getAll, assemblyService::count, Assembly::getId, this::getById);
     }
 
     /**
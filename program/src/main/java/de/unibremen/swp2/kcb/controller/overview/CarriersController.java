@@ -42,11 +42,12 @@ public class CarriersController extends OverviewController<Carrier> {
     private CarrierService carrierService;
 
     /**
-     * Initially refreshes data content after injections are done
+     * Creates the lazy data model after injections are done. The collection of all {@link Carrier}s
+     * is only loaded if it is accessed.
      */
     @PostConstruct
     public void init() {
-        this.refresh();
+        this.lazyModel = new EntityDataModel<>(carrierService::getAll, carrierService::count, Carrier::getId, this::getById);
     }
 
     /**
@@ -0,0 +1,161 @@
+package de.unibremen.swp2.kcb.controller.overview;
+
+import de.unibremen.swp2.kcb.persistence.PageRequest;
+import de.unibremen.swp2.kcb.service.serviceExceptions.FindByException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.primefaces.model.LazyDataModel;
+import org.primefaces.model.SortOrder;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Lazy data model for PrimeFaces data tables that only loads the displayed page of entities.
+ * Pages are queried sorted and filtered by the database via a {@link PageRequest},
+ * the row count is queried with a separate COUNT query using the same filters.
+ *
+ * @param <T> Type of the entities
+ *
+ * @author Marius
+ */
+public class EntityDataModel<T> extends LazyDataModel<T> {
+
+    /**
+     * Logger object of the EntityDataModel class
+     */
+    private static final Logger logger = LogManager.getLogger(EntityDataModel.class);
+
+    /**
+     * Key PrimeFaces uses for the global filter of a table, which isn't an attribute
+     */
+    private static final String GLOBAL_FILTER = "globalFilter";
+
+    /**
+     * Query of a page or the count of entities described by a {@link PageRequest}.
+     *
+     * @param <R> Type of the result
+     */
+    @FunctionalInterface
+    public interface PageFunction<R> extends Serializable {
+
+        /**
+         * Run the query.
+         *
+         * @param pageRequest describes the page, its order and filters
+         * @return result of the query
+         * @throws FindByException if the page request is invalid
+         */
+        R apply(PageRequest pageRequest) throws FindByException;
+    }
+
+    /**
+     * Serializable function, so the model can be kept by view scoped controllers.
+     *
+     * @param <A> Type of the argument
+     * @param <R> Type of the result
+     */
+    @FunctionalInterface
+    public interface SerializableFunction<A, R> extends Function<A, R>, Serializable {
+    }
+
+    /**
+     * Queries a page of entities
+     */
+    private final PageFunction<List<T>> page;
+
+    /**
+     * Queries the number of entities
+     */
+    private final PageFunction<Long> count;
+
+    /**
+     * Returns the id of an entity
+     */
+    private final SerializableFunction<T, String> idGetter;
+
+    /**
+     * Returns the entity with the given id
+     */
+    private final SerializableFunction<String, T> byId;
+
+    /**
+     * Create a new EntityDataModel.
+     *
+     * @param page     queries a page of entities
+     * @param count    queries the number of entities
+     * @param idGetter returns the id of an entity
+     * @param byId     returns the entity with the given id
+     */
+    public EntityDataModel(final PageFunction<List<T>> page, final PageFunction<Long> count,
+                           final SerializableFunction<T, String> idGetter,
+                           final SerializableFunction<String, T> byId) {
+        this.page = page;
+        this.count = count;
+        this.idGetter = idGetter;
+        this.byId = byId;
+    }
+
+    /**
+     * Load the requested page and update the row count.
+     *
+     * @param first     index of the first row
+     * @param pageSize  number of rows
+     * @param sortField attribute to sort by, null to sort by id
+     * @param sortOrder the sort order
+     * @param filters   attribute paths mapped to the value they have to be equal to
+     * @return the entities of the page or an empty list if the page request is invalid
+     */
+    @Override
+    public List<T> load(final int first, final int pageSize, final String sortField,
+                        final SortOrder sortOrder, final Map<String, Object> filters) {
+        try {
+            final PageRequest pageRequest = new PageRequest();
+            pageRequest.setOffset(first);
+            pageRequest.setLimit(pageSize);
+            if (sortField != null)
+                pageRequest.setSort(sortOrder == SortOrder.DESCENDING ? "-" + sortField : sortField);
+            if (filters != null) {
+                for (Map.Entry<String, Object> filter : filters.entrySet()) {
+                    if (filter.getValue() == null || filter.getKey().equals(GLOBAL_FILTER))
+                        continue;
+                    final String value = filter.getValue().toString().trim();
+                    if (!value.isEmpty())
+                        pageRequest.getFilters().put(filter.getKey(), value);
+                }
+            }
+
+            this.setRowCount(Math.toIntExact(count.apply(pageRequest)));
+            return page.apply(pageRequest);
+        } catch (FindByException | IllegalArgumentException | ArithmeticException e) {
+            logger.debug("Couldn't load page: {}", e.getMessage());
+            this.setRowCount(0);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Return the entity with the given id.
+     *
+     * @param rowKey id of the entity
+     * @return the entity or null if not found
+     */
+    @Override
+    public T getRowData(final String rowKey) {
+        return byId.apply(rowKey);
+    }
+
+    /**
+     * Return the id of the given entity.
+     *
+     * @param entity the entity
+     * @return id of the entity
+     */
+    @Override
+    public Object getRowKey(final T entity) {
+        return idGetter.apply(entity);
+    }
+}
@@ -9,6 +9,7 @@ import de.unibremen.swp2.kcb.service.serviceExceptions.ExportException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.FindByException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.GetAllActiveJobsForCurrentTechnologeException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.ProtocolGenerationException;
+import lombok.Getter;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.primefaces.model.DefaultStreamedContent;
@@ -51,11 +52,23 @@ public class JobsController extends OverviewController<Job> {
     private JobService jobService;
 
     /**
-     * Initially refreshes data content after injections are done
+     * Lazy data model only loading the displayed page of the transport queue.
+     * The queue is always ordered by priority and waiting time, so sorting and filters are ignored.
+     */
+    @Getter
+    private EntityDataModel<Job> transportModel;
+
+    /**
+     * Creates the lazy data models after injections are done. The collection of all {@link Job}s
+     * is only loaded if it is accessed. The displayed page is loaded with the procedures of the jobs.
      */
     @PostConstruct
     public void init() {
-        this.refresh();
+        this.lazyModel = new EntityDataModel<>(pageRequest -> jobService.getDetails(jobService.getAll(pageRequest)),
+                jobService::count, Job::getId, this::getById);
+        this.transportModel = new EntityDataModel<>(pageRequest -> jobService.getDetails(
+                jobService.getJobsThatNeedTransport(pageRequest.getOffset(), pageRequest.getLimit())),
+                pageRequest -> jobService.countJobsThatNeedTransport(), Job::getId, this::getById);
     }
 
     /**
@@ -63,7 +76,7 @@ public class JobsController extends OverviewController<Job> {
      */
     @Override
     public void refresh() {
-        List<Job> jobs = jobService.getAll();
+        List<Job> jobs = jobService.getDetails(jobService.getAll());
 
         if (jobs == null || jobs.isEmpty()) {
             logger.debug("Jobs couldn't be loaded. Couldn't find any Jobs");
@@ -87,7 +100,7 @@ public class JobsController extends OverviewController<Job> {
 
         try {
             logger.debug("Querying Job by provided ID");
-            return jobService.getById(id);
+            return jobService.getDetail(jobService.getById(id));
         } catch (Exception e) {
             logger.debug("Couldn't find Job by provided ID");
             final String summary = localeController.formatString("error.summary.jobs-no-active");
@@ -135,7 +148,7 @@ public class JobsController extends OverviewController<Job> {
      * @return the jobs that need transport
      */
     public List<Job> getJobsThatNeedTransport() {
-        return jobService.getJobsThatNeedTransport();
+        return jobService.getDetails(jobService.getJobsThatNeedTransport());
     }
 
     /**
@@ -149,7 +162,7 @@ public class JobsController extends OverviewController<Job> {
 
         try {
             logger.debug("Querying Jobs by provided ProcessChain");
-            this.entities = jobService.getByProcessChain(processChain);
+            this.entities = jobService.getDetails(jobService.getByProcessChain(processChain));
         } catch (FindByException e) {
             logger.debug("Couldn't find Jobs by provided ProcessChain");
             final String summary = localeController.formatString("error.summary.jobs-not-found-by-chain");
@@ -168,7 +181,7 @@ public class JobsController extends OverviewController<Job> {
         this.entities = new ArrayList<>();
 
         logger.debug("Querying pending Jobs");
-        this.entities = jobService.getPending();
+        this.entities = jobService.getDetails(jobService.getPending());
         this.entities.sort((j1, j2) -> j2.getPriority().getValue() - j1.getPriority().getValue());
         return this.entities;
     }
@@ -274,6 +287,6 @@ public class JobsController extends OverviewController<Job> {
      * @return the three most important jobs
      */
     public List<Job> getThreeMostImportantJobs() {
-        return jobService.getThreeMostImportantJobs();
+        return jobService.getDetails(jobService.getThreeMostImportantJobs());
     }
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package de.unibremen.swp2.kcb.controller.overview;
 import de.unibremen.swp2.kcb.controller.Controller;
 import lombok.Getter;
 
+import javax.faces.context.FacesContext;
+
 import java.util.List;
 
 /**
@@ -19,9 +21,47 @@ public abstract class OverviewController<T> extends Controller {
     /**
      * The collection of entities.
      */
-    @Getter
     protected List<T> entities;
 
+    /**
+     * Lazy data model only loading the displayed page of entities, null if the controller doesn't provide one.
+     */
+    @Getter
+    protected EntityDataModel<T> lazyModel;
+
+    /**
+     * The collection of all entities offered by select inputs.
+     */
+    private List<T> selectable;
+
+    /**
+     * Return the collection of entities. The collection of all entities is only loaded
+     * on first access, if no other collection has been loaded before.
+     *
+     * @return the collection of entities
+     */
+    public List<T> getEntities() {
+        if (this.entities == null)
+            this.refresh();
+        return this.entities;
+    }
+
+    /**
+     * Return the collection of all entities to be offered by select inputs. The collection is loaded
+     * at most once per request, so entities created or deleted in other views are offered by the next request.
+     *
+     * @return the collection of all entities
+     */
+    public List<T> getSelectable() {
+        final FacesContext context = FacesContext.getCurrentInstance();
+        final boolean loaded = context != null && context.getAttributes().putIfAbsent(this, Boolean.TRUE) != null;
+        if (!loaded || this.selectable == null) {
+            this.refresh();
+            this.selectable = this.entities;
+        }
+        return this.selectable;
+    }
+
     /**
      * Refresh the collection of all entities.
      */
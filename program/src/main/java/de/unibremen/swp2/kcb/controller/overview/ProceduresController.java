@@ -53,11 +53,12 @@ public class ProceduresController extends OverviewController<Procedure> {
     private ProcedureService procedureService;
 
     /**
-     * Initially refreshes data content after injections are done
+     * Creates the lazy data model after injections are done. The collection of all {@link Procedure}s
+     * is only loaded if it is accessed.
      */
     @PostConstruct
     public void init() {
-        this.refresh();
+        this.lazyModel = new EntityDataModel<>(procedureService::getAll, procedureService::count, Procedure::getId, this::getById);
     }
 
     /**
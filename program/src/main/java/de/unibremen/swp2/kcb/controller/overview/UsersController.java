@@ -41,11 +41,12 @@ public class UsersController extends OverviewController<User> {
     private UserService userService;
 
     /**
-     * Initially refreshes data content after injections are done
+     * Creates the lazy data model after injections are done. The collection of all {@link User}s
+     * is only loaded if it is accessed.
      */
     @PostConstruct
     public void init() {
-        this.refresh();
+        this.lazyModel = new EntityDataModel<>(userService::getAll, userService::count, User::getId, this::getById);
     }
 
     /**
@@ -236,6 +236,16 @@ public class WorkstationController extends SingleController<Workstation> {
         return workstationService.getActiveJobWorkload(workstation);
     }
 
+    /**
+     * Gets the number of procedures running at the given workstation.
+     *
+     * @param workstation the workstation
+     * @return the running procedure count
+     */
+    public int getRunningProcedureCount(Workstation workstation) {
+        return workstationService.getRunningProcedureCount(workstation);
+    }
+
     /**
      * Gets active job assemblies count.
      *
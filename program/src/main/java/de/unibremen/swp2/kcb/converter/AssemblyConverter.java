@@ -36,7 +36,8 @@ public class AssemblyConverter implements Converter<Assembly> {
         if (s.equals(""))
             return null;
 
-        return assemblyService.getById(s);
+        final Assembly batched = ConverterBatch.get(facesContext, uiComponent, s, assemblyService::getByIds, Assembly::getId);
+        return batched != null ? batched : assemblyService.getById(s);
     }
 
     /**
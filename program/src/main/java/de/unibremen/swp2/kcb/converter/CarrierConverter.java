@@ -37,7 +37,8 @@ public class CarrierConverter implements Converter<Carrier> {
         if(s.equals(""))
             return null;
 
-        return carrierService.getById(s);
+        final Carrier batched = ConverterBatch.get(facesContext, uiComponent, s, carrierService::getByIds, Carrier::getId);
+        return batched != null ? batched : carrierService.getById(s);
     }
 
     /**
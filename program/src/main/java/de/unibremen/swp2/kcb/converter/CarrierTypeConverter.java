@@ -37,7 +37,8 @@ public class CarrierTypeConverter implements Converter<CarrierType> {
         if(s.equals(""))
             return null;
 
-        return carrierTypeService.getById(s);
+        final CarrierType batched = ConverterBatch.get(facesContext, uiComponent, s, carrierTypeService::getByIds, CarrierType::getId);
+        return batched != null ? batched : carrierTypeService.getById(s);
     }
 
     /**
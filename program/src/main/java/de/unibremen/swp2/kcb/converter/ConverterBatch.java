@@ -0,0 +1,64 @@
+package de.unibremen.swp2.kcb.converter;
+
+import javax.faces.component.UIComponent;
+import javax.faces.component.UIInput;
+import javax.faces.context.FacesContext;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Loads the entities of all values submitted with a multi-valued component (e.g. a selectManyMenu or pickList)
+ * at once. JSF converts the values one after another, so the first conversion loads the entities of all values
+ * with one query and keeps them in the {@link FacesContext} for the following conversions of the request.
+ *
+ * @author Marius
+ */
+final class ConverterBatch {
+
+    /**
+     * Prefix of the FacesContext attributes the loaded entities are kept in
+     */
+    private static final String ATTRIBUTE_PREFIX = ConverterBatch.class.getName() + ":";
+
+    /**
+     * Utility class, not instantiable.
+     */
+    private ConverterBatch() {
+    }
+
+    /**
+     * Return the entity with the given id from the entities of all values submitted with the given component.
+     *
+     * @param facesContext the facesContext
+     * @param uiComponent  the component the value was submitted with
+     * @param id           the submitted id
+     * @param getByIds     loads the entities with the given ids
+     * @param idGetter     returns the id of an entity
+     * @param <T>          type of the entities
+     * @return the entity or null if the component submitted a single value or the id is unknown
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T get(final FacesContext facesContext, final UIComponent uiComponent, final String id,
+                     final Function<Collection<String>, List<T>> getByIds, final Function<T, String> idGetter) {
+        if (facesContext == null || !(uiComponent instanceof UIInput))
+            return null;
+
+        final Object submitted = ((UIInput) uiComponent).getSubmittedValue();
+        if (!(submitted instanceof String[]) || ((String[]) submitted).length < 2)
+            return null;
+
+        final String key = ATTRIBUTE_PREFIX + uiComponent.getClientId(facesContext);
+        Map<String, T> entities = (Map<String, T>) facesContext.getAttributes().get(key);
+        if (entities == null) {
+            entities = new HashMap<>();
+            for (T entity : getByIds.apply(Arrays.asList((String[]) submitted)))
+                entities.put(idGetter.apply(entity), entity);
+            facesContext.getAttributes().put(key, entities);
+        }
+        return entities.get(id);
+    }
+}
@@ -34,7 +34,8 @@ public class JobConverter implements Converter<Job> {
     @SneakyThrows
     @Override
     public Job getAsObject(FacesContext facesContext, UIComponent uiComponent, String s) {
-        return jobService.getById(s);
+        final Job batched = ConverterBatch.get(facesContext, uiComponent, s, jobService::getByIds, Job::getId);
+        return batched != null ? batched : jobService.getById(s);
     }
 
     /**
@@ -37,7 +37,8 @@ public class LocationConverter implements Converter<Location> {
         if(s.equals(""))
             return null;
 
-        return locationService.getById(s);
+        final Location batched = ConverterBatch.get(facesContext, uiComponent, s, locationService::getByIds, Location::getId);
+        return batched != null ? batched : locationService.getById(s);
     }
     /**
      * Converts
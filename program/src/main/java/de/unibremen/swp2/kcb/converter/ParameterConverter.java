@@ -38,7 +38,8 @@ public class ParameterConverter implements Converter<Parameter> {
         if (s.equals(""))
             return null;
 
-        return parameterService.getById(s);
+        final Parameter batched = ConverterBatch.get(facesContext, uiComponent, s, parameterService::getByIds, Parameter::getId);
+        return batched != null ? batched : parameterService.getById(s);
     }
 
     /**
@@ -34,7 +34,8 @@ public class PriorityConverter implements Converter<Priority> {
     @SneakyThrows
     @Override
     public Priority getAsObject(FacesContext facesContext, UIComponent uiComponent, String s) {
-        return priorityService.getById(s);
+        final Priority batched = ConverterBatch.get(facesContext, uiComponent, s, priorityService::getByIds, Priority::getId);
+        return batched != null ? batched : priorityService.getById(s);
     }
 
     /**
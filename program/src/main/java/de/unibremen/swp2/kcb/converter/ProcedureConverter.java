@@ -34,7 +34,8 @@ public class ProcedureConverter implements Converter<Procedure> {
     @SneakyThrows
     @Override
     public Procedure getAsObject(FacesContext facesContext, UIComponent uiComponent, String s) {
-        return procedureService.getById(s);
+        final Procedure batched = ConverterBatch.get(facesContext, uiComponent, s, procedureService::getByIds, Procedure::getId);
+        return batched != null ? batched : procedureService.getById(s);
     }
 
     /**
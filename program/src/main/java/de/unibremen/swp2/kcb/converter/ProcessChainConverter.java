@@ -38,7 +38,8 @@ public class ProcessChainConverter implements Converter<ProcessChain> {
         if(s.equals(""))
             return null;
 
-        return processChainService.getById(s);
+        final ProcessChain batched = ConverterBatch.get(facesContext, uiComponent, s, processChainService::getByIds, ProcessChain::getId);
+        return batched != null ? batched : processChainService.getById(s);
     }
 
     /**
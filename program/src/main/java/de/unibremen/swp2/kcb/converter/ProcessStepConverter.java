@@ -39,7 +39,8 @@ public class ProcessStepConverter implements Converter<ProcessStep> {
         if(s.equals(""))
             return null;
 
-        return processStepService.getById(s);
+        final ProcessStep batched = ConverterBatch.get(facesContext, uiComponent, s, processStepService::getByIds, ProcessStep::getId);
+        return batched != null ? batched : processStepService.getById(s);
     }
 
     /**
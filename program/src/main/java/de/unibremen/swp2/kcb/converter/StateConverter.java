@@ -38,7 +38,8 @@ public class StateConverter implements Converter<State> {
         if(s.equals(""))
             return null;
 
-        return stateService.getById(s);
+        final State batched = ConverterBatch.get(facesContext, uiComponent, s, stateService::getByIds, State::getId);
+        return batched != null ? batched : stateService.getById(s);
     }
 
     /**
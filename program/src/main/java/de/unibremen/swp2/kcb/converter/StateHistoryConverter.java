@@ -34,7 +34,8 @@ public class StateHistoryConverter implements Converter<StateHistory> {
     @SneakyThrows
     @Override
     public StateHistory getAsObject(FacesContext facesContext, UIComponent uiComponent, String s) {
-        return stateHistoryService.getById(s);
+        final StateHistory batched = ConverterBatch.get(facesContext, uiComponent, s, stateHistoryService::getByIds, StateHistory::getId);
+        return batched != null ? batched : stateHistoryService.getById(s);
     }
 
     /**
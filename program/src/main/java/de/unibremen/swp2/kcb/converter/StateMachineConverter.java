@@ -37,7 +37,8 @@ public class StateMachineConverter implements Converter<StateMachine> {
         if(s.equals(""))
             return null;
 
-        return stateMachineService.getById(s);
+        final StateMachine batched = ConverterBatch.get(facesContext, uiComponent, s, stateMachineService::getByIds, StateMachine::getId);
+        return batched != null ? batched : stateMachineService.getById(s);
     }
 
     /**
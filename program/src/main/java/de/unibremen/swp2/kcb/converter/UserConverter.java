@@ -34,7 +34,8 @@ public class UserConverter implements Converter<User> {
     @SneakyThrows
     @Override
     public User getAsObject(FacesContext facesContext, UIComponent uiComponent, String s) {
-        return userService.getById(s);
+        final User batched = ConverterBatch.get(facesContext, uiComponent, s, userService::getByIds, User::getId);
+        return batched != null ? batched : userService.getById(s);
     }
 
     /**
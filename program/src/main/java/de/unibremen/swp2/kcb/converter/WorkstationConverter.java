@@ -37,7 +37,8 @@ public class WorkstationConverter implements Converter<Workstation> {
         if(s.equals(""))
             return null;
 
-        return workstationService.getById(s);
+        final Workstation batched = ConverterBatch.get(facesContext, uiComponent, s, workstationService::getByIds, Workstation::getId);
+        return batched != null ? batched : workstationService.getById(s);
     }
 
     /**
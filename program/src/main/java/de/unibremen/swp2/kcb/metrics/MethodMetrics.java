@@ -0,0 +1,126 @@
+package de.unibremen.swp2.kcb.metrics;
+
+import lombok.Getter;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count, error count and latency histogram of one monitored method.
+ * All counters can be updated concurrently without locking.
+ *
+ * @author Marius
+ */
+public class MethodMetrics {
+
+    /**
+     * Upper bounds of the latency histogram buckets in seconds
+     */
+    static final double[] BUCKETS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    /**
+     * Simple name of the class declaring the method
+     */
+    @Getter
+    private final String className;
+
+    /**
+     * Name of the method
+     */
+    @Getter
+    private final String methodName;
+
+    /**
+     * Number of calls
+     */
+    private final LongAdder calls = new LongAdder();
+
+    /**
+     * Number of calls that threw an exception
+     */
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Sum of all latencies in nanoseconds
+     */
+    private final LongAdder durationSum = new LongAdder();
+
+    /**
+     * Number of calls per bucket, the last bucket counts the calls slower than all bounds
+     */
+    private final LongAdder[] bucketCounts = new LongAdder[BUCKETS.length + 1];
+
+    /**
+     * Creates the metrics of a method.
+     *
+     * @param className  simple name of the class declaring the method
+     * @param methodName name of the method
+     */
+    public MethodMetrics(final String className, final String methodName) {
+        this.className = className;
+        this.methodName = methodName;
+        for (int i = 0; i < bucketCounts.length; i++)
+            bucketCounts[i] = new LongAdder();
+    }
+
+    /**
+     * Record a call of the method.
+     *
+     * @param nanos  latency of the call in nanoseconds
+     * @param failed whether the call threw an exception
+     */
+    public void record(final long nanos, final boolean failed) {
+        calls.increment();
+        if (failed)
+            errors.increment();
+        durationSum.add(nanos);
+
+        final double seconds = nanos / 1e9;
+        int bucket = 0;
+        while (bucket < BUCKETS.length && seconds > BUCKETS[bucket])
+            bucket++;
+        bucketCounts[bucket].increment();
+    }
+
+    /**
+     * Return the number of calls.
+     *
+     * @return number of calls
+     */
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * Return the number of calls that threw an exception.
+     *
+     * @return number of failed calls
+     */
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * Return the sum of all latencies.
+     *
+     * @return sum of all latencies in seconds
+     */
+    public double getDurationSum() {
+        return durationSum.sum() / 1e9;
+    }
+
+    /**
+     * Return the cumulative number of calls per bucket as used by the Prometheus histogram format.
+     * The last entry counts all calls.
+     *
+     * @return cumulative bucket counts
+     */
+    public long[] getCumulativeBucketCounts() {
+        final long[] cumulative = new long[bucketCounts.length];
+        long sum = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            sum += bucketCounts[i].sum();
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+}
@@ -0,0 +1,50 @@
+package de.unibremen.swp2.kcb.metrics;
+
+import javax.inject.Inject;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.Interceptor;
+import javax.interceptor.InvocationContext;
+import java.io.Serializable;
+
+/**
+ * Interceptor recording call count, error count and latency of every {@link Monitored} method
+ * in the {@link MetricsRegistry}
+ *
+ * @author Marius
+ */
+@Interceptor
+@Monitored
+public class MetricsInterceptor implements Serializable {
+
+    /**
+     * SerialVersion
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Registry the metrics are recorded in
+     */
+    @Inject
+    private MetricsRegistry metricsRegistry;
+
+    /**
+     * Measure the invocation and record it in the registry
+     *
+     * @param context of invokation
+     * @return context.proceed()
+     * @throws Exception thrown by the invoked method
+     */
+    @AroundInvoke
+    public Object measure(InvocationContext context) throws Exception {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            final Object result = context.proceed();
+            failed = false;
+            return result;
+        } finally {
+            metricsRegistry.get(context.getTarget().getClass(), context.getMethod())
+                    .record(System.nanoTime() - start, failed);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package de.unibremen.swp2.kcb.metrics;
+
+import javax.enterprise.context.ApplicationScoped;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the {@link MethodMetrics} of all monitored methods. Renders the metrics
+ * in the Prometheus text exposition format.
+ *
+ * @author Marius
+ */
+@ApplicationScoped
+public class MetricsRegistry {
+
+    /**
+     * Prefix of all metric names
+     */
+    static final String PREFIX = "kcb_";
+
+    /**
+     * Simple name of every monitored class without the proxy classes of the container
+     */
+    private static final ClassValue<String> CLASS_NAMES = new ClassValue<String>() {
+        @Override
+        protected String computeValue(final Class<?> type) {
+            Class<?> c = type;
+            while (c.getSuperclass() != null && (c.isSynthetic() || c.getName().contains("$")))
+                c = c.getSuperclass();
+            return c.getSimpleName();
+        }
+    };
+
+    /**
+     * Metrics of every monitored method by class and method name
+     */
+    private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+    /**
+     * Return the metrics of the given method of the given class, creating them on the first call.
+     *
+     * @param type   class of the called instance
+     * @param method the called method
+     * @return the metrics of the method
+     */
+    public MethodMetrics get(final Class<?> type, final Method method) {
+        final String className = CLASS_NAMES.get(type);
+        return methods.computeIfAbsent(className + "#" + method.getName(),
+                key -> new MethodMetrics(className, method.getName()));
+    }
+
+    /**
+     * Return the metrics of all monitored methods that have been called.
+     *
+     * @return the metrics ordered by class and method name
+     */
+    public List<MethodMetrics> getAll() {
+        final List<MethodMetrics> all = new ArrayList<>(methods.values());
+        all.sort(Comparator.comparing(MethodMetrics::getClassName).thenComparing(MethodMetrics::getMethodName));
+        return all;
+    }
+
+    /**
+     * Append the metrics of all monitored methods in the Prometheus text format.
+     *
+     * @param out to append the metrics to
+     */
+    public void write(final StringBuilder out) {
+        final List<MethodMetrics> all = this.getAll();
+
+        writeHeader(out, "method_calls_total", "counter", "Number of calls of service and api methods.");
+        for (MethodMetrics m : all)
+            writeSample(out, "method_calls_total", labels(m), m.getCalls());
+
+        writeHeader(out, "method_errors_total", "counter", "Number of calls of service and api methods that threw an exception.");
+        for (MethodMetrics m : all)
+            writeSample(out, "method_errors_total", labels(m), m.getErrors());
+
+        writeHeader(out, "method_duration_seconds", "histogram", "Latency of service and api methods.");
+        for (MethodMetrics m : all) {
+            final long[] buckets = m.getCumulativeBucketCounts();
+            for (int i = 0; i < buckets.length; i++) {
+                final String le = i < MethodMetrics.BUCKETS.length ? formatValue(MethodMetrics.BUCKETS[i]) : "+Inf";
+                writeSample(out, "method_duration_seconds_bucket", labels(m) + ",le=\"" + le + "\"", buckets[i]);
+            }
+            writeSample(out, "method_duration_seconds_sum", labels(m), m.getDurationSum());
+            writeSample(out, "method_duration_seconds_count", labels(m), buckets[buckets.length - 1]);
+        }
+    }
+
+    /**
+     * Append the HELP and TYPE lines of a metric.
+     *
+     * @param out  to append to
+     * @param name name of the metric without prefix
+     * @param type prometheus type of the metric
+     * @param help description of the metric
+     */
+    public static void writeHeader(final StringBuilder out, final String name, final String type, final String help) {
+        out.append("# HELP ").append(PREFIX).append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(PREFIX).append(name).append(' ').append(type).append('\n');
+    }
+
+    /**
+     * Append one sample of a metric.
+     *
+     * @param out    to append to
+     * @param name   name of the metric without prefix
+     * @param labels formatted labels of the sample or null
+     * @param value  value of the sample
+     */
+    public static void writeSample(final StringBuilder out, final String name, final String labels, final double value) {
+        out.append(PREFIX).append(name);
+        if (labels != null && !labels.isEmpty())
+            out.append('{').append(labels).append('}');
+        out.append(' ').append(formatValue(value)).append('\n');
+    }
+
+    /**
+     * Format a label with an escaped value.
+     *
+     * @param name  name of the label
+     * @param value value of the label
+     * @return the formatted label
+     */
+    public static String label(final String name, final String value) {
+        final String escaped = value == null ? "" : value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        return name + "=\"" + escaped + "\"";
+    }
+
+    /**
+     * Return the labels identifying a method.
+     *
+     * @param m metrics of the method
+     * @return the formatted labels
+     */
+    private static String labels(final MethodMetrics m) {
+        return label("class", m.getClassName()) + "," + label("method", m.getMethodName());
+    }
+
+    /**
+     * Format a sample value. Whole numbers are written without fraction.
+     *
+     * @param value to be formatted
+     * @return the formatted value
+     */
+    private static String formatValue(final double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15)
+            return String.valueOf((long) value);
+        return Double.toString(value);
+    }
+}
@@ -0,0 +1,18 @@
+package de.unibremen.swp2.kcb.metrics;
+
+import javax.interceptor.InterceptorBinding;
+import java.lang.annotation.*;
+
+/**
+ * Annotation to record call counts, error counts and latencies of the annotated methods
+ * with the {@link MetricsInterceptor}
+ *
+ * @author Marius
+ */
+@Inherited
+@InterceptorBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Monitored {
+
+}
@@ -7,6 +7,7 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.ManyToMany;
+import javax.persistence.OrderColumn;
 import javax.validation.constraints.Min;
 import java.util.List;
 import java.util.UUID;
@@ -55,6 +56,7 @@ public class Assembly extends KCBEntity {
      * Modifications applied to the assembly
      */
     @ManyToMany
+    @OrderColumn(name = "modification_index")
     @Expose
     private List<Procedure> modifications;
 
@@ -3,6 +3,7 @@ package de.unibremen.swp2.kcb.model;
 import com.google.gson.annotations.Expose;
 import lombok.Data;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
@@ -17,6 +18,7 @@ import java.util.UUID;
  */
 @Data
 @Entity
+@Cacheable
 public class CarrierType extends KCBEntity {
 
     /**
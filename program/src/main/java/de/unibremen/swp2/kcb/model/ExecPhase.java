@@ -0,0 +1,29 @@
+package de.unibremen.swp2.kcb.model;
+
+/**
+ * This class contains every phase the latest StateExec of a procedure can be in
+ *
+ * @author Marius
+ */
+public enum ExecPhase {
+
+    /**
+     * no StateExec has been created yet - the procedure is waiting for delivery
+     */
+    NONE,
+
+    /**
+     * the latest StateExec has been created but not started yet
+     */
+    WAITING,
+
+    /**
+     * the latest StateExec has been started but not finished yet
+     */
+    RUNNING,
+
+    /**
+     * the latest StateExec has been finished
+     */
+    FINISHED
+}
@@ -14,6 +14,7 @@ import javax.persistence.*;
  */
 @Data
 @Entity
+@Cacheable
 @NamedQueries({
   @NamedQuery(name = "findGlobalConfigsByName", query = "SELECT v FROM GlobalConfig v WHERE v.key = :key")
 })
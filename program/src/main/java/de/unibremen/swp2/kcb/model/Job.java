@@ -17,8 +17,35 @@ import java.util.UUID;
  */
 @Data
 @Entity
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Job.SUMMARY_GRAPH, attributeNodes = {
+                @NamedAttributeNode("processChain"),
+                @NamedAttributeNode("priority")
+        }),
+        @NamedEntityGraph(name = Job.DETAIL_GRAPH, attributeNodes = {
+                @NamedAttributeNode("processChain"),
+                @NamedAttributeNode("priority"),
+                @NamedAttributeNode(value = "procedures", subgraph = "procedures")
+        }, subgraphs = {
+                @NamedSubgraph(name = "procedures", attributeNodes = {
+                        @NamedAttributeNode("processStep"),
+                        @NamedAttributeNode(value = "stateHistory", subgraph = "stateHistory")
+                }),
+                @NamedSubgraph(name = "stateHistory", attributeNodes = @NamedAttributeNode("stateExecs"))
+        })
+})
 public class Job extends KCBEntity {
 
+    /**
+     * Name of the entity graph loading only what is needed to list a Job or check for its existence
+     */
+    public static final String SUMMARY_GRAPH = "Job.summary";
+
+    /**
+     * Name of the entity graph loading the Procedures of a Job with their StateHistories
+     */
+    public static final String DETAIL_GRAPH = "Job.detail";
+
     /**
      * unique ID
      */
@@ -64,12 +91,21 @@ public class Job extends KCBEntity {
     private List<Assembly> assemblies;
 
     /**
-     * Contains all Procedures for the Job
+     * Contains all Procedures for the Job. Loaded on first access or with the {@link #DETAIL_GRAPH}.
      */
-    @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.REFRESH, CascadeType.DETACH}, fetch = FetchType.EAGER)
+    @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.REFRESH, CascadeType.DETACH}, fetch = FetchType.LAZY)
+    @OrderColumn(name = "procedure_index")
     @Expose
     private List<Procedure> procedures;
 
+    /**
+     * Materialized progress of the Job. Maintained by the JobService on every state transition.
+     *
+     * @see de.unibremen.swp2.kcb.service.JobService#getProgress(Job)
+     */
+    @Embedded
+    private JobProgress progress;
+
     /**
      * Equals method of Job class
      * @param o object to be testet
@@ -0,0 +1,102 @@
+package de.unibremen.swp2.kcb.model;
+
+import de.unibremen.swp2.kcb.model.Locations.Workstation;
+import lombok.Data;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import javax.persistence.ManyToOne;
+import java.io.Serializable;
+
+/**
+ * Materialized progress of a Job. Stores the position of the Job in its
+ * ProcessChain, so the current Procedure doesn't have to be recomputed
+ * from the StateHistories of all Procedures on every call.
+ *
+ * @see Job
+ * @see de.unibremen.swp2.kcb.service.JobService#getProgress(Job)
+ *
+ * @author Marius
+ */
+@Data
+@Embeddable
+public class JobProgress implements Serializable {
+
+    /**
+     * the number of Procedures the progress has been computed for
+     */
+    @Column
+    private int procedureCount;
+
+    /**
+     * index of the current Procedure in the Job. -1 if all Procedures are complete
+     */
+    @Column
+    private int currentProcedureIndex = -1;
+
+    /**
+     * index of the current State in the StateMachine of the current Procedure. -1 if no State has been reached yet
+     */
+    @Column
+    private int currentStateIndex = -1;
+
+    /**
+     * the number of StateExecs in the StateHistory of the current Procedure
+     */
+    @Column
+    private int stateExecCount;
+
+    /**
+     * the phase of the latest StateExec of the current Procedure
+     */
+    @Column
+    private ExecPhase execPhase = ExecPhase.NONE;
+
+    /**
+     * the progress of the Job in its ProcessChain in percent
+     */
+    @Column
+    private float progressPercent;
+
+    /**
+     * whether the current Procedure has to be collected by transport
+     */
+    @Column
+    private boolean collectionNeeded;
+
+    /**
+     * whether the current Procedure has to be delivered by transport
+     */
+    @Column
+    private boolean deliveryNeeded;
+
+    /**
+     * the Workstation executing the current Procedure
+     */
+    @ManyToOne
+    private Workstation currentWorkstation;
+
+    /**
+     * the Workstation executing the Procedure after the current one
+     */
+    @ManyToOne
+    private Workstation nextWorkstation;
+
+    /**
+     * Returns whether all Procedures of the Job are complete.
+     *
+     * @return whether the Job is complete
+     */
+    public boolean isComplete() {
+        return currentProcedureIndex < 0;
+    }
+
+    /**
+     * Returns whether there is another Procedure after the current one.
+     *
+     * @return whether the Job has a next Procedure
+     */
+    public boolean hasNextProcedure() {
+        return !isComplete() && currentProcedureIndex < procedureCount - 1;
+    }
+}
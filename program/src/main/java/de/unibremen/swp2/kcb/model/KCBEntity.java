@@ -1,7 +1,6 @@
 package de.unibremen.swp2.kcb.model;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
+import de.unibremen.swp2.kcb.util.GsonRegistry;
 import lombok.Data;
 
 import javax.persistence.Version;
@@ -14,8 +13,6 @@ import java.io.Serializable;
  */
 @Data
 public abstract class KCBEntity implements Serializable {
-    private Gson gson = new GsonBuilder().serializeNulls().excludeFieldsWithoutExposeAnnotation().setPrettyPrinting().create();
-
     @Version
     private int version;
 
@@ -25,6 +22,16 @@ public abstract class KCBEntity implements Serializable {
      * @return JSON representation of this object
      */
     public String toJSON() {
-        return gson.toJson(this);
+        return GsonRegistry.toJson(this);
+    }
+
+    /**
+     * Converts an Entity to it's JSON representation.
+     *
+     * @param pretty whether the JSON should be pretty printed
+     * @return JSON representation of this object
+     */
+    public String toJSON(final boolean pretty) {
+        return GsonRegistry.toJson(this, pretty);
     }
 }
@@ -4,6 +4,7 @@ import com.google.gson.annotations.Expose;
 import de.unibremen.swp2.kcb.model.KCBEntity;
 import lombok.Data;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
@@ -12,12 +13,14 @@ import java.util.UUID;
 /**
  * Roughly describes a Location.
  * This class contains the actual String that marks the 'position'.
+ * The second-level cache is configured for the whole hierarchy, so {@link Workstation}s are cached.
  *
  * @author Marc
  * @author Marius
  */
 @Data
 @Entity
+@Cacheable
 public abstract class Location extends KCBEntity {
 
     /**
@@ -0,0 +1,127 @@
+package de.unibremen.swp2.kcb.model;
+
+import lombok.Data;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entry of the mail outbox. An OutboxMail is stored in the transaction of the business
+ * operation that wants to send it and delivered later by the
+ * {@link de.unibremen.swp2.kcb.util.MailDispatcher}.
+ *
+ * @see OutboxMailStatus
+ * @see de.unibremen.swp2.kcb.service.OutboxMailService
+ *
+ * @author Marius
+ */
+@Data
+@Entity
+@Table(indexes = @Index(columnList = "status, nextAttemptAt"))
+@ExcludeDefaultListeners
+public class OutboxMail extends KCBEntity {
+
+    /**
+     * unique ID
+     */
+    @Id
+    private String id = UUID.randomUUID().toString();
+
+    /**
+     * email address of the recipient
+     */
+    @Column(nullable = false)
+    private String recipient;
+
+    /**
+     * subject of the mail
+     */
+    @Column
+    private String subject;
+
+    /**
+     * plain text body of the mail
+     */
+    @Lob
+    @Column
+    private String text;
+
+    /**
+     * optional html body of the mail
+     */
+    @Lob
+    @Column
+    private String html;
+
+    /**
+     * delivery status of the mail
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OutboxMailStatus status = OutboxMailStatus.PENDING;
+
+    /**
+     * number of failed delivery attempts
+     */
+    @Column
+    private int attempts = 0;
+
+    /**
+     * earliest time of the next delivery attempt
+     */
+    @Column
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * marks when the mail was queued
+     */
+    @Column
+    private LocalDateTime createdAt;
+
+    /**
+     * marks when the mail was handed to the mail server
+     */
+    @Column
+    private LocalDateTime sentAt;
+
+    /**
+     * error of the last failed delivery attempt
+     */
+    @Column
+    private String lastError;
+
+    /**
+     * Equals method of OutboxMail class
+     * @param o object to be testet
+     * @return whether other object is equal
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (!(o instanceof OutboxMail)) return false;
+        return this.getId().equals(((OutboxMail) o).getId());
+    }
+
+    /**
+     * Checks whether other Object is an instance of OutboxMail
+     * @param other object
+     * @return whether in can be equal
+     */
+    @Override
+    protected boolean canEqual(final Object other) {
+        return other instanceof OutboxMail;
+    }
+
+    /**
+     * HashCode method of OutboxMail
+     * @return the hashcode
+     */
+    @Override
+    public int hashCode() {
+        final int PRIME = 59;
+        int result = 1;
+        final Object $id = this.getId();
+        result = result * PRIME + ($id == null ? 43 : $id.hashCode());
+        return result;
+    }
+}
@@ -0,0 +1,24 @@
+package de.unibremen.swp2.kcb.model;
+
+/**
+ * This class contains every delivery status an {@link OutboxMail} can have
+ *
+ * @author Marius
+ */
+public enum OutboxMailStatus {
+
+    /**
+     * the mail waits for its (next) delivery attempt
+     */
+    PENDING,
+
+    /**
+     * the mail has been handed to the mail server
+     */
+    SENT,
+
+    /**
+     * the delivery failed too often and won't be retried
+     */
+    DEAD
+}
@@ -3,10 +3,12 @@ package de.unibremen.swp2.kcb.model;
 import com.google.gson.annotations.Expose;
 import lombok.Data;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
 import javax.persistence.ManyToMany;
+import javax.persistence.OrderColumn;
 import java.util.List;
 import java.util.UUID;
 
@@ -19,6 +21,7 @@ import java.util.UUID;
  */
 @Data
 @Entity
+@Cacheable
 public class ProcessChain extends KCBEntity {
 
     /**
@@ -39,6 +42,7 @@ public class ProcessChain extends KCBEntity {
      * the actual ProcessChain consist of one or more ProcessSteps
      */
     @ManyToMany
+    @OrderColumn(name = "step_index")
     @Expose
     private List<ProcessStep> chain;
 
@@ -22,6 +22,7 @@ import java.util.UUID;
  */
 @Data
 @Entity
+@Cacheable
 public class ProcessStep extends KCBEntity {
 
     /**
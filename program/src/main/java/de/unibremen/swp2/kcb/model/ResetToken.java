@@ -14,6 +14,7 @@ import java.util.UUID;
  * @author Marius
  */
 @Entity
+@ExcludeDefaultListeners
 public class ResetToken {
 
     /**
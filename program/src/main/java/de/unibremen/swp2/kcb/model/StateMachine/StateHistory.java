@@ -34,6 +34,7 @@ public class StateHistory extends KCBEntity {
      * the actual StateHistory consists of one or many States
      */
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OrderColumn(name = "exec_index")
     @Expose
     private List<StateExec> stateExecs;
 
@@ -23,6 +23,7 @@ import java.util.UUID;
  */
 @Data
 @Entity
+@Cacheable
 public class StateMachine extends KCBEntity {
 
     /**
@@ -44,6 +45,7 @@ public class StateMachine extends KCBEntity {
      */
     @ManyToMany
     @JoinColumn(name = "statemachine_id")
+    @OrderColumn(name = "state_index")
     @Expose
     private List<State> stateList;
 
@@ -0,0 +1,92 @@
+package de.unibremen.swp2.kcb.model;
+
+import com.google.gson.annotations.Expose;
+import lombok.Data;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entry of the transport work queue. A TransportTask exists for every
+ * Job whose assemblies currently have to be moved by transport.
+ *
+ * @see TransportTaskType
+ * @see de.unibremen.swp2.kcb.service.TransportTaskService
+ *
+ * @author Marius
+ */
+@Data
+@Entity
+@Table(indexes = @Index(columnList = "priorityValue DESC, createdAt ASC"))
+public class TransportTask extends KCBEntity {
+
+    /**
+     * unique ID
+     */
+    @Id
+    @Expose
+    private String id = UUID.randomUUID().toString();
+
+    /**
+     * the Job that has to be transported
+     */
+    @OneToOne
+    @JoinColumn(unique = true)
+    @Expose
+    private Job job;
+
+    /**
+     * what has to be done with the assemblies of the Job
+     */
+    @Column
+    @Expose
+    private TransportTaskType type;
+
+    /**
+     * value of the Priority of the Job, copied so the queue can be ordered without joining the Priorities
+     */
+    @Column
+    private Integer priorityValue;
+
+    /**
+     * marks when the Job started waiting for transport
+     */
+    @Column
+    @Expose
+    private LocalDateTime createdAt;
+
+    /**
+     * Equals method of TransportTask class
+     * @param o object to be testet
+     * @return whether other object is equal
+     */
+    @Override
+    public boolean equals(final Object o) {
+        if (!(o instanceof TransportTask)) return false;
+        return this.getId().equals(((TransportTask) o).getId());
+    }
+
+    /**
+     * Checks whether other Object is an instance of TransportTask
+     * @param other object
+     * @return whether in can be equal
+     */
+    @Override
+    protected boolean canEqual(final Object other) {
+        return other instanceof TransportTask;
+    }
+
+    /**
+     * HashCode method of TransportTask
+     * @return the hashcode
+     */
+    @Override
+    public int hashCode() {
+        final int PRIME = 59;
+        int result = 1;
+        final Object $id = this.getId();
+        result = result * PRIME + ($id == null ? 43 : $id.hashCode());
+        return result;
+    }
+}
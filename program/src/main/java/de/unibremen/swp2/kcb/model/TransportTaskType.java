@@ -0,0 +1,24 @@
+package de.unibremen.swp2.kcb.model;
+
+/**
+ * This class contains every kind of task a transport can have
+ *
+ * @author Marius
+ */
+public enum TransportTaskType {
+
+    /**
+     * the assembly of a job has to be collected from its workstation
+     */
+    COLLECT,
+
+    /**
+     * the assembly of a job has to be delivered to the workstation of its current procedure
+     */
+    DELIVER,
+
+    /**
+     * the assembly of a cancelled job has to be returned to the stock
+     */
+    RETURN
+}
@@ -14,6 +14,7 @@ import javax.persistence.*;
  */
 @Data
 @Entity
+@Cacheable
 @NamedQueries({
   @NamedQuery(name = "findValidationsPatternsByName", query = "SELECT v FROM ValidationPattern v WHERE v.name = :name")
 })
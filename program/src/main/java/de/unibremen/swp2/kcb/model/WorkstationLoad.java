@@ -0,0 +1,62 @@
+package de.unibremen.swp2.kcb.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Current load of a {@link de.unibremen.swp2.kcb.model.Locations.Workstation}.
+ * Not persisted, the counters are maintained in memory by the
+ * {@link de.unibremen.swp2.kcb.service.WorkstationLoadService}.
+ *
+ * @author Marius
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkstationLoad implements Serializable {
+
+    /**
+     * Number of active jobs whose current procedure is executed at the workstation
+     */
+    private int activeJobs;
+
+    /**
+     * Number of those procedures that have been started and aren't finished yet
+     */
+    private int runningProcedures;
+
+    /**
+     * Estimated minutes of all procedures queued or running at the workstation
+     */
+    private int queuedMinutes;
+
+    /**
+     * Number of samples of the assemblies of the running procedures
+     */
+    private int samplesInProgress;
+
+    /**
+     * Add the given load to this load.
+     *
+     * @param load the load to add
+     * @param sign 1 to add the load, -1 to subtract it
+     */
+    public void add(final WorkstationLoad load, final int sign) {
+        this.activeJobs += sign * load.activeJobs;
+        this.runningProcedures += sign * load.runningProcedures;
+        this.queuedMinutes += sign * load.queuedMinutes;
+        this.samplesInProgress += sign * load.samplesInProgress;
+    }
+
+    /**
+     * Return whether this load is empty.
+     *
+     * @return whether all counters are zero
+     */
+    public boolean isEmpty() {
+        return activeJobs == 0 && runningProcedures == 0 && queuedMinutes == 0 && samplesInProgress == 0;
+    }
+}
@@ -4,6 +4,7 @@ import com.google.gson.annotations.Expose;
 import de.unibremen.swp2.kcb.model.KCBEntity;
 import lombok.Data;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.Id;
@@ -19,6 +20,7 @@ import java.util.UUID;
  */
 @Data
 @Entity
+@Cacheable
 public class Parameter extends KCBEntity {
 
     /**
@@ -0,0 +1,149 @@
+package de.unibremen.swp2.kcb.persistence;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Runs actions after the current JTA transaction has been committed, e.g. evicting in-memory caches
+ * of changed entities. Evicting them before the commit would let a concurrent reader cache the old state again.
+ * Actions aren't run if the transaction is rolled back. Without an active transaction (e.g. in tests or on startup)
+ * the actions are run immediately.
+ * <p>
+ * The TransactionSynchronizationRegistry is looked up through JNDI, so the actions can also be registered
+ * outside of CDI, e.g. by entity listeners.
+ *
+ * @author Marius
+ */
+public final class AfterCommit {
+
+    /**
+     * Logger object of the AfterCommit class
+     */
+    private static final Logger logger = LogManager.getLogger(AfterCommit.class);
+
+    /**
+     * JNDI name of the TransactionSynchronizationRegistry
+     */
+    private static final String REGISTRY = "java:comp/TransactionSynchronizationRegistry";
+
+    /**
+     * Registry of the container, looked up on first use
+     */
+    private static volatile TransactionSynchronizationRegistry registry;
+
+    /**
+     * Utility class, not instantiable.
+     */
+    private AfterCommit() {
+    }
+
+    /**
+     * Run the given action after the current transaction has been committed.
+     *
+     * @param action to be run
+     */
+    public static void run(final Runnable action) {
+        final TransactionSynchronizationRegistry registry = getActiveRegistry();
+        if (registry == null) {
+            action.run();
+            return;
+        }
+        registry.registerInterposedSynchronization(new AfterCommitSynchronization(action));
+    }
+
+    /**
+     * Run the given action once after the current transaction has been committed,
+     * no matter how often it is registered with the same key during the transaction.
+     *
+     * @param key    identifies the action within the transaction
+     * @param action to be run
+     */
+    public static void runOnce(final Object key, final Runnable action) {
+        final TransactionSynchronizationRegistry registry = getActiveRegistry();
+        if (registry == null) {
+            action.run();
+            return;
+        }
+        if (registry.getResource(key) != null)
+            return;
+        registry.putResource(key, Boolean.TRUE);
+        registry.registerInterposedSynchronization(new AfterCommitSynchronization(action));
+    }
+
+    /**
+     * Replace the registry of the container, e.g. with the registry of a mocked transaction in tests.
+     * Null looks the registry up again on next use.
+     *
+     * @param transactionRegistry the registry to be used
+     */
+    static void setRegistry(final TransactionSynchronizationRegistry transactionRegistry) {
+        registry = transactionRegistry;
+    }
+
+    /**
+     * Return the registry if a transaction is active.
+     *
+     * @return the registry or null if there is no active transaction
+     */
+    private static TransactionSynchronizationRegistry getActiveRegistry() {
+        TransactionSynchronizationRegistry current = registry;
+        if (current == null) {
+            try {
+                current = (TransactionSynchronizationRegistry) new InitialContext().lookup(REGISTRY);
+                registry = current;
+            } catch (NamingException | RuntimeException e) {
+                return null;
+            }
+        }
+        return current.getTransactionStatus() == Status.STATUS_ACTIVE ? current : null;
+    }
+
+    /**
+     * Synchronization running an action after a successful commit.
+     */
+    private static final class AfterCommitSynchronization implements Synchronization {
+
+        /**
+         * Action to be run
+         */
+        private final Runnable action;
+
+        /**
+         * Creates the synchronization.
+         *
+         * @param action to be run after the commit
+         */
+        private AfterCommitSynchronization(final Runnable action) {
+            this.action = action;
+        }
+
+        /**
+         * Nothing to do before the commit.
+         */
+        @Override
+        public void beforeCompletion() {
+        }
+
+        /**
+         * Run the action if the transaction was committed.
+         *
+         * @param status of the completed transaction
+         */
+        @Override
+        public void afterCompletion(final int status) {
+            if (status != Status.STATUS_COMMITTED)
+                return;
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                logger.error("Action after commit failed: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package de.unibremen.swp2.kcb.persistence;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+import javax.persistence.ExcludeDefaultListeners;
+
+/**
+ * Counts changes of collections for the {@link EntityChangeTracker}. Changing only a collection stored in a join table
+ * (e.g. the users of a workstation) doesn't update its owner, so JPA doesn't call any entity listener.
+ * Hibernate calls the collection listeners registered by this integrator instead.
+ * It is registered in META-INF/services/org.hibernate.integrator.spi.Integrator.
+ * Collections of entities excluding the default listeners are ignored like the entities themselves.
+ *
+ * @author Marius
+ */
+public class CollectionChangeTracker implements Integrator, PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+
+    /**
+     * SerialVersion
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Register the collection listeners with the session factory.
+     *
+     * @param metadata       of the persistence unit
+     * @param sessionFactory the session factory
+     * @param serviceRegistry the services of the session factory
+     */
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                          SessionFactoryServiceRegistry serviceRegistry) {
+        final EventListenerRegistry registry = serviceRegistry.getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        // the listeners are dropped with the session factory
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        this.changed(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        this.changed(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        this.changed(event);
+    }
+
+    /**
+     * Record the change of the collection of the event, unless its owner excludes the default listeners.
+     *
+     * @param event of the changed collection
+     */
+    private void changed(final AbstractCollectionEvent event) {
+        final Object owner = event.getAffectedOwnerOrNull();
+        if (owner != null && owner.getClass().isAnnotationPresent(ExcludeDefaultListeners.class))
+            return;
+        EntityChangeTracker.recordChange();
+    }
+}
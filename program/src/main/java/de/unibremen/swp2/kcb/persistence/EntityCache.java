@@ -0,0 +1,63 @@
+package de.unibremen.swp2.kcb.persistence;
+
+import de.unibremen.swp2.kcb.util.EntityManagerProducer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+/**
+ * Evicts entities from the second-level cache configured in persistence.xml.
+ * Services of cached entities evict changed entities explicitly on update and delete,
+ * so the next read is guaranteed to see the stored state. Evictions within a transaction are
+ * deferred until it has been committed, otherwise a concurrent read could cache the old state again.
+ *
+ * @author Marius
+ */
+@ApplicationScoped
+public class EntityCache {
+
+    /**
+     * Query hint marking a query as cacheable in the query cache
+     */
+    public static final String CACHEABLE = "org.hibernate.cacheable";
+
+    /**
+     * Logger
+     */
+    private static final Logger logger = LogManager.getLogger(EntityCache.class);
+
+    /**
+     * Injected instance of EntityManagerProducer to get the cache from
+     */
+    @Inject
+    private EntityManagerProducer entityManagerProducer;
+
+    /**
+     * Evict the entity of the given type with the given id after the current transaction has been committed.
+     *
+     * @param type the entity class
+     * @param id   id of the entity
+     */
+    public void evict(final Class<?> type, final Object id) {
+        if (id == null)
+            return;
+        AfterCommit.run(() -> {
+            logger.trace("Evicting {} \"{}\" from second-level cache", type.getSimpleName(), id);
+            entityManagerProducer.getCache().evict(type, id);
+        });
+    }
+
+    /**
+     * Evict all entities of the given type after the current transaction has been committed.
+     *
+     * @param type the entity class
+     */
+    public void evict(final Class<?> type) {
+        AfterCommit.run(() -> {
+            logger.trace("Evicting all {} from second-level cache", type.getSimpleName());
+            entityManagerProducer.getCache().evict(type);
+        });
+    }
+}
@@ -0,0 +1,65 @@
+package de.unibremen.swp2.kcb.persistence;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts changes of the stored entities. It is registered as default entity listener in META-INF/orm.xml,
+ * so every transaction inserting, updating or removing entities increments the generation once it has been committed.
+ * Incrementing it before the commit would let a concurrent request tag the old state with the new generation,
+ * and rolled back transactions don't change anything. The generation starts at the boot time,
+ * so generations of different runs don't collide.
+ * <p>
+ * The REST-API derives its ETags from the generation. Entities embed related entities in their json
+ * representation, so a single counter over all entities is used instead of the version of each entity.
+ * Therefore any committed change invalidates the ETags of all resources. Reading doesn't change entities,
+ * so the ETags stay valid as long as nothing is written.
+ * Entities that are never part of a response (e.g. the mail outbox) exclude this listener.
+ * <p>
+ * Changing only a collection stored in a join table (e.g. the users of a workstation) doesn't update its owner,
+ * so no entity listener is called. These changes are counted by the {@link CollectionChangeTracker}.
+ *
+ * @see de.unibremen.swp2.kcb.api.v1.ConditionalGetFilter
+ *
+ * @author Marius
+ */
+public class EntityChangeTracker {
+
+    /**
+     * Current generation of the stored entities
+     */
+    private static final AtomicLong generation = new AtomicLong(System.currentTimeMillis());
+
+    /**
+     * Return the current generation of the stored entities.
+     * It is changed whenever a transaction changing entities has been committed.
+     *
+     * @return the current generation
+     */
+    public static long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Increment the generation after the transaction inserting, updating or removing the given entity has been committed.
+     * A transaction changing several entities increments it once.
+     *
+     * @param entity the changed entity
+     */
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(final Object entity) {
+        recordChange();
+    }
+
+    /**
+     * Increment the generation after the current transaction has been committed.
+     * A transaction recording several changes increments it once.
+     */
+    static void recordChange() {
+        AfterCommit.runOnce(EntityChangeTracker.class, generation::incrementAndGet);
+    }
+}
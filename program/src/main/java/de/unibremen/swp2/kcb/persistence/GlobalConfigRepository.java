@@ -2,8 +2,10 @@ package de.unibremen.swp2.kcb.persistence;
 
 import de.unibremen.swp2.kcb.model.GlobalConfig;
 import org.apache.deltaspike.data.api.EntityRepository;
+import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 /**
@@ -23,5 +25,7 @@ public interface GlobalConfigRepository extends EntityRepository<GlobalConfig, S
      * @param key of the returned configurations
      * @return List of all configurations with the given key
      */
+    @Query(value = "SELECT gc FROM GlobalConfig gc WHERE gc.key = ?1",
+            hints = @QueryHint(name = EntityCache.CACHEABLE, value = "true"))
     List<GlobalConfig> findByKey(String key);
 }
@@ -2,15 +2,20 @@ package de.unibremen.swp2.kcb.persistence;
 
 import de.unibremen.swp2.kcb.model.*;
 import de.unibremen.swp2.kcb.model.Locations.Workstation;
+import org.apache.deltaspike.data.api.EntityGraph;
 import org.apache.deltaspike.data.api.EntityRepository;
 import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.QueryParam;
 import org.apache.deltaspike.data.api.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
- * Repository interface for Job
+ * Repository interface for Job.
+ * Every finder names the entity graph it loads: the {@link Job#SUMMARY_GRAPH} for lists and existence checks,
+ * the {@link Job#DETAIL_GRAPH} for callers working with the Procedures of the Jobs.
+ * Queries loading the detail graph have to be DISTINCT, because the Procedures are fetched with a join.
  *
  * @see Job
  *
@@ -28,6 +33,7 @@ public interface JobRepository extends EntityRepository<Job, String> {
      * @param name the name to be searched for
      * @return all Jobs with that name
      */
+    @EntityGraph(Job.SUMMARY_GRAPH)
     List<Job> findByName(String name);
 
     /**
@@ -37,6 +43,7 @@ public interface JobRepository extends EntityRepository<Job, String> {
      * @return all Jobs with that ProcessChain
      * @see ProcessChain
      */
+    @EntityGraph(Job.SUMMARY_GRAPH)
     List<Job> findByProcessChain(ProcessChain processChain);
 
     /**
@@ -46,6 +53,7 @@ public interface JobRepository extends EntityRepository<Job, String> {
      * @return all Jobs with that Priority
      * @see Priority
      */
+    @EntityGraph(Job.SUMMARY_GRAPH)
     List<Job> findByPriority(Priority priority);
 
     /**
@@ -55,6 +63,7 @@ public interface JobRepository extends EntityRepository<Job, String> {
      * @return all Jobs with that Procedures
      * @see Procedure
      */
+    @EntityGraph(Job.SUMMARY_GRAPH)
     List<Job> findByProcedures(List<Procedure> procedures);
 
     /**
@@ -63,7 +72,8 @@ public interface JobRepository extends EntityRepository<Job, String> {
      * @param procedure the Procedure to be searched for
      * @return the Job with that Procedure
      */
-    @Query("SELECT j FROM Job j JOIN j.procedures p WHERE :procedure IN p")
+    @EntityGraph(Job.DETAIL_GRAPH)
+    @Query("SELECT DISTINCT j FROM Job j JOIN j.procedures p WHERE :procedure IN p")
     List<Job> findByProcedure(@QueryParam("procedure") Procedure procedure);
 
     /**
@@ -73,6 +83,7 @@ public interface JobRepository extends EntityRepository<Job, String> {
      * @return all Jobs with that Assembly
      * @see Assembly
      */
+    @EntityGraph(Job.SUMMARY_GRAPH)
     @Query("SELECT j FROM Job j JOIN j.assemblies a WHERE :assembly IN a")
     List<Job> findByAssembly(@QueryParam("assembly") Assembly assembly);
 
@@ -81,16 +92,49 @@ public interface JobRepository extends EntityRepository<Job, String> {
      *
      * @return the list
      */
+    @EntityGraph(Job.DETAIL_GRAPH)
     @Query("SELECT DISTINCT j FROM Job j JOIN j.assemblies a JOIN a.carriers c JOIN c.location l WHERE j.jobState = 1")
     List<Job> findActiveJobs();
 
+    /**
+     * Count all active jobs. Matches the jobs of {@link #findActiveJobs()}.
+     *
+     * @return number of active jobs
+     */
+    @Query("SELECT COUNT(DISTINCT j) FROM Job j JOIN j.assemblies a JOIN a.carriers c JOIN c.location l WHERE j.jobState = 1")
+    Long countActiveJobs();
+
+    /**
+     * Find all active jobs whose current procedure is executed at one of the given workstations.
+     * Uses the materialized progress of the jobs.
+     *
+     * @param workstationIds ids of the workstations
+     * @return all active jobs currently at one of the workstations
+     */
+    @EntityGraph(Job.DETAIL_GRAPH)
+    @Query("SELECT DISTINCT j FROM Job j JOIN j.assemblies a JOIN a.carriers c JOIN c.location l " +
+            "WHERE j.jobState = 1 AND j.progress.currentWorkstation.id IN :workstationIds")
+    List<Job> findActiveByCurrentWorkstations(@QueryParam("workstationIds") Collection<String> workstationIds);
+
+    /**
+     * Find all active jobs without a materialized progress, e.g. jobs stored before the progress
+     * was introduced. They are missed by {@link #findActiveByCurrentWorkstations(Collection)}.
+     *
+     * @return all active jobs without progress
+     */
+    @EntityGraph(Job.DETAIL_GRAPH)
+    @Query("SELECT DISTINCT j FROM Job j JOIN j.assemblies a JOIN a.carriers c JOIN c.location l " +
+            "WHERE j.jobState = 1 AND j.progress.procedureCount IS NULL")
+    List<Job> findActiveWithoutProgress();
+
     /**
      * Find currently running by workstation list.
      *
      * @param workstation the workstation
      * @return the list
      */
-    @Query("SELECT j FROM Job j JOIN j.procedures p JOIN p.processStep ps JOIN ps.workstation ws JOIN p.stateHistory sh JOIN sh.stateExecs se WHERE :workstation = ws AND sh.stateExecs IS NOT EMPTY AND se.finishedAt IS NULL AND j.jobState = 1")
+    @EntityGraph(Job.DETAIL_GRAPH)
+    @Query("SELECT DISTINCT j FROM Job j JOIN j.procedures p JOIN p.processStep ps JOIN ps.workstation ws JOIN p.stateHistory sh JOIN sh.stateExecs se WHERE :workstation = ws AND sh.stateExecs IS NOT EMPTY AND se.finishedAt IS NULL AND j.jobState = 1")
     List<Job> findCurrentlyRunningByWorkstation(@QueryParam("workstation") Workstation workstation);
 
     /**
@@ -98,6 +142,7 @@ public interface JobRepository extends EntityRepository<Job, String> {
      *
      * @return the list
      */
+    @EntityGraph(Job.SUMMARY_GRAPH)
     @Query("SELECT j FROM Job j JOIN j.priority p ORDER BY p.value DESC")
     List<Job> findAllOrderByPriorityValueDesc();
 
@@ -107,5 +152,34 @@ public interface JobRepository extends EntityRepository<Job, String> {
      * @param jobState the JobState
      * @return all Jobs with that JobState
      */
+    @EntityGraph(Job.SUMMARY_GRAPH)
     List<Job> findByJobState(JobState jobState);
+
+    /**
+     * Find the Job with the given id and load its Procedures with their StateHistories.
+     *
+     * @param id the id of the Job
+     * @return list containing the Job or an empty list if there is none
+     */
+    @EntityGraph(Job.DETAIL_GRAPH)
+    @Query("SELECT DISTINCT j FROM Job j WHERE j.id = :id")
+    List<Job> findDetailById(@QueryParam("id") String id);
+
+    /**
+     * Find the jobs with the given ids with their procedures, state histories and state execs.
+     *
+     * @param ids ids of the jobs
+     * @return the jobs with the given ids, in no particular order
+     */
+    @EntityGraph(Job.DETAIL_GRAPH)
+    @Query("SELECT DISTINCT j FROM Job j WHERE j.id IN :ids")
+    List<Job> findDetailByIds(@QueryParam("ids") Collection<String> ids);
+
+    /**
+     * Find the ProcessChains executed by at least one Job.
+     *
+     * @return the ProcessChains of all Jobs
+     */
+    @Query("SELECT DISTINCT j.processChain FROM Job j")
+    List<ProcessChain> findProcessChains();
 }
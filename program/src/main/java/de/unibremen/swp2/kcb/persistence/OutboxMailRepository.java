@@ -0,0 +1,39 @@
+package de.unibremen.swp2.kcb.persistence;
+
+import de.unibremen.swp2.kcb.model.OutboxMail;
+import de.unibremen.swp2.kcb.model.OutboxMailStatus;
+import org.apache.deltaspike.data.api.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for OutboxMail
+ *
+ * @see OutboxMail
+ *
+ * @author Marius
+ */
+@Repository
+public interface OutboxMailRepository extends EntityRepository<OutboxMail, String> {
+
+    /**
+     * Find the oldest mails with the given status whose next delivery attempt is due.
+     *
+     * @param status status of the mails
+     * @param now    the current time
+     * @param max    maximum number of mails to be returned
+     * @return the due mails ordered by the time they were queued
+     */
+    @Query("SELECT m FROM OutboxMail m WHERE m.status = :status AND m.nextAttemptAt <= :now ORDER BY m.createdAt ASC")
+    List<OutboxMail> findDue(@QueryParam("status") OutboxMailStatus status, @QueryParam("now") LocalDateTime now,
+                             @MaxResults int max);
+
+    /**
+     * Find all mails with the given status.
+     *
+     * @param status status of the mails
+     * @return all mails with that status
+     */
+    List<OutboxMail> findByStatus(OutboxMailStatus status);
+}
@@ -0,0 +1,354 @@
+package de.unibremen.swp2.kcb.persistence;
+
+import com.google.gson.annotations.Expose;
+
+import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.ManagedType;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs paged, sorted and filtered queries described by a {@link PageRequest} for any entity
+ * using the criteria API, so only the requested page is loaded from the database.
+ * Only the id and attributes that are serialized by the REST-API can be sorted and filtered by.
+ * Also loads multiple entities by their ids with IN queries.
+ *
+ * @author Marius
+ */
+public class PageQuery implements Serializable {
+
+    /**
+     * Name of the id attribute of all entities
+     */
+    private static final String ID = "id";
+
+    /**
+     * Query hint to load the attributes of an entity graph
+     */
+    private static final String FETCH_GRAPH = "javax.persistence.fetchgraph";
+
+    /**
+     * Maximum number of ids bound to a single IN query
+     */
+    static final int ID_CHUNK_SIZE = 500;
+
+    /**
+     * EntityManager to run the queries with
+     */
+    @Inject
+    private EntityManager entityManager;
+
+    /**
+     * Find the page of entities of the given type described by the given request.
+     *
+     * @param type    the entity class
+     * @param request describes the requested page
+     * @param <T>     type of the entities
+     * @return the requested page of entities
+     * @throws IllegalArgumentException if the request references an unknown attribute or contains an invalid value
+     */
+    public <T> List<T> find(final Class<T> type, final PageRequest request) {
+        return this.find(type, request, null);
+    }
+
+    /**
+     * Find the page of entities of the given type described by the given request
+     * and load the attributes of the given entity graph with the page.
+     *
+     * @param type        the entity class
+     * @param request     describes the requested page
+     * @param entityGraph name of the entity graph to fetch, null to use the mapped fetch types
+     * @param <T>         type of the entities
+     * @return the requested page of entities
+     * @throws IllegalArgumentException if the request references an unknown attribute or contains an invalid value
+     */
+    public <T> List<T> find(final Class<T> type, final PageRequest request, final String entityGraph) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<T> query = cb.createQuery(type);
+        final Root<T> root = query.from(type);
+
+        final List<Predicate> predicates = this.getFilterPredicates(cb, root, type, request);
+        final Path<Comparable> sort = this.getSortPath(root, type, request.getSort());
+        final Path<String> id = root.get(ID);
+
+        if (request.getAfter() != null) {
+            final Comparable value = this.getSortValue(type, request);
+            predicates.add(this.getKeysetPredicate(cb, sort, id, value, request));
+        }
+
+        query.select(root)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(request.isAscending() ? cb.asc(sort) : cb.desc(sort),
+                        request.isAscending() ? cb.asc(id) : cb.desc(id));
+
+        final TypedQuery<T> typedQuery = entityManager.createQuery(query).setMaxResults(request.getLimit());
+        if (entityGraph != null)
+            typedQuery.setHint(FETCH_GRAPH, entityManager.getEntityGraph(entityGraph));
+        if (request.getAfter() == null)
+            typedQuery.setFirstResult(request.getOffset());
+        return typedQuery.getResultList();
+    }
+
+    /**
+     * Find the entities of the given type with the given ids. The entities are queried with one IN query
+     * per {@value #ID_CHUNK_SIZE} ids and returned in the order of the given ids.
+     * Ids that are null, empty or unknown are skipped.
+     *
+     * @param type the entity class
+     * @param ids  ids of the entities
+     * @param <T>  type of the entities
+     * @return the found entities in the order of the ids
+     */
+    public <T> List<T> findByIds(final Class<T> type, final Collection<String> ids) {
+        final List<T> result = new ArrayList<>();
+        if (ids == null || ids.isEmpty())
+            return result;
+
+        final List<String> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinctIds.removeIf(id -> id == null || id.isEmpty());
+        if (distinctIds.isEmpty())
+            return result;
+
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final Map<Object, T> entities = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += ID_CHUNK_SIZE) {
+            final List<String> chunk = distinctIds.subList(from, Math.min(from + ID_CHUNK_SIZE, distinctIds.size()));
+            final CriteriaQuery<T> query = cb.createQuery(type);
+            final Root<T> root = query.from(type);
+            query.select(root).where(root.get(ID).in(chunk));
+
+            for (T entity : entityManager.createQuery(query).getResultList())
+                entities.put(entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity), entity);
+        }
+
+        for (String id : ids) {
+            final T entity = entities.get(id);
+            if (entity != null)
+                result.add(entity);
+        }
+        return result;
+    }
+
+    /**
+     * Count the entities of the given type matching the filters of the given request.
+     * Offset, limit and keyset of the request are ignored.
+     *
+     * @param type    the entity class
+     * @param request describes the filters
+     * @param <T>     type of the entities
+     * @return number of matching entities
+     * @throws IllegalArgumentException if the request references an unknown attribute or contains an invalid value
+     */
+    public <T> long count(final Class<T> type, final PageRequest request) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        final Root<T> root = query.from(type);
+
+        query.select(cb.count(root))
+                .where(this.getFilterPredicates(cb, root, type, request).toArray(new Predicate[0]));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    /**
+     * Creates one equality predicate for every filter of the request.
+     * All filters are checked before the first predicate is created, so a request with an unknown
+     * or hidden attribute is rejected as a whole instead of being partially applied.
+     *
+     * @param cb      the CriteriaBuilder
+     * @param root    root of the query
+     * @param type    the entity class
+     * @param request the page request
+     * @return list of predicates
+     * @throws IllegalArgumentException if a filter references an unknown attribute
+     */
+    private List<Predicate> getFilterPredicates(final CriteriaBuilder cb, final Root<?> root,
+                                                final Class<?> type, final PageRequest request) {
+        final Map<String, Attribute<?, ?>> attributes = new HashMap<>();
+        for (String attributePath : request.getFilters().keySet())
+            attributes.put(attributePath, this.getAttribute(type, attributePath));
+
+        final List<Predicate> predicates = new ArrayList<>();
+        for (Map.Entry<String, String> filter : request.getFilters().entrySet()) {
+            final Attribute<?, ?> attribute = attributes.get(filter.getKey());
+            Path<?> path = this.getPath(root, filter.getKey());
+
+            // Referenced entities are filtered by their id
+            Class<?> valueType = attribute.getJavaType();
+            if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC) {
+                path = path.get(ID);
+                valueType = String.class;
+            }
+
+            if (filter.getValue() == null || filter.getValue().equals("null"))
+                predicates.add(cb.isNull(path));
+            else
+                predicates.add(cb.equal(path, this.convert(valueType, filter.getValue())));
+        }
+        return predicates;
+    }
+
+    /**
+     * Return the path of the attribute to sort by.
+     *
+     * @param root the root of the query
+     * @param type the entity class
+     * @param sort attribute path to sort by
+     * @return path of the sort attribute
+     */
+    @SuppressWarnings("unchecked")
+    private Path<Comparable> getSortPath(final Root<?> root, final Class<?> type, final String sort) {
+        final Attribute<?, ?> attribute = this.getAttribute(type, sort);
+        if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC)
+            throw new IllegalArgumentException("Can't sort by \"" + sort + "\".");
+        return (Path<Comparable>) this.getPath(root, sort);
+    }
+
+    /**
+     * Query the value of the sort attribute of the entity the keyset page starts after.
+     *
+     * @param type    the entity class
+     * @param request the page request
+     * @return value of the sort attribute
+     */
+    private Comparable getSortValue(final Class<?> type, final PageRequest request) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Comparable> query = cb.createQuery(Comparable.class);
+        final Root<?> root = query.from(type);
+        query.select(this.getSortPath(root, type, request.getSort()))
+                .where(cb.equal(root.get(ID), request.getAfter()));
+
+        final List<Comparable> values = entityManager.createQuery(query).setMaxResults(1).getResultList();
+        if (values.isEmpty())
+            throw new IllegalArgumentException("No entity with id \"" + request.getAfter() + "\".");
+        if (values.get(0) == null)
+            throw new IllegalArgumentException("Entity \"" + request.getAfter() + "\" has no value to sort by.");
+        return values.get(0);
+    }
+
+    /**
+     * Creates the predicate selecting all entities after the given sort value and id.
+     *
+     * @param cb      the CriteriaBuilder
+     * @param sort    path of the sort attribute
+     * @param id      path of the id attribute
+     * @param value   value of the sort attribute of the last entity of the previous page
+     * @param request the page request
+     * @return the keyset predicate
+     */
+    @SuppressWarnings("unchecked")
+    private Predicate getKeysetPredicate(final CriteriaBuilder cb, final Path<Comparable> sort, final Path<String> id,
+                                         final Comparable value, final PageRequest request) {
+        if (request.isAscending())
+            return cb.or(cb.greaterThan(sort, value),
+                    cb.and(cb.equal(sort, value), cb.greaterThan(id, request.getAfter())));
+        return cb.or(cb.lessThan(sort, value),
+                cb.and(cb.equal(sort, value), cb.lessThan(id, request.getAfter())));
+    }
+
+    /**
+     * Resolves a dot separated attribute path starting at the given root.
+     *
+     * @param root          the root of the query
+     * @param attributePath dot separated attribute path
+     * @return the resolved path
+     */
+    private Path<?> getPath(final Root<?> root, final String attributePath) {
+        Path<?> path = root;
+        for (String name : attributePath.split("\\."))
+            path = path.get(name);
+        return path;
+    }
+
+    /**
+     * Resolves the last attribute of a dot separated attribute path and makes sure
+     * every attribute on the way is a single valued attribute exposed by the REST-API.
+     *
+     * @param type          the entity class
+     * @param attributePath dot separated attribute path
+     * @return the last attribute of the path
+     */
+    private Attribute<?, ?> getAttribute(final Class<?> type, final String attributePath) {
+        Class<?> current = type;
+        Attribute<?, ?> attribute = null;
+        for (String name : attributePath.split("\\.")) {
+            if (attribute != null && attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC)
+                throw new IllegalArgumentException("Unknown attribute \"" + attributePath + "\".");
+
+            final ManagedType<?> managedType = entityManager.getMetamodel().managedType(current);
+            try {
+                attribute = managedType.getAttribute(name);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown attribute \"" + attributePath + "\".");
+            }
+            if (attribute.isCollection() || !this.isExposed(current, name))
+                throw new IllegalArgumentException("Unknown attribute \"" + attributePath + "\".");
+            current = attribute.getJavaType();
+        }
+        return attribute;
+    }
+
+    /**
+     * Checks whether the given attribute of the given class is serialized by the REST-API.
+     *
+     * @param type the class
+     * @param name name of the attribute
+     * @return whether the attribute is exposed
+     */
+    private boolean isExposed(final Class<?> type, final String name) {
+        if (name.equals(ID))
+            return true;
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            try {
+                final Field field = c.getDeclaredField(name);
+                final Expose expose = field.getAnnotation(Expose.class);
+                return expose != null && expose.serialize();
+            } catch (NoSuchFieldException e) {
+                // Check superclass
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Converts a query parameter to the type of the attribute it is compared to.
+     *
+     * @param type  type of the attribute
+     * @param value the query parameter
+     * @return the converted value
+     */
+    @SuppressWarnings("unchecked")
+    private Object convert(final Class<?> type, final String value) {
+        try {
+            if (type == String.class)
+                return value;
+            if (type.isEnum())
+                return Enum.valueOf((Class<Enum>) type, value.toUpperCase());
+            if (type == int.class || type == Integer.class)
+                return Integer.valueOf(value);
+            if (type == long.class || type == Long.class)
+                return Long.valueOf(value);
+            if (type == float.class || type == Float.class)
+                return Float.valueOf(value);
+            if (type == double.class || type == Double.class)
+                return Double.valueOf(value);
+            if (type == boolean.class || type == Boolean.class)
+                return Boolean.valueOf(value);
+            if (type == LocalDateTime.class)
+                return LocalDateTime.parse(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid value \"" + value + "\".");
+        }
+        throw new IllegalArgumentException("Can't filter by attributes of type " + type.getSimpleName() + ".");
+    }
+}
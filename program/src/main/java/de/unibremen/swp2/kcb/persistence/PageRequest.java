@@ -0,0 +1,94 @@
+package de.unibremen.swp2.kcb.persistence;
+
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Describes which part of a list of entities should be queried.
+ * Supports offset based paging, keyset paging (every entity after the entity with the given id),
+ * sorting by a single attribute and simple equality filters on attributes.
+ *
+ * @see PageQuery
+ *
+ * @author Marius
+ */
+@Data
+public class PageRequest implements Serializable {
+
+    /**
+     * Number of entities returned if no limit is given.
+     */
+    public static final int DEFAULT_LIMIT = 100;
+
+    /**
+     * Maximum number of entities returned by a single request.
+     */
+    public static final int MAX_LIMIT = 1000;
+
+    /**
+     * Index of the first entity to be returned
+     */
+    private int offset = 0;
+
+    /**
+     * Maximum number of entities to be returned
+     */
+    private int limit = DEFAULT_LIMIT;
+
+    /**
+     * ID of the entity after which the page starts (keyset paging)
+     */
+    private String after;
+
+    /**
+     * Attribute to sort by. Nested attributes are separated by dots, e.g. "priority.value"
+     */
+    private String sort = "id";
+
+    /**
+     * Whether to sort ascending or descending
+     */
+    private boolean ascending = true;
+
+    /**
+     * Attribute paths mapped to the value they have to be equal to
+     */
+    private Map<String, String> filters = new LinkedHashMap<>();
+
+    /**
+     * Sets the maximum number of entities to be returned. The limit is capped at {@link #MAX_LIMIT}.
+     *
+     * @param limit maximum number of entities to be returned
+     */
+    public void setLimit(final int limit) {
+        if (limit <= 0)
+            throw new IllegalArgumentException("Limit has to be greater than zero.");
+        this.limit = Math.min(limit, MAX_LIMIT);
+    }
+
+    /**
+     * Sets the index of the first entity to be returned.
+     *
+     * @param offset index of the first entity
+     */
+    public void setOffset(final int offset) {
+        if (offset < 0)
+            throw new IllegalArgumentException("Offset can't be negative.");
+        this.offset = offset;
+    }
+
+    /**
+     * Sets the attribute to sort by. A leading "-" sorts descending.
+     *
+     * @param sort the attribute to sort by
+     */
+    public void setSort(final String sort) {
+        if (sort == null || sort.isEmpty() || sort.equals("-"))
+            throw new IllegalArgumentException("Invalid sort attribute.");
+        this.ascending = !sort.startsWith("-");
+        this.sort = this.ascending ? sort : sort.substring(1);
+    }
+}
@@ -2,8 +2,10 @@ package de.unibremen.swp2.kcb.persistence;
 
 import de.unibremen.swp2.kcb.model.Priority;
 import org.apache.deltaspike.data.api.EntityRepository;
+import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 /**
@@ -39,5 +41,7 @@ public interface PriorityRepository extends EntityRepository<Priority, String> {
      *
      * @return all Priorities ordered by value
      */
+    @Query(value = "SELECT p FROM Priority p ORDER BY p.value ASC",
+            hints = @QueryHint(name = EntityCache.CACHEABLE, value = "true"))
     List<Priority> findAllOrderByValueAsc();
 }
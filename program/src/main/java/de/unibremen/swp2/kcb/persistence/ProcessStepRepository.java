@@ -10,6 +10,7 @@ import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.QueryParam;
 import org.apache.deltaspike.data.api.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 /**
@@ -48,6 +49,8 @@ public interface ProcessStepRepository extends EntityRepository<ProcessStep, Str
      * @return all ProcessSteps with that StateMachine
      * @see StateMachine
      */
+    @Query(value = "SELECT ps FROM ProcessStep ps WHERE ps.stateMachine = ?1",
+            hints = @QueryHint(name = EntityCache.CACHEABLE, value = "true"))
     List<ProcessStep> findByStateMachine(StateMachine stateMachine);
 
     /**
@@ -75,6 +78,8 @@ public interface ProcessStepRepository extends EntityRepository<ProcessStep, Str
      * @return all ProcessSteps with that Workstation
      * @see Workstation
      */
+    @Query(value = "SELECT ps FROM ProcessStep ps WHERE ps.workstation = ?1",
+            hints = @QueryHint(name = EntityCache.CACHEABLE, value = "true"))
     List<ProcessStep> findByWorkstation(Workstation workstation);
 
     /**
@@ -0,0 +1,56 @@
+package de.unibremen.swp2.kcb.persistence;
+
+import de.unibremen.swp2.kcb.model.Job;
+import de.unibremen.swp2.kcb.model.Priority;
+import de.unibremen.swp2.kcb.model.TransportTask;
+import org.apache.deltaspike.data.api.*;
+
+import java.util.List;
+
+/**
+ * Repository interface for TransportTask
+ *
+ * @see TransportTask
+ *
+ * @author Marius
+ */
+@Repository
+public interface TransportTaskRepository extends EntityRepository<TransportTask, String> {
+
+    /**
+     * Find the TransportTasks of a certain Job
+     *
+     * @param job the Job to be searched for
+     * @return all TransportTasks of that Job
+     */
+    List<TransportTask> findByJob(Job job);
+
+    /**
+     * Find the Jobs of the whole transport queue ordered by the priority of the Jobs and the time they started waiting.
+     *
+     * @return all Jobs that need transport
+     */
+    @Query("SELECT j FROM TransportTask t JOIN t.job j ORDER BY t.priorityValue DESC, t.createdAt ASC")
+    List<Job> findQueuedJobs();
+
+    /**
+     * Find a page of the Jobs in the transport queue ordered by the priority of the Jobs and the time they started waiting.
+     *
+     * @param first index of the first Job to be returned
+     * @param max   maximum number of Jobs to be returned
+     * @return the requested page of Jobs that need transport
+     */
+    @Query("SELECT j FROM TransportTask t JOIN t.job j ORDER BY t.priorityValue DESC, t.createdAt ASC")
+    List<Job> findQueuedJobs(@FirstResult int first, @MaxResults int max);
+
+    /**
+     * Update the copied priority value of the TransportTasks of all Jobs with the given Priority.
+     *
+     * @param priority the changed Priority
+     * @param value    the new value of the Priority
+     * @return the number of updated TransportTasks
+     */
+    @Modifying
+    @Query("UPDATE TransportTask t SET t.priorityValue = :value WHERE t.job IN (SELECT j FROM Job j WHERE j.priority = :priority)")
+    int updatePriorityValue(@QueryParam("priority") Priority priority, @QueryParam("value") Integer value);
+}
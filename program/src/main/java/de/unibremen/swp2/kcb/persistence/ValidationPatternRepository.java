@@ -2,8 +2,10 @@ package de.unibremen.swp2.kcb.persistence;
 
 import de.unibremen.swp2.kcb.model.ValidationPattern;
 import org.apache.deltaspike.data.api.EntityRepository;
+import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 /**
@@ -21,5 +23,7 @@ public interface ValidationPatternRepository extends EntityRepository<Validation
      * Finds an expression by advanced type
      * @return List of validationPatterns which fit that type
      */
+    @Query(value = "SELECT v FROM ValidationPattern v WHERE v.advanced = ?1",
+            hints = @QueryHint(name = EntityCache.CACHEABLE, value = "true"))
     List<ValidationPattern> findByAdvanced(boolean type);
 }
@@ -0,0 +1,93 @@
+package de.unibremen.swp2.kcb.persistence.locations;
+
+import de.unibremen.swp2.kcb.model.Locations.Workstation;
+import de.unibremen.swp2.kcb.model.User;
+import de.unibremen.swp2.kcb.persistence.AfterCommit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Application wide index of the {@link Workstation}s every {@link User} is assigned to.
+ * The ids of the workstations of a user are queried once with a join query and kept until
+ * the assignments change. Services changing the users of a workstation have to invalidate the index.
+ * Invalidations within a transaction are deferred until it has been committed, otherwise a concurrent
+ * lookup could index the old assignments again.
+ *
+ * @author Marius
+ */
+@ApplicationScoped
+public class WorkstationMembershipIndex {
+
+    /**
+     * Logger object of the WorkstationMembershipIndex class
+     */
+    private static final Logger logger = LogManager.getLogger(WorkstationMembershipIndex.class);
+
+    /**
+     * Ids of the assigned workstations by user id
+     */
+    private final Map<String, Set<String>> workstationIds = new ConcurrentHashMap<>();
+
+    /**
+     * Injected instance of {@link WorkstationRepository}
+     */
+    @Inject
+    private WorkstationRepository workstationRepository;
+
+    /**
+     * Return the ids of the workstations the given user is assigned to.
+     *
+     * @param user the user
+     * @return unmodifiable set of workstation ids, empty if the user is null or not assigned to any workstation
+     */
+    public Set<String> getWorkstationIds(final User user) {
+        if (user == null || user.getId() == null)
+            return Collections.emptySet();
+        return workstationIds.computeIfAbsent(user.getId(), id -> {
+            logger.trace("Querying Workstations of user \"{}\".", id);
+            return Collections.unmodifiableSet(new HashSet<>(workstationRepository.findIdsByUserId(id)));
+        });
+    }
+
+    /**
+     * Return whether the given user is assigned to the given workstation.
+     *
+     * @param user        the user
+     * @param workstation the workstation
+     * @return whether the user is assigned to the workstation
+     */
+    public boolean isAssigned(final User user, final Workstation workstation) {
+        return workstation != null && this.getWorkstationIds(user).contains(workstation.getId());
+    }
+
+    /**
+     * Drop the indexed workstations of the given user after the current transaction has been committed.
+     *
+     * @param user the user
+     */
+    public void invalidate(final User user) {
+        if (user == null || user.getId() == null)
+            return;
+        final String id = user.getId();
+        AfterCommit.run(() -> workstationIds.remove(id));
+    }
+
+    /**
+     * Drop the indexed workstations of all users after the current transaction has been committed,
+     * e.g. because the users of a workstation changed.
+     */
+    public void invalidateAll() {
+        AfterCommit.runOnce(WorkstationMembershipIndex.class, () -> {
+            logger.trace("Invalidating workstation memberships.");
+            workstationIds.clear();
+        });
+    }
+}
@@ -2,9 +2,14 @@ package de.unibremen.swp2.kcb.persistence.locations;
 
 import de.unibremen.swp2.kcb.model.Assembly;
 import de.unibremen.swp2.kcb.model.Locations.Workstation;
+import de.unibremen.swp2.kcb.model.User;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
 import org.apache.deltaspike.data.api.EntityRepository;
+import org.apache.deltaspike.data.api.Query;
+import org.apache.deltaspike.data.api.QueryParam;
 import org.apache.deltaspike.data.api.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 /**
@@ -40,5 +45,34 @@ public interface WorkstationRepository extends EntityRepository<Workstation, Str
      * @param active state of the workstation
      * @return All Workstations with the given state
      */
+    @Query(value = "SELECT w FROM Workstation w WHERE w.active = ?1",
+            hints = @QueryHint(name = EntityCache.CACHEABLE, value = "true"))
     List<Workstation> findByActive(boolean active);
+
+    /**
+     * Count active/inactive Workstations. Matches the workstations of {@link #findByActive(boolean)}.
+     *
+     * @param active state of the workstation
+     * @return number of Workstations with the given state
+     */
+    @Query("SELECT COUNT(w) FROM Workstation w WHERE w.active = ?1")
+    Long countByActive(boolean active);
+
+    /**
+     * Find the Workstations the given user is allowed to work on
+     *
+     * @param user the user
+     * @return All Workstations the user is assigned to
+     */
+    @Query("SELECT w FROM Workstation w JOIN w.users u WHERE u = :user")
+    List<Workstation> findByUser(@QueryParam("user") User user);
+
+    /**
+     * Find the ids of the Workstations the user with the given id is allowed to work on
+     *
+     * @param userId id of the user
+     * @return Ids of all Workstations the user is assigned to
+     */
+    @Query("SELECT w.id FROM Workstation w JOIN w.users u WHERE u.id = :userId")
+    List<String> findIdsByUserId(@QueryParam("userId") String userId);
 }
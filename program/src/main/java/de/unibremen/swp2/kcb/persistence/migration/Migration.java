@@ -0,0 +1,37 @@
+package de.unibremen.swp2.kcb.persistence.migration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A versioned change of the database. Every migration is applied once by the {@link MigrationRunner}
+ * and recorded in the schema history table.
+ *
+ * @see SqlMigration
+ *
+ * @author Marius
+ */
+public interface Migration {
+
+    /**
+     * Return the version of the migration. Migrations are applied in ascending order of their versions.
+     *
+     * @return the version
+     */
+    int getVersion();
+
+    /**
+     * Return a short description of the migration.
+     *
+     * @return the description
+     */
+    String getDescription();
+
+    /**
+     * Apply the migration. The connection is committed by the runner after the migration has been recorded.
+     *
+     * @param connection to the database, auto commit is disabled
+     * @throws SQLException if the migration failed
+     */
+    void migrate(Connection connection) throws SQLException;
+}
@@ -0,0 +1,152 @@
+package de.unibremen.swp2.kcb.persistence.migration;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.annotation.Resource;
+import javax.enterprise.context.ApplicationScoped;
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.*;
+
+/**
+ * Applies the versioned {@link Migration}s of the database once. Applied migrations are recorded
+ * in the schema history table, so every migration runs exactly once per database.
+ * The tables of the entities are maintained by the persistence unit, the migrations add
+ * what the mapping can't express (e.g. indexes of join tables) and data changes.
+ *
+ * @author Marius
+ */
+@ApplicationScoped
+public class MigrationRunner {
+
+    /**
+     * Logger object of the MigrationRunner class
+     */
+    private static final Logger logger = LogManager.getLogger(MigrationRunner.class);
+
+    /**
+     * Name of the schema history table
+     */
+    static final String HISTORY_TABLE = "schema_history";
+
+    /**
+     * All migrations of the database. New migrations are appended with the next version.
+     */
+    static final List<Migration> MIGRATIONS = Collections.unmodifiableList(Arrays.asList(
+            new SqlMigration(1, "Filter and foreign key indexes", "db/migration/V1__indexes.sql")
+    ));
+
+    /**
+     * DataSource of the persistence unit
+     */
+    @Resource(lookup = "java:jboss/datasources/ExampleDS")
+    private DataSource dataSource;
+
+    /**
+     * Apply all pending migrations. Called once on server startup.
+     *
+     * @return number of applied migrations
+     * @throws SQLException if a migration failed, later migrations are not applied
+     */
+    public int migrate() throws SQLException {
+        return this.migrate(MIGRATIONS);
+    }
+
+    /**
+     * Apply the given migrations that haven't been applied yet in ascending order of their versions.
+     *
+     * @param migrations the migrations
+     * @return number of applied migrations
+     * @throws SQLException if a migration failed, later migrations are not applied
+     */
+    int migrate(final List<Migration> migrations) throws SQLException {
+        final List<Migration> sorted = new ArrayList<>(migrations);
+        sorted.sort(Comparator.comparingInt(Migration::getVersion));
+
+        try (Connection connection = dataSource.getConnection()) {
+            final boolean autoCommit = connection.getAutoCommit();
+            try {
+                this.createHistoryTable(connection);
+                final Set<Integer> applied = this.getAppliedVersions(connection);
+
+                int count = 0;
+                for (Migration migration : sorted) {
+                    if (applied.contains(migration.getVersion()))
+                        continue;
+                    this.apply(connection, migration);
+                    count++;
+                }
+                if (count > 0)
+                    logger.info("Applied {} migration(s), schema is at version {}.", count,
+                            sorted.get(sorted.size() - 1).getVersion());
+                return count;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    /**
+     * Create the schema history table if it doesn't exist.
+     *
+     * @param connection to the database
+     * @throws SQLException if the table couldn't be created
+     */
+    private void createHistoryTable(final Connection connection) throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + HISTORY_TABLE + " ("
+                    + "version INT PRIMARY KEY, "
+                    + "description VARCHAR(255), "
+                    + "installed_on TIMESTAMP, "
+                    + "execution_time BIGINT)");
+        }
+    }
+
+    /**
+     * Return the versions of all applied migrations.
+     *
+     * @param connection to the database
+     * @return the applied versions
+     * @throws SQLException if the history couldn't be read
+     */
+    private Set<Integer> getAppliedVersions(final Connection connection) throws SQLException {
+        final Set<Integer> versions = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT version FROM " + HISTORY_TABLE)) {
+            while (resultSet.next())
+                versions.add(resultSet.getInt(1));
+        }
+        return versions;
+    }
+
+    /**
+     * Apply one migration and record it in the history in a single transaction.
+     *
+     * @param connection to the database
+     * @param migration  to be applied
+     * @throws SQLException if the migration failed
+     */
+    private void apply(final Connection connection, final Migration migration) throws SQLException {
+        logger.info("Applying migration {}: {}", migration.getVersion(), migration.getDescription());
+        final long start = System.currentTimeMillis();
+        connection.setAutoCommit(false);
+        try {
+            migration.migrate(connection);
+            try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + HISTORY_TABLE
+                    + " (version, description, installed_on, execution_time) VALUES (?, ?, ?, ?)")) {
+                statement.setInt(1, migration.getVersion());
+                statement.setString(2, migration.getDescription());
+                statement.setTimestamp(3, new Timestamp(start));
+                statement.setLong(4, System.currentTimeMillis() - start);
+                statement.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLException | RuntimeException e) {
+            logger.error("Migration {} failed: {}", migration.getVersion(), e.getMessage());
+            connection.rollback();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package de.unibremen.swp2.kcb.persistence.migration;
+
+import lombok.Getter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Migration executing the statements of a SQL script on the classpath.
+ * Statements are separated by a semicolon at the end of a line, lines starting with -- are ignored.
+ *
+ * @author Marius
+ */
+public class SqlMigration implements Migration {
+
+    /**
+     * Version of the migration
+     */
+    @Getter
+    private final int version;
+
+    /**
+     * Description of the migration
+     */
+    @Getter
+    private final String description;
+
+    /**
+     * Classpath location of the script
+     */
+    @Getter
+    private final String script;
+
+    /**
+     * Creates a migration executing the given script.
+     *
+     * @param version     version of the migration
+     * @param description description of the migration
+     * @param script      classpath location of the script
+     */
+    public SqlMigration(final int version, final String description, final String script) {
+        this.version = version;
+        this.description = description;
+        this.script = script;
+    }
+
+    /**
+     * Execute all statements of the script.
+     *
+     * @param connection to the database
+     * @throws SQLException if the script couldn't be read or a statement failed
+     */
+    @Override
+    public void migrate(final Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : this.getStatements())
+                statement.execute(sql);
+        }
+    }
+
+    /**
+     * Read the statements of the script.
+     *
+     * @return the statements without terminating semicolons
+     * @throws SQLException if the script couldn't be read
+     */
+    List<String> getStatements() throws SQLException {
+        final InputStream in = SqlMigration.class.getClassLoader().getResourceAsStream(script);
+        if (in == null)
+            throw new SQLException("Migration script " + script + " not found.");
+
+        final List<String> statements = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            StringBuilder current = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                final String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("--"))
+                    continue;
+                current.append(current.length() == 0 ? "" : "\n").append(trimmed);
+                if (trimmed.endsWith(";")) {
+                    statements.add(current.substring(0, current.length() - 1).trim());
+                    current = new StringBuilder();
+                }
+            }
+            if (current.toString().trim().length() > 0)
+                statements.add(current.toString().trim());
+        } catch (IOException e) {
+            throw new SQLException("Migration script " + script + " couldn't be read: " + e.getMessage(), e);
+        }
+        return statements;
+    }
+}
@@ -1,9 +1,12 @@
 package de.unibremen.swp2.kcb.persistence.statemachine;
 
 import de.unibremen.swp2.kcb.model.StateMachine.State;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
 import org.apache.deltaspike.data.api.EntityRepository;
+import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 /**
@@ -24,6 +27,8 @@ public interface StateRepository extends EntityRepository<State, String> {
      * @param name of the state
      * @return List of state with the given name. Should only contain one State
      */
+    @Query(value = "SELECT s FROM State s WHERE s.name = ?1",
+            hints = @QueryHint(name = EntityCache.CACHEABLE, value = "true"))
     List<State> findByName(String name);
 
     /**
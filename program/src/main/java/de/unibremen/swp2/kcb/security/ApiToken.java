@@ -0,0 +1,45 @@
+package de.unibremen.swp2.kcb.security;
+
+import org.apache.shiro.authc.AuthenticationToken;
+
+/**
+ * AuthenticationToken containing a bearer token issued by the {@link ApiTokenManager}.
+ *
+ * @author Marius
+ */
+public class ApiToken implements AuthenticationToken {
+
+    /**
+     * The signed token
+     */
+    private final String token;
+
+    /**
+     * Instantiates a new ApiToken.
+     *
+     * @param token the signed token
+     */
+    public ApiToken(final String token) {
+        this.token = token;
+    }
+
+    /**
+     * The principal isn't known before the token is verified, so the token itself is returned.
+     *
+     * @return the signed token
+     */
+    @Override
+    public Object getPrincipal() {
+        return token;
+    }
+
+    /**
+     * Return the signed token.
+     *
+     * @return the signed token
+     */
+    @Override
+    public Object getCredentials() {
+        return token;
+    }
+}
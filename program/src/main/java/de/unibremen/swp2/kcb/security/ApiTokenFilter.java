@@ -0,0 +1,48 @@
+package de.unibremen.swp2.kcb.security;
+
+import org.apache.shiro.authc.AuthenticationToken;
+import org.apache.shiro.web.filter.authc.BasicHttpAuthenticationFilter;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+
+/**
+ * Authentication Filter for the REST-API that authenticates requests with the bearer token
+ * given in the Authorization header ("Authorization: Bearer &lt;token&gt;").
+ * Requests without a valid token are answered with 401 and a Bearer challenge.
+ *
+ * @see ApiTokenRealm
+ *
+ * @author Marius
+ */
+public class ApiTokenFilter extends BasicHttpAuthenticationFilter {
+
+    /**
+     * Name of the bearer authentication scheme
+     */
+    private static final String BEARER = "Bearer";
+
+    /**
+     * Instantiates a new ApiTokenFilter.
+     */
+    public ApiTokenFilter() {
+        super();
+        this.setAuthcScheme(BEARER);
+        this.setAuthzScheme(BEARER);
+    }
+
+    /**
+     * Creates an {@link ApiToken} from the Authorization header of the request.
+     *
+     * @param request  incoming ServletRequest
+     * @param response outgoing ServletResponse
+     * @return the ApiToken
+     */
+    @Override
+    protected AuthenticationToken createToken(ServletRequest request, ServletResponse response) {
+        final String authorizationHeader = this.getAuthzHeader(request);
+        if (authorizationHeader == null || authorizationHeader.length() <= BEARER.length())
+            return new ApiToken(null);
+        return new ApiToken(authorizationHeader.substring(BEARER.length()).trim());
+    }
+}
@@ -0,0 +1,257 @@
+package de.unibremen.swp2.kcb.security;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.function.Function;
+
+/**
+ * Issues and verifies signed, expiring bearer tokens for the REST-API.
+ * A token contains the principal, a fingerprint of the password hash of the user and its expiration time
+ * and is signed with HMAC-SHA256, so the password doesn't have to be checked again.
+ * A token becomes invalid as soon as its user is deleted or changes the password, because the fingerprint
+ * is compared with the currently stored password hash.
+ * <p>
+ * The signing secret is read from the environment variable KCB_API_TOKEN_SECRET. If it is not set,
+ * a random secret is generated and all tokens become invalid on restart.
+ * The validity in minutes can be configured with KCB_API_TOKEN_VALIDITY.
+ * Shiro doesn't support CDI, so a single shared instance is used.
+ *
+ * @author Marius
+ */
+public class ApiTokenManager {
+
+    /**
+     * Logger object of the ApiTokenManager class
+     */
+    private static final Logger logger = LogManager.getLogger(ApiTokenManager.class);
+
+    /**
+     * Algorithm used to sign the tokens
+     */
+    private static final String ALGORITHM = "HmacSHA256";
+
+    /**
+     * Separates principal, password fingerprint and expiration time in the token payload
+     */
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Length of the password fingerprint in the token payload
+     */
+    private static final int FINGERPRINT_LENGTH = 16;
+
+    /**
+     * Validity of a token if not configured otherwise
+     */
+    public static final Duration DEFAULT_VALIDITY = Duration.ofHours(1);
+
+    /**
+     * Shared instance
+     */
+    private static final ApiTokenManager instance = new ApiTokenManager(readSecret(), readValidity(), Clock.systemUTC());
+
+    /**
+     * Key used to sign the tokens
+     */
+    private final SecretKeySpec key;
+
+    /**
+     * How long issued tokens are valid
+     */
+    private final Duration validity;
+
+    /**
+     * Clock to get the current time from
+     */
+    private final Clock clock;
+
+    /**
+     * Instantiates a new ApiTokenManager.
+     *
+     * @param secret   used to sign the tokens
+     * @param validity of issued tokens
+     * @param clock    to get the current time from
+     */
+    ApiTokenManager(final byte[] secret, final Duration validity, final Clock clock) {
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.validity = validity;
+        this.clock = clock;
+    }
+
+    /**
+     * Return the shared instance.
+     *
+     * @return the shared ApiTokenManager
+     */
+    public static ApiTokenManager getInstance() {
+        return instance;
+    }
+
+    /**
+     * Issue a new token for the given principal.
+     *
+     * @param principal    the token is issued for
+     * @param passwordHash the stored password hash of the user
+     * @return signed token
+     */
+    public String issue(final String principal, final String passwordHash) {
+        if (principal == null || passwordHash == null)
+            throw new IllegalArgumentException("Can't issue token without principal.");
+
+        final long expiresAt = clock.instant().plus(validity).getEpochSecond();
+        final String payload = principal + SEPARATOR + this.fingerprint(passwordHash) + SEPARATOR + expiresAt;
+        return encode(payload.getBytes(StandardCharsets.UTF_8)) + "." + encode(this.sign(payload));
+    }
+
+    /**
+     * Verify the given token.
+     *
+     * @param token          to be verified
+     * @param passwordHashes returns the stored password hash of a principal or null if there is no such user
+     * @return the principal of the token or null if the token is invalid, expired or its user was deleted
+     * or changed the password
+     */
+    public String verify(final String token, final Function<String, String> passwordHashes) {
+        if (token == null)
+            return null;
+
+        final int dot = token.indexOf('.');
+        if (dot <= 0)
+            return null;
+
+        final String payload;
+        final byte[] signature;
+        try {
+            payload = new String(Base64.getUrlDecoder().decode(token.substring(0, dot)), StandardCharsets.UTF_8);
+            signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            logger.debug("Malformed API token.");
+            return null;
+        }
+
+        if (!MessageDigest.isEqual(signature, this.sign(payload))) {
+            logger.debug("API token with invalid signature.");
+            return null;
+        }
+
+        final int separator = payload.lastIndexOf(SEPARATOR);
+        if (separator <= 0)
+            return null;
+
+        try {
+            final long expiresAt = Long.parseLong(payload.substring(separator + 1));
+            if (clock.instant().getEpochSecond() >= expiresAt) {
+                logger.debug("Expired API token.");
+                return null;
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+
+        final int fingerprintSeparator = payload.lastIndexOf(SEPARATOR, separator - 1);
+        if (fingerprintSeparator <= 0)
+            return null;
+
+        final String principal = payload.substring(0, fingerprintSeparator);
+        final String passwordHash = passwordHashes.apply(principal);
+        if (passwordHash == null) {
+            logger.debug("API token of unknown user {}.", principal);
+            return null;
+        }
+
+        final byte[] fingerprint = payload.substring(fingerprintSeparator + 1, separator).getBytes(StandardCharsets.UTF_8);
+        if (!MessageDigest.isEqual(fingerprint, this.fingerprint(passwordHash).getBytes(StandardCharsets.UTF_8))) {
+            logger.debug("API token of {} issued before the password was changed.", principal);
+            return null;
+        }
+        return principal;
+    }
+
+    /**
+     * Return how long issued tokens are valid.
+     *
+     * @return validity of issued tokens
+     */
+    public Duration getValidity() {
+        return validity;
+    }
+
+    /**
+     * Sign the given payload.
+     *
+     * @param payload to be signed
+     * @return signature of the payload
+     */
+    private byte[] sign(final String payload) {
+        try {
+            final Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Can't sign API token.", e);
+        }
+    }
+
+    /**
+     * Return the fingerprint of the given password hash. It is signed, so the token doesn't reveal the hash.
+     *
+     * @param passwordHash the stored password hash
+     * @return fingerprint of the password hash
+     */
+    private String fingerprint(final String passwordHash) {
+        return encode(this.sign("password" + SEPARATOR + passwordHash)).substring(0, FINGERPRINT_LENGTH);
+    }
+
+    /**
+     * Encode the given bytes url safe without padding.
+     *
+     * @param bytes to be encoded
+     * @return encoded bytes
+     */
+    private static String encode(final byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * Read the signing secret from the environment or generate a random one.
+     *
+     * @return the signing secret
+     */
+    private static byte[] readSecret() {
+        final String secret = System.getenv("KCB_API_TOKEN_SECRET");
+        if (secret != null && !secret.isEmpty())
+            return secret.getBytes(StandardCharsets.UTF_8);
+
+        logger.info("KCB_API_TOKEN_SECRET not set. API tokens will be invalid after restart.");
+        final byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+
+    /**
+     * Read the validity of tokens from the environment.
+     *
+     * @return the validity of tokens
+     */
+    private static Duration readValidity() {
+        final String minutes = System.getenv("KCB_API_TOKEN_VALIDITY");
+        if (minutes == null || minutes.isEmpty())
+            return DEFAULT_VALIDITY;
+        try {
+            return Duration.ofMinutes(Long.parseLong(minutes));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid KCB_API_TOKEN_VALIDITY \"{}\". Using default.", minutes);
+            return DEFAULT_VALIDITY;
+        }
+    }
+}
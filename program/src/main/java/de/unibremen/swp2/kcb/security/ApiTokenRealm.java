@@ -0,0 +1,56 @@
+package de.unibremen.swp2.kcb.security;
+
+import lombok.Setter;
+import org.apache.shiro.authc.AuthenticationException;
+import org.apache.shiro.authc.AuthenticationInfo;
+import org.apache.shiro.authc.AuthenticationToken;
+import org.apache.shiro.authc.SimpleAuthenticationInfo;
+import org.apache.shiro.authc.credential.AllowAllCredentialsMatcher;
+import org.apache.shiro.realm.AuthenticatingRealm;
+
+/**
+ * Realm to authenticate REST-API requests with bearer tokens issued by the {@link ApiTokenManager}.
+ * The signature and expiration of a token are verified in memory. The stored password hash of its user is looked up
+ * with the {@link KCBRealm}, which caches it per principal until the user is updated or deleted, so tokens of deleted
+ * users and tokens issued before a password change are rejected without querying the database on every request.
+ * Authorization is left to the {@link KCBRealm}.
+ *
+ * @author Marius
+ */
+public class ApiTokenRealm extends AuthenticatingRealm {
+
+    /**
+     * Realm to look up the stored password hashes with, configured in shiro.ini
+     */
+    @Setter
+    private KCBRealm userRealm;
+
+    /**
+     * Instantiates a new ApiTokenRealm.
+     */
+    public ApiTokenRealm() {
+        super();
+        this.setName("ApiTokenRealm");
+        this.setAuthenticationTokenClass(ApiToken.class);
+        // The signature of the token is checked while getting the authentication info
+        this.setCredentialsMatcher(new AllowAllCredentialsMatcher());
+    }
+
+    /**
+     * Verifies the given token and returns the authentication info of its principal.
+     *
+     * @param token the ApiToken
+     * @return the AuthenticationInfo object
+     * @throws AuthenticationException when the token is invalid, expired or its user changed
+     */
+    @Override
+    protected AuthenticationInfo doGetAuthenticationInfo(AuthenticationToken token) throws AuthenticationException {
+        if (userRealm == null)
+            throw new AuthenticationException("No realm to look up the users of API tokens configured.");
+        final String principal = ApiTokenManager.getInstance()
+                .verify((String) token.getCredentials(), userRealm::getPasswordHash);
+        if (principal == null)
+            throw new AuthenticationException("Invalid or expired API token.");
+        return new SimpleAuthenticationInfo(principal, token.getCredentials(), this.getName());
+    }
+}
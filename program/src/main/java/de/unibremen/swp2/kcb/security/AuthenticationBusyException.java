@@ -0,0 +1,56 @@
+package de.unibremen.swp2.kcb.security;
+
+import lombok.Getter;
+import org.apache.shiro.authc.AuthenticationException;
+import org.apache.shiro.web.util.WebUtils;
+
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Thrown if a password can't be verified right now because the {@link PasswordVerifier} is saturated
+ * or the same principal is already being verified with other credentials.
+ * The login filters answer it with the given status code instead of an authentication challenge.
+ *
+ * @author Marius
+ */
+public class AuthenticationBusyException extends AuthenticationException {
+
+    /**
+     * HTTP status code the request is answered with (e.g. 503)
+     */
+    @Getter
+    private final int status;
+
+    /**
+     * Seconds the client should wait before trying again
+     */
+    @Getter
+    private final int retryAfter;
+
+    /**
+     * Creates the exception.
+     *
+     * @param message    description of the reason
+     * @param status     HTTP status code the request is answered with
+     * @param retryAfter seconds the client should wait before trying again
+     */
+    public AuthenticationBusyException(final String message, final int status, final int retryAfter) {
+        super(message);
+        this.status = status;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Answer the given response with the status code and a Retry-After header.
+     *
+     * @param response the response of the login request
+     * @throws IOException if the error couldn't be sent
+     */
+    public void send(final ServletResponse response) throws IOException {
+        final HttpServletResponse httpResponse = WebUtils.toHttp(response);
+        httpResponse.setHeader("Retry-After", String.valueOf(retryAfter));
+        httpResponse.sendError(status);
+    }
+}
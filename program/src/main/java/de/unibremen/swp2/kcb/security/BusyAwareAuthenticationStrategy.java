@@ -0,0 +1,35 @@
+package de.unibremen.swp2.kcb.security;
+
+import org.apache.shiro.authc.AuthenticationException;
+import org.apache.shiro.authc.AuthenticationInfo;
+import org.apache.shiro.authc.AuthenticationToken;
+import org.apache.shiro.authc.pam.AtLeastOneSuccessfulStrategy;
+import org.apache.shiro.realm.Realm;
+
+/**
+ * Authentication strategy of the configured realms that passes an {@link AuthenticationBusyException} on to the
+ * login filters instead of replacing it with a generic failure, so rejected logins can be answered with 503.
+ *
+ * @author Marius
+ */
+public class BusyAwareAuthenticationStrategy extends AtLeastOneSuccessfulStrategy {
+
+    /**
+     * Rethrows the exception of a realm if its password verification was rejected.
+     *
+     * @param realm           the realm that was consulted
+     * @param token           the submitted AuthenticationToken
+     * @param singleRealmInfo the info returned by the realm
+     * @param aggregateInfo   the info aggregated of all realms so far
+     * @param t               the exception thrown by the realm or null
+     * @return the aggregated info
+     * @throws AuthenticationException if the realm was too busy to verify the password
+     */
+    @Override
+    public AuthenticationInfo afterAttempt(Realm realm, AuthenticationToken token, AuthenticationInfo singleRealmInfo,
+                                           AuthenticationInfo aggregateInfo, Throwable t) throws AuthenticationException {
+        if (t instanceof AuthenticationBusyException)
+            throw (AuthenticationBusyException) t;
+        return super.afterAttempt(realm, token, singleRealmInfo, aggregateInfo, t);
+    }
+}
@@ -0,0 +1,59 @@
+package de.unibremen.swp2.kcb.security;
+
+import de.unibremen.swp2.kcb.model.User;
+
+import javax.enterprise.context.RequestScoped;
+
+/**
+ * Holds the {@link User} executing the current request, so it is loaded from the database
+ * at most once per request instead of once per call of
+ * {@link de.unibremen.swp2.kcb.service.UserService#getExecutingUser()}.
+ * The user is kept together with the principal it was loaded for and only returned for that principal,
+ * so a login or logout during the request doesn't return a wrong user.
+ *
+ * @author Marius
+ */
+@RequestScoped
+public class ExecutingUserHolder {
+
+    /**
+     * Principal the held user was loaded for
+     */
+    private String principal;
+
+    /**
+     * The held user
+     */
+    private User user;
+
+    /**
+     * Return the held user if it was loaded for the given principal.
+     *
+     * @param principal the principal of the executing subject
+     * @return the held user or null if no user is held for the principal
+     */
+    public User get(final String principal) {
+        if (principal == null || !principal.equals(this.principal))
+            return null;
+        return this.user;
+    }
+
+    /**
+     * Hold the given user for the given principal.
+     *
+     * @param principal the principal of the executing subject
+     * @param user      the user loaded for the principal
+     */
+    public void set(final String principal, final User user) {
+        this.principal = principal;
+        this.user = user;
+    }
+
+    /**
+     * Drop the held user, e.g. because a user has been updated during the request.
+     */
+    public void clear() {
+        this.principal = null;
+        this.user = null;
+    }
+}
@@ -0,0 +1,173 @@
+package de.unibremen.swp2.kcb.security;
+
+import org.apache.shiro.cache.Cache;
+
+import java.time.Clock;
+import java.util.*;
+
+/**
+ * Bounded Shiro cache whose entries expire a fixed time after they were put.
+ * If the cache is full, the least recently used entry is evicted.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ *
+ * @author Marius
+ */
+public class ExpiringCache<K, V> implements Cache<K, V> {
+
+    /**
+     * Maximum number of entries
+     */
+    private final int maxEntries;
+
+    /**
+     * Milliseconds an entry stays valid
+     */
+    private final long timeToLive;
+
+    /**
+     * Clock used to expire the entries
+     */
+    private final Clock clock;
+
+    /**
+     * Entries in access order, the eldest entry is evicted if the cache is full
+     */
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxEntries maximum number of entries
+     * @param timeToLive milliseconds an entry stays valid
+     * @param clock      clock used to expire the entries
+     */
+    public ExpiringCache(final int maxEntries, final long timeToLive, final Clock clock) {
+        this.maxEntries = maxEntries;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, Entry<V>> eldest) {
+                return size() > ExpiringCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Return the value of the given key if it hasn't expired.
+     *
+     * @param key of the value
+     * @return the value or null if it isn't cached or has expired
+     */
+    @Override
+    public synchronized V get(final K key) {
+        final Entry<V> entry = entries.get(key);
+        if (entry == null)
+            return null;
+        if (entry.expiresAt <= clock.millis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Cache the given value.
+     *
+     * @param key   of the value
+     * @param value to be cached
+     * @return the previous value or null
+     */
+    @Override
+    public synchronized V put(final K key, final V value) {
+        final Entry<V> previous = entries.put(key, new Entry<>(value, clock.millis() + timeToLive));
+        return previous == null ? null : previous.value;
+    }
+
+    /**
+     * Remove the value of the given key.
+     *
+     * @param key of the value
+     * @return the removed value or null
+     */
+    @Override
+    public synchronized V remove(final K key) {
+        final Entry<V> previous = entries.remove(key);
+        return previous == null ? null : previous.value;
+    }
+
+    /**
+     * Remove all values.
+     */
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Return the number of cached values including expired ones that haven't been removed yet.
+     *
+     * @return number of cached values
+     */
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Return a copy of all keys.
+     *
+     * @return the keys
+     */
+    @Override
+    public synchronized Set<K> keys() {
+        return new HashSet<>(entries.keySet());
+    }
+
+    /**
+     * Return a copy of all values that haven't expired.
+     *
+     * @return the values
+     */
+    @Override
+    public synchronized Collection<V> values() {
+        final long now = clock.millis();
+        final List<V> values = new ArrayList<>();
+        for (Entry<V> entry : entries.values()) {
+            if (entry.expiresAt > now)
+                values.add(entry.value);
+        }
+        return values;
+    }
+
+    /**
+     * Cached value and its expiration time.
+     *
+     * @param <V> type of the value
+     */
+    private static final class Entry<V> {
+
+        /**
+         * The cached value
+         */
+        private final V value;
+
+        /**
+         * Time in milliseconds the value expires at
+         */
+        private final long expiresAt;
+
+        /**
+         * Creates an entry.
+         *
+         * @param value     the cached value
+         * @param expiresAt time in milliseconds the value expires at
+         */
+        private Entry(final V value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package de.unibremen.swp2.kcb.security;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.shiro.cache.Cache;
+import org.apache.shiro.cache.CacheException;
+import org.apache.shiro.cache.CacheManager;
+
+import java.time.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shiro CacheManager creating bounded {@link ExpiringCache}s. Size and time to live are configured in shiro.ini.
+ *
+ * @author Marius
+ */
+public class ExpiringCacheManager implements CacheManager {
+
+    /**
+     * Maximum number of entries of every cache
+     */
+    @Getter
+    @Setter
+    private int maxEntries = 1000;
+
+    /**
+     * Milliseconds an entry stays valid
+     */
+    @Getter
+    @Setter
+    private long timeToLive = 5 * 60 * 1000L;
+
+    /**
+     * Created caches by name
+     */
+    private final ConcurrentMap<String, Cache<?, ?>> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Return the cache with the given name, creating it on first access.
+     *
+     * @param name of the cache
+     * @param <K>  type of the keys
+     * @param <V>  type of the values
+     * @return the cache
+     * @throws CacheException never
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> Cache<K, V> getCache(final String name) throws CacheException {
+        return (Cache<K, V>) caches.computeIfAbsent(name,
+                n -> new ExpiringCache<K, V>(maxEntries, timeToLive, Clock.systemUTC()));
+    }
+}
@@ -1,6 +1,5 @@
 package de.unibremen.swp2.kcb.security;
 
-import com.lambdaworks.crypto.SCryptUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.shiro.authc.AuthenticationInfo;
@@ -27,6 +26,7 @@ public class KCBCredentialsMatcher implements CredentialsMatcher {
      * @param authenticationToken the AuthenticationToken submitted during the authentication attempt
      * @param authenticationInfo  the AuthenticationInfo stored in the system.
      * @return true if the provided token credentials match the stored account credentials, false otherwise.
+     * @throws AuthenticationBusyException if the password can't be verified right now
      */
     @Override
     public boolean doCredentialsMatch(AuthenticationToken authenticationToken, AuthenticationInfo authenticationInfo) {
@@ -49,6 +49,7 @@ public class KCBCredentialsMatcher implements CredentialsMatcher {
         final String providedPassword = new String((char[]) authenticationToken.getCredentials());
         final String storedPassword = String.valueOf(authenticationInfo.getCredentials());
 
-        return SCryptUtil.check(providedPassword, storedPassword);
+        // scrypt is verified on the bounded pool of the PasswordVerifier, not on the request thread
+        return PasswordVerifier.getInstance().check(providedPrincipals, providedPassword, storedPassword);
     }
 }
@@ -2,24 +2,32 @@ package de.unibremen.swp2.kcb.security;
 
 import de.unibremen.swp2.kcb.model.Role;
 import de.unibremen.swp2.kcb.model.User;
+import de.unibremen.swp2.kcb.util.EntityManagerProducer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.shiro.authc.AuthenticationException;
 import org.apache.shiro.authc.AuthenticationInfo;
 import org.apache.shiro.authc.AuthenticationToken;
 import org.apache.shiro.authc.SimpleAuthenticationInfo;
+import org.apache.shiro.authc.UsernamePasswordToken;
 import org.apache.shiro.authz.AuthorizationInfo;
 import org.apache.shiro.authz.SimpleAuthorizationInfo;
+import org.apache.shiro.cache.Cache;
+import org.apache.shiro.cache.CacheManager;
 import org.apache.shiro.realm.jdbc.JdbcRealm;
 import org.apache.shiro.subject.PrincipalCollection;
 import org.apache.shiro.subject.SimplePrincipalCollection;
 
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
 import javax.persistence.EntityManager;
-import javax.persistence.EntityManagerFactory;
-import javax.persistence.Persistence;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Realm to handle authentication and authorization in the Workflow Manager
@@ -38,9 +46,25 @@ public class KCBRealm extends JdbcRealm {
     private static final Logger logger = LogManager.getLogger(KCBRealm.class);
 
     /**
-     * EntityManager since Shiro doesn't support CDI
+     * Name of the cache containing the AuthorizationInfo of every principal
      */
-    private EntityManager em;
+    public static final String AUTHORIZATION_CACHE_NAME = "KCBRealm.authorizationCache";
+
+    /**
+     * Name of the cache containing the stored password hash of every principal, used to verify API tokens
+     */
+    public static final String PASSWORD_HASH_CACHE_NAME = "KCBRealm.passwordHashCache";
+
+    /**
+     * Incremented whenever cached password hashes are evicted.
+     * A hash read from the database before an eviction isn't kept in the cache.
+     */
+    private final AtomicLong passwordHashGeneration = new AtomicLong();
+
+    /**
+     * Producer of the shared EntityManagerFactory. Shiro doesn't support CDI, so it is looked up on first use.
+     */
+    private volatile EntityManagerProducer emProducer;
 
     /**
      * Instantiates a new Kcb realm.
@@ -51,20 +75,21 @@ public class KCBRealm extends JdbcRealm {
         // Use the custom scrypt credentials matcher
         KCBCredentialsMatcher credentialsMatcher = new KCBCredentialsMatcher();
         this.setCredentialsMatcher(credentialsMatcher);
-        EntityManagerFactory emFactory = Persistence.createEntityManagerFactory("prototypePU");
-        this.em = emFactory.createEntityManager();
+        // Roles are cached per principal if a cache manager is configured, see shiro.ini
+        this.setAuthorizationCachingEnabled(true);
+        this.setAuthorizationCacheName(AUTHORIZATION_CACHE_NAME);
     }
 
     /**
      * Does the Realm support the given authenticationToken?
-     * Will return true for every authenticationToken, since this is the only Realm used.
+     * Will return true for every username/password token. API tokens are handled by the {@link ApiTokenRealm}.
      *
      * @param authenticationToken to check
-     * @return always true
+     * @return whether the token is a username/password token
      */
     @Override
     public boolean supports(AuthenticationToken authenticationToken) {
-        return true;
+        return authenticationToken instanceof UsernamePasswordToken;
     }
 
     /**
@@ -80,11 +105,18 @@ public class KCBRealm extends JdbcRealm {
         String enteredPassword = new String((char[]) token.getCredentials()); //Token.getCredentials ist char[]
         checkNull(enteredPassword, "Entered password is null", false);
 
-        User user = getUserByPrincipal(enteredPrincipal);
+        final EntityManager em = this.createEntityManager();
+        final String password;
+        final PrincipalCollection pc;
+        try {
+            User user = getUserByPrincipal(em, enteredPrincipal);
 
-        checkNull(user, "No account found for user with principal " + enteredPrincipal);
-        final String password = user.getPassword();
-        PrincipalCollection pc = this.getPrincipalCollection(user);
+            checkNull(user, "No account found for user with principal " + enteredPrincipal);
+            password = user.getPassword();
+            pc = this.getPrincipalCollection(user);
+        } finally {
+            em.close();
+        }
         // Clear shiro caches and refresh the user - e.g. changed roles
         return new SimpleAuthenticationInfo(pc, password);
     }
@@ -100,32 +132,144 @@ public class KCBRealm extends JdbcRealm {
         final String principal = String.valueOf(principals.getPrimaryPrincipal());
         checkNull(principal, "Principal was null.");
 
-        User user = getUserByPrincipal(principal);
+        final EntityManager em = this.createEntityManager();
+        try {
+            User user = getUserByPrincipal(em, principal);
 
-        Set<String> roles = new HashSet<>();
+            Set<String> roles = new HashSet<>();
 
-        if (user == null || user.getRoles() == null)
+            if (user == null || user.getRoles() == null)
+                return null;
+
+            for (Role r : user.getRoles()) {
+                roles.add(r.toString());
+            }
+            return new SimpleAuthorizationInfo(roles);
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Return the stored password hash of the user with the given principal.
+     * Used by the {@link ApiTokenRealm} to reject tokens of deleted users and tokens issued before a password change.
+     * The hash is cached per principal if a cache manager is configured, so verifying a token doesn't query the
+     * database. {@link #refresh(User)} evicts the cached hashes when a user is updated or deleted.
+     *
+     * @param principal username or email of the user
+     * @return the stored password hash or null if there is no such user
+     */
+    public String getPasswordHash(final String principal) {
+        if (principal == null)
             return null;
 
-        for (Role r : user.getRoles()) {
-            roles.add(r.toString());
+        final Cache<String, String> cache = this.getPasswordHashCache();
+        final String cached = cache == null ? null : cache.get(principal);
+        if (cached != null)
+            return cached;
+
+        final long generation = passwordHashGeneration.get();
+        final String passwordHash;
+        final EntityManager em = this.createEntityManager();
+        try {
+            final User user = getUserByPrincipal(em, principal);
+            passwordHash = user == null ? null : user.getPassword();
+        } finally {
+            em.close();
+        }
+
+        // Unknown users aren't cached, so a user created with the principal later on is found
+        if (cache != null && passwordHash != null) {
+            cache.put(principal, passwordHash);
+            if (passwordHashGeneration.get() != generation)
+                cache.remove(principal);
         }
-        return new SimpleAuthorizationInfo(roles);
+        return passwordHash;
+    }
+
+    /**
+     * Return the cache of the stored password hashes.
+     *
+     * @return the cache or null if no cache manager is configured
+     */
+    private Cache<String, String> getPasswordHashCache() {
+        final CacheManager cacheManager = this.getCacheManager();
+        return cacheManager == null ? null : cacheManager.getCache(PASSWORD_HASH_CACHE_NAME);
+    }
+
+    /**
+     * Cache the AuthorizationInfo by the primary principal (the username), so it can be evicted
+     * without the PrincipalCollection of the session.
+     *
+     * @param principals of the subject
+     * @return the primary principal
+     */
+    @Override
+    protected Object getAuthorizationCacheKey(PrincipalCollection principals) {
+        return String.valueOf(principals.getPrimaryPrincipal());
+    }
+
+    /**
+     * Evict the cached AuthorizationInfo of the given principal.
+     *
+     * @param principal username or email of the user
+     */
+    public void clearCachedAuthorizationInfo(final String principal) {
+        final Cache<Object, AuthorizationInfo> cache = this.getAuthorizationCache();
+        if (cache != null && principal != null)
+            cache.remove(principal);
+    }
+
+    /**
+     * Create a short-lived EntityManager of the shared EntityManagerFactory.
+     * Every authentication and authorization uses its own EntityManager, which has to be closed afterwards.
+     *
+     * @return a new EntityManager
+     * @throws AuthenticationException if the EntityManagerProducer couldn't be looked up
+     */
+    protected EntityManager createEntityManager() {
+        EntityManagerProducer producer = this.emProducer;
+        if (producer == null) {
+            producer = lookupEntityManagerProducer();
+            this.emProducer = producer;
+        }
+        return producer.getEntityManager();
+    }
+
+    /**
+     * Look up the EntityManagerProducer through the BeanManager
+     *
+     * @return the EntityManagerProducer
+     * @throws AuthenticationException if the BeanManager isn't available
+     */
+    @SuppressWarnings("unchecked")
+    private static EntityManagerProducer lookupEntityManagerProducer() {
+        final BeanManager bm;
+        try {
+            bm = (BeanManager) new InitialContext().lookup("java:comp/BeanManager");
+        } catch (NamingException e) {
+            logger.error("Couldn't get BeanManager through JNDI");
+            throw new AuthenticationException("Persistence is not available.");
+        }
+        Bean<EntityManagerProducer> bean = (Bean<EntityManagerProducer>) bm.getBeans(EntityManagerProducer.class).iterator().next();
+        CreationalContext<EntityManagerProducer> ctx = bm.createCreationalContext(bean);
+        return (EntityManagerProducer) bm.getReference(bean, EntityManagerProducer.class, ctx);
     }
 
     /**
      * Return the user with the given Principal
      *
+     * @param em               EntityManager to query with
      * @param enteredPrincipal to get user for
      * @return User for given principal or null if user is not found.
      */
-    private User getUserByPrincipal(String enteredPrincipal) {
+    private User getUserByPrincipal(final EntityManager em, String enteredPrincipal) {
         List<User> users;
         if (isEmail(enteredPrincipal))
-            users = (List<User>) this.em.createNamedQuery("findUsersByEmail")
+            users = (List<User>) em.createNamedQuery("findUsersByEmail")
                     .setParameter("email", enteredPrincipal).getResultList();
         else
-            users = (List<User>) this.em.createNamedQuery("findUsersByUsername")
+            users = (List<User>) em.createNamedQuery("findUsersByUsername")
                     .setParameter("username", enteredPrincipal).getResultList();
         if (users == null || users.size() == 0)
             return null;
@@ -174,25 +318,41 @@ public class KCBRealm extends JdbcRealm {
     }
 
     /**
-     * Clear cached data for given principal and user. Use this on login to fetch "clean" user object from DB.
+     * Clear cached data for given principal and user. Every lookup uses a new EntityManager,
+     * so only the cached authorization info and password hashes have to be evicted.
+     * The username or email of the user may have changed, so the password hashes of all principals are evicted.
      *
      * @param user to be refreshed
      */
     public void refresh(final User user) {
         PrincipalCollection pc = this.getPrincipalCollection(user);
-        User stored = this.getUserByPrincipal(user.getEmail());
-        if (stored != null) em.refresh(stored);
         super.doClearCache(pc);
+        this.clearCachedAuthorizationInfo(user.getUsername());
+        this.clearCachedAuthorizationInfo(user.getEmail());
+        this.clearCachedPasswordHashes();
     }
 
     /**
-     * Clear cached data for given principal and user. Use this on login to fetch "clean" user object from DB.
+     * Clear cached data for given principal.
      *
      * @param principal of user to be updated
      */
     public void refresh(final String principal) {
-        User stored = this.getUserByPrincipal(principal);
-        if (stored != null) em.refresh(stored);
+        this.clearCachedAuthorizationInfo(principal);
+        passwordHashGeneration.incrementAndGet();
+        final Cache<String, String> cache = this.getPasswordHashCache();
+        if (cache != null && principal != null)
+            cache.remove(principal);
+    }
+
+    /**
+     * Evict the cached password hashes of all principals.
+     */
+    private void clearCachedPasswordHashes() {
+        passwordHashGeneration.incrementAndGet();
+        final Cache<String, String> cache = this.getPasswordHashCache();
+        if (cache != null)
+            cache.clear();
     }
 
     /**
@@ -0,0 +1,86 @@
+package de.unibremen.swp2.kcb.security;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Authentication Filter for the metrics of the REST-API. Besides the bearer tokens of users
+ * it accepts the long-lived scrape token configured with KCB_METRICS_TOKEN ("Authorization: Bearer &lt;token&gt;"),
+ * so monitoring systems can scrape the metrics without the credentials of a user.
+ * The scrape token doesn't authenticate a subject and is only accepted by this filter.
+ * Without KCB_METRICS_TOKEN only bearer tokens of users are accepted.
+ *
+ * @see de.unibremen.swp2.kcb.api.v1.MetricsResource
+ *
+ * @author Marius
+ */
+public class MetricsTokenFilter extends ApiTokenFilter {
+
+    /**
+     * Logger object of the MetricsTokenFilter class
+     */
+    private static final Logger logger = LogManager.getLogger(MetricsTokenFilter.class);
+
+    /**
+     * Prefix of the Authorization header carrying a bearer token
+     */
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    /**
+     * The scrape token or null if scraping without a user is disabled
+     */
+    private final byte[] scrapeToken;
+
+    /**
+     * Instantiates a new MetricsTokenFilter with the scrape token from the environment.
+     */
+    public MetricsTokenFilter() {
+        this(System.getenv("KCB_METRICS_TOKEN"));
+    }
+
+    /**
+     * Instantiates a new MetricsTokenFilter with the given scrape token.
+     *
+     * @param scrapeToken the scrape token, null or empty to disable scraping without a user
+     */
+    MetricsTokenFilter(final String scrapeToken) {
+        super();
+        if (scrapeToken == null || scrapeToken.isEmpty()) {
+            logger.info("KCB_METRICS_TOKEN not set. Metrics are only available with the token of a user.");
+            this.scrapeToken = null;
+        } else {
+            this.scrapeToken = scrapeToken.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Allow requests with the scrape token, otherwise authenticate the bearer token of a user.
+     *
+     * @param request     incoming ServletRequest
+     * @param response    outgoing ServletResponse
+     * @param mappedValue filter-specific config value mapped to this filter in the URL rules mappings
+     * @return whether the request is allowed
+     */
+    @Override
+    protected boolean isAccessAllowed(final ServletRequest request, final ServletResponse response, final Object mappedValue) {
+        return this.isScrapeToken(this.getAuthzHeader(request)) || super.isAccessAllowed(request, response, mappedValue);
+    }
+
+    /**
+     * Return whether the given Authorization header carries the scrape token. Compared in constant time.
+     *
+     * @param authorizationHeader the Authorization header of the request
+     * @return whether the header carries the scrape token
+     */
+    boolean isScrapeToken(final String authorizationHeader) {
+        if (scrapeToken == null || authorizationHeader == null || !authorizationHeader.startsWith(BEARER_PREFIX))
+            return false;
+        final byte[] token = authorizationHeader.substring(BEARER_PREFIX.length()).trim().getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(scrapeToken, token);
+    }
+}
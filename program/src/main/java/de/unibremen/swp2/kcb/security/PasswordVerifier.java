@@ -0,0 +1,300 @@
+package de.unibremen.swp2.kcb.security;
+
+import com.lambdaworks.crypto.SCryptUtil;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.shiro.authc.AuthenticationException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiPredicate;
+
+/**
+ * Verifies passwords against their scrypt hashes on a small dedicated pool of threads.
+ * A scrypt check takes tens of milliseconds and about 16 MB of memory, so the number of concurrent checks
+ * is bounded and logins are rejected immediately with {@link AuthenticationBusyException} if the queue is full.
+ * Concurrent checks of the same principal with the same password share one verification, checks with other
+ * credentials are queued as usual. A verification nobody waits for anymore is removed from the queue.
+ * <p>
+ * The number of threads and the queue limit can be configured with KCB_AUTH_THREADS and KCB_AUTH_QUEUE.
+ * Shiro doesn't support CDI, so a single shared instance is used.
+ *
+ * @author Marius
+ */
+public class PasswordVerifier {
+
+    /**
+     * Logger object of the PasswordVerifier class
+     */
+    private static final Logger logger = LogManager.getLogger(PasswordVerifier.class);
+
+    /**
+     * Number of verification threads if not configured otherwise
+     */
+    static final int DEFAULT_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
+    /**
+     * Number of waiting verifications if not configured otherwise
+     */
+    static final int DEFAULT_QUEUE = 32;
+
+    /**
+     * Milliseconds a login waits for its verification
+     */
+    static final long DEFAULT_TIMEOUT = 10_000;
+
+    /**
+     * Seconds a rejected client should wait before trying again
+     */
+    private static final int RETRY_AFTER = 5;
+
+    /**
+     * Shared instance
+     */
+    private static final PasswordVerifier instance = new PasswordVerifier(
+            readInt("KCB_AUTH_THREADS", DEFAULT_THREADS), readInt("KCB_AUTH_QUEUE", DEFAULT_QUEUE),
+            DEFAULT_TIMEOUT, SCryptUtil::check);
+
+    /**
+     * Executor running the verifications
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Milliseconds a login waits for its verification
+     */
+    private final long timeout;
+
+    /**
+     * Checks a password against a hash
+     */
+    private final BiPredicate<String, String> check;
+
+    /**
+     * Queued and running verifications by principal, hash and digest of the password
+     */
+    private final ConcurrentMap<String, Verification> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a verifier.
+     *
+     * @param threads number of verification threads
+     * @param queue   number of verifications that may wait for a thread
+     * @param timeout milliseconds a login waits for its verification
+     * @param check   checks a password against a hash
+     */
+    PasswordVerifier(final int threads, final int queue, final long timeout, final BiPredicate<String, String> check) {
+        final AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queue), runnable -> {
+            final Thread thread = new Thread(runnable, "kcb-password-verifier-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout;
+        this.check = check;
+    }
+
+    /**
+     * Return the shared instance.
+     *
+     * @return the shared PasswordVerifier
+     */
+    public static PasswordVerifier getInstance() {
+        return instance;
+    }
+
+    /**
+     * Check the given password of the given principal against the stored hash.
+     * Waits for a queued or running verification of the same principal and password instead of starting another one.
+     *
+     * @param principal the principal logging in
+     * @param password  the provided password
+     * @param hash      the stored scrypt hash
+     * @return whether the password matches the hash
+     * @throws AuthenticationBusyException if the verifier is saturated or the verification timed out
+     */
+    public boolean check(final String principal, final String password, final String hash) {
+        final String key = key(principal, password, hash);
+
+        while (true) {
+            final Verification created = new Verification();
+            created.task = () -> {
+                try {
+                    created.result.complete(check.test(password, hash));
+                } catch (RuntimeException e) {
+                    created.result.completeExceptionally(e);
+                } finally {
+                    inFlight.remove(key, created);
+                }
+            };
+            final Verification running = inFlight.putIfAbsent(key, created);
+
+            if (running == null) {
+                try {
+                    executor.execute(created.task);
+                } catch (RejectedExecutionException e) {
+                    logger.warn("Password verification queue is full. Rejecting login of {}.", principal);
+                    final AuthenticationBusyException busy = new AuthenticationBusyException(
+                            "Too many concurrent logins.", 503, RETRY_AFTER);
+                    created.result.completeExceptionally(busy);
+                    inFlight.remove(key, created);
+                    throw busy;
+                }
+                return this.await(key, created);
+            }
+
+            if (running.join()) {
+                logger.debug("Joining password verification of {}.", principal);
+                return this.await(key, running);
+            }
+            // The verification was abandoned by all waiters and removed from the queue. Retry with a new one.
+            inFlight.remove(key, running);
+        }
+    }
+
+    /**
+     * Wait for the result of the given verification. If the verification times out and nobody else waits for it,
+     * it is removed from the queue, so abandoned verifications don't occupy the verification threads.
+     *
+     * @param key          of the verification
+     * @param verification to wait for
+     * @return whether the password matches the hash
+     */
+    private boolean await(final String key, final Verification verification) {
+        try {
+            return verification.result.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            final AuthenticationBusyException busy =
+                    new AuthenticationBusyException("Password verification timed out.", 503, RETRY_AFTER);
+            if (verification.leave(executor)) {
+                logger.debug("Removed abandoned password verification from the queue.");
+                inFlight.remove(key, verification);
+                verification.result.completeExceptionally(busy);
+            }
+            throw busy;
+        } catch (InterruptedException e) {
+            if (verification.leave(executor))
+                inFlight.remove(key, verification);
+            Thread.currentThread().interrupt();
+            throw new AuthenticationException("Password verification interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new AuthenticationException("Password verification failed.", e.getCause());
+        }
+    }
+
+    /**
+     * Return the number of verifications waiting for a thread.
+     *
+     * @return the number of waiting verifications
+     */
+    int getQueued() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Stop the verification threads.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Read a positive number from the environment.
+     *
+     * @param name         of the environment variable
+     * @param defaultValue used if the variable isn't set or invalid
+     * @return the configured number
+     */
+    private static int readInt(final String name, final int defaultValue) {
+        final String value = System.getenv(name);
+        if (value == null || value.isEmpty())
+            return defaultValue;
+        try {
+            final int parsed = Integer.parseInt(value);
+            if (parsed > 0)
+                return parsed;
+        } catch (NumberFormatException e) {
+            // handled below
+        }
+        logger.warn("Invalid {} \"{}\". Using default.", name, value);
+        return defaultValue;
+    }
+
+    /**
+     * Create the key identifying verifications of the given credentials. Contains a digest of the password
+     * instead of the password itself.
+     *
+     * @param principal the principal logging in
+     * @param password  the provided password
+     * @param hash      the stored hash
+     * @return the key of the credentials
+     */
+    private static String key(final String principal, final String password, final String hash) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(password.getBytes(StandardCharsets.UTF_8));
+            return principal + '\0' + hash + '\0' + Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available.", e);
+        }
+    }
+
+    /**
+     * A queued or running verification of a password against a hash.
+     */
+    private static final class Verification {
+
+        /**
+         * Result of the verification
+         */
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        /**
+         * Number of logins waiting for the result
+         */
+        private int waiters = 1;
+
+        /**
+         * Whether the verification was removed from the queue because nobody waits for it anymore
+         */
+        private boolean abandoned = false;
+
+        /**
+         * Task computing the result
+         */
+        private Runnable task;
+
+        /**
+         * Register another login waiting for the result.
+         *
+         * @return false if the verification was abandoned and can't be joined anymore
+         */
+        private synchronized boolean join() {
+            if (abandoned)
+                return false;
+            waiters++;
+            return true;
+        }
+
+        /**
+         * Unregister a login that stopped waiting for the result. The verification is removed from the queue
+         * of the given executor if nobody waits for it anymore and it hasn't been started yet.
+         *
+         * @param executor running the verification
+         * @return whether the verification was abandoned and removed from the queue
+         */
+        private synchronized boolean leave(final ThreadPoolExecutor executor) {
+            waiters--;
+            if (waiters > 0 || !executor.remove(task))
+                return false;
+            abandoned = true;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package de.unibremen.swp2.kcb.security;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.shiro.authc.AuthenticationException;
+import org.apache.shiro.authc.AuthenticationToken;
+import org.apache.shiro.web.filter.authc.BasicHttpAuthenticationFilter;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.io.IOException;
+
+/**
+ * Basic authentication filter that answers logins rejected by the {@link PasswordVerifier} with 503
+ * and a Retry-After header instead of another 401 challenge.
+ *
+ * @author Marius
+ */
+public class ThrottledBasicAuthenticationFilter extends BasicHttpAuthenticationFilter {
+
+    /**
+     * Logger object of the ThrottledBasicAuthenticationFilter class
+     */
+    private static final Logger logger = LogManager.getLogger(ThrottledBasicAuthenticationFilter.class);
+
+    /**
+     * Name of the request attribute marking a request as answered
+     */
+    private static final String ANSWERED = ThrottledBasicAuthenticationFilter.class.getName() + ".ANSWERED";
+
+    /**
+     * Tries to log in and sends the challenge if the login failed and the request wasn't rejected.
+     *
+     * @param request  incoming ServletRequest
+     * @param response outgoing ServletResponse
+     * @return true if the request may continue
+     * @throws Exception if the login couldn't be executed
+     */
+    @Override
+    protected boolean onAccessDenied(ServletRequest request, ServletResponse response) throws Exception {
+        boolean loggedIn = false;
+        if (this.isLoginAttempt(request, response))
+            loggedIn = this.executeLogin(request, response);
+        if (!loggedIn && request.getAttribute(ANSWERED) == null)
+            this.sendChallenge(request, response);
+        return loggedIn;
+    }
+
+    /**
+     * Handles a failed login.
+     *
+     * @param token    the submitted AuthenticationToken
+     * @param e        the reason of the failure
+     * @param request  incoming ServletRequest
+     * @param response outgoing ServletResponse
+     * @return false
+     */
+    @Override
+    protected boolean onLoginFailure(AuthenticationToken token, AuthenticationException e,
+                                     ServletRequest request, ServletResponse response) {
+        if (!(e instanceof AuthenticationBusyException))
+            return super.onLoginFailure(token, e, request, response);
+        try {
+            ((AuthenticationBusyException) e).send(response);
+            request.setAttribute(ANSWERED, Boolean.TRUE);
+        } catch (IOException ex) {
+            logger.error("Couldn't reject login: {}", ex.getMessage());
+        }
+        return false;
+    }
+}
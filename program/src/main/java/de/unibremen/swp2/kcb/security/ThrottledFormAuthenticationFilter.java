@@ -0,0 +1,47 @@
+package de.unibremen.swp2.kcb.security;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.shiro.authc.AuthenticationException;
+import org.apache.shiro.authc.AuthenticationToken;
+import org.apache.shiro.web.filter.authc.FormAuthenticationFilter;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.io.IOException;
+
+/**
+ * Form login filter that answers logins rejected by the {@link PasswordVerifier} with 503
+ * and a Retry-After header instead of showing the login page again.
+ *
+ * @author Marius
+ */
+public class ThrottledFormAuthenticationFilter extends FormAuthenticationFilter {
+
+    /**
+     * Logger object of the ThrottledFormAuthenticationFilter class
+     */
+    private static final Logger logger = LogManager.getLogger(ThrottledFormAuthenticationFilter.class);
+
+    /**
+     * Handles a failed login.
+     *
+     * @param token    the submitted AuthenticationToken
+     * @param e        the reason of the failure
+     * @param request  incoming ServletRequest
+     * @param response outgoing ServletResponse
+     * @return true if the login page should be shown, false if the request was answered
+     */
+    @Override
+    protected boolean onLoginFailure(AuthenticationToken token, AuthenticationException e,
+                                     ServletRequest request, ServletResponse response) {
+        if (!(e instanceof AuthenticationBusyException))
+            return super.onLoginFailure(token, e, request, response);
+        try {
+            ((AuthenticationBusyException) e).send(response);
+        } catch (IOException ex) {
+            logger.error("Couldn't reject login: {}", ex.getMessage());
+        }
+        return false;
+    }
+}
@@ -0,0 +1,88 @@
+package de.unibremen.swp2.kcb.security.authz;
+
+import lombok.Getter;
+import org.apache.shiro.authz.annotation.Logical;
+import org.apache.shiro.authz.annotation.RequiresAuthentication;
+import org.apache.shiro.authz.annotation.RequiresRoles;
+
+import java.lang.reflect.Method;
+
+/**
+ * Immutable summary of the Shiro annotations of a method, its class and superclass.
+ * Computed once per method by the {@link ShiroSecuredInterceptor}.
+ *
+ * @author Marius
+ */
+final class SecurityDescriptor {
+
+    /**
+     * Descriptor of methods without any Shiro annotation
+     */
+    static final SecurityDescriptor NONE = new SecurityDescriptor(false, false, new String[0], Logical.AND);
+
+    /**
+     * Whether the method requires an authenticated subject
+     */
+    @Getter
+    private final boolean requiresAuthentication;
+
+    /**
+     * Whether the method requires roles
+     */
+    @Getter
+    private final boolean requiresRoles;
+
+    /**
+     * Required roles
+     */
+    private final String[] roles;
+
+    /**
+     * Logical the roles are linked with
+     */
+    @Getter
+    private final Logical logical;
+
+    /**
+     * Creates a descriptor.
+     *
+     * @param requiresAuthentication whether the method requires an authenticated subject
+     * @param requiresRoles          whether the method requires roles
+     * @param roles                  required roles
+     * @param logical                logical the roles are linked with
+     */
+    private SecurityDescriptor(boolean requiresAuthentication, boolean requiresRoles, String[] roles, Logical logical) {
+        this.requiresAuthentication = requiresAuthentication;
+        this.requiresRoles = requiresRoles;
+        this.roles = roles;
+        this.logical = logical;
+    }
+
+    /**
+     * Read the Shiro annotations of the given method of the given class.
+     *
+     * @param c class of the intercepted instance
+     * @param m the intercepted method
+     * @return the descriptor, {@link #NONE} if no annotation is present
+     */
+    static SecurityDescriptor of(Class<?> c, Method m) {
+        final boolean authentication = ShiroSecuredInterceptor.hasAnnotation(c, m, RequiresAuthentication.class);
+        final RequiresRoles annotation = ShiroSecuredInterceptor.hasAnnotation(c, m, RequiresRoles.class)
+                ? ShiroSecuredInterceptor.getAnnotation(c, m, RequiresRoles.class) : null;
+
+        if (!authentication && annotation == null)
+            return NONE;
+        if (annotation == null)
+            return new SecurityDescriptor(true, false, new String[0], Logical.AND);
+        return new SecurityDescriptor(authentication, true, annotation.value().clone(), annotation.logical());
+    }
+
+    /**
+     * Return a copy of the required roles.
+     *
+     * @return the required roles
+     */
+    String[] getRoles() {
+        return roles.clone();
+    }
+}
@@ -19,6 +19,8 @@ import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  *  Interceptor to invoke Shiro Annotations
@@ -42,6 +44,18 @@ public class ShiroSecuredInterceptor implements Serializable {
      */
     private static final long serialVersionUID = 1L;
 
+    /**
+     * Security descriptors of the intercepted methods by class. Annotations can't change at runtime,
+     * so they are read once per class and method.
+     */
+    private static final ClassValue<ConcurrentMap<Method, SecurityDescriptor>> DESCRIPTORS =
+            new ClassValue<ConcurrentMap<Method, SecurityDescriptor>>() {
+                @Override
+                protected ConcurrentMap<Method, SecurityDescriptor> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
     /**
      * Check for Shiro Annotations RequiresAuthentication and RequiresRoles before function invokation
      *
@@ -51,24 +65,27 @@ public class ShiroSecuredInterceptor implements Serializable {
      */
     @AroundInvoke
     public Object interceptShiroSecurity(InvocationContext context) throws Exception {
-        Subject subject = SecurityUtils.getSubject();
-        Class<?> c = context.getTarget().getClass();
         Method m = context.getMethod();
+        final SecurityDescriptor descriptor = getDescriptor(context.getTarget().getClass(), m);
+
+        // Methods without Shiro annotations don't need the subject at all
+        if (descriptor == SecurityDescriptor.NONE)
+            return context.proceed();
+
+        Subject subject = SecurityUtils.getSubject();
 
         // Check if subject tries to access @RequiresAuthentication protected method without being logged in.
-        if (!subject.isAuthenticated() && hasAnnotation(c, m, RequiresAuthentication.class)) {
+        if (descriptor.isRequiresAuthentication() && !subject.isAuthenticated()) {
             logger.debug("Unauthorized method call. Method {} requires authentication.", m.getName());
             throw new UnauthenticatedException("Unauthorized. Method: " + m.getName() + " requires authentication.");
         }
 
-        if (hasAnnotation(c, m, RequiresRoles.class)) {
-            final RequiresRoles annotation = getAnnotation(c, m, RequiresRoles.class);
-
+        if (descriptor.isRequiresRoles()) {
             // Roles given to the annotation. Should not be empty.
-            final String[] roles = annotation.value();
+            final String[] roles = descriptor.getRoles();
 
             // Logical the roles are linked with. Default is AND
-            final Logical logical = annotation.logical();
+            final Logical logical = descriptor.getLogical();
 
             if (roles.length == 0) {
                 logger.warn("RequiresRole Annotation without roles found for method: {}. Will allow execution.", m.getName());
@@ -98,6 +115,45 @@ public class ShiroSecuredInterceptor implements Serializable {
         return context.proceed();
     }
 
+    /**
+     * Return the security descriptor of the given method of the given class, computing it on first use.
+     *
+     * @param c class of the intercepted instance
+     * @param m the intercepted method
+     * @return the cached descriptor
+     */
+    static SecurityDescriptor getDescriptor(Class<?> c, Method m) {
+        return DESCRIPTORS.get(c).computeIfAbsent(m, method -> SecurityDescriptor.of(c, method));
+    }
+
+    /**
+     * Check whether the given subject passes the Shiro annotations of the given method of the given class,
+     * without invoking it. Used to check the access to a resource before answering from a client cache.
+     *
+     * @param subject to check
+     * @param c class of the instance the method would be invoked on
+     * @param m the method
+     * @return whether the subject may invoke the method
+     */
+    public static boolean isPermitted(Subject subject, Class<?> c, Method m) {
+        final SecurityDescriptor descriptor = getDescriptor(c, m);
+        if (descriptor == SecurityDescriptor.NONE)
+            return true;
+        if (descriptor.isRequiresAuthentication() && !subject.isAuthenticated())
+            return false;
+        if (!descriptor.isRequiresRoles() || descriptor.getRoles().length == 0)
+            return true;
+        try {
+            if (descriptor.getLogical() == Logical.OR)
+                checkOneRole(subject, descriptor.getRoles());
+            else
+                checkAllRoles(subject, descriptor.getRoles());
+            return true;
+        } catch (AuthorizationException e) {
+            return false;
+        }
+    }
+
     /**
      * Assert all given roles are owned by the subject. Will throw AuthorizationException if not.
      *
@@ -132,7 +188,7 @@ public class ShiroSecuredInterceptor implements Serializable {
      * @param a to check for
      * @return is the annotation present?
      */
-    private static boolean hasAnnotation(Class<?> c, Method m, Class<? extends Annotation> a) {
+    static boolean hasAnnotation(Class<?> c, Method m, Class<? extends Annotation> a) {
         return m.isAnnotationPresent(a)
                 || c.isAnnotationPresent(a)
                 || c.getSuperclass().isAnnotationPresent(a);
@@ -147,7 +203,7 @@ public class ShiroSecuredInterceptor implements Serializable {
      * @param <A> Annotation of given class on c, m or superclass of c
      * @return
      */
-    private static <A extends Annotation> A getAnnotation(Class<?> c, Method m, Class<A> a) {
+    static <A extends Annotation> A getAnnotation(Class<?> c, Method m, Class<A> a) {
         return m.isAnnotationPresent(a) ? m.getAnnotation(a)
                 : c.isAnnotationPresent(a) ? c.getAnnotation(a)
                 : c.getSuperclass().getAnnotation(a);
@@ -1,9 +1,12 @@
 package de.unibremen.swp2.kcb.service;
 
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.*;
 import de.unibremen.swp2.kcb.model.Locations.Location;
 import de.unibremen.swp2.kcb.model.Locations.Stock;
 import de.unibremen.swp2.kcb.persistence.AssemblyRepository;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import de.unibremen.swp2.kcb.util.EmailUtil;
 import de.unibremen.swp2.kcb.validator.backend.AssemblyValidator;
@@ -19,6 +22,7 @@ import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -31,6 +35,7 @@ import java.util.List;
  */
 @Transactional
 @ApplicationScoped
+@Monitored
 public class AssemblyService implements Service<Assembly> {
 
     /**
@@ -50,6 +55,12 @@ public class AssemblyService implements Service<Assembly> {
     @Inject
     private AssemblyRepository assemblyRepository;
 
+    /**
+     * Injected instance of {@link PageQuery} to query pages of Assemblies.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
     /**
      * Injected instance of {@link UserService} to validate provided {@link Assembly}s.
      */
@@ -121,7 +132,7 @@ public class AssemblyService implements Service<Assembly> {
         }
 
         logger.trace("Saving of assembly \" {} \" completed without exceptions.", entity);
-        logger.info("Create assembly \" {} \" - triggered by: {}", entity.getAssemblyID(), userService.getExecutingUser().getUsername());
+        logger.info("Create assembly \" {} \" - triggered by: {}", entity.getAssemblyID(), userService.getExecutingUsername());
         logger.trace("Returning assembly \" {} \"", entity);
         return repoEntity;
     }
@@ -181,7 +192,7 @@ public class AssemblyService implements Service<Assembly> {
         }
 
         logger.trace("Saving of assembly \" {} \" completed without exceptions.", entity);
-        logger.info("Update assembly \" {} \" - triggered by: {}", entity.getAssemblyID(), userService.getExecutingUser().getUsername());
+        logger.info("Update assembly \" {} \" - triggered by: {}", entity.getAssemblyID(), userService.getExecutingUsername());
         logger.trace("Returning assembly \" {} \"", entity);
         return repoEntity;
     }
@@ -208,7 +219,7 @@ public class AssemblyService implements Service<Assembly> {
         try {
             logger.trace("Attempting to delete assembly \" {} \" ...", entity);
             assemblyRepository.attachAndRemove(entity);
-            logger.info("Delete assembly \" {} \" - triggered by: {}", entity.getAssemblyID(), userService.getExecutingUser().getUsername());
+            logger.info("Delete assembly \" {} \" - triggered by: {}", entity.getAssemblyID(), userService.getExecutingUsername());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while deleting assembly \" {} \". Can't delete assembly.", entity);
             throw new DeletionException("Can't delete assembly: " + e.getMessage());
@@ -225,6 +236,38 @@ public class AssemblyService implements Service<Assembly> {
         return assemblyRepository.findAll();
     }
 
+    /**
+     * Return the page of {@link Assembly}s described by the given request.
+     *
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of Assemblies
+     * @throws FindByException if the page request is invalid
+     */
+    public List<Assembly> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(Assembly.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for Assemblies: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
+    /**
+     * Return the number of {@link Assembly}s matching the filters of the given request.
+     *
+     * @param pageRequest describes the filters
+     * @return number of matching Assemblies
+     * @throws FindByException if the page request is invalid
+     */
+    public long count(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.count(Assembly.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for Assemblies: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
     /**
      * Return the {@link Assembly} with the given id.
      *
@@ -255,11 +298,22 @@ public class AssemblyService implements Service<Assembly> {
         }
 
         logger.trace("Finding of assembly by ID \" {} \" completed without exceptions.", id);
-        logger.info("Find assembly by ID \" {} \" - triggered by: {}", id, userService.getExecutingUser().getUsername());
+        logger.info("Find assembly by ID \" {} \" - triggered by: {}", id, userService.getExecutingUsername());
         logger.trace("Returning assembly by ID \" {} \"", id);
         return entity;
     }
 
+    /**
+     * Return the {@link Assembly}s with the given ids in the order of the ids.
+     * The Assemblies are queried at once, unknown ids are skipped.
+     *
+     * @param ids of the Assemblies
+     * @return the Assemblies with the given ids
+     */
+    public List<Assembly> getByIds(final Collection<String> ids) {
+        return pageQuery.findByIds(Assembly.class, ids);
+    }
+
     /**
      * Job is collectable boolean.
      *
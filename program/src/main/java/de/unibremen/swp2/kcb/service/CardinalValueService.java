@@ -1,9 +1,13 @@
 package de.unibremen.swp2.kcb.service;
 
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.parameter.CardinalValue;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.persistence.parameter.CardinalValueRepository;
 import de.unibremen.swp2.kcb.service.serviceExceptions.CreationException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.DeletionException;
+import de.unibremen.swp2.kcb.service.serviceExceptions.FindByException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.InvalidIdException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.UpdateException;
 import de.unibremen.swp2.kcb.validator.backend.ValidationException;
@@ -14,6 +18,7 @@ import org.apache.logging.log4j.Logger;
 
 import javax.inject.Inject;
 import javax.persistence.PersistenceException;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -22,6 +27,7 @@ import java.util.List;
  * @author Robin
  * @author Arvid
  */
+@Monitored
 public class CardinalValueService implements Service<CardinalValue> {
 
     /**
@@ -41,6 +47,12 @@ public class CardinalValueService implements Service<CardinalValue> {
     @Inject
     private CardinalValueRepository cardinalValueRepository;
 
+    /**
+     * Injected instance of {@link PageQuery} to query pages of CardinalValues.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
     /**
      * Injected instance of userService
      */
@@ -88,7 +100,7 @@ public class CardinalValueService implements Service<CardinalValue> {
         }
 
         logger.trace("Saving of cardinalValue \"{}\" completed without exceptions.", entity);
-        logger.info("Create cardinalValue \"{}\" - triggered by: {}", entity.getValue(), userService.getExecutingUser().getUsername());
+        logger.info("Create cardinalValue \"{}\" - triggered by: {}", entity.getValue(), userService.getExecutingUsername());
         logger.trace("Returning cardinalValue \"{}\"", entity);
         return repoEntity;
     }
@@ -142,7 +154,7 @@ public class CardinalValueService implements Service<CardinalValue> {
         }
 
         logger.trace("Saving of cardinalValue \"{}\" completed without exceptions.", entity);
-        logger.info("Update cardinalValue \"{}\" - triggered by: {}", entity.getValue(), userService.getExecutingUser().getUsername());
+        logger.info("Update cardinalValue \"{}\" - triggered by: {}", entity.getValue(), userService.getExecutingUsername());
         logger.trace("Returning cardinalValue \"{}\"", entity);
         return repoEntity;
     }
@@ -168,7 +180,7 @@ public class CardinalValueService implements Service<CardinalValue> {
         try {
             logger.trace("Attempting to delete cardinalValue \"{}\" ...", entity);
             cardinalValueRepository.attachAndRemove(entity);
-            logger.info("Delete cardinalValue \"{}\" triggered by: {}", entity.getValue(), userService.getExecutingUser().getUsername());
+            logger.info("Delete cardinalValue \"{}\" triggered by: {}", entity.getValue(), userService.getExecutingUsername());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while deleting cardinalValue \"{}\". Can't delete cardinalValue.", entity);
             throw new DeletionException("Can't delete cardinalValue: " + e.getMessage());
@@ -205,11 +217,22 @@ public class CardinalValueService implements Service<CardinalValue> {
         }
 
         logger.trace("Finding of cardinalValue by ID \"{}\" completed without exceptions.", id);
-        logger.info("Find cardinalValue by ID \"{}\" - triggered by: {}", id, userService.getExecutingUser().getUsername());
+        logger.info("Find cardinalValue by ID \"{}\" - triggered by: {}", id, userService.getExecutingUsername());
         logger.trace("Returning cardinalValue by ID \"{}\"", id);
         return entity;
     }
 
+    /**
+     * Return the {@link CardinalValue}s with the given ids in the order of the ids.
+     * The CardinalValues are queried at once, unknown ids are skipped.
+     *
+     * @param ids of the CardinalValues
+     * @return the CardinalValues with the given ids
+     */
+    public List<CardinalValue> getByIds(final Collection<String> ids) {
+        return pageQuery.findByIds(CardinalValue.class, ids);
+    }
+
     /**
      * Return all existing CardinalValues.
      *
@@ -219,4 +242,20 @@ public class CardinalValueService implements Service<CardinalValue> {
         logger.debug("Trying to query all stored CardinalValues.");
         return cardinalValueRepository.findAll();
     }
+
+    /**
+     * Return the page of {@link CardinalValue}s described by the given request.
+     *
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of CardinalValues
+     * @throws FindByException if the page request is invalid
+     */
+    public List<CardinalValue> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(CardinalValue.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for CardinalValues: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
 }
@@ -1,11 +1,15 @@
 package de.unibremen.swp2.kcb.service;
 
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.Assembly;
 import de.unibremen.swp2.kcb.model.Carrier;
 import de.unibremen.swp2.kcb.model.CarrierType;
+import de.unibremen.swp2.kcb.model.Job;
 import de.unibremen.swp2.kcb.model.Locations.Location;
 import de.unibremen.swp2.kcb.model.Locations.Transport;
 import de.unibremen.swp2.kcb.persistence.CarrierRepository;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import de.unibremen.swp2.kcb.validator.backend.*;
 import org.apache.logging.log4j.LogManager;
@@ -29,6 +33,7 @@ import java.util.List;
  * @author Arvid
  */
 @Transactional
+@Monitored
 public class CarrierService implements Service<Carrier> {
 
     /**
@@ -61,16 +66,16 @@ public class CarrierService implements Service<Carrier> {
     private CarrierRepository carrierRepository;
 
     /**
-     * Injected instance of {@link UserService}
+     * Injected instance of {@link PageQuery} to query pages of Carriers.
      */
     @Inject
-    private UserService userService;
+    private PageQuery pageQuery;
 
     /**
-     * Injected instance of {@link TransportService}
+     * Injected instance of {@link UserService}
      */
     @Inject
-    private TransportService transportService;
+    private UserService userService;
 
     /**
      * Injected instance of {@link AssemblyService}
@@ -90,6 +95,18 @@ public class CarrierService implements Service<Carrier> {
     @Inject
     private JobService jobService;
 
+    /**
+     * Injected instance of {@link TransportTaskService}
+     */
+    @Inject
+    private TransportTaskService transportTaskService;
+
+    /**
+     * Injected instance of {@link WorkstationLoadService}
+     */
+    @Inject
+    private WorkstationLoadService workstationLoadService;
+
     /**
      * Stores the provided entity.
      * Performs validation using the backend validation module.
@@ -141,7 +158,7 @@ public class CarrierService implements Service<Carrier> {
             }
 
             logger.trace("Saving of carrier \"{}\" completed without exceptions.", entity);
-            logger.info("Create carrier \"{}\" - triggered by: {}", entity.getCarrierID(), userService.getExecutingUser().getUsername());
+            logger.info("Create carrier \"{}\" - triggered by: {}", entity.getCarrierID(), userService.getExecutingUsername());
             logger.trace("Returning carrier \"{}\"", entity);
             return repoEntity;
         }
@@ -197,7 +214,7 @@ public class CarrierService implements Service<Carrier> {
         }
 
         logger.trace("Saving of carrier \"{}\" completed without exceptions.", entity);
-        logger.info("Update carrier \"{}\" - triggered by: {}", entity.getCarrierID(), userService.getExecutingUser().getUsername());
+        logger.info("Update carrier \"{}\" - triggered by: {}", entity.getCarrierID(), userService.getExecutingUsername());
         logger.trace("Returning carrier \"{}\"", entity);
         return repoEntity;
     }
@@ -224,7 +241,7 @@ public class CarrierService implements Service<Carrier> {
         try {
             logger.trace("Attempting to delete carrier \"{}\" ...", entity);
             carrierRepository.attachAndRemove(entity);
-            logger.info("Delete carrier \"{}\" triggered by: {}", entity.getCarrierID(), userService.getExecutingUser().getUsername());
+            logger.info("Delete carrier \"{}\" triggered by: {}", entity.getCarrierID(), userService.getExecutingUsername());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while deleting carrier \"{}\". Can't delete carrier.", entity);
             throw new DeletionException("Can't delete carrier: " + e.getMessage());
@@ -261,11 +278,22 @@ public class CarrierService implements Service<Carrier> {
         }
 
         logger.trace("Finding of carrier by ID \"{}\" completed without exceptions.", id);
-        logger.info("Find carrier by ID \"{}\" - triggered by: {}", entity.getCarrierID(), userService.getExecutingUser().getUsername());
+        logger.info("Find carrier by ID \"{}\" - triggered by: {}", entity.getCarrierID(), userService.getExecutingUsername());
         logger.trace("Returning carrier by ID \"{}\"", id);
         return entity;
     }
 
+    /**
+     * Return the {@link Carrier}s with the given ids in the order of the ids.
+     * The Carriers are queried at once, unknown ids are skipped.
+     *
+     * @param ids of the Carriers
+     * @return the Carriers with the given ids
+     */
+    public List<Carrier> getByIds(final Collection<String> ids) {
+        return pageQuery.findByIds(Carrier.class, ids);
+    }
+
     /**
      * Return all Carriers with a given {@link CarrierType}.
      *
@@ -347,37 +375,6 @@ public class CarrierService implements Service<Carrier> {
         return carrierRepository.findByCarrierTypeAndLocation(carrierType, location);
     }
 
-    /**
-     * Return a List of carriers with for the List of given carrier ids.
-     *
-     * @param ids of the carriers to be fetched
-     * @return list of carriers with given ids
-     */
-    public List<Carrier> getByIds(Collection<String> ids) {
-        logger.debug("Fetching carriers by ids.");
-        if (ids == null) {
-            logger.debug("Attempting to fetch carriers with ids = null. Aborting.");
-            return new ArrayList<>();
-        }
-        if (ids.isEmpty()) {
-            logger.debug("Attempting to fetch carriers with empty ids. Aborting.");
-            return new ArrayList<>();
-        }
-
-        ArrayList<Carrier> result = new ArrayList<>();
-
-        // Fetch carrier for every given id and skip if the id is invalid.
-        for (String id : ids) {
-            try {
-                result.add(this.getById(id));
-            } catch (InvalidIdException e) {
-                logger.debug("Carrier id: {} was found invalid. Skipping...", id);
-            }
-        }
-
-        return result;
-    }
-
     /**
      * Get unused carriers list.
      *
@@ -397,6 +394,38 @@ public class CarrierService implements Service<Carrier> {
         return carrierRepository.findAll();
     }
 
+    /**
+     * Return the page of {@link Carrier}s described by the given request.
+     *
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of Carriers
+     * @throws FindByException if the page request is invalid
+     */
+    public List<Carrier> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(Carrier.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for Carriers: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
+    /**
+     * Return the number of {@link Carrier}s matching the filters of the given request.
+     *
+     * @param pageRequest describes the filters
+     * @return number of matching Carriers
+     * @throws FindByException if the page request is invalid
+     */
+    public long count(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.count(Carrier.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for Carriers: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
     /**
      * Returns whether a carrier is collectable
      *
@@ -430,7 +459,7 @@ public class CarrierService implements Service<Carrier> {
      * @return the boolean
      */
     public boolean canCollect(Carrier carrier) {
-        return !transportService.getAll().contains(carrier.getLocation());
+        return !(carrier.getLocation() instanceof Transport);
     }
 
     /**
@@ -440,7 +469,7 @@ public class CarrierService implements Service<Carrier> {
      * @return the boolean
      */
     public boolean canDeliver(Carrier carrier) {
-        return transportService.getAll().contains(carrier.getLocation());
+        return carrier.getLocation() instanceof Transport;
     }
 
     /**
@@ -460,6 +489,7 @@ public class CarrierService implements Service<Carrier> {
         } catch (UpdateException e) {
             throw new CollectingException("Couldn't update carrier: " + e.getMessage());
         }
+        this.syncTransportQueue(carrier);
     }
 
     /**
@@ -479,6 +509,29 @@ public class CarrierService implements Service<Carrier> {
         } catch (UpdateException e) {
             throw new DeliveringException("Couldn't update carrier: " + e.getMessage());
         }
+        this.syncTransportQueue(carrier);
+    }
+
+    /**
+     * Update the transport queue entries and workstation loads of all {@link Job}s processing the given carrier.
+     *
+     * @param carrier that has been moved
+     */
+    private void syncTransportQueue(final Carrier carrier) {
+        List<Assembly> assemblies = assemblyService.getByCarrier(carrier);
+
+        if (assemblies == null)
+            return;
+
+        for (Assembly assembly : assemblies) {
+            List<Job> jobs = jobService.getAllByAssembly(assembly);
+            if (jobs == null)
+                continue;
+            for (Job job : jobs) {
+                transportTaskService.sync(job);
+                workstationLoadService.sync(job);
+            }
+        }
     }
 
     /**
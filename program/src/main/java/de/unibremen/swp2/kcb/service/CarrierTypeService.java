@@ -1,8 +1,12 @@
 package de.unibremen.swp2.kcb.service;
 
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.Carrier;
 import de.unibremen.swp2.kcb.model.CarrierType;
 import de.unibremen.swp2.kcb.persistence.CarrierTypeRepository;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import de.unibremen.swp2.kcb.validator.backend.CarrierTypeValidator;
 import de.unibremen.swp2.kcb.validator.backend.ValidationException;
@@ -14,6 +18,7 @@ import javax.inject.Inject;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -24,6 +29,7 @@ import java.util.List;
  * @author Arvid
  */
 @Transactional
+@Monitored
 public class CarrierTypeService implements Service<CarrierType> {
 
     /**
@@ -37,6 +43,18 @@ public class CarrierTypeService implements Service<CarrierType> {
     @Inject
     private CarrierTypeRepository carrierTypeRepository;
 
+    /**
+     * Injected instance of {@link PageQuery} to query pages of CarrierTypes.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
+    /**
+     * Injected instance of {@link EntityCache} to evict changed CarrierTypes from the second-level cache.
+     */
+    @Inject
+    private EntityCache entityCache;
+
     /**
      * Injected instance of {@link CarrierTypeValidator} to validate {@link CarrierType}s.
      */
@@ -105,7 +123,7 @@ public class CarrierTypeService implements Service<CarrierType> {
             }
 
             logger.trace("Saving of carrierType \"{}\" completed without exceptions.", entity);
-            logger.info("Create carrierType \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+            logger.info("Create carrierType \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUsername());
             logger.trace("Returning carrierType \"{}\"", entity);
             return repoEntity;
         }
@@ -154,13 +172,14 @@ public class CarrierTypeService implements Service<CarrierType> {
         try {
             logger.trace("Attempting to save new carrierType \"{}\" ...", entity);
             repoEntity = carrierTypeRepository.save(entity);
+            entityCache.evict(CarrierType.class, entity.getId());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while persisting carrierType \"{}\". Can't update carrierType.", entity);
             throw new UpdateException("Can't update carrierType: " + e.getMessage());
         }
 
         logger.trace("Saving of carrierType \"{}\" completed without exceptions.", entity);
-        logger.info("Update carrierType \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+        logger.info("Update carrierType \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUsername());
         logger.trace("Returning carrierType \"{}\"", entity);
         return repoEntity;
     }
@@ -186,7 +205,8 @@ public class CarrierTypeService implements Service<CarrierType> {
         try {
             logger.trace("Attempting to delete carrierType \"{}\" ...", entity);
             carrierTypeRepository.attachAndRemove(entity);
-            logger.info("Delete carrierType \"{}\" triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+            entityCache.evict(CarrierType.class, entity.getId());
+            logger.info("Delete carrierType \"{}\" triggered by: {}", entity.getName(), userService.getExecutingUsername());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while deleting carrierType \"{}\". Can't delete carrierType.", entity);
             throw new DeletionException("Can't delete carrierType: " + e.getMessage());
@@ -213,6 +233,22 @@ public class CarrierTypeService implements Service<CarrierType> {
         return allCarrierTypes;
     }
 
+    /**
+     * Return the page of {@link CarrierType}s described by the given request.
+     *
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of CarrierTypes
+     * @throws FindByException if the page request is invalid
+     */
+    public List<CarrierType> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(CarrierType.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for CarrierTypes: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
     /**
      * Return the {@link CarrierType} with the given name.
      * If no CarrierType is found with the given name, null will be returned.
@@ -269,11 +305,22 @@ public class CarrierTypeService implements Service<CarrierType> {
         }
 
         logger.trace("Finding of carrierType by ID \"{}\" completed without exceptions.", id);
-        logger.info("Find carrierType by ID \"{}\" - triggered by: {}", id, userService.getExecutingUser().getUsername());
+        logger.info("Find carrierType by ID \"{}\" - triggered by: {}", id, userService.getExecutingUsername());
         logger.trace("Returning carrierType by ID \"{}\"", id);
         return entity;
     }
 
+    /**
+     * Return the {@link CarrierType}s with the given ids in the order of the ids.
+     * The CarrierTypes are queried at once, unknown ids are skipped.
+     *
+     * @param ids of the CarrierTypes
+     * @return the CarrierTypes with the given ids
+     */
+    public List<CarrierType> getByIds(final Collection<String> ids) {
+        return pageQuery.findByIds(CarrierType.class, ids);
+    }
+
     /**
      * Returns if the CarrierType is currently not in use and can be deleted.
      *
@@ -4,8 +4,17 @@ import com.lambdaworks.crypto.SCryptUtil;
 import de.unibremen.swp2.kcb.model.*;
 import de.unibremen.swp2.kcb.model.Locations.Stock;
 import de.unibremen.swp2.kcb.model.StateMachine.State;
+import de.unibremen.swp2.kcb.persistence.migration.MigrationRunner;
 import de.unibremen.swp2.kcb.util.EntityManagerProducer;
+import de.unibremen.swp2.kcb.util.MailDispatcher;
+import de.unibremen.swp2.kcb.validator.ValidatorConfig;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import javax.inject.Inject;
 import javax.persistence.EntityManager;
 import javax.servlet.ServletContextEvent;
@@ -46,7 +55,51 @@ public class DefaultDataCreationService implements ServletContextListener {
     @Inject
     private EntityManagerProducer emFactory;
 
-    private final String findValidationPattern = "findValidationsPatternsByName";
+    /**
+     * ValidatorConfig to compile the seeded validation patterns with
+     */
+    @Inject
+    private ValidatorConfig validatorConfig;
+
+    /**
+     * WorkstationLoadService to schedule the reconciliation of the workstation loads with
+     */
+    @Inject
+    private WorkstationLoadService workstationLoadService;
+
+    /**
+     * JobService to store the missing progress of the jobs with
+     */
+    @Inject
+    private JobService jobService;
+
+    /**
+     * TransportTaskService to rebuild the transport queue with
+     */
+    @Inject
+    private TransportTaskService transportTaskService;
+
+    /**
+     * MailDispatcher to schedule the delivery of the mail outbox with
+     */
+    @Inject
+    private MailDispatcher mailDispatcher;
+
+    /**
+     * MigrationRunner to apply the pending schema migrations with
+     */
+    @Inject
+    private MigrationRunner migrationRunner;
+
+    /**
+     * Keys of the stored and seeded defaults by entity type
+     */
+    private final Map<Class<?>, Set<String>> seeded = new HashMap<>();
+
+    /**
+     * Missing defaults to be stored in one batch
+     */
+    private final List<Object> seeds = new ArrayList<>();
 
     /**
      * Method that is called on context initialization/server startup
@@ -56,6 +109,12 @@ public class DefaultDataCreationService implements ServletContextListener {
     @Override
     public void contextInitialized(ServletContextEvent contextEvent) {
         this.em = emFactory.getEntityManager();
+        try {
+            migrationRunner.migrate();
+        } catch (SQLException | RuntimeException e) {
+            logger.error("Applying the schema migrations failed: " + e);
+        }
+        this.loadSeeded();
         this.createDefaultUser();
         this.createDefaultCarrierTypes();
         this.createDefaultStock();
@@ -83,6 +142,7 @@ public class DefaultDataCreationService implements ServletContextListener {
         this.createDefaultIntegerValPattern();
         this.createDefaultOldActiveJobValue();
         this.createDefaultValueValPattern();
+        this.saveSeeds();
         final String kcbDebug = System.getenv("KCB_DEBUG");
         if (kcbDebug != null && kcbDebug.equalsIgnoreCase("true")) {
             logger.warn("KCB_DEBUG environment variable found true. Will create demo data.");
@@ -92,6 +152,31 @@ public class DefaultDataCreationService implements ServletContextListener {
                 logger.warn("Demo data creation failed: " + e);
             }
         }
+        try {
+            jobService.backfillProgress();
+        } catch (RuntimeException e) {
+            logger.warn("Storing the progress of the jobs failed: " + e);
+        }
+        try {
+            transportTaskService.rebuild();
+        } catch (RuntimeException e) {
+            logger.warn("Rebuilding the transport queue failed: " + e);
+        }
+        try {
+            validatorConfig.warmUp();
+        } catch (RuntimeException e) {
+            logger.warn("Compiling validation patterns failed: " + e);
+        }
+        try {
+            workstationLoadService.scheduleReconciliation();
+        } catch (RuntimeException e) {
+            logger.warn("Scheduling the reconciliation of workstation loads failed: " + e);
+        }
+        try {
+            mailDispatcher.scheduleDispatch();
+        } catch (RuntimeException e) {
+            logger.warn("Scheduling the delivery of the mail outbox failed: " + e);
+        }
     }
 
     /**
@@ -108,18 +193,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default admin user if it's not present in the database
      */
     private void createDefaultUser() {
-        List<User> users = (List<User>) this.em.createNamedQuery("findUsersByUsername")
-                .setParameter("username", "admin").getResultList();
-
-        User user = null;
-
-        if (users != null && !users.isEmpty()) {
-            user = users.get(0);
-        }
-
-        if (!exists(user)) {
+        if (!this.isSeeded(User.class, "admin")) {
             logger.info("Default admin user not found. Creating...");
-            user = new User();
+            final User user = new User();
             user.setEmail("admin@example.com");
             user.setUsername("admin");
             user.setFirstName("Armin");
@@ -130,7 +206,7 @@ public class DefaultDataCreationService implements ServletContextListener {
                             UserService.DEFAULT_SCRYPT_R,
                             UserService.DEFAULT_SCRYPT_P));
             user.setRoles(Role.asStringSet(Role.ADMIN));
-            save(user);
+            seed(User.class, user.getUsername(), user);
         }
     }
 
@@ -145,7 +221,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             CarrierType carrierType = new CarrierType();
             carrierType.setName(type);
             if (!this.contains(carrierType, carrierTypeList))
-                save(carrierType);
+                seed(CarrierType.class, type, carrierType);
         }
     }
 
@@ -160,7 +236,7 @@ public class DefaultDataCreationService implements ServletContextListener {
         state.setBlocking(false);
 
         if (!this.contains(state, stateList))
-            save(state);
+            seed(State.class, state.getName(), state);
     }
 
     /**
@@ -174,25 +250,16 @@ public class DefaultDataCreationService implements ServletContextListener {
 
         Stock stock = new Stock();
         stock.setPosition("Lager");
-        save(stock);
+        seed(Stock.class, stock.getPosition(), stock);
     }
 
     /**
      * Create default ValidationPattern for CarrierType if it's not present in the database
      */
     public void createDefaultCarrierTypeValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "CarrierType").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "CarrierType")) {
             logger.info("No entry for validationPattern carrierType was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("CarrierType");
             validationPattern.setAdvanced(false);
@@ -210,7 +277,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(false);
             validationPattern.setPattern(null);
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -218,18 +285,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for Id if it's not present in the database
      */
     public void createDefaultIdValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "Id").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "Id")) {
             logger.info("No entry for validationPattern Id was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("Id");
             validationPattern.setAdvanced(false);
@@ -247,7 +305,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(false);
             validationPattern.setPattern(null);
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -255,18 +313,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for CarrierId if it's not present in the database
      */
     public void createDefaultCarrierIdValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "CarrierId").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "CarrierId")) {
             logger.info("No entry for validationPattern carrierId was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("CarrierId");
             validationPattern.setAdvanced(false);
@@ -284,7 +333,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(false);
             validationPattern.setPattern(null);
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -292,18 +341,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for jobName if it's not present in the database
      */
     public void createDefaultJobNameValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "JobName").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "JobName")) {
             logger.info("No entry for validationPattern jobName was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("JobName");
             validationPattern.setAdvanced(false);
@@ -321,7 +361,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(false);
             validationPattern.setPattern(null);
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -329,18 +369,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for stateName if it's not present in the database
      */
     public void createDefaultStateNameValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "StateName").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "StateName")) {
             logger.info("No entry for validationPattern stateName was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("StateName");
             validationPattern.setAdvanced(false);
@@ -358,7 +389,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(false);
             validationPattern.setPattern(null);
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -366,18 +397,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for stateName if it's not present in the database
      */
     public void createDefaultStateMachineNameValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "StateMachineName").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "StateMachineName")) {
             logger.info("No entry for validationPattern StateMachineName was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("StateMachineName");
             validationPattern.setAdvanced(false);
@@ -395,7 +417,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(false);
             validationPattern.setPattern(null);
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -403,18 +425,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for workstationName if it's not present in the database
      */
     public void createDefaultWorkstationNameValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "WorkstationName").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "WorkstationName")) {
             logger.info("No entry for workstationName was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("WorkstationName");
             validationPattern.setAdvanced(false);
@@ -432,7 +445,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(false);
             validationPattern.setPattern(null);
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -440,18 +453,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for Username if it's not present in the database
      */
     public void createDefaultUsernameValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "Username").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "Username")) {
             logger.info("No entry for validationPattern username was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("Username");
             validationPattern.setAdvanced(false);
@@ -469,7 +473,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(false);
             validationPattern.setPattern(null);
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -478,18 +482,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for ProcessStepName if it's not present in the database
      */
     public void createDefaultProcessStepNameValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "ProcessStepName").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "ProcessStepName")) {
             logger.info("No entry for processStepName was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("ProcessStepName");
             validationPattern.setAdvanced(false);
@@ -507,7 +502,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(false);
             validationPattern.setPattern(null);
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -515,18 +510,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for processChainName if it's not present in the database
      */
     public void createDefaultProcessChainNameValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "ProcessChainName").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "ProcessChainName")) {
             logger.info("No entry for processChainName was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("ProcessChainName");
             validationPattern.setAdvanced(false);
@@ -544,7 +530,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(false);
             validationPattern.setPattern(null);
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -552,18 +538,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for Name if it's not present in the database
      */
     public void createDefaultNameValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "Name").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "Name")) {
             logger.info("No entry for Name was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("Name");
             validationPattern.setAdvanced(false);
@@ -581,7 +558,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(false);
             validationPattern.setPattern(null);
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -589,18 +566,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for Name if it's not present in the database
      */
     public void createDefaultEmailValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "Email").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "Email")) {
             logger.info("No entry for Email was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("Email");
             validationPattern.setAdvanced(true);
@@ -618,7 +586,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(false);
             validationPattern.setPattern("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,6}$");
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -626,18 +594,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for Password if it's not present in the database
      */
     public void createDefaultPasswordValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "Password").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "Password")) {
             logger.info("No entry for Password was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("Password");
             validationPattern.setAdvanced(true);
@@ -656,7 +615,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setPattern("^(?=.*[0-9])(?=.*[a-z])(?=.*[A-Z])(?=\\S+$).{8,}$");
             //(?=\S+$) -> no whitespace allowed; the others backtrack for atleast one occurrence
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -664,18 +623,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for AssemblyAlloy if it's not present in the database
      */
     public void createDefaultAssemblyAlloyValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "AssemblyAlloy").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "AssemblyAlloy")) {
             logger.info("No entry for AssemblyAlloy was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("AssemblyAlloy");
             validationPattern.setAdvanced(false);
@@ -693,7 +643,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(false);
             validationPattern.setPattern(null);
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -701,18 +651,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for AssemblyAlloy if it's not present in the database
      */
     public void createDefaultAssemblyCommentValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "AssemblyComment").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "AssemblyComment")) {
             logger.info("No entry for AssemblyComment was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("AssemblyComment");
             validationPattern.setAdvanced(false);
@@ -730,7 +671,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(true);
             validationPattern.setPattern(null);
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -738,18 +679,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for AssemblyId if it's not present in the database
      */
     public void createDefaultAssemblyIdValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "AssemblyId").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "AssemblyId")) {
             logger.info("No entry for AssemblyId was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("AssemblyId");
             validationPattern.setAdvanced(true);
@@ -767,7 +699,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(false);
             validationPattern.setPattern("^[A-Z][0-9][0-9].[0-9]+(.[0-9]+)+$");
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -775,18 +707,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for Position if it's not present in the database
      */
     public void createDefaultPositionValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "Position").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "Position")) {
             logger.info("No entry for Position was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("Position");
             validationPattern.setAdvanced(false);
@@ -804,7 +727,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(false);
             validationPattern.setPattern(null);
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -812,18 +735,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for ParameterField if it's not present in the database
      */
     public void createDefaultParameterFieldValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "ParameterField").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "ParameterField")) {
             logger.info("No entry for ParameterField was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("ParameterField");
             validationPattern.setAdvanced(false);
@@ -841,7 +755,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(true);
             validationPattern.setPattern(null);
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -849,18 +763,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for ParameterField if it's not present in the database
      */
     public void createDefaultPriorityNameFieldValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "PriorityName").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "PriorityName")) {
             logger.info("No entry for PriorityName was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("PriorityName");
             validationPattern.setAdvanced(false);
@@ -878,7 +783,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(false);
             validationPattern.setPattern(null);
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -886,18 +791,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for Value if it's not present in the database
      */
     public void createDefaultValueValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "Value").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "Value")) {
             logger.info("No entry for Value was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("Value");
             validationPattern.setAdvanced(false);
@@ -915,7 +811,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(true);
             validationPattern.setPattern(null);
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -923,18 +819,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for Integer if it's not present in the database
      */
     public void createDefaultIntegerValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "Integer").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "Integer")) {
             logger.info("No entry for Integer was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("Integer");
             validationPattern.setAdvanced(true); // advanced since it should not be changed easily
@@ -952,7 +839,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(false);
             validationPattern.setPattern("^[0-9]+$");
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -960,18 +847,9 @@ public class DefaultDataCreationService implements ServletContextListener {
      * Create default ValidationPattern for Unit if it's not present in the database
      */
     public void createDefaultUnitValPattern() {
-        List<ValidationPattern> patterns = (List<ValidationPattern>) this.em.createNamedQuery(findValidationPattern)
-                .setParameter("name", "Unit").getResultList();
-
-        ValidationPattern validationPattern = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            validationPattern = patterns.get(0);
-        }
-
-        if (!exists(validationPattern)) {
+        if (!this.isSeeded(ValidationPattern.class, "Unit")) {
             logger.info("No entry for Unit was found. Creating...");
-            validationPattern = new ValidationPattern();
+            final ValidationPattern validationPattern = new ValidationPattern();
 
             validationPattern.setName("Unit");
             validationPattern.setAdvanced(false);
@@ -989,7 +867,7 @@ public class DefaultDataCreationService implements ServletContextListener {
             validationPattern.setBackslash(true);
             validationPattern.setPattern(null);
 
-            save(validationPattern);
+            seed(ValidationPattern.class, validationPattern.getName(), validationPattern);
         }
     }
 
@@ -998,34 +876,79 @@ public class DefaultDataCreationService implements ServletContextListener {
      * This value can be set by an Admin and indicates when a active job counts as old.
      */
     public void createDefaultOldActiveJobValue() {
-        List<GlobalConfig> patterns = (List<GlobalConfig>) this.em.createNamedQuery("findGlobalConfigsByName")
-          .setParameter("key", "oldActiveJob").getResultList();
-
-        GlobalConfig globalConfig = null;
-
-        if (patterns != null && !patterns.isEmpty()) {
-            globalConfig = patterns.get(0);
-        }
-
-        if (!exists(globalConfig)) {
+        if (!this.isSeeded(GlobalConfig.class, "oldActiveJob")) {
             logger.info("No entry for oldActiveJob was found. Creating...");
-            globalConfig = new GlobalConfig();
+            final GlobalConfig globalConfig = new GlobalConfig();
 
             globalConfig.setKey("oldActiveJob");
             globalConfig.setValue("4786"); // minutes --> SET TO 2880, 1 ONLY FOR TEST PURPOSES
 
-            save(globalConfig);
+            seed(GlobalConfig.class, globalConfig.getKey(), globalConfig);
         }
     }
 
     /**
-     * Check if given entity exists
+     * Load the keys of all stored defaults with one query per entity type.
+     */
+    private void loadSeeded() {
+        this.seeded.clear();
+        this.seeds.clear();
+        this.seeded.put(ValidationPattern.class, new HashSet<>(
+                this.em.createQuery("SELECT v.name FROM ValidationPattern v", String.class).getResultList()));
+        this.seeded.put(GlobalConfig.class, new HashSet<>(
+                this.em.createQuery("SELECT g.key FROM GlobalConfig g", String.class).getResultList()));
+        this.seeded.put(User.class, new HashSet<>(
+                this.em.createQuery("SELECT u.username FROM User u WHERE u.username = :username", String.class)
+                        .setParameter("username", "admin").getResultList()));
+    }
+
+    /**
+     * Check if the default with the given key is stored or seeded already
      *
-     * @param entity to check
-     * @return does the given entity exist?
+     * @param type type of the default
+     * @param key  unique key of the default (e.g. its name)
+     * @return is the default present?
+     */
+    private boolean isSeeded(final Class<?> type, final String key) {
+        final Set<String> keys = this.seeded.get(type);
+        return keys != null && keys.contains(key);
+    }
+
+    /**
+     * Add a missing default to the batch stored by {@link #saveSeeds()}.
+     *
+     * @param type   type of the default
+     * @param key    unique key of the default (e.g. its name)
+     * @param entity the default to be stored
+     */
+    private void seed(final Class<?> type, final String key, final Object entity) {
+        this.seeded.computeIfAbsent(type, t -> new HashSet<>()).add(key);
+        this.seeds.add(entity);
+    }
+
+    /**
+     * Store all seeded defaults in one transaction and flush them as one batch.
      */
-    private boolean exists(Object entity) {
-        return entity != null;
+    private void saveSeeds() {
+        if (this.seeds.isEmpty())
+            return;
+
+        logger.info("Storing {} missing default(s).", this.seeds.size());
+        em.getTransaction().begin();
+        try {
+            for (Object o : this.seeds) {
+                if (!em.contains(o))
+                    em.persist(o);
+            }
+            em.flush();
+            em.getTransaction().commit();
+        } catch (RuntimeException e) {
+            if (em.getTransaction().isActive())
+                em.getTransaction().rollback();
+            throw e;
+        } finally {
+            this.seeds.clear();
+        }
     }
 
     /**
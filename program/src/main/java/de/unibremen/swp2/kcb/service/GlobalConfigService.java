@@ -1,7 +1,11 @@
 package de.unibremen.swp2.kcb.service;
 
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.GlobalConfig;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
 import de.unibremen.swp2.kcb.persistence.GlobalConfigRepository;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.service.serviceExceptions.CreationException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.DeletionException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.FindByException;
@@ -22,6 +26,7 @@ import java.util.List;
  * @author Arvid
  */
 @Transactional
+@Monitored
 public class GlobalConfigService implements Service<GlobalConfig> {
 
     /**
@@ -35,6 +40,18 @@ public class GlobalConfigService implements Service<GlobalConfig> {
     @Inject
     private GlobalConfigRepository globalConfigRepository;
 
+    /**
+     * Injected instance of {@link PageQuery} to query pages of GlobalConfigs.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
+    /**
+     * Injected instance of {@link EntityCache} to evict changed GlobalConfigs from the second-level cache.
+     */
+    @Inject
+    private EntityCache entityCache;
+
     /**
      * Injected instance of userService
      */
@@ -63,7 +80,7 @@ public class GlobalConfigService implements Service<GlobalConfig> {
         }
 
         logger.trace("Saving of globalConfig \"{}\" completed without exceptions.", entity);
-        logger.info("Create globalConfig \" {} \" - triggered by: {}", entity.getKey(), userService.getExecutingUser().getUsername());
+        logger.info("Create globalConfig \" {} \" - triggered by: {}", entity.getKey(), userService.getExecutingUsername());
         logger.trace("Returning globalConfig \" {} \"", entity);
         return repoEntity;
     }
@@ -93,13 +110,14 @@ public class GlobalConfigService implements Service<GlobalConfig> {
         try {
             logger.trace("Attempting to save new globalConfig \"{}\" ...", entity);
             repoEntity = globalConfigRepository.save(entity);
+            entityCache.evict(GlobalConfig.class, entity.getKey());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while persisting globalConfig \"{}\". Can't update globalConfig.", entity);
             throw new UpdateException("Can't update globalConfig: " + e.getMessage());
         }
 
         logger.trace("Saving of globalConfig \"{}\" completed without exceptions.", entity);
-        logger.info("Update globalConfig \"{}\" - triggered by: {}", entity.getKey(),  userService.getExecutingUser().getUsername());
+        logger.info("Update globalConfig \"{}\" - triggered by: {}", entity.getKey(),  userService.getExecutingUsername());
         logger.trace("Returning globalConfig \"{}\"", entity);
         return repoEntity;
     }
@@ -125,7 +143,8 @@ public class GlobalConfigService implements Service<GlobalConfig> {
         try {
             logger.trace("Attempting to delete globalConfig \"{}\" ...", entity);
             globalConfigRepository.attachAndRemove(entity);
-            logger.info("Delete globalConfig \"{}\" - triggered by: {}", entity.getKey(),  userService.getExecutingUser().getUsername());
+            entityCache.evict(GlobalConfig.class, entity.getKey());
+            logger.info("Delete globalConfig \"{}\" - triggered by: {}", entity.getKey(),  userService.getExecutingUsername());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while deleting globalConfig \"{}\". Can't delete globalConfig.", entity);
             throw new DeletionException("Can't delete globalConfig: " + e.getMessage());
@@ -155,6 +174,22 @@ public class GlobalConfigService implements Service<GlobalConfig> {
         return globalConfigRepository.findAll();
     }
 
+    /**
+     * Return the page of {@link GlobalConfig}s described by the given request.
+     *
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of GlobalConfigs
+     * @throws FindByException if the page request is invalid
+     */
+    public List<GlobalConfig> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(GlobalConfig.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for GlobalConfigs: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
     /**
      * Gets old active job hardcoded from the database and returns the value as int.
      *
@@ -1,6 +1,8 @@
 package de.unibremen.swp2.kcb.service;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonWriter;
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.*;
 import de.unibremen.swp2.kcb.model.Locations.Location;
 import de.unibremen.swp2.kcb.model.Locations.Transport;
@@ -11,7 +13,11 @@ import de.unibremen.swp2.kcb.model.parameter.CardinalValue;
 import de.unibremen.swp2.kcb.model.parameter.Parameter;
 import de.unibremen.swp2.kcb.model.parameter.Value;
 import de.unibremen.swp2.kcb.persistence.JobRepository;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
+import de.unibremen.swp2.kcb.persistence.locations.WorkstationMembershipIndex;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
+import de.unibremen.swp2.kcb.util.GsonRegistry;
 import de.unibremen.swp2.kcb.validator.backend.JobValidator;
 import de.unibremen.swp2.kcb.validator.backend.ValidationException;
 import org.apache.logging.log4j.LogManager;
@@ -23,13 +29,16 @@ import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service class to handle Job.
@@ -42,6 +51,7 @@ import java.util.List;
  */
 @Transactional
 @ApplicationScoped
+@Monitored
 public class JobService implements Service<Job> {
 
     /**
@@ -61,6 +71,12 @@ public class JobService implements Service<Job> {
     @Inject
     private JobRepository jobRepository;
 
+    /**
+     * Injected instance of {@link PageQuery} to query pages of Jobs.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
     /**
      * Injected instance of UserService
      */
@@ -98,10 +114,10 @@ public class JobService implements Service<Job> {
     private AssemblyService assemblyService;
 
     /**
-     * Injected instance of WorkstationService
+     * Injected instance of {@link WorkstationMembershipIndex} to look up the workstations of the executing user
      */
     @Inject
-    private WorkstationService workstationService;
+    private WorkstationMembershipIndex workstationMembershipIndex;
 
     /**
      * Injected instance of ParameterService
@@ -127,6 +143,18 @@ public class JobService implements Service<Job> {
     @Inject
     private TransportService transportService;
 
+    /**
+     * Injected instance of TransportTaskService
+     */
+    @Inject
+    private TransportTaskService transportTaskService;
+
+    /**
+     * Injected instance of {@link WorkstationLoadService} to maintain the load of the workstations.
+     */
+    @Inject
+    private WorkstationLoadService workstationLoadService;
+
     /**
      * Injected instance of ValueService
      */
@@ -161,6 +189,7 @@ public class JobService implements Service<Job> {
             logger.debug(message);
             throw new CreationException(message);
         } else logger.trace("Job \"{}\" is valid.", entity);
+        this.refreshProgress(entity);
 
         //Checking, if job is already stored in database
         final List<Job> storedJob = jobRepository.findByName(entity.getName());
@@ -180,8 +209,10 @@ public class JobService implements Service<Job> {
             throw new CreationException("Can't create job: " + e.getMessage());
         }
 
+        transportTaskService.sync(repoEntity);
+        workstationLoadService.sync(repoEntity);
         logger.trace("Saving of job \"{}\" completed without exceptions.", entity);
-        logger.info("Create job \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+        logger.info("Create job \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUsername());
         logger.trace("Returning job \"{}\"", entity);
         return repoEntity;
     }
@@ -214,6 +245,7 @@ public class JobService implements Service<Job> {
             logger.debug(message);
             throw new UpdateException(message);
         } else logger.trace("Job \"{}\" is valid.", entity);
+        this.refreshProgress(entity);
 
         //Checking, if job is stored in database
         final Job storedJob = jobRepository.findBy(entity.getId());
@@ -227,14 +259,16 @@ public class JobService implements Service<Job> {
         Job repoEntity;
         try {
             logger.trace("Attempting to save new job \"{}\" ...", entity);
-            repoEntity = jobRepository.saveAndFlushAndRefresh(entity);
+            repoEntity = jobRepository.saveAndFlush(entity);
         } catch (PersistenceException e) {
             logger.debug("Error occurred while persisting job \"{}\". Can't update job.", entity);
             throw new UpdateException("Can't update job: " + e.getMessage());
         }
 
+        transportTaskService.sync(repoEntity);
+        workstationLoadService.sync(repoEntity);
         logger.trace("Saving of job \"{}\" completed without exceptions.", entity);
-        logger.info("Update job \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+        logger.info("Update job \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUsername());
         logger.trace("Returning job \"{}\"", entity);
         return repoEntity;
     }
@@ -259,8 +293,10 @@ public class JobService implements Service<Job> {
         //Deleting job
         try {
             logger.trace("Attempting to delete job \"{}\" ...", entity);
+            transportTaskService.remove(entity);
+            workstationLoadService.remove(entity);
             jobRepository.attachAndRemove(entity);
-            logger.info("Delete job \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+            logger.info("Delete job \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUsername());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while deleting job \"{}\". Can't delete job.", entity);
             throw new DeletionException("Can't delete job: " + e.getMessage());
@@ -276,7 +312,7 @@ public class JobService implements Service<Job> {
     public boolean needsCollection(Job job) {
         if (job == null) return false;
         if (job.getJobState() != JobState.PROCESSING) return false;
-        return procedureService.needsCollection(this.getCurrentProcedure(job));
+        return this.getProgress(job).isCollectionNeeded();
     }
 
     /**
@@ -292,32 +328,38 @@ public class JobService implements Service<Job> {
         if (job.getJobState() != JobState.PROCESSING)
             return false;
 
-        Location locationOfCarrier = job.getAssemblies().get(0).getCarriers().get(0).getLocation();
-        boolean onTransport = transportService.getAll().contains(locationOfCarrier);
-
-        Procedure currentProcedure = this.getCurrentProcedure(job);
+        boolean onTransport = this.getCarrierLocation(job) instanceof Transport;
 
-        return onTransport || procedureService.needsDelivery(currentProcedure);
+        return onTransport || this.getProgress(job).isDeliveryNeeded();
     }
 
     /**
-     * Gets jobs that need transport.
+     * Gets jobs that need transport, ordered by priority.
      *
      * @return the jobs that need transport
      */
     public List<Job> getJobsThatNeedTransport() {
-        List<Job> transferableJobs = new ArrayList<>();
+        return transportTaskService.getQueuedJobs();
+    }
 
-        for (Job job : this.getActive()) {
-            if (this.needsCollection(job) || this.needsDelivery(job))
-                transferableJobs.add(job);
-        }
-        for (Job job : this.getCancelled()) {
-            if (this.isCancelledAndAssemblyNotInStock(job))
-                transferableJobs.add(job);
-        }
+    /**
+     * Gets a page of the jobs that need transport, ordered by priority.
+     *
+     * @param first index of the first job to be returned
+     * @param max   maximum number of jobs to be returned
+     * @return the requested page of jobs that need transport
+     */
+    public List<Job> getJobsThatNeedTransport(final int first, final int max) {
+        return transportTaskService.getQueuedJobs(first, max);
+    }
 
-        return transferableJobs;
+    /**
+     * Return the number of jobs that need transport.
+     *
+     * @return the number of jobs that need transport
+     */
+    public long countJobsThatNeedTransport() {
+        return transportTaskService.getQueueLength();
     }
 
     /**
@@ -352,7 +394,7 @@ public class JobService implements Service<Job> {
 
         String currentPosition = currentProcedure.getProcessStep().getWorkstation().getPosition();
 
-        if (!this.isComplete(job) && stateExecs.isEmpty())
+        if (stateExecs.isEmpty())
             return currentPosition;
 
         Procedure nextProcedure = null;
@@ -389,8 +431,10 @@ public class JobService implements Service<Job> {
         StateExec currentStateExec = stateHistoryService.getCurrentStateExec(stateHistory);
 
         //Finish last stateExec of assemblies procedure
-        if (this.needsCollection(job))
+        if (this.needsCollection(job)) {
             currentStateExec.setFinishedAt(LocalDateTime.now());
+            this.refreshProgress(job);
+        }
 
         List<Carrier> carriers = job.getAssemblies().get(0).getCarriers();
         Transport transport = transportService.getTransportByUser(userService.getExecutingUser()).get(0);
@@ -398,6 +442,8 @@ public class JobService implements Service<Job> {
         for (Carrier carrier : carriers) {
             carrierService.collect(carrier, transport);
         }
+        transportTaskService.sync(job);
+        workstationLoadService.sync(job);
     }
 
     /**
@@ -427,6 +473,8 @@ public class JobService implements Service<Job> {
                 carrierService.deliver(carrier, stock);
             }
             job.setAssemblies(null);
+            transportTaskService.sync(job);
+            workstationLoadService.sync(job);
             return;
         }
 
@@ -440,6 +488,8 @@ public class JobService implements Service<Job> {
         for (Carrier carrier : carriers) {
             carrierService.deliver(carrier, workstation);
         }
+        transportTaskService.sync(job);
+        workstationLoadService.sync(job);
     }
 
     /**
@@ -478,6 +528,16 @@ public class JobService implements Service<Job> {
         return jobRepository.findActiveJobs();
     }
 
+    /**
+     * Return the number of active {@link Job}s without loading them.
+     *
+     * @return number of active jobs
+     */
+    public long getActiveCount() {
+        final Long count = jobRepository.countActiveJobs();
+        return count == null ? 0 : count;
+    }
+
     /**
      * Return if the given {@link Job} is currently active. Active Jobs are currently being executed.
      *
@@ -493,13 +553,7 @@ public class JobService implements Service<Job> {
         if (jobState != JobState.PROCESSING)
             return false;
 
-        List<Procedure> procedureList = job.getProcedures();
-        for (Procedure procedure : procedureList) {
-            if (!procedureService.isComplete(procedure))
-                return true;
-        }
-
-        return false;
+        return !this.getProgress(job).isComplete();
     }
 
     /**
@@ -508,12 +562,7 @@ public class JobService implements Service<Job> {
      * @return the cancelled
      */
     public List<Job> getCancelled() {
-        List<Job> cancelledJobs = new ArrayList<>();
-        for (Job job : this.getAll()) {
-            if (job.getJobState() == JobState.CANCELLED)
-                cancelledJobs.add(job);
-        }
-        return cancelledJobs;
+        return jobRepository.findByJobState(JobState.CANCELLED);
     }
 
     /**
@@ -528,24 +577,34 @@ public class JobService implements Service<Job> {
 
         JobState jobState = job.getJobState();
 
-        List<Assembly> assemblies = job.getAssemblies();
+        Location location = this.getCarrierLocation(job);
 
-        if (assemblies == null || assemblies.isEmpty())
+        if (location == null)
             return false;
 
-        List<Carrier> carriers = assemblies.get(0).getCarriers();
+        String position = location.getPosition();
 
-        if (carriers == null || carriers.isEmpty())
-            return false;
+        return (jobState == JobState.CANCELLED && !position.equals("Lager"));
+    }
 
-        Location location = carriers.get(0).getLocation();
+    /**
+     * Returns the location of the first carrier of the first assembly of the given job.
+     *
+     * @param job the job
+     * @return the location of the job's assembly or null if the job has no carriers
+     */
+    private Location getCarrierLocation(final Job job) {
+        List<Assembly> assemblies = job.getAssemblies();
 
-        if (location == null)
-            return false;
+        if (assemblies == null || assemblies.isEmpty())
+            return null;
 
-        String position = location.getPosition();
+        List<Carrier> carriers = assemblies.get(0).getCarriers();
 
-        return (jobState == JobState.CANCELLED && !position.equals("Lager"));
+        if (carriers == null || carriers.isEmpty())
+            return null;
+
+        return carriers.get(0).getLocation();
     }
 
     /**
@@ -558,12 +617,7 @@ public class JobService implements Service<Job> {
         if (job == null)
             return false;
 
-        List<Procedure> procedureList = job.getProcedures();
-        for (Procedure procedure : procedureList) {
-            if (!procedureService.isComplete(procedure)) return false;
-        }
-
-        return true;
+        return this.getProgress(job).isComplete();
     }
 
     /**
@@ -624,12 +678,7 @@ public class JobService implements Service<Job> {
         if (job.getJobState() == JobState.FINISHED)
             return procedures.size();
 
-        Procedure currentProcedure = this.getCurrentProcedure(job);
-
-        if (currentProcedure == null)
-            return 0;
-
-        return procedures.indexOf(currentProcedure);
+        return Math.max(this.getProgress(job).getCurrentProcedureIndex(), 0);
     }
 
     /**
@@ -663,20 +712,7 @@ public class JobService implements Service<Job> {
         if (job.getJobState() == JobState.FINISHED)
             return 100;
 
-        Procedure currentProcedure = this.getCurrentProcedure(job);
-
-        if (currentProcedure == null)
-            return 0;
-
-        List<Procedure> procedures = job.getProcedures();
-
-        if (procedures == null)
-            return 0;
-
-        float current = procedures.indexOf(currentProcedure);
-        float max = procedures.size();
-
-        return (current / max) * 100;
+        return this.getProgress(job).getProgressPercent();
     }
 
     /**
@@ -734,6 +770,9 @@ public class JobService implements Service<Job> {
                 throw new StartJobException("Can't start job: " + e.getMessage());
             }
         }
+        this.refreshProgress(entity);
+        transportTaskService.sync(entity);
+        workstationLoadService.sync(entity);
     }
 
     /**
@@ -753,6 +792,9 @@ public class JobService implements Service<Job> {
         logger.debug("Attempting to start job: {}", job);
         if (jobState == JobState.PROCESSING) {
             job.setJobState(JobState.CANCELLED);
+            this.refreshProgress(job);
+            transportTaskService.sync(job);
+            workstationLoadService.sync(job);
             logger.info("Job successfully stopped");
         } else if (jobState == JobState.PENDING) {
             logger.error("Job is pending.");
@@ -797,13 +839,190 @@ public class JobService implements Service<Job> {
         if (job == null)
             return null;
 
-        for (Procedure procedure : job.getProcedures()) {
-            if (!procedureService.isComplete(procedure)) {
-                return procedure;
+        final int index = this.getProgress(job).getCurrentProcedureIndex();
+
+        if (index < 0)
+            return null;
+
+        return job.getProcedures().get(index);
+    }
+
+    /**
+     * Returns the materialized progress of the given job. The stored progress is checked against the
+     * StateHistory of the current procedure and recomputed if it is missing or outdated.
+     * A recomputed progress isn't attached to the job, so reading the progress never writes the job.
+     *
+     * @param job the job
+     * @return the valid progress of the job
+     */
+    public JobProgress getProgress(final Job job) {
+        if (job == null)
+            return null;
+
+        JobProgress progress = job.getProgress();
+
+        if (this.isProgressValid(job, progress))
+            return progress;
+
+        logger.trace("Progress of job \"{}\" is missing or outdated. Recomputing...", job.getId());
+        return this.computeProgress(job);
+    }
+
+    /**
+     * Stores the recomputed progress of all jobs whose stored progress is missing or outdated,
+     * e.g. jobs stored before the progress was materialized or written without the JobService.
+     * Called once on startup.
+     *
+     * @return the number of updated jobs
+     */
+    public int backfillProgress() {
+        int updated = 0;
+        for (Job job : jobRepository.findAll()) {
+            if (this.isProgressValid(job, job.getProgress()))
+                continue;
+            this.refreshProgress(job);
+            updated++;
+        }
+        if (updated > 0)
+            logger.info("Stored the progress of {} jobs.", updated);
+        return updated;
+    }
+
+    /**
+     * Recomputes the materialized progress of the given job and attaches it to the job.
+     * Has to be called by the changing operations whenever a StateExec of one of the job's procedures
+     * is added or changed.
+     *
+     * @param job the job
+     * @return the recomputed progress
+     */
+    public JobProgress refreshProgress(final Job job) {
+        if (job == null)
+            return null;
+
+        final JobProgress progress = this.computeProgress(job);
+        job.setProgress(progress);
+        return progress;
+    }
+
+    /**
+     * Computes the progress of the given job by walking its procedures.
+     *
+     * @param job the job
+     * @return the computed progress
+     */
+    private JobProgress computeProgress(final Job job) {
+        final JobProgress progress = new JobProgress();
+        final List<Procedure> procedures = job.getProcedures();
+
+        if (procedures == null)
+            return progress;
+
+        progress.setProcedureCount(procedures.size());
+
+        Procedure currentProcedure = null;
+        for (int i = 0; i < procedures.size(); i++) {
+            if (!procedureService.isComplete(procedures.get(i))) {
+                currentProcedure = procedures.get(i);
+                progress.setCurrentProcedureIndex(i);
+                break;
             }
         }
 
-        return null;
+        progress.setCollectionNeeded(procedureService.needsCollection(currentProcedure));
+        progress.setDeliveryNeeded(procedureService.needsDelivery(currentProcedure));
+
+        if (currentProcedure == null)
+            return progress;
+
+        final List<StateExec> stateExecs = this.getStateExecs(currentProcedure);
+        final int index = progress.getCurrentProcedureIndex();
+
+        progress.setStateExecCount(stateExecs.size());
+        progress.setCurrentStateIndex(stateExecs.size() - 1);
+        progress.setExecPhase(this.getExecPhase(stateExecs));
+        progress.setProgressPercent(((float) index / procedures.size()) * 100);
+        progress.setCurrentWorkstation(this.getWorkstation(currentProcedure));
+        if (index < procedures.size() - 1)
+            progress.setNextWorkstation(this.getWorkstation(procedures.get(index + 1)));
+
+        return progress;
+    }
+
+    /**
+     * Checks if the given progress still matches the given job. Only the procedure count and the
+     * StateHistory of the current procedure are compared, so the check is constant in time.
+     *
+     * @param job      the job
+     * @param progress the stored progress of the job
+     * @return whether the progress is up to date
+     */
+    private boolean isProgressValid(final Job job, final JobProgress progress) {
+        if (progress == null)
+            return false;
+
+        final List<Procedure> procedures = job.getProcedures();
+        final int procedureCount = procedures == null ? 0 : procedures.size();
+
+        if (progress.getProcedureCount() != procedureCount)
+            return false;
+
+        final int index = progress.getCurrentProcedureIndex();
+
+        if (index < 0)
+            return true;
+
+        if (index >= procedureCount)
+            return false;
+
+        final List<StateExec> stateExecs = this.getStateExecs(procedures.get(index));
+
+        return stateExecs.size() == progress.getStateExecCount()
+                && this.getExecPhase(stateExecs) == progress.getExecPhase();
+    }
+
+    /**
+     * Returns the StateExecs of the given procedure or an empty list if there are none.
+     *
+     * @param procedure the procedure
+     * @return the StateExecs of the procedure
+     */
+    private List<StateExec> getStateExecs(final Procedure procedure) {
+        final StateHistory stateHistory = procedure.getStateHistory();
+
+        if (stateHistory == null || stateHistory.getStateExecs() == null)
+            return new ArrayList<>();
+
+        return stateHistory.getStateExecs();
+    }
+
+    /**
+     * Returns the phase of the latest StateExec in the given list.
+     *
+     * @param stateExecs the StateExecs
+     * @return the phase of the latest StateExec
+     */
+    private ExecPhase getExecPhase(final List<StateExec> stateExecs) {
+        if (stateExecs.isEmpty())
+            return ExecPhase.NONE;
+
+        final StateExec stateExec = stateExecs.get(stateExecs.size() - 1);
+
+        if (stateExec.getFinishedAt() != null)
+            return ExecPhase.FINISHED;
+
+        return stateExec.getStartedAt() != null ? ExecPhase.RUNNING : ExecPhase.WAITING;
+    }
+
+    /**
+     * Returns the workstation executing the given procedure.
+     *
+     * @param procedure the procedure
+     * @return the workstation or null if the procedure has no process step
+     */
+    private Workstation getWorkstation(final Procedure procedure) {
+        final ProcessStep processStep = procedure.getProcessStep();
+        return processStep == null ? null : processStep.getWorkstation();
     }
 
     /**
@@ -817,14 +1036,13 @@ public class JobService implements Service<Job> {
         if (job == null)
             throw new GetNextException("Can't get next procedure: job is null");
 
-        List<Procedure> procedures = job.getProcedures();
-        Procedure currentProcedure = this.getCurrentProcedure(job);
+        JobProgress progress = this.getProgress(job);
 
-        if (currentProcedure == null)
+        if (progress.isComplete())
             throw new GetNextException("Can't get next procedure: current procedure is null");
 
-        if (this.hasNextProcedure(job))
-            return procedures.get(procedures.indexOf(currentProcedure) + 1);
+        if (progress.hasNextProcedure())
+            return job.getProcedures().get(progress.getCurrentProcedureIndex() + 1);
 
         throw new GetNextException("Can't get next procedure: there is no next procedure");
 
@@ -840,17 +1058,7 @@ public class JobService implements Service<Job> {
         if (job == null)
             return false;
 
-        if (this.isComplete(job))
-            return false;
-
-        Procedure currentProcedure = this.getCurrentProcedure(job);
-
-        if (currentProcedure == null)
-            return false;
-
-        List<Procedure> procedures = job.getProcedures();
-
-        return procedures.indexOf(currentProcedure) < procedures.size() - 1;
+        return this.getProgress(job).hasNextProcedure();
     }
 
     /**
@@ -873,6 +1081,7 @@ public class JobService implements Service<Job> {
         } catch (SetNextStateException e) {
             throw new StartNextProcedureException("Can't start next procedure: " + e.getMessage());
         }
+        this.refreshProgress(job);
     }
 
     /**
@@ -939,30 +1148,44 @@ public class JobService implements Service<Job> {
             throw new ProtocolGenerationException(message);
         }
 
-        FileOutputStream outputStream = null;
-
         try {
             final String prefix = "protocol_" + job.getName().toLowerCase();
             File tmpFile = File.createTempFile(prefix, ".json");
 
-            final String jobJson = job.toJSON();
-
-            outputStream = new FileOutputStream(tmpFile);
-
-            outputStream.write(jobJson.getBytes());
-            outputStream.flush();
+            try (OutputStream outputStream = new FileOutputStream(tmpFile)) {
+                this.writeProtocol(job, outputStream);
+            }
             return tmpFile;
         } catch (IOException e) {
             logger.debug(e);
             throw new ProtocolGenerationException("Couldn't create temp File for protocol generation of job " + job.getName());
-        } finally {
-            if (outputStream != null) {
-                try {
-                    outputStream.close();
-                } catch (IOException e) {
-                    logger.warn("OutputStream for protocol generation couldn't be closed. {}", e.getMessage());
-                }
-            }
+        }
+    }
+
+    /**
+     * Writes the JSON protocol of the given job to the given stream. The protocol is written
+     * while the job is serialized, so it doesn't have to be kept in memory as a whole.
+     * The stream is flushed but not closed.
+     *
+     * @param job          the job for which the protocol should be created
+     * @param outputStream to write the protocol to
+     * @throws ProtocolGenerationException if the job is null or writing to the stream fails
+     */
+    @RequiresAuthentication
+    public void writeProtocol(final Job job, final OutputStream outputStream) throws ProtocolGenerationException {
+
+        if (job == null) {
+            final String message = "Attempting to generate Protocol for empty Job. Aborting..";
+            logger.warn(message);
+            throw new ProtocolGenerationException(message);
+        }
+
+        try {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            GsonRegistry.toJson(this.getDetail(job), true, writer);
+        } catch (JsonIOException e) {
+            logger.debug(e);
+            throw new ProtocolGenerationException("Couldn't write protocol of job " + job.getName());
         }
     }
 
@@ -1034,8 +1257,7 @@ public class JobService implements Service<Job> {
      */
     @Transactional
     public Job updateValuesFromJson(Job job, final String json) throws JSONFormatException {
-        Gson gson = new GsonBuilder().serializeNulls().excludeFieldsWithoutExposeAnnotation().setPrettyPrinting().create();
-        JsonArray parsedJson = gson.fromJson(json, JsonArray.class);
+        JsonArray parsedJson = GsonRegistry.get().fromJson(json, JsonArray.class);
 
         try {
             for (JsonElement e : parsedJson) {
@@ -1153,21 +1375,40 @@ public class JobService implements Service<Job> {
      */
     @RequiresAuthentication
     public File exportParameters(final Job job) throws ExportException {
-        List<Procedure> procedures = job.getProcedures();
-        JsonArray result = new JsonArray();
-
-        for (final Procedure procedure : procedures) {
-            result.add(procedureService.getAsSFBJSON(procedure));
-        }
-
         try {
-            Gson gson = new GsonBuilder().setPrettyPrinting().create();
-            return createTmpFile(gson.toJson(result), "parameters", ".json");
+            final File tmpFile = File.createTempFile("parameters", ".json");
+            try (OutputStream outputStream = new FileOutputStream(tmpFile)) {
+                this.writeParameters(job, outputStream);
+            }
+            return tmpFile;
         } catch (IOException e) {
             logger.warn("IOException occurred during parameter export: {}", e.getMessage());
             throw new ExportException("IOException occurred during parameter export. Aborting.");
         }
+    }
 
+    /**
+     * Write the parameters of the given job as json in the format used by the sfb to the given stream.
+     * Procedures are converted and written one after another. The stream is flushed but not closed.
+     *
+     * @param job          to export parameters of
+     * @param outputStream to write the json to
+     * @throws ExportException if writing to the stream fails
+     */
+    @RequiresAuthentication
+    public void writeParameters(final Job job, final OutputStream outputStream) throws ExportException {
+        try {
+            final JsonWriter writer = GsonRegistry.newJsonWriter(outputStream, true);
+            writer.beginArray();
+            for (final Procedure procedure : this.getDetail(job).getProcedures()) {
+                GsonRegistry.get().toJson(procedureService.getAsSFBJSON(procedure), writer);
+            }
+            writer.endArray();
+            writer.flush();
+        } catch (IOException | JsonIOException e) {
+            logger.warn("IOException occurred during parameter export: {}", e.getMessage());
+            throw new ExportException("IOException occurred during parameter export. Aborting.");
+        }
     }
 
     /**
@@ -1216,6 +1457,38 @@ public class JobService implements Service<Job> {
         return jobRepository.findAll();
     }
 
+    /**
+     * Return the page of {@link Job}s described by the given request.
+     *
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of Jobs
+     * @throws FindByException if the page request is invalid
+     */
+    public List<Job> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(Job.class, pageRequest, Job.SUMMARY_GRAPH);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for Jobs: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
+    /**
+     * Return the number of {@link Job}s matching the filters of the given request.
+     *
+     * @param pageRequest describes the filters
+     * @return number of matching Jobs
+     * @throws FindByException if the page request is invalid
+     */
+    public long count(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.count(Job.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for Jobs: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
     /**
      * Return the {@link Job} with the given id.
      *
@@ -1246,11 +1519,22 @@ public class JobService implements Service<Job> {
         }
 
         logger.trace("Finding of job by ID \"{}\" completed without exceptions.", id);
-        logger.info("Find job by ID \"{}\" - triggered by: {}", id, userService.getExecutingUser().getUsername());
+        logger.info("Find job by ID \"{}\" - triggered by: {}", id, userService.getExecutingUsername());
         logger.trace("Returning job by ID \"{}\"", id);
         return entity;
     }
 
+    /**
+     * Return the {@link Job}s with the given ids in the order of the ids.
+     * The Jobs are queried at once, unknown ids are skipped.
+     *
+     * @param ids of the Jobs
+     * @return the Jobs with the given ids
+     */
+    public List<Job> getByIds(final Collection<String> ids) {
+        return pageQuery.findByIds(Job.class, ids);
+    }
+
     /**
      * Return the {@link Job}s with the given name.
      *
@@ -1320,6 +1604,54 @@ public class JobService implements Service<Job> {
         return jobRepository.findByProcedure(procedure).get(0);
     }
 
+    /**
+     * Return the given {@link Job} with its Procedures, their StateHistories and StateExecs loaded by one query.
+     *
+     * @param job the job
+     * @return the loaded job or the given job if it isn't stored
+     */
+    public Job getDetail(final Job job) {
+        if (job == null || job.getId() == null)
+            return job;
+
+        final List<Job> jobs = jobRepository.findDetailById(job.getId());
+        return jobs == null || jobs.isEmpty() ? job : jobs.get(0);
+    }
+
+    /**
+     * Return the given {@link Job}s with their Procedures, StateHistories and StateExecs loaded by one query.
+     * Controllers use the loaded jobs after the transaction has ended, so the lazy Procedures have to be loaded before.
+     *
+     * @param jobs the jobs
+     * @return the loaded jobs in the given order, jobs that aren't stored are returned as given
+     */
+    public List<Job> getDetails(final List<Job> jobs) {
+        if (jobs == null || jobs.isEmpty())
+            return jobs;
+
+        final List<String> ids = new ArrayList<>(jobs.size());
+        for (final Job job : jobs)
+            ids.add(job.getId());
+
+        final Map<String, Job> loaded = new HashMap<>();
+        for (final Job job : jobRepository.findDetailByIds(ids))
+            loaded.put(job.getId(), job);
+
+        final List<Job> result = new ArrayList<>(jobs.size());
+        for (final Job job : jobs)
+            result.add(loaded.getOrDefault(job.getId(), job));
+        return result;
+    }
+
+    /**
+     * Returns the {@link ProcessChain}s executed by at least one job.
+     *
+     * @return the process chains of all jobs
+     */
+    public List<ProcessChain> getProcessChains() {
+        return jobRepository.findProcessChains();
+    }
+
     /**
      * Returns a list of jobs with a given priority.
      *
@@ -1386,21 +1718,27 @@ public class JobService implements Service<Job> {
      * @return all active jobs for current technologe
      * @throws GetAllActiveJobsForCurrentTechnologeException if finding fails exception
      */
-    public List<Job> getAllActiveJobsForCurrentTechnologe () throws GetAllActiveJobsForCurrentTechnologeException {
-        List<Job> result = new ArrayList<>();
-        for (Job job : this.getActive()) {
-            Procedure currentProcedure = this.getCurrentProcedure(job);
-            if (currentProcedure == null)
-                continue;
+    public List<Job> getAllActiveJobsForCurrentTechnologe() throws GetAllActiveJobsForCurrentTechnologeException {
+        final User executingUser = userService.getExecutingUser();
+        if (executingUser == null)
+            throw new GetAllActiveJobsForCurrentTechnologeException("Couldn't get all active jobs for current Technologe: No executing user.");
 
-            try {
-                if (workstationService.getByUser(userService.getExecutingUser()).contains(currentProcedure.getProcessStep().getWorkstation()))
+        final Set<String> workstationIds = workstationMembershipIndex.getWorkstationIds(executingUser);
+        if (workstationIds.isEmpty())
+            return new ArrayList<>();
+
+        try {
+            final List<Job> result = new ArrayList<>(jobRepository.findActiveByCurrentWorkstations(workstationIds));
+            // Jobs stored without progress can't be matched by the database
+            for (final Job job : jobRepository.findActiveWithoutProgress()) {
+                final Workstation current = this.getProgress(job).getCurrentWorkstation();
+                if (current != null && workstationIds.contains(current.getId()))
                     result.add(job);
-            } catch (FindByException e) {
-                throw new GetAllActiveJobsForCurrentTechnologeException("Couldn't get all active jobs for current Technologe: {}" + e.getMessage());
             }
+            return result;
+        } catch (PersistenceException e) {
+            throw new GetAllActiveJobsForCurrentTechnologeException("Couldn't get all active jobs for current Technologe: " + e.getMessage());
         }
-        return result;
     }
 
     /**
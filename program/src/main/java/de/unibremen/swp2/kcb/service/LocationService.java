@@ -1,8 +1,10 @@
 package de.unibremen.swp2.kcb.service;
 
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.Assembly;
 import de.unibremen.swp2.kcb.model.Carrier;
 import de.unibremen.swp2.kcb.model.Locations.Location;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
 import de.unibremen.swp2.kcb.persistence.locations.StockRepository;
 import de.unibremen.swp2.kcb.persistence.locations.TransportRepository;
 import de.unibremen.swp2.kcb.persistence.locations.WorkstationRepository;
@@ -11,6 +13,7 @@ import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import javax.inject.Inject;
 import javax.transaction.Transactional;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -20,6 +23,7 @@ import java.util.List;
  * @author Robin
  */
 @Transactional
+@Monitored
 public class LocationService implements Service<Location> {
 
     /**
@@ -46,6 +50,12 @@ public class LocationService implements Service<Location> {
     @Inject
     private AssemblyService assemblyService;
 
+    /**
+     * Injected instance of {@link PageQuery} to query multiple Locations by their ids.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
     /**
      * create method of locationService
      * @param entity to be created and persisted
@@ -125,6 +135,17 @@ public class LocationService implements Service<Location> {
         return result;
     }
 
+    /**
+     * Return the {@link Location}s with the given ids in the order of the ids.
+     * The Locations are queried at once, unknown ids are skipped.
+     *
+     * @param ids of the Locations
+     * @return the Locations with the given ids
+     */
+    public List<Location> getByIds(final Collection<String> ids) {
+        return pageQuery.findByIds(Location.class, ids);
+    }
+
     /**
      * Finds all Assemblies at a given Location
      * @param location to be searched at
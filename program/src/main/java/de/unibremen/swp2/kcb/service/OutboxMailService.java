@@ -0,0 +1,145 @@
+package de.unibremen.swp2.kcb.service;
+
+import de.unibremen.swp2.kcb.model.OutboxMail;
+import de.unibremen.swp2.kcb.model.OutboxMailStatus;
+import de.unibremen.swp2.kcb.persistence.OutboxMailRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service class to handle the mail outbox. Mails are queued as {@link OutboxMail} in the transaction
+ * of the business operation and delivered by the {@link de.unibremen.swp2.kcb.util.MailDispatcher},
+ * so a slow mail server neither blocks requests nor holds database locks.
+ * Failed deliveries are retried with exponential backoff until they are marked as dead.
+ *
+ * @author Marius
+ */
+@Transactional
+@ApplicationScoped
+public class OutboxMailService implements Serializable {
+
+    /**
+     * Logger object of the OutboxMailService class
+     */
+    private static final Logger logger = LogManager.getLogger(OutboxMailService.class);
+
+    /**
+     * Number of failed delivery attempts after which a mail is marked as dead
+     */
+    static final int MAX_ATTEMPTS = 6;
+
+    /**
+     * Seconds to wait before the first retry, doubled for every further retry
+     */
+    static final long RETRY_DELAY = 30;
+
+    /**
+     * Maximum seconds to wait before a retry
+     */
+    static final long MAX_RETRY_DELAY = 3600;
+
+    /**
+     * Maximum length of the stored delivery error
+     */
+    private static final int MAX_ERROR_LENGTH = 255;
+
+    /**
+     * Injected instance of {@link OutboxMailRepository} to query database for {@link OutboxMail}s.
+     */
+    @Inject
+    private OutboxMailRepository outboxMailRepository;
+
+    /**
+     * Queue a mail for delivery. Joins the transaction of the caller, so the mail is only sent
+     * if the business operation is committed.
+     *
+     * @param recipient email address of the recipient
+     * @param subject   subject of the mail
+     * @param text      plain text body of the mail
+     * @param html      html body of the mail or null for plain text mails
+     * @return the queued mail
+     */
+    public OutboxMail enqueue(final String recipient, final String subject, final String text, final String html) {
+        final LocalDateTime now = LocalDateTime.now();
+        final OutboxMail mail = new OutboxMail();
+        mail.setRecipient(recipient);
+        mail.setSubject(subject);
+        mail.setText(text);
+        mail.setHtml(html);
+        mail.setCreatedAt(now);
+        mail.setNextAttemptAt(now);
+        logger.debug("Queue mail '{}' to {}", subject, recipient);
+        return outboxMailRepository.save(mail);
+    }
+
+    /**
+     * Return the oldest pending mails whose next delivery attempt is due.
+     *
+     * @param max maximum number of mails to be returned
+     * @return the due mails
+     */
+    public List<OutboxMail> getDue(final int max) {
+        return outboxMailRepository.findDue(OutboxMailStatus.PENDING, LocalDateTime.now(), max);
+    }
+
+    /**
+     * Return all mails whose delivery failed permanently.
+     *
+     * @return the dead mails
+     */
+    public List<OutboxMail> getDead() {
+        return outboxMailRepository.findByStatus(OutboxMailStatus.DEAD);
+    }
+
+    /**
+     * Mark the given mail as delivered.
+     *
+     * @param mail the delivered mail
+     */
+    public void markSent(final OutboxMail mail) {
+        mail.setStatus(OutboxMailStatus.SENT);
+        mail.setSentAt(LocalDateTime.now());
+        mail.setLastError(null);
+        outboxMailRepository.save(mail);
+    }
+
+    /**
+     * Record a failed delivery attempt of the given mail. The mail is retried after a delay
+     * that doubles with every attempt or marked as dead after {@link #MAX_ATTEMPTS} attempts.
+     *
+     * @param mail  the mail that couldn't be delivered
+     * @param error description of the error
+     */
+    public void markFailed(final OutboxMail mail, final String error) {
+        mail.setAttempts(mail.getAttempts() + 1);
+        mail.setLastError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (mail.getAttempts() >= MAX_ATTEMPTS) {
+            mail.setStatus(OutboxMailStatus.DEAD);
+            logger.warn("E-Mail to {} couldn't be send after {} attempts: {}", mail.getRecipient(), mail.getAttempts(), error);
+        } else {
+            mail.setNextAttemptAt(LocalDateTime.now().plusSeconds(getRetryDelay(mail.getAttempts())));
+            logger.debug("E-Mail to {} couldn't be send, retry {}: {}", mail.getRecipient(), mail.getAttempts(), error);
+        }
+        outboxMailRepository.save(mail);
+    }
+
+    /**
+     * Return the seconds to wait after the given number of failed attempts.
+     *
+     * @param attempts number of failed attempts
+     * @return the delay in seconds
+     */
+    static long getRetryDelay(final int attempts) {
+        if (attempts <= 0)
+            return 0;
+        final int shift = Math.min(attempts - 1, 20);
+        return Math.min(RETRY_DELAY << shift, MAX_RETRY_DELAY);
+    }
+}
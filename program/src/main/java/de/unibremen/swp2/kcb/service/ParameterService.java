@@ -1,8 +1,12 @@
 package de.unibremen.swp2.kcb.service;
 
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.ProcessStep;
 import de.unibremen.swp2.kcb.model.parameter.Parameter;
 import de.unibremen.swp2.kcb.model.parameter.Value;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.persistence.parameter.ParameterRepository;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import de.unibremen.swp2.kcb.validator.backend.ParameterValidator;
@@ -14,7 +18,6 @@ import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -28,6 +31,7 @@ import java.util.List;
  */
 @ApplicationScoped
 @Transactional
+@Monitored
 public class ParameterService implements Service<Parameter> {
 
     /**
@@ -47,6 +51,18 @@ public class ParameterService implements Service<Parameter> {
     @Inject
     private ParameterRepository parameterRepository;
 
+    /**
+     * Injected instance of {@link PageQuery} to query pages of Parameters.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
+    /**
+     * Injected instance of {@link EntityCache} to evict changed Parameters from the second-level cache.
+     */
+    @Inject
+    private EntityCache entityCache;
+
     /**
      * Injected instance of processStepService
      */
@@ -114,7 +130,7 @@ public class ParameterService implements Service<Parameter> {
         }
 
         logger.trace("Saving of parameter \"{}\" completed without exceptions.", entity);
-        logger.info("Create parameter \"{}\" - triggered by: {}", entity.getField(), userService.getExecutingUser().getUsername());
+        logger.info("Create parameter \"{}\" - triggered by: {}", entity.getField(), userService.getExecutingUsername());
         logger.trace("Returning parameter \"{}\"", entity);
         return repoEntity;
     }
@@ -162,13 +178,14 @@ public class ParameterService implements Service<Parameter> {
         try {
             logger.trace("Attempting to save new parameter \"{}\" ...", entity);
             repoEntity = parameterRepository.saveAndFlushAndRefresh(entity);
+            entityCache.evict(Parameter.class, entity.getId());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while persisting parameter \"{}\". Can't update parameter.", entity);
             throw new UpdateException("Can't update parameter: " + e.getMessage());
         }
 
         logger.trace("Saving of parameter \"{}\" completed without exceptions.", entity);
-        logger.info("Update parameter \"{}\" - triggered by: {}",entity.getField(), userService.getExecutingUser().getUsername());
+        logger.info("Update parameter \"{}\" - triggered by: {}",entity.getField(), userService.getExecutingUsername());
         logger.trace("Returning parameter \"{}\"", entity);
         return repoEntity;
     }
@@ -194,7 +211,8 @@ public class ParameterService implements Service<Parameter> {
         try {
             logger.trace("Attempting to delete parameter \"{}\" ...", entity);
             parameterRepository.attachAndRemove(entity);
-            logger.info("Delete parameter \"{}\" triggered by: {}", entity.getField(), userService.getExecutingUser().getUsername());
+            entityCache.evict(Parameter.class, entity.getId());
+            logger.info("Delete parameter \"{}\" triggered by: {}", entity.getField(), userService.getExecutingUsername());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while deleting parameter \"{}\". Can't delete parameter.", entity);
             throw new DeletionException("Can't delete parameter: " + e.getMessage());
@@ -232,6 +250,17 @@ public class ParameterService implements Service<Parameter> {
         return parameterRepository.findBy(id);
     }
 
+    /**
+     * Return the {@link Parameter}s with the given ids in the order of the ids.
+     * The Parameters are queried at once, unknown ids are skipped.
+     *
+     * @param ids of the Parameters
+     * @return the Parameters with the given ids
+     */
+    public List<Parameter> getByIds(final Collection<String> ids) {
+        return pageQuery.findByIds(Parameter.class, ids);
+    }
+
     /**
      * Return all existing parameteres.
      *
@@ -243,34 +272,19 @@ public class ParameterService implements Service<Parameter> {
     }
 
     /**
-     * Get all Parameter with one of the given ids each.
+     * Return the page of {@link Parameter}s described by the given request.
      *
-     * @param ids to get steps for
-     * @return List of all Parameter with the given ids
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of Parameters
+     * @throws FindByException if the page request is invalid
      */
-    public List<Parameter> getByIds(List<String> ids) {
-        logger.debug("Fetching parameters by ids.");
-        if (ids == null) {
-            logger.debug("Attempting to fetch parameters with ids = null. Aborting.");
-            return new ArrayList<>();
-        }
-        if (ids.size() < 1) {
-            logger.debug("Attempting to fetch parameters with empty ids. Aborting.");
-            return new ArrayList<>();
-        }
-
-        ArrayList<Parameter> result = new ArrayList<>();
-
-        // Fetch parameters for every given id and skip if the id is invalid.
-        for (String id : ids) {
-            try {
-                result.add(this.getById(id));
-            } catch (InvalidIdException e) {
-                logger.debug("Parameter id: {}  was found invalid. Skipping...", id);
-            }
+    public List<Parameter> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(Parameter.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for Parameters: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
         }
-
-        return result;
     }
 
     /**
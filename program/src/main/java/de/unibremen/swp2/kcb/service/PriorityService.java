@@ -1,7 +1,11 @@
 package de.unibremen.swp2.kcb.service;
 
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.Job;
 import de.unibremen.swp2.kcb.model.Priority;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.persistence.PriorityRepository;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import de.unibremen.swp2.kcb.validator.backend.PriorityValidator;
@@ -13,7 +17,10 @@ import javax.inject.Inject;
 import javax.persistence.NoResultException;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
+import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service class to handle Priorities
@@ -23,6 +30,7 @@ import java.util.List;
  * @author Arvid
  */
 @Transactional
+@Monitored
 public class PriorityService implements Service<Priority> {
 
     /**
@@ -36,12 +44,30 @@ public class PriorityService implements Service<Priority> {
     @Inject
     private PriorityRepository priorityRepository;
 
+    /**
+     * Injected instance of {@link PageQuery} to query pages of Priorities.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
+    /**
+     * Injected instance of {@link EntityCache} to evict changed Prioritys from the second-level cache.
+     */
+    @Inject
+    private EntityCache entityCache;
+
     /**
      * Injected instance of {@link PriorityValidator}
      */
     @Inject
     private PriorityValidator priorityValidator;
 
+    /**
+     * Injected instance of {@link TransportTaskService}
+     */
+    @Inject
+    private TransportTaskService transportTaskService;
+
     /**
      * Injected instance of {@link JobService}
      */
@@ -108,7 +134,7 @@ public class PriorityService implements Service<Priority> {
             }
 
             logger.trace("Saving of priority \"{}\" completed without exceptions.", entity);
-            logger.info("Create priority \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+            logger.info("Create priority \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUsername());
             logger.trace("Returning priority \"{}\"", entity);
             return repoEntity;
         }
@@ -156,13 +182,15 @@ public class PriorityService implements Service<Priority> {
         try {
             logger.trace("Attempting to save new priority \"{}\" ...", entity);
             repoEntity = priorityRepository.saveAndFlushAndRefresh(entity);
+            transportTaskService.updatePriority(repoEntity);
+            entityCache.evict(Priority.class, entity.getId());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while persisting priority \"{}\". Can't update priority.", entity);
             throw new UpdateException("Can't update priority: " + e.getMessage());
         }
 
         logger.trace("Saving of priority \"{}\" completed without exceptions.", entity);
-        logger.info("Update priority \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+        logger.info("Update priority \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUsername());
         logger.trace("Returning priority \"{}\"", entity);
         return repoEntity;
     }
@@ -187,7 +215,8 @@ public class PriorityService implements Service<Priority> {
         try {
             logger.trace("Attempting to delete priority \"{}\" ...", entity);
             priorityRepository.attachAndRemove(entity);
-            logger.info("Delete priority \"{}\" triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+            entityCache.evict(Priority.class, entity.getId());
+            logger.info("Delete priority \"{}\" triggered by: {}", entity.getName(), userService.getExecutingUsername());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while deleting priority \"{}\". Can't delete priority.", entity);
             throw new DeletionException("Can't delete priority: " + e.getMessage());
@@ -224,11 +253,22 @@ public class PriorityService implements Service<Priority> {
         }
 
         logger.trace("Finding of priority by ID \"{}\" completed without exceptions.", id);
-        logger.info("Find priority by ID \"{}\" - triggered by: {}", id, userService.getExecutingUser().getUsername());
+        logger.info("Find priority by ID \"{}\" - triggered by: {}", id, userService.getExecutingUsername());
         logger.trace("Returning priority by ID \"{}\"", id);
         return entity;
     }
 
+    /**
+     * Return the {@link Priority}s with the given ids in the order of the ids.
+     * The Priorities are queried at once, unknown ids are skipped.
+     *
+     * @param ids of the Priorities
+     * @return the Priorities with the given ids
+     */
+    public List<Priority> getByIds(final Collection<String> ids) {
+        return pageQuery.findByIds(Priority.class, ids);
+    }
+
     /**
      * Return the {@link Priority} with the given name.
      * If no Priority is found with the given name, null will be returned.
@@ -265,6 +305,22 @@ public class PriorityService implements Service<Priority> {
         return priorityRepository.findAll();
     }
 
+    /**
+     * Return the page of {@link Priority}s described by the given request.
+     *
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of Priorities
+     * @throws FindByException if the page request is invalid
+     */
+    public List<Priority> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(Priority.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for Priorities: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
     /**
      * Returns the unique hexCode color for the given priority
      *
@@ -273,9 +329,32 @@ public class PriorityService implements Service<Priority> {
      */
     public String getColor(Priority priority) {
         List<Priority> priorityList = priorityRepository.findAllOrderByValueAsc();
-        float length = priorityList.size();
-        float index = priorityList.indexOf(priority);
+        return this.getColor(priorityList.indexOf(priority), priorityList.size());
+    }
+
+    /**
+     * Returns the colors of all priorities, calculated with a single query.
+     *
+     * @return the RGB-Values of all priorities by the id of the priority
+     */
+    public Map<String, String> getColors() {
+        final List<Priority> priorityList = priorityRepository.findAllOrderByValueAsc();
+        final Map<String, String> colors = new HashMap<>();
+
+        for (int i = 0; i < priorityList.size(); i++)
+            colors.put(priorityList.get(i).getId(), this.getColor(i, priorityList.size()));
+
+        return colors;
+    }
 
+    /**
+     * Returns the color of the priority at the given index of all priorities ordered by value.
+     *
+     * @param index  index of the priority
+     * @param length number of priorities
+     * @return a String containing RGB-Values
+     */
+    private String getColor(float index, float length) {
         if (index == 0) return "rgb(0.0, 255, 100)";
         if (index < (length / 2)) {
             index++;
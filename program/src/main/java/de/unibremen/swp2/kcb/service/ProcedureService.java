@@ -1,6 +1,8 @@
 package de.unibremen.swp2.kcb.service;
 
 import com.google.gson.*;
+import com.google.gson.stream.JsonWriter;
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.*;
 import de.unibremen.swp2.kcb.model.Locations.Transport;
 import de.unibremen.swp2.kcb.model.Locations.Workstation;
@@ -9,8 +11,11 @@ import de.unibremen.swp2.kcb.model.StateMachine.StateExec;
 import de.unibremen.swp2.kcb.model.StateMachine.StateHistory;
 import de.unibremen.swp2.kcb.model.StateMachine.StateMachine;
 import de.unibremen.swp2.kcb.model.parameter.Value;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.persistence.ProcedureRepository;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
+import de.unibremen.swp2.kcb.util.GsonRegistry;
 import de.unibremen.swp2.kcb.validator.backend.*;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -21,9 +26,12 @@ import javax.inject.Inject;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -36,6 +44,7 @@ import java.util.List;
  */
 @Transactional
 @ApplicationScoped
+@Monitored
 public class ProcedureService implements Service<Procedure> {
 
     /**
@@ -85,6 +94,12 @@ public class ProcedureService implements Service<Procedure> {
     @Inject
     private ProcedureRepository procedureRepository;
 
+    /**
+     * Injected instance of {@link PageQuery} to query pages of Procedures.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
     /**
      * Injected instance of {@link StateHistoryService}.
      */
@@ -168,7 +183,7 @@ public class ProcedureService implements Service<Procedure> {
         }
 
         logger.trace("Saving of procedure \"{}\" completed without exceptions.", entity);
-        logger.info("Create procedure \"{}\" - triggered by: {}", entity.getId(), userService.getExecutingUser().getUsername());
+        logger.info("Create procedure \"{}\" - triggered by: {}", entity.getId(), userService.getExecutingUsername());
         logger.trace("Returning procedure \"{}\"", entity);
         return repoEntity;
     }
@@ -222,7 +237,7 @@ public class ProcedureService implements Service<Procedure> {
         }
 
         logger.trace("Saving of procedure \"{}\" completed without exceptions.", entity);
-        logger.info("Update procedure \"{}\" - triggered by: {}", entity.getId(), userService.getExecutingUser().getUsername());
+        logger.info("Update procedure \"{}\" - triggered by: {}", entity.getId(), userService.getExecutingUsername());
         logger.trace("Returning procedure \"{}\"", entity);
         return repoEntity;
     }
@@ -248,7 +263,7 @@ public class ProcedureService implements Service<Procedure> {
         try {
             logger.trace("Attempting to delete procedure \"{}\" ...", entity);
             procedureRepository.attachAndRemove(entity);
-            logger.info("Delete procedure \"{}\" triggered by: {}", entity.getId(), userService.getExecutingUser().getUsername());
+            logger.info("Delete procedure \"{}\" triggered by: {}", entity.getId(), userService.getExecutingUsername());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while deleting procedure \"{}\". Can't delete procedure.", entity);
             throw new DeletionException("Can't delete procedure: " + e.getMessage());
@@ -268,7 +283,7 @@ public class ProcedureService implements Service<Procedure> {
             StateExec stateExec = new StateExec();
             stateExec.setState(this.getNextState(procedure));
             stateExec.setTransitionAt(LocalDateTime.now());
-            procedure.getStateHistory().getStateExecs().add(stateExec);
+            stateHistoryService.appendStateExec(procedure.getStateHistory(), stateExec);
         } else {
             throw new SetNextStateException("Can't set next state: Procedure is already finished");
         }
@@ -630,19 +645,42 @@ public class ProcedureService implements Service<Procedure> {
      */
     @RequiresAuthentication
     public File exportParameters(final Procedure procedure) throws ExportException {
-        JsonArray result = new JsonArray();
-        // One Procedure only executes on process step, so
-        // the result will always contain exactly one entry
-        result.add(getAsSFBJSON(procedure));
         try {
-            Gson gson = new GsonBuilder().setPrettyPrinting().create();
-            return createTmpFile(gson.toJson(result), "parameters", ".json");
+            final File tmpFile = File.createTempFile("parameters", ".json");
+            try (OutputStream outputStream = new FileOutputStream(tmpFile)) {
+                this.writeParameters(procedure, outputStream);
+            }
+            return tmpFile;
         } catch (IOException e) {
             logger.warn("IOException occurred during parameter export: {}", e.getMessage());
             throw new ExportException("IOException occurred during parameter export. Aborting.");
         }
     }
 
+    /**
+     * Write the parameters of the given procedure as json in the format used by the sfb to the given stream.
+     * The stream is flushed but not closed.
+     *
+     * @param procedure    to export parameters of
+     * @param outputStream to write the json to
+     * @throws ExportException if writing to the stream fails
+     */
+    @RequiresAuthentication
+    public void writeParameters(final Procedure procedure, final OutputStream outputStream) throws ExportException {
+        try {
+            final JsonWriter writer = GsonRegistry.newJsonWriter(outputStream, true);
+            // One Procedure only executes on process step, so
+            // the result will always contain exactly one entry
+            writer.beginArray();
+            GsonRegistry.get().toJson(getAsSFBJSON(procedure), writer);
+            writer.endArray();
+            writer.flush();
+        } catch (IOException | JsonIOException e) {
+            logger.warn("IOException occurred during parameter export: {}", e.getMessage());
+            throw new ExportException("IOException occurred during parameter export. Aborting.");
+        }
+    }
+
     /**
      * Gets active procedures by workstation.
      *
@@ -765,6 +803,38 @@ public class ProcedureService implements Service<Procedure> {
         return procedureRepository.findAll();
     }
 
+    /**
+     * Return the page of {@link Procedure}s described by the given request.
+     *
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of Procedures
+     * @throws FindByException if the page request is invalid
+     */
+    public List<Procedure> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(Procedure.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for Procedures: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
+    /**
+     * Return the number of {@link Procedure}s matching the filters of the given request.
+     *
+     * @param pageRequest describes the filters
+     * @return number of matching Procedures
+     * @throws FindByException if the page request is invalid
+     */
+    public long count(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.count(Procedure.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for Procedures: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
     /**
      * Return the {@link Procedure} with the given id.
      *
@@ -795,8 +865,19 @@ public class ProcedureService implements Service<Procedure> {
         }
 
         logger.trace("Finding of procedure by ID \"{}\" completed without exceptions.", id);
-        logger.info("Find procedure by ID \"{}\" - triggered by: {}", id, userService.getExecutingUser().getUsername());
+        logger.info("Find procedure by ID \"{}\" - triggered by: {}", id, userService.getExecutingUsername());
         logger.trace("Returning procedure by ID \"{}\"", id);
         return entity;
     }
+
+    /**
+     * Return the {@link Procedure}s with the given ids in the order of the ids.
+     * The Procedures are queried at once, unknown ids are skipped.
+     *
+     * @param ids of the Procedures
+     * @return the Procedures with the given ids
+     */
+    public List<Procedure> getByIds(final Collection<String> ids) {
+        return pageQuery.findByIds(Procedure.class, ids);
+    }
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package de.unibremen.swp2.kcb.service;
 
-import de.unibremen.swp2.kcb.model.Job;
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.ProcessChain;
 import de.unibremen.swp2.kcb.model.ProcessStep;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.persistence.ProcessChainRepository;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import de.unibremen.swp2.kcb.validator.backend.ProcessChainValidator;
@@ -19,6 +22,7 @@ import javax.persistence.NoResultException;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -31,6 +35,7 @@ import java.util.List;
  */
 @ApplicationScoped
 @Transactional
+@Monitored
 public class ProcessChainService implements Service<ProcessChain> {
 
     /**
@@ -56,6 +61,18 @@ public class ProcessChainService implements Service<ProcessChain> {
     @Inject
     private ProcessChainRepository processChainRepository;
 
+    /**
+     * Injected instance of {@link PageQuery} to query pages of ProcessChains.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
+    /**
+     * Injected instance of {@link EntityCache} to evict changed ProcessChains from the second-level cache.
+     */
+    @Inject
+    private EntityCache entityCache;
+
     /**
      * Injected instance of {@link JobService}.
      */
@@ -119,7 +136,7 @@ public class ProcessChainService implements Service<ProcessChain> {
             }
 
             logger.trace("Saving of processChain \"{}\" completed without exceptions.", entity);
-            logger.info("Create processChain \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+            logger.info("Create processChain \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUsername());
             logger.trace("Returning processChain \"{}\"", entity);
             return repoEntity;
         }
@@ -169,13 +186,14 @@ public class ProcessChainService implements Service<ProcessChain> {
         try {
             logger.trace("Attempting to save new processChain \"{}\" ...", entity);
             repoEntity = processChainRepository.saveAndFlushAndRefresh(entity);
+            entityCache.evict(ProcessChain.class, entity.getId());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while persisting processChain \"" + entity + "\". Can't update processChain.");
             throw new UpdateException("Can't update processChain: " + e.getMessage());
         }
 
         logger.trace("Saving of processChain \"{}\" completed without exceptions.", entity);
-        logger.info("Update processChain \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+        logger.info("Update processChain \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUsername());
         logger.trace("Returning processChain \"{}\"", entity);
         return repoEntity;
     }
@@ -202,7 +220,8 @@ public class ProcessChainService implements Service<ProcessChain> {
         try {
             logger.trace("Attempting to delete processChain \"{}\" ...", entity);
             processChainRepository.attachAndRemove(entity);
-            logger.info("Delete processChain \"{}\" triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+            entityCache.evict(ProcessChain.class, entity.getId());
+            logger.info("Delete processChain \"{}\" triggered by: {}", entity.getName(), userService.getExecutingUsername());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while deleting processChain \"{}\". Can't delete processChain.", entity);
             throw new DeletionException("Can't delete processChain: " + e.getMessage());
@@ -239,11 +258,22 @@ public class ProcessChainService implements Service<ProcessChain> {
         }
 
         logger.trace("Finding of processChain by ID \"{}\" completed without exceptions.", id);
-        logger.info("Find processChain by ID \"{}\" - triggered by: {}", id, userService.getExecutingUser().getUsername());
+        logger.info("Find processChain by ID \"{}\" - triggered by: {}", id, userService.getExecutingUsername());
         logger.trace("Returning processChain by ID \"{}\"", id);
         return entity;
     }
 
+    /**
+     * Return the {@link ProcessChain}s with the given ids in the order of the ids.
+     * The ProcessChains are queried at once, unknown ids are skipped.
+     *
+     * @param ids of the ProcessChains
+     * @return the ProcessChains with the given ids
+     */
+    public List<ProcessChain> getByIds(final Collection<String> ids) {
+        return pageQuery.findByIds(ProcessChain.class, ids);
+    }
+
     /**
      * Return ProcessChain with given name
      *
@@ -301,15 +331,7 @@ public class ProcessChainService implements Service<ProcessChain> {
      * @see de.unibremen.swp2.kcb.model.Job
      */
     public List<ProcessChain> getActive() {
-
-        List<ProcessChain> result = new ArrayList<>();
-
-        for (Job job : jobService.getAll()) {
-            ProcessChain processChain = job.getProcessChain();
-            if (!result.contains(processChain))
-                result.add(processChain);
-        }
-        return result;
+        return new ArrayList<>(jobService.getProcessChains());
     }
 
     /**
@@ -427,6 +449,22 @@ public class ProcessChainService implements Service<ProcessChain> {
         return processChainRepository.findAll();
     }
 
+    /**
+     * Return the page of {@link ProcessChain}s described by the given request.
+     *
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of ProcessChains
+     * @throws FindByException if the page request is invalid
+     */
+    public List<ProcessChain> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(ProcessChain.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for ProcessChains: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
     /**
      * Returns if the processChain can be deleted.
      *
@@ -1,11 +1,15 @@
 package de.unibremen.swp2.kcb.service;
 
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.CarrierType;
 import de.unibremen.swp2.kcb.model.Locations.Workstation;
 import de.unibremen.swp2.kcb.model.ProcessChain;
 import de.unibremen.swp2.kcb.model.ProcessStep;
 import de.unibremen.swp2.kcb.model.StateMachine.StateMachine;
 import de.unibremen.swp2.kcb.model.parameter.Parameter;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.persistence.ProcessStepRepository;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import de.unibremen.swp2.kcb.validator.backend.*;
@@ -17,6 +21,7 @@ import javax.inject.Inject;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -28,6 +33,7 @@ import java.util.List;
  * @author Arvid
  */
 @Transactional
+@Monitored
 public class ProcessStepService implements Service<ProcessStep> {
 
     /**
@@ -53,6 +59,18 @@ public class ProcessStepService implements Service<ProcessStep> {
     @Inject
     private ProcessStepRepository processStepRepository;
 
+    /**
+     * Injected instance of {@link PageQuery} to query pages of ProcessSteps.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
+    /**
+     * Injected instance of {@link EntityCache} to evict changed ProcessSteps from the second-level cache.
+     */
+    @Inject
+    private EntityCache entityCache;
+
     /**
      * Injected instance of {@link ParameterValidator} to validate provided {@link Parameter}s.
      */
@@ -133,7 +151,7 @@ public class ProcessStepService implements Service<ProcessStep> {
         }
 
         logger.trace("Saving of processStep \"{}\" completed without exceptions.", entity);
-        logger.info("Create processStep \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+        logger.info("Create processStep \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUsername());
         logger.trace("Returning processStep \"{}\"", entity);
         return repoEntity;
     }
@@ -182,13 +200,14 @@ public class ProcessStepService implements Service<ProcessStep> {
         try {
             logger.trace("Attempting to save new processStep \"{}\" ...", entity);
             repoEntity = processStepRepository.saveAndFlushAndRefresh(entity);
+            entityCache.evict(ProcessStep.class, entity.getId());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while persisting processStep \"{}\". Can't update processStep.", entity);
             throw new UpdateException("Can't update processStep: " + e.getMessage());
         }
 
         logger.trace("Saving of processStep \"{}\" completed without exceptions.", entity);
-        logger.info("Update processStep \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+        logger.info("Update processStep \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUsername());
         logger.trace("Returning processStep \"{}\"", entity);
         return repoEntity;
     }
@@ -215,7 +234,8 @@ public class ProcessStepService implements Service<ProcessStep> {
         try {
             logger.trace("Attempting to delete processStep \"{}\" ...", entity);
             processStepRepository.attachAndRemove(entity);
-            logger.info("Delete processStep \"{}\" triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+            entityCache.evict(ProcessStep.class, entity.getId());
+            logger.info("Delete processStep \"{}\" triggered by: {}", entity.getName(), userService.getExecutingUsername());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while deleting processStep \"{}\". Can't delete processStep.", entity);
             throw new DeletionException("Can't delete processStep: " + e.getMessage());
@@ -252,11 +272,22 @@ public class ProcessStepService implements Service<ProcessStep> {
         }
 
         logger.trace("Finding of processStep by ID \"{}\" completed without exceptions.", id);
-        logger.info("Find processStep by ID \"{}\" - triggered by: {}", id, userService.getExecutingUser().getUsername());
+        logger.info("Find processStep by ID \"{}\" - triggered by: {}", id, userService.getExecutingUsername());
         logger.trace("Returning processStep by ID \"{}\"", id);
         return entity;
     }
 
+    /**
+     * Return the {@link ProcessStep}s with the given ids in the order of the ids.
+     * The ProcessSteps are queried at once, unknown ids are skipped.
+     *
+     * @param ids of the ProcessSteps
+     * @return the ProcessSteps with the given ids
+     */
+    public List<ProcessStep> getByIds(final Collection<String> ids) {
+        return pageQuery.findByIds(ProcessStep.class, ids);
+    }
+
     /**
      * Return the ProcessStep with the given name.
      * If there is no {@link ProcessStep} with the given name, null will be returned.
@@ -367,6 +398,22 @@ public class ProcessStepService implements Service<ProcessStep> {
         return processStepRepository.findAll();
     }
 
+    /**
+     * Return the page of {@link ProcessStep}s described by the given request.
+     *
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of ProcessSteps
+     * @throws FindByException if the page request is invalid
+     */
+    public List<ProcessStep> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(ProcessStep.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for ProcessSteps: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
     /**
      * Gets active {@link ProcessStep}s.
      *
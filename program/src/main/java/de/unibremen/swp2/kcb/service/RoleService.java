@@ -1,5 +1,6 @@
 package de.unibremen.swp2.kcb.service;
 
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.Role;
 import de.unibremen.swp2.kcb.service.serviceExceptions.CreationException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.DeletionException;
@@ -13,6 +14,7 @@ import java.util.HashSet;
  * @author Robin
  * @author Marius
  */
+@Monitored
 public class RoleService implements Service<Role> {
 
     /**
@@ -1,9 +1,13 @@
 package de.unibremen.swp2.kcb.service;
 
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.StateMachine.StateExec;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.persistence.statemachine.StateExecRepository;
 import de.unibremen.swp2.kcb.service.serviceExceptions.CreationException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.DeletionException;
+import de.unibremen.swp2.kcb.service.serviceExceptions.FindByException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.InvalidIdException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.UpdateException;
 import org.apache.logging.log4j.LogManager;
@@ -13,6 +17,7 @@ import javax.inject.Inject;
 import javax.persistence.PersistenceException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -22,6 +27,7 @@ import java.util.List;
  * @author Robin
  * @author Arvid
  */
+@Monitored
 public class StateExecService implements Service<StateExec> {
 
     /**
@@ -35,6 +41,12 @@ public class StateExecService implements Service<StateExec> {
     @Inject
     private StateExecRepository stateExecRepository;
 
+    /**
+     * Injected instance of {@link PageQuery} to query pages of StateExecs.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
     /**
      * Injected instance of userService
      */
@@ -111,11 +123,22 @@ public class StateExecService implements Service<StateExec> {
         }
 
         logger.trace("Finding of stateExec by ID \"{}\" completed without exceptions.", id);
-        logger.info("Find stateExec by ID \"{}\" - triggered by: {}", id, userService.getExecutingUser().getUsername());
+        logger.info("Find stateExec by ID \"{}\" - triggered by: {}", id, userService.getExecutingUsername());
         logger.trace("Returning stateExec by ID \"{}\"", id);
         return entity;
     }
 
+    /**
+     * Return the {@link StateExec}s with the given ids in the order of the ids.
+     * The StateExecs are queried at once, unknown ids are skipped.
+     *
+     * @param ids of the StateExecs
+     * @return the StateExecs with the given ids
+     */
+    public List<StateExec> getByIds(final Collection<String> ids) {
+        return pageQuery.findByIds(StateExec.class, ids);
+    }
+
     /**
      * Return all existing StateExecs.
      *
@@ -126,4 +149,20 @@ public class StateExecService implements Service<StateExec> {
         return stateExecRepository.findAll();
     }
 
+    /**
+     * Return the page of {@link StateExec}s described by the given request.
+     *
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of StateExecs
+     * @throws FindByException if the page request is invalid
+     */
+    public List<StateExec> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(StateExec.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for StateExecs: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
 }
@@ -1,11 +1,15 @@
 package de.unibremen.swp2.kcb.service;
 
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.Locations.Workstation;
 import de.unibremen.swp2.kcb.model.StateMachine.StateExec;
 import de.unibremen.swp2.kcb.model.StateMachine.StateHistory;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.persistence.statemachine.StateHistoryRepository;
 import de.unibremen.swp2.kcb.service.serviceExceptions.CreationException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.DeletionException;
+import de.unibremen.swp2.kcb.service.serviceExceptions.FindByException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.InvalidIdException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.UpdateException;
 import org.apache.logging.log4j.LogManager;
@@ -16,6 +20,8 @@ import javax.inject.Inject;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -26,6 +32,7 @@ import java.util.List;
  * @author Arvid
  */
 @Transactional
+@Monitored
 public class StateHistoryService implements Service<StateHistory> {
 
     /**
@@ -39,6 +46,12 @@ public class StateHistoryService implements Service<StateHistory> {
     @Inject
     private StateHistoryRepository stateHistoryRepository;
 
+    /**
+     * Injected instance of {@link PageQuery} to query pages of StateHistories.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
     /**
      * Injected instance of {@link UserService} to validate provided {@link Workstation}s.
      */
@@ -68,7 +81,7 @@ public class StateHistoryService implements Service<StateHistory> {
         }
 
         logger.trace("Saving of stateHistory \"{}\" completed without exceptions.", entity);
-        logger.info("Create stateHistory \"{}\" - triggered by: {}", entity.getId(), userService.getExecutingUser().getUsername());
+        logger.info("Create stateHistory \"{}\" - triggered by: {}", entity.getId(), userService.getExecutingUsername());
         logger.trace("Returning stateHistory \"{}\"", entity);
         return repoEntity;
     }
@@ -103,7 +116,7 @@ public class StateHistoryService implements Service<StateHistory> {
         }
 
         logger.trace("Saving of stateHistory \"{}\" completed without exceptions.", entity);
-        logger.info("Update stateHistory \"{}\" - triggered by: {}", entity.getId(), userService.getExecutingUser().getUsername());
+        logger.info("Update stateHistory \"{}\" - triggered by: {}", entity.getId(), userService.getExecutingUsername());
         logger.trace("Returning stateHistory \"{}\"", entity);
         return repoEntity;
     }
@@ -128,7 +141,7 @@ public class StateHistoryService implements Service<StateHistory> {
         try {
             logger.trace("Attempting to delete stateHistory \"{}\" ...", entity);
             stateHistoryRepository.attachAndRemove(entity);
-            logger.info("Delete stateHistory \"{}\" triggered by: {}", entity.getId(), userService.getExecutingUser().getUsername());
+            logger.info("Delete stateHistory \"{}\" triggered by: {}", entity.getId(), userService.getExecutingUsername());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while deleting stateHistory \"{}\". Can't delete stateHistory.",entity);
             throw new DeletionException("Can't delete stateHistory: " + e.getMessage());
@@ -196,6 +209,24 @@ public class StateHistoryService implements Service<StateHistory> {
         return (finishedAt == null && startedAt != null);
     }
 
+    /**
+     * Appends a new StateExec to the end of the stateHistory.
+     * StateExecs are never reordered or removed, so saving the history only inserts
+     * the new StateExec and its index instead of rewriting the previous StateExecs.
+     *
+     * @param stateHistory the stateHistory
+     * @param stateExec    the new stateExec
+     */
+    public void appendStateExec(StateHistory stateHistory, StateExec stateExec) {
+        if (stateHistory == null || stateExec == null)
+            return;
+
+        if (stateHistory.getStateExecs() == null)
+            stateHistory.setStateExecs(new ArrayList<>());
+
+        stateHistory.getStateExecs().add(stateExec);
+    }
+
     /**
      * Returns the latest StateExec in the stateHistory.
      *
@@ -224,6 +255,22 @@ public class StateHistoryService implements Service<StateHistory> {
         return stateHistoryRepository.findAll();
     }
 
+    /**
+     * Return the page of {@link StateHistory}s described by the given request.
+     *
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of StateHistories
+     * @throws FindByException if the page request is invalid
+     */
+    public List<StateHistory> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(StateHistory.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for StateHistories: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
     /**
      * Return the StateHistory with the provided unique ID
      *
@@ -255,8 +302,20 @@ public class StateHistoryService implements Service<StateHistory> {
         }
 
         logger.trace("Finding of stateHistory by ID \"{}\" completed without exceptions.", id);
-        logger.info("Find stateHistory by ID \"{}\" - triggered by: {}", id, userService.getExecutingUser().getUsername());
+        logger.info("Find stateHistory by ID \"{}\" - triggered by: {}", id, userService.getExecutingUsername());
         logger.trace("Returning stateHistory by ID \"{}\"", id);
         return entity;
     }
+
+    /**
+     * Return the {@link StateHistory}s with the given ids in the order of the ids.
+     * The StateHistories are queried at once, unknown ids are skipped.
+     *
+     * @param ids of the StateHistories
+     * @return the StateHistories with the given ids
+     */
+    @RequiresAuthentication
+    public List<StateHistory> getByIds(final Collection<String> ids) {
+        return pageQuery.findByIds(StateHistory.class, ids);
+    }
 }
@@ -1,8 +1,12 @@
 package de.unibremen.swp2.kcb.service;
 
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.ProcessStep;
 import de.unibremen.swp2.kcb.model.StateMachine.State;
 import de.unibremen.swp2.kcb.model.StateMachine.StateMachine;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.persistence.statemachine.StateMachineRepository;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import de.unibremen.swp2.kcb.validator.backend.StateMachineValidator;
@@ -15,6 +19,7 @@ import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -27,6 +32,7 @@ import java.util.List;
  */
 @Transactional
 @ApplicationScoped
+@Monitored
 public class StateMachineService implements Service<StateMachine> {
 
     /**
@@ -46,6 +52,18 @@ public class StateMachineService implements Service<StateMachine> {
     @Inject
     private StateMachineRepository stateMachineRepository;
 
+    /**
+     * Injected instance of {@link PageQuery} to query pages of StateMachines.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
+    /**
+     * Injected instance of {@link EntityCache} to evict changed StateMachines from the second-level cache.
+     */
+    @Inject
+    private EntityCache entityCache;
+
     /**
      * Injected instance of {@link StateService}
      */
@@ -124,7 +142,7 @@ public class StateMachineService implements Service<StateMachine> {
         }
 
         logger.trace("Saving of stateMachine \"{}\" completed without exceptions.", entity);
-        logger.info("Create stateMachine \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+        logger.info("Create stateMachine \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUsername());
         logger.trace("Returning stateMachine \"{}\"", entity);
         return repoEntity;
     }
@@ -172,13 +190,14 @@ public class StateMachineService implements Service<StateMachine> {
         try {
             logger.trace("Attempting to save new stateMachine \"{}\" ...", entity);
             repoEntity = stateMachineRepository.saveAndFlushAndRefresh(entity);
+            entityCache.evict(StateMachine.class, entity.getId());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while persisting stateMachine \"{}\". Can't update stateMachine.", entity);
             throw new UpdateException("Can't update stateMachine: " + e.getMessage());
         }
 
         logger.trace("Saving of stateMachine \"{}\" completed without exceptions.", entity);
-        logger.info("Update stateMachine \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+        logger.info("Update stateMachine \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUsername());
         logger.trace("Returning stateMachine \"{}\"", entity);
         return repoEntity;
     }
@@ -204,7 +223,8 @@ public class StateMachineService implements Service<StateMachine> {
         try {
             logger.trace("Attempting to delete stateMachine \"{}\" ...", entity);
             stateMachineRepository.attachAndRemove(entity);
-            logger.info("Delete stateMachine \"{}\" triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+            entityCache.evict(StateMachine.class, entity.getId());
+            logger.info("Delete stateMachine \"{}\" triggered by: {}", entity.getName(), userService.getExecutingUsername());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while deleting stateMachine \"{}\". Can't delete stateMachine.", entity);
             throw new DeletionException("Can't delete stateMachine: " + e.getMessage());
@@ -221,6 +241,22 @@ public class StateMachineService implements Service<StateMachine> {
         return stateMachineRepository.findAll();
     }
 
+    /**
+     * Return the page of {@link StateMachine}s described by the given request.
+     *
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of StateMachines
+     * @throws FindByException if the page request is invalid
+     */
+    public List<StateMachine> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(StateMachine.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for StateMachines: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
     /**
      * Return the {@link StateMachine} with the given id.
      *
@@ -251,11 +287,22 @@ public class StateMachineService implements Service<StateMachine> {
         }
 
         logger.trace("Finding of stateMachine by ID \"{}\" completed without exceptions.", id);
-        logger.info("Find stateMachine by ID \"{}\" - triggered by: {}", id, userService.getExecutingUser().getUsername());
+        logger.info("Find stateMachine by ID \"{}\" - triggered by: {}", id, userService.getExecutingUsername());
         logger.trace("Returning stateMachine by ID \"{}\"", id);
         return entity;
     }
 
+    /**
+     * Return the {@link StateMachine}s with the given ids in the order of the ids.
+     * The StateMachines are queried at once, unknown ids are skipped.
+     *
+     * @param ids of the StateMachines
+     * @return the StateMachines with the given ids
+     */
+    public List<StateMachine> getByIds(final Collection<String> ids) {
+        return pageQuery.findByIds(StateMachine.class, ids);
+    }
+
     /**
      * Return the {@link StateMachine}s with the given name.
      *
@@ -1,11 +1,15 @@
 package de.unibremen.swp2.kcb.service;
 
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.Locations.Workstation;
 import de.unibremen.swp2.kcb.model.Procedure;
 import de.unibremen.swp2.kcb.model.StateMachine.State;
 import de.unibremen.swp2.kcb.model.StateMachine.StateExec;
 import de.unibremen.swp2.kcb.model.StateMachine.StateHistory;
 import de.unibremen.swp2.kcb.model.StateMachine.StateMachine;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.persistence.statemachine.StateRepository;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import de.unibremen.swp2.kcb.validator.backend.StateValidator;
@@ -16,6 +20,7 @@ import org.apache.logging.log4j.Logger;
 import javax.inject.Inject;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -27,6 +32,7 @@ import java.util.List;
  * @author Arvid
  */
 @Transactional
+@Monitored
 public class StateService implements Service<State> {
 
     /**
@@ -46,6 +52,18 @@ public class StateService implements Service<State> {
     @Inject
     private StateRepository stateRepository;
 
+    /**
+     * Injected instance of {@link PageQuery} to query pages of States.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
+    /**
+     * Injected instance of {@link EntityCache} to evict changed States from the second-level cache.
+     */
+    @Inject
+    private EntityCache entityCache;
+
     /**
      * Injected instance of {@link ProcedureService}
      */
@@ -112,7 +130,7 @@ public class StateService implements Service<State> {
         }
 
         logger.trace("Saving of state \"{}\" completed without exceptions.", entity);
-        logger.info("Create state \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+        logger.info("Create state \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUsername());
         logger.trace("Returning state \"{}\"", entity);
         return repoEntity;
     }
@@ -159,13 +177,14 @@ public class StateService implements Service<State> {
         try {
             logger.trace("Attempting to save new state \"{}\" ...", entity);
             repoEntity = stateRepository.saveAndFlushAndRefresh(entity);
+            entityCache.evict(State.class, entity.getId());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while persisting state \"{}\". Can't update state.", entity);
             throw new UpdateException("Can't update state: " + e.getMessage());
         }
 
         logger.trace("Saving of state \"{}\" completed without exceptions.", entity);
-        logger.info("Update state \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+        logger.info("Update state \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUsername());
         logger.trace("Returning state \"{}\"", entity);
         return repoEntity;
     }
@@ -190,7 +209,8 @@ public class StateService implements Service<State> {
         try {
             logger.trace("Attempting to delete state \"{}\" ...", entity);
             stateRepository.attachAndRemove(entity);
-            logger.info("Delete state \"{}\" triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+            entityCache.evict(State.class, entity.getId());
+            logger.info("Delete state \"{}\" triggered by: {}", entity.getName(), userService.getExecutingUsername());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while deleting state \"{}\". Can't delete state.", entity);
             throw new DeletionException("Can't delete state: " + e.getMessage());
@@ -311,6 +331,22 @@ public class StateService implements Service<State> {
         return stateRepository.findAll();
     }
 
+    /**
+     * Return the page of {@link State}s described by the given request.
+     *
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of States
+     * @throws FindByException if the page request is invalid
+     */
+    public List<State> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(State.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for States: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
     public List<State> getAllWithoutTransport() {
         logger.debug("Trying to query all stored States.");
         List<State> allStatesWithoutTransport = stateRepository.findAll();
@@ -359,11 +395,22 @@ public class StateService implements Service<State> {
         }
 
         logger.trace("Finding of state by ID \"{}\" completed without exceptions.", id);
-        logger.info("Find state by ID \"{}\" - triggered by: {}", id, userService.getExecutingUser().getUsername());
+        logger.info("Find state by ID \"{}\" - triggered by: {}", id, userService.getExecutingUsername());
         logger.trace("Returning state by ID \"{}\"", id);
         return entity;
     }
 
+    /**
+     * Return the {@link State}s with the given ids in the order of the ids.
+     * The States are queried at once, unknown ids are skipped.
+     *
+     * @param ids of the States
+     * @return the States with the given ids
+     */
+    public List<State> getByIds(final Collection<String> ids) {
+        return pageQuery.findByIds(State.class, ids);
+    }
+
     /**
      * Return the {@link State}s with the given name.
      * If no States exists with the given name, null will be returned.
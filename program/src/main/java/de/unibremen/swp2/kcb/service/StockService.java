@@ -1,7 +1,10 @@
 package de.unibremen.swp2.kcb.service;
 
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.Assembly;
 import de.unibremen.swp2.kcb.model.Locations.Stock;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.persistence.locations.StockRepository;
 import de.unibremen.swp2.kcb.security.authz.KCBSecure;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
@@ -13,6 +16,7 @@ import javax.inject.Inject;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -24,6 +28,7 @@ import java.util.List;
  */
 @Transactional
 @KCBSecure
+@Monitored
 public class StockService implements Service<Stock> {
 
     /**
@@ -37,6 +42,12 @@ public class StockService implements Service<Stock> {
     @Inject
     private StockRepository stockRepository;
 
+    /**
+     * Injected instance of {@link PageQuery} to query pages of Stocks.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
     /**
      * Injected instance of {@link LocationService}
      */
@@ -72,7 +83,7 @@ public class StockService implements Service<Stock> {
         }
 
         logger.trace("Saving of stock \"{}\" completed without exceptions.", entity);
-        logger.info("Create stock \"{}\" - triggered by: {}", entity.getPosition(), userService.getExecutingUser().getUsername());
+        logger.info("Create stock \"{}\" - triggered by: {}", entity.getPosition(), userService.getExecutingUsername());
         logger.trace("Returning stock \"{}\"", entity);
         return repoEntity;
     }
@@ -108,7 +119,7 @@ public class StockService implements Service<Stock> {
         }
 
         logger.trace("Saving of stock \"{}\" completed without exceptions.", entity);
-        logger.info("Update stock \"{}\" - triggered by: {}", entity.getPosition(), userService.getExecutingUser().getUsername());
+        logger.info("Update stock \"{}\" - triggered by: {}", entity.getPosition(), userService.getExecutingUsername());
         logger.trace("Returning stock \"{}\"", entity);
         return repoEntity;
     }
@@ -134,7 +145,7 @@ public class StockService implements Service<Stock> {
         try {
             logger.trace("Attempting to delete stock \"{}\" ...", entity);
             stockRepository.attachAndRemove(entity);
-            logger.info("Delete stock \"{}\" triggered by: {}", entity.getPosition(), userService.getExecutingUser().getUsername());
+            logger.info("Delete stock \"{}\" triggered by: {}", entity.getPosition(), userService.getExecutingUsername());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while deleting stock \"{}\". Can't delete stock.", entity);
             throw new DeletionException("Can't delete stock: " + e.getMessage());
@@ -172,11 +183,23 @@ public class StockService implements Service<Stock> {
         }
 
         logger.trace("Finding of stock by ID \"{}\" completed without exceptions.", id);
-        logger.info("Find stock by ID \"{}\" - triggered by: {}", id, userService.getExecutingUser().getUsername());
+        logger.info("Find stock by ID \"{}\" - triggered by: {}", id, userService.getExecutingUsername());
         logger.trace("Returning stock by ID \"{}\"", id);
         return entity;
     }
 
+    /**
+     * Return the {@link Stock}s with the given ids in the order of the ids.
+     * The Stocks are queried at once, unknown ids are skipped.
+     *
+     * @param ids of the Stocks
+     * @return the Stocks with the given ids
+     */
+    @RequiresAuthentication
+    public List<Stock> getByIds(final Collection<String> ids) {
+        return pageQuery.findByIds(Stock.class, ids);
+    }
+
     /**
      * Gets all in stock.
      *
@@ -211,4 +234,21 @@ public class StockService implements Service<Stock> {
         logger.info("Successful query: Found {} total Stocks.", allStocks.size() );
         return allStocks;
     }
+
+    /**
+     * Return the page of {@link Stock}s described by the given request.
+     *
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of Stocks
+     * @throws FindByException if the page request is invalid
+     */
+    @RequiresAuthentication
+    public List<Stock> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(Stock.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for Stocks: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
 }
\ No newline at end of file
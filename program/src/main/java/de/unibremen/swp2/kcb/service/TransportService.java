@@ -3,9 +3,12 @@ package de.unibremen.swp2.kcb.service;
 import de.unibremen.swp2.kcb.model.Locations.Transport;
 import de.unibremen.swp2.kcb.model.Role;
 import de.unibremen.swp2.kcb.model.User;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.persistence.UserRepository;
 import de.unibremen.swp2.kcb.persistence.locations.TransportRepository;
 import de.unibremen.swp2.kcb.service.serviceExceptions.DeletionException;
+import de.unibremen.swp2.kcb.service.serviceExceptions.FindByException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.InvalidIdException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -14,6 +17,7 @@ import javax.inject.Inject;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -36,6 +40,12 @@ public class TransportService implements Serializable {
     @Inject
     private TransportRepository transportRepository;
 
+    /**
+     * Injected instance of {@link PageQuery} to query pages of Transports.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
     /**
      * Injected instance of {@link UserRepository}
      */
@@ -57,6 +67,22 @@ public class TransportService implements Serializable {
         return transportRepository.findAll();
     }
 
+    /**
+     * Return the page of {@link Transport}s described by the given request.
+     *
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of Transports
+     * @throws FindByException if the page request is invalid
+     */
+    public List<Transport> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(Transport.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for Transports: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
     /**
      * Gets transport by user.
      *
@@ -87,11 +113,22 @@ public class TransportService implements Serializable {
         }
 
         logger.trace("Finding of transport by ID \"{}\" completed without exceptions.", id);
-        logger.info("Find transport by ID \"{}\" - triggered by: {}", id, userService.getExecutingUser().getUsername());
+        logger.info("Find transport by ID \"{}\" - triggered by: {}", id, userService.getExecutingUsername());
         logger.trace("Returning transport by ID \"{}\"", id);
         return entity;
     }
 
+    /**
+     * Return the {@link Transport}s with the given ids in the order of the ids.
+     * The Transports are queried at once, unknown ids are skipped.
+     *
+     * @param ids of the Transports
+     * @return the Transports with the given ids
+     */
+    public List<Transport> getByIds(final Collection<String> ids) {
+        return pageQuery.findByIds(Transport.class, ids);
+    }
+
     /**
      * Creates a new transport for a user with the role transport.
      *
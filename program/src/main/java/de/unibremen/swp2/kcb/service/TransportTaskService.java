@@ -0,0 +1,179 @@
+package de.unibremen.swp2.kcb.service;
+
+import de.unibremen.swp2.kcb.model.Job;
+import de.unibremen.swp2.kcb.model.Priority;
+import de.unibremen.swp2.kcb.model.TransportTask;
+import de.unibremen.swp2.kcb.model.TransportTaskType;
+import de.unibremen.swp2.kcb.persistence.TransportTaskRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Service class to handle the transport work queue. The queue contains a {@link TransportTask}
+ * for every {@link Job} whose assemblies currently have to be collected, delivered or returned to the stock.
+ * It is maintained on every state transition of a Job, so the transport overview doesn't have to
+ * check every active Job on each request.
+ *
+ * @author Marius
+ */
+@Transactional
+@ApplicationScoped
+public class TransportTaskService implements Serializable {
+
+    /**
+     * Logger object of the TransportTaskService class
+     */
+    private static final Logger logger = LogManager.getLogger(TransportTaskService.class);
+
+    /**
+     * Injected instance of {@link TransportTaskRepository} to query database for {@link TransportTask}s.
+     */
+    @Inject
+    private TransportTaskRepository transportTaskRepository;
+
+    /**
+     * Injected instance of {@link JobService}.
+     */
+    @Inject
+    private JobService jobService;
+
+    /**
+     * Returns which kind of transport the given job currently needs.
+     *
+     * @param job the job
+     * @return the type of transport needed or null if the job doesn't need transport
+     */
+    public TransportTaskType getRequiredType(final Job job) {
+        if (job == null)
+            return null;
+
+        if (jobService.isCancelledAndAssemblyNotInStock(job))
+            return TransportTaskType.RETURN;
+
+        if (jobService.needsCollection(job))
+            return TransportTaskType.COLLECT;
+
+        if (jobService.needsDelivery(job))
+            return TransportTaskType.DELIVER;
+
+        return null;
+    }
+
+    /**
+     * Updates the transport queue entry of the given job. Creates, updates or removes
+     * the {@link TransportTask} of the job depending on the transport it currently needs.
+     * The stored entry is looked up first, so a job is never queued twice. Persistence errors
+     * mark the transaction for rollback, so they are passed on to the caller.
+     *
+     * @param job the job whose state changed
+     */
+    public void sync(final Job job) {
+        if (job == null)
+            return;
+
+        final TransportTaskType type = this.getRequiredType(job);
+        final Integer priorityValue = job.getPriority() == null ? null : job.getPriority().getValue();
+        final List<TransportTask> stored = transportTaskRepository.findByJob(job);
+
+        if (type == null) {
+            for (TransportTask task : stored)
+                transportTaskRepository.attachAndRemove(task);
+            return;
+        }
+
+        final TransportTask task = stored.isEmpty() ? new TransportTask() : stored.get(0);
+
+        if (task.getType() == type && task.getJob() != null
+                && Objects.equals(task.getPriorityValue(), priorityValue))
+            return;
+
+        // a changed priority keeps the position in the queue of jobs with the same priority
+        if (task.getType() != type)
+            task.setCreatedAt(LocalDateTime.now());
+        task.setJob(job);
+        task.setType(type);
+        task.setPriorityValue(priorityValue);
+        transportTaskRepository.save(task);
+        logger.debug("Job \"{}\" queued for transport: {}", job.getName(), type);
+    }
+
+    /**
+     * Removes the given job from the transport queue.
+     *
+     * @param job the job
+     */
+    public void remove(final Job job) {
+        if (job == null)
+            return;
+
+        for (TransportTask task : transportTaskRepository.findByJob(job))
+            transportTaskRepository.attachAndRemove(task);
+    }
+
+    /**
+     * Updates the order of the queued jobs with the given priority after its value changed.
+     *
+     * @param priority the changed priority
+     */
+    public void updatePriority(final Priority priority) {
+        if (priority == null)
+            return;
+
+        final int updated = transportTaskRepository.updatePriorityValue(priority, priority.getValue());
+        logger.debug("Priority \"{}\" of {} queued jobs changed.", priority.getName(), updated);
+    }
+
+    /**
+     * Rebuilds the whole transport queue from the active and cancelled jobs.
+     * Jobs can be created without the services (e.g. demo data), so the queue is rebuilt once on startup.
+     */
+    public void rebuild() {
+        logger.debug("Rebuilding transport queue...");
+
+        for (TransportTask task : transportTaskRepository.findAll())
+            transportTaskRepository.attachAndRemove(task);
+
+        for (Job job : jobService.getActive())
+            this.sync(job);
+
+        for (Job job : jobService.getCancelled())
+            this.sync(job);
+    }
+
+    /**
+     * Return all {@link Job}s that need transport, ordered by priority and waiting time.
+     *
+     * @return the jobs that need transport
+     */
+    public List<Job> getQueuedJobs() {
+        return transportTaskRepository.findQueuedJobs();
+    }
+
+    /**
+     * Return a page of the {@link Job}s that need transport, ordered by priority and waiting time.
+     *
+     * @param first index of the first job to be returned
+     * @param max   maximum number of jobs to be returned
+     * @return the requested page of jobs that need transport
+     */
+    public List<Job> getQueuedJobs(final int first, final int max) {
+        return transportTaskRepository.findQueuedJobs(first, max);
+    }
+
+    /**
+     * Return the number of jobs in the transport queue.
+     *
+     * @return length of the transport queue
+     */
+    public long getQueueLength() {
+        return transportTaskRepository.count();
+    }
+}
@@ -2,13 +2,19 @@ package de.unibremen.swp2.kcb.service;
 
 import com.google.common.hash.Hashing;
 import com.lambdaworks.crypto.SCryptUtil;
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.Locations.Workstation;
 import de.unibremen.swp2.kcb.model.ResetToken;
 import de.unibremen.swp2.kcb.model.Role;
 import de.unibremen.swp2.kcb.model.User;
+import de.unibremen.swp2.kcb.persistence.AfterCommit;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.persistence.ResetTokenRepository;
 import de.unibremen.swp2.kcb.persistence.UserRepository;
 import de.unibremen.swp2.kcb.persistence.locations.TransportRepository;
+import de.unibremen.swp2.kcb.persistence.locations.WorkstationMembershipIndex;
+import de.unibremen.swp2.kcb.security.ExecutingUserHolder;
 import de.unibremen.swp2.kcb.security.KCBRealm;
 import de.unibremen.swp2.kcb.security.authz.KCBSecure;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
@@ -29,15 +35,11 @@ import org.apache.shiro.subject.Subject;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.ContextNotActiveException;
 import javax.faces.context.FacesContext;
 import javax.inject.Inject;
-import javax.mail.Address;
-import javax.mail.Message;
 import javax.mail.MessagingException;
-import javax.mail.internet.InternetAddress;
-import javax.mail.internet.MimeBodyPart;
 import javax.mail.internet.MimeMessage;
-import javax.mail.internet.MimeMultipart;
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceException;
 import javax.servlet.http.HttpServletRequest;
@@ -61,6 +63,7 @@ import java.util.List;
 @Transactional
 @ApplicationScoped
 @KCBSecure
+@Monitored
 public class UserService implements Service<User> {
 
     /**
@@ -95,6 +98,12 @@ public class UserService implements Service<User> {
     @Inject
     private UserRepository userRepository;
 
+    /**
+     * Injected instance of {@link PageQuery} to query pages of Users.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
     /**
      * Injected instance of ResetTokenRepository
      */
@@ -113,6 +122,12 @@ public class UserService implements Service<User> {
     @Inject
     private WorkstationService workstationService;
 
+    /**
+     * Injected instance of {@link WorkstationMembershipIndex} to invalidate the workstations of deleted users.
+     */
+    @Inject
+    private WorkstationMembershipIndex workstationMembershipIndex;
+
     /**
      * Injected instance of EntityManagerProducer
      */
@@ -125,6 +140,12 @@ public class UserService implements Service<User> {
     @Inject
     private EmailUtil emailUtil;
 
+    /**
+     * Injected instance of {@link ExecutingUserHolder} holding the executing user of the current request
+     */
+    @Inject
+    private ExecutingUserHolder executingUserHolder;
+
     /**
      * EntityManager instance of UserService class
      */
@@ -202,7 +223,7 @@ public class UserService implements Service<User> {
         }
 
         logger.trace("Saving of user \"{}\" completed without exceptions.", entity);
-        logger.info("Create user \"{}\" - triggered by: {}", entity.getUsername(), getExecutingUser().getUsername());
+        logger.info("Create user \"{}\" - triggered by: {}", entity.getUsername(), getExecutingUsername());
         logger.trace("Returning user \"{}\"", entity);
         return repoEntity;
     }
@@ -270,12 +291,15 @@ public class UserService implements Service<User> {
 
         logger.trace("Saving of user \"{}\" completed without exceptions.",entity);
         // When resetting password the executing user is null since there is no seccion
-        final String updatingUser = getExecutingUser() != null ? getExecutingUser().getUsername()
+        final String executingUsername = getExecutingUsername();
+        final String updatingUser = executingUsername != null ? executingUsername
           : "password reset of " + entity.getUsername();
         logger.info("Update user \"{} - triggered by: {}", entity.getUsername(), updatingUser);
         logger.trace("Returning user \"{}\"", entity);
         // Clear realm cache to update user roles immediately
         this.clearRealmCache(entity);
+        // The executing user may have been updated, load it again on next access
+        this.clearExecutingUser();
         return repoEntity;
     }
 
@@ -318,17 +342,20 @@ public class UserService implements Service<User> {
                 workstation.getUsers().remove(entity);
                 logger.debug("Removed user from workstation {}.", workstation.getName());
             }
+            workstationMembershipIndex.invalidate(entity);
         }
 
         //Deleting user
         try {
             logger.trace("Attempting to delete user \"{}\" ...", entity);
             userRepository.attachAndRemove(entity);
-            logger.info("Delete user \"{}\" triggered by: {}",entity.getUsername(), getExecutingUser().getUsername());
+            logger.info("Delete user \"{}\" triggered by: {}",entity.getUsername(), getExecutingUsername());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while deleting user \"{}\". Can't delete user.", entity);
             throw new DeletionException("Can't delete user: " + e.getMessage());
         }
+        // Drop the cached roles of the deleted user
+        this.clearRealmCache(entity);
     }
 
     /**
@@ -338,12 +365,47 @@ public class UserService implements Service<User> {
      */
     @RequiresAuthentication
     public User getExecutingUser() {
+        final String username = this.getExecutingUsername();
+
+        if (username == null)
+            return null;
+
+        try {
+            User executingUser = executingUserHolder.get(username);
+            if (executingUser == null) {
+                executingUser = this.findExecutingUser(username);
+                executingUserHolder.set(username, executingUser);
+            }
+            return executingUser;
+        } catch (ContextNotActiveException e) {
+            // Not called during a request, e.g. on startup
+            return this.findExecutingUser(username);
+        }
+    }
+
+    /**
+     * Get the username of the currently executing user without loading the user from the database.
+     * Should be used whenever only the name is needed, e.g. for logging.
+     *
+     * @return username of the currently executing user or null if there is none
+     */
+    public String getExecutingUsername() {
         final Subject executingSubject = SecurityUtils.getSubject();
 
-        if (executingSubject == null)
+        if (executingSubject == null || executingSubject.getPrincipal() == null)
             return null;
 
-        final List<User> executingUsers = userRepository.findByUsername((String) executingSubject.getPrincipal());
+        return (String) executingSubject.getPrincipal();
+    }
+
+    /**
+     * Load the user with the given username from the database.
+     *
+     * @param username the username of the executing user
+     * @return the user or null if there is no user with the given username
+     */
+    private User findExecutingUser(final String username) {
+        final List<User> executingUsers = userRepository.findByUsername(username);
 
         if (executingUsers == null || executingUsers.size() < 1)
             return null;
@@ -352,6 +414,17 @@ public class UserService implements Service<User> {
         return executingUsers.get(0);
     }
 
+    /**
+     * Drop the executing user held for the current request, so it is loaded again on next access.
+     */
+    private void clearExecutingUser() {
+        try {
+            executingUserHolder.clear();
+        } catch (ContextNotActiveException e) {
+            // Nothing is held outside of requests
+        }
+    }
+
     /**
      * Get the currently executing subject. Can be used to get information about the executing subject in every context.
      *
@@ -426,6 +499,38 @@ public class UserService implements Service<User> {
         return userRepository.findAll();
     }
 
+    /**
+     * Return the page of {@link User}s described by the given request.
+     *
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of Users
+     * @throws FindByException if the page request is invalid
+     */
+    public List<User> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(User.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for Users: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
+    /**
+     * Return the number of {@link User}s matching the filters of the given request.
+     *
+     * @param pageRequest describes the filters
+     * @return number of matching Users
+     * @throws FindByException if the page request is invalid
+     */
+    public long count(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.count(User.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for Users: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
     /**
      * Send an email to a group of users.
      *
@@ -444,22 +549,7 @@ public class UserService implements Service<User> {
     public void sendNewAccountMail(User user) throws MessagingException {
         try {
             final String newAccountText = "Hello " + user.getFirstName() + " " + user.getLastName() + ", you registered an Account with the Username " + user.getUsername() + ".";
-            final MimeMessage message = emailUtil.createMessage();
-            final MimeMultipart multipart = new MimeMultipart();
-            final MimeBodyPart textPart = new MimeBodyPart();
-
-            textPart.setText(newAccountText, "utf-8");
-
-            multipart.addBodyPart(textPart);
-
-            final Address userEmailAddress = new InternetAddress(user.getEmail());
-
-            message.setContent(multipart);
-            message.setFrom(emailUtil.getSenderEmail());
-            message.setSubject("New Account registered", "utf-8");
-            message.setRecipient(Message.RecipientType.TO, userEmailAddress);
-
-            emailUtil.send(message);
+            emailUtil.queue(user.getEmail(), "New Account registered", newAccountText, null);
         } catch (MessagingException e) {
             logger.warn("E-Mail to user: {} couldn't be send.", user.getEmail());
             throw new MessagingException(e.getMessage());
@@ -520,50 +610,26 @@ public class UserService implements Service<User> {
         }
 
         logger.trace("Finding of user by ID \"{}\" completed without exceptions.", id);
-        logger.info("Find user by ID \"{}\" - triggered by: {}", id, getExecutingUser().getUsername());
+        logger.info("Find user by ID \"{}\" - triggered by: {}", id, getExecutingUsername());
         logger.trace("Returning user by ID \"{}\"", id);
         return entity;
     }
 
     /**
-     * Return a List of users with for the List of given user ids.
+     * Return the {@link User}s with the given ids in the order of the ids.
+     * The Users are queried at once, unknown ids are skipped.
      *
-     * @param ids of the users to be fetched
-<<<<<<< HEAD
-     * @return the user by id
-=======
-     * @return all Users with the given IDs
->>>>>>> 462878d6549b28e851295ba416c492349e9396b6
+     * @param ids of the Users
+     * @return the Users with the given ids
      */
-    public List<User> getByIds(Collection<String> ids) {
-        logger.debug("Fetching users by ids.");
-        if (ids == null) {
-            logger.debug("Attempting to fetch users with ids = null. Aborting.");
-            return new ArrayList<>();
-        }
-        if (ids.size() < 1) {
-            logger.debug("Attempting to fetch users with empty ids. Aborting.");
-            return new ArrayList<>();
-        }
-
-        ArrayList<User> result = new ArrayList<>();
-
-        // Fetch user for every given id and skip if the id is invalid.
-        for (String id : ids) {
-            try {
-                result.add(this.getById(id));
-            } catch (InvalidIdException e) {
-                logger.debug("User id: {}} was found invalid. Skipping...", id);
-                continue;
-            }
-        }
-
-        return result;
+    public List<User> getByIds(final Collection<String> ids) {
+        return pageQuery.findByIds(User.class, ids);
     }
 
-
     /**
-     * Clear the cached information about a given user / subject in all KCBRealms.
+     * Clear the cached information about a given user / subject in all KCBRealms after the current transaction
+     * has been committed. The realms read with their own EntityManagers, so a role check before the commit
+     * would cache the old roles again.
      *
      * @param user the cache will be cleared for
      */
@@ -575,8 +641,8 @@ public class UserService implements Service<User> {
 
             for (Realm realm : realms) {
                 if (realm.getClass().equals(KCBRealm.class)) {
-                    logger.debug("Found {}. Will clear realm cache for {}", realm.getName(), user.getUsername());
-                    ((KCBRealm) realm).refresh(user);
+                    logger.debug("Found {}. Will clear realm cache for {} after commit", realm.getName(), user.getUsername());
+                    AfterCommit.run(() -> ((KCBRealm) realm).refresh(user));
                 }
             }
         } catch (RuntimeException e) {
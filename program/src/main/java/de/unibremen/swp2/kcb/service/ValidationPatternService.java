@@ -1,8 +1,15 @@
 package de.unibremen.swp2.kcb.service;
 
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.ValidationPattern;
+import de.unibremen.swp2.kcb.persistence.AfterCommit;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.persistence.ValidationPatternRepository;
+import de.unibremen.swp2.kcb.service.serviceExceptions.FindByException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.UpdateException;
+import de.unibremen.swp2.kcb.validator.ValidatorConfig;
 import lombok.Data;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -21,6 +28,7 @@ import java.util.List;
  */
 @Data
 @Transactional
+@Monitored
 public class ValidationPatternService implements Service<ValidationPattern>{
 
     /**
@@ -29,6 +37,24 @@ public class ValidationPatternService implements Service<ValidationPattern>{
     @Inject
     private ValidationPatternRepository validationPatternRepository;
 
+    /**
+     * Injected instance of {@link PageQuery} to query pages of ValidationPatterns.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
+    /**
+     * Injected instance of {@link EntityCache} to evict changed ValidationPatterns from the second-level cache.
+     */
+    @Inject
+    private EntityCache entityCache;
+
+    /**
+     * Injected instance of {@link ValidatorConfig} to invalidate cached patterns on update.
+     */
+    @Inject
+    private ValidatorConfig validatorConfig;
+
     /**
      * Logger object of the RegExService class
      */
@@ -61,10 +87,12 @@ public class ValidationPatternService implements Service<ValidationPattern>{
      * accordingly
      *
      * @param name the name of the validationPattern
-     * @return the regular expression
+     * @return the regular expression or null if no validationPattern with the given name exists
      */
     public String getRegEx(String name) {
         ValidationPattern regEx = validationPatternRepository.findBy(name);
+        if (regEx == null)
+            return null;
 
         if ((regEx.getPattern() == null || regEx.getPattern().equals("")) && !regEx.isAdvanced()) {
             String result = "^[";
@@ -115,10 +143,13 @@ public class ValidationPatternService implements Service<ValidationPattern>{
         try {
             logger.trace("Attempting to save new regEx \"{}\" ...", entity);
             validationPatternRepository.save(entity);
+            entityCache.evict(ValidationPattern.class, entity.getName());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while persisting regEx \"{}\". Can't update regEx.", entity);
             throw new UpdateException("Can't update regEx: " + e.getMessage());
         }
+        final String name = entity.getName();
+        AfterCommit.run(() -> validatorConfig.invalidate(name));
 
         logger.trace("Saving of regEx \"{}\" completed without exceptions.", entity);
         logger.trace("Returning regEx \"{}\"", entity);
@@ -146,6 +177,22 @@ public class ValidationPatternService implements Service<ValidationPattern>{
         return validationPatternRepository.findAll();
     }
 
+    /**
+     * Return the page of {@link ValidationPattern}s described by the given request.
+     *
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of ValidationPatterns
+     * @throws FindByException if the page request is invalid
+     */
+    public List<ValidationPattern> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(ValidationPattern.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for ValidationPatterns: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
     /**
      * Returns all validationPatterns from the database according to advanced attribute.
      *
@@ -3,9 +3,12 @@ package de.unibremen.swp2.kcb.service;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.parameter.CardinalValue;
 import de.unibremen.swp2.kcb.model.parameter.Parameter;
 import de.unibremen.swp2.kcb.model.parameter.Value;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.persistence.parameter.ValueRepository;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import de.unibremen.swp2.kcb.validator.backend.ParameterValidator;
@@ -17,6 +20,7 @@ import org.apache.logging.log4j.Logger;
 import javax.inject.Inject;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -28,6 +32,7 @@ import java.util.List;
  * @author Arvid
  */
 @Transactional
+@Monitored
 public class ValueService implements Service<Value> {
 
     /**
@@ -53,6 +58,12 @@ public class ValueService implements Service<Value> {
     @Inject
     private ValueRepository valueRepository;
 
+    /**
+     * Injected instance of {@link PageQuery} to query pages of Values.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
     /**
      * Injected instance Userservice
      */
@@ -100,7 +111,7 @@ public class ValueService implements Service<Value> {
         }
 
         logger.trace("Saving of value \"{}\" completed without exceptions.", entity);
-        logger.info("Create value \"{}\" - triggered by: {}", entity.getValue(), userService.getExecutingUser().getUsername());
+        logger.info("Create value \"{}\" - triggered by: {}", entity.getValue(), userService.getExecutingUsername());
         logger.trace("Returning value \"{}\"", entity);
         return repoEntity;
     }
@@ -154,7 +165,7 @@ public class ValueService implements Service<Value> {
         }
 
         logger.trace("Saving of value \" {} \" completed without exceptions.", entity);
-        logger.info("Update value \" {} \" - triggered by: {}",entity.getValue(), userService.getExecutingUser().getUsername());
+        logger.info("Update value \" {} \" - triggered by: {}",entity.getValue(), userService.getExecutingUsername());
         logger.trace("Returning value \"{}\"", entity);
         return repoEntity;
     }
@@ -180,7 +191,7 @@ public class ValueService implements Service<Value> {
         try {
             logger.trace("Attempting to delete value \" {} \" ...", entity);
             valueRepository.attachAndRemove(entity);
-            logger.info("Delete value \"{}\" triggered by: {}", entity.getValue(), userService.getExecutingUser().getUsername());
+            logger.info("Delete value \"{}\" triggered by: {}", entity.getValue(), userService.getExecutingUsername());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while deleting value \"{}\". Can't delete value.", entity);
             throw new DeletionException("Can't delete value: " + e.getMessage());
@@ -244,11 +255,22 @@ public class ValueService implements Service<Value> {
         }
 
         logger.trace("Finding of value by ID \"{}\" completed without exceptions.", id);
-        logger.info("Find value by ID \"{}\" - triggered by: {}", id, userService.getExecutingUser().getUsername());
+        logger.info("Find value by ID \"{}\" - triggered by: {}", id, userService.getExecutingUsername());
         logger.trace("Returning value by ID \"{}\"", id);
         return entity;
     }
 
+    /**
+     * Return the {@link Value}s with the given ids in the order of the ids.
+     * The Values are queried at once, unknown ids are skipped.
+     *
+     * @param ids of the Values
+     * @return the Values with the given ids
+     */
+    public List<Value> getByIds(final Collection<String> ids) {
+        return pageQuery.findByIds(Value.class, ids);
+    }
+
     /**
      * Return all existing Assemblies.
      *
@@ -259,6 +281,22 @@ public class ValueService implements Service<Value> {
         return valueRepository.findAll();
     }
 
+    /**
+     * Return the page of {@link Value}s described by the given request.
+     *
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of Values
+     * @throws FindByException if the page request is invalid
+     */
+    public List<Value> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(Value.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for Values: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
     /**
      * Return all Values that are executed with a given {@link Parameter}.
      * If the Parameter has no associated Values, an empty Collection will be returned.
@@ -0,0 +1,360 @@
+package de.unibremen.swp2.kcb.service;
+
+import de.unibremen.swp2.kcb.model.*;
+import de.unibremen.swp2.kcb.model.Locations.Workstation;
+import de.unibremen.swp2.kcb.persistence.AfterCommit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.transaction.Transactional;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class maintaining the current {@link WorkstationLoad} of every {@link Workstation}.
+ * Every active {@link Job} contributes to the load of the workstation executing its current procedure.
+ * The contribution of a Job is updated on every state transition and delivery of the Job,
+ * so the load of a workstation can be read without querying the active Jobs.
+ * Changed contributions are applied after the transaction changing the Job has been committed,
+ * so rolled back changes don't affect the loads.
+ * A periodic reconciliation recomputes all loads from scratch and reports drift. Contributions applied
+ * while it queries the active Jobs are newer than its snapshot and are kept.
+ *
+ * @author Marius
+ */
+@Transactional
+@ApplicationScoped
+public class WorkstationLoadService implements Serializable {
+
+    /**
+     * Logger object of the WorkstationLoadService class
+     */
+    private static final Logger logger = LogManager.getLogger(WorkstationLoadService.class);
+
+    /**
+     * Minutes between two reconciliations
+     */
+    private static final long RECONCILIATION_INTERVAL = 10;
+
+    /**
+     * Injected instance of {@link JobService}.
+     */
+    @Inject
+    private JobService jobService;
+
+    /**
+     * Injected proxy of this service, so the reconciliation runs in a transaction when called internally.
+     */
+    @Inject
+    private WorkstationLoadService self;
+
+    /**
+     * Lock guarding the first computation of the loads
+     */
+    private final Object rebuildLock = new Object();
+
+    /**
+     * Executor running the periodic reconciliation
+     */
+    @Resource
+    private transient ManagedScheduledExecutorService executorService;
+
+    /**
+     * Contribution of every active job by job id
+     */
+    private final Map<String, Contribution> contributions = new HashMap<>();
+
+    /**
+     * Load of every workstation by workstation id
+     */
+    private final Map<String, WorkstationLoad> loads = new HashMap<>();
+
+    /**
+     * Contributions applied while a reconciliation is running by job id, null for removed jobs.
+     * They may be newer than the snapshot of the reconciliation and win over it. Null if no reconciliation is running.
+     */
+    private Map<String, Contribution> appliedDuringReconciliation;
+
+    /**
+     * Number of reconciliations currently running
+     */
+    private int runningReconciliations = 0;
+
+    /**
+     * The scheduled reconciliation
+     */
+    private transient ScheduledFuture<?> reconciliation;
+
+    /**
+     * Whether the loads have been computed since the application started.
+     * Jobs can be created without the services (e.g. demo data), so the loads are computed once before the first read.
+     */
+    private volatile boolean rebuilt = false;
+
+    /**
+     * Return the current load of the given workstation.
+     *
+     * @param workstation the workstation
+     * @return copy of the current load, empty if the workstation is null or idle
+     */
+    public WorkstationLoad get(final Workstation workstation) {
+        if (workstation == null)
+            return new WorkstationLoad();
+
+        this.ensureRebuilt();
+        synchronized (this) {
+            final WorkstationLoad load = loads.get(workstation.getId());
+            final WorkstationLoad copy = new WorkstationLoad();
+            if (load != null)
+                copy.add(load, 1);
+            return copy;
+        }
+    }
+
+    /**
+     * Return the current load of every workstation that isn't idle.
+     *
+     * @return copies of the current loads by workstation id
+     */
+    public Map<String, WorkstationLoad> getAll() {
+        this.ensureRebuilt();
+        synchronized (this) {
+            final Map<String, WorkstationLoad> copies = new HashMap<>();
+            for (Map.Entry<String, WorkstationLoad> entry : loads.entrySet()) {
+                final WorkstationLoad copy = new WorkstationLoad();
+                copy.add(entry.getValue(), 1);
+                copies.put(entry.getKey(), copy);
+            }
+            return copies;
+        }
+    }
+
+    /**
+     * Update the contribution of the given job to the load of its workstations after the current transaction has been committed.
+     *
+     * @param job the job whose state changed
+     */
+    public void sync(final Job job) {
+        if (job == null || job.getId() == null)
+            return;
+
+        final String jobId = job.getId();
+        final Contribution contribution = this.getContribution(job, job.getProgress());
+        AfterCommit.run(() -> this.apply(jobId, contribution));
+    }
+
+    /**
+     * Remove the contribution of the given job after the current transaction has been committed.
+     *
+     * @param job the job
+     */
+    public void remove(final Job job) {
+        if (job == null || job.getId() == null)
+            return;
+
+        final String jobId = job.getId();
+        AfterCommit.run(() -> this.apply(jobId, null));
+    }
+
+    /**
+     * Recompute the loads of all workstations from the active jobs and replace the maintained loads.
+     * Contributions applied while the active jobs are queried win over the queried snapshot.
+     * Differences between the maintained and the recomputed loads are logged.
+     *
+     * @return number of workstations whose maintained load differed from the recomputed load
+     */
+    public int reconcile() {
+        logger.debug("Reconciling workstation loads...");
+
+        synchronized (this) {
+            if (runningReconciliations++ == 0)
+                appliedDuringReconciliation = new HashMap<>();
+        }
+
+        try {
+            final Map<String, Contribution> computedContributions = new HashMap<>();
+            for (Job job : jobService.getActive()) {
+                final Contribution contribution = this.getContribution(job, jobService.getProgress(job));
+                if (contribution != null)
+                    computedContributions.put(job.getId(), contribution);
+            }
+
+            int drift = 0;
+            synchronized (this) {
+                for (Map.Entry<String, Contribution> applied : appliedDuringReconciliation.entrySet()) {
+                    if (applied.getValue() == null)
+                        computedContributions.remove(applied.getKey());
+                    else
+                        computedContributions.put(applied.getKey(), applied.getValue());
+                }
+
+                final Map<String, WorkstationLoad> computedLoads = new HashMap<>();
+                for (Contribution contribution : computedContributions.values())
+                    computedLoads.computeIfAbsent(contribution.workstationId, id -> new WorkstationLoad())
+                            .add(contribution.load, 1);
+
+                if (this.rebuilt) {
+                    final Set<String> workstationIds = new HashSet<>(loads.keySet());
+                    workstationIds.addAll(computedLoads.keySet());
+                    for (String workstationId : workstationIds) {
+                        final WorkstationLoad maintained = loads.getOrDefault(workstationId, new WorkstationLoad());
+                        final WorkstationLoad computed = computedLoads.getOrDefault(workstationId, new WorkstationLoad());
+                        if (!maintained.equals(computed)) {
+                            drift++;
+                            logger.warn("Load of workstation \"{}\" drifted: maintained {}, recomputed {}.",
+                                    workstationId, maintained, computed);
+                        }
+                    }
+                }
+
+                contributions.clear();
+                contributions.putAll(computedContributions);
+                loads.clear();
+                loads.putAll(computedLoads);
+                this.rebuilt = true;
+            }
+
+            logger.debug("Reconciled workstation loads, {} drifted.", drift);
+            return drift;
+        } finally {
+            synchronized (this) {
+                if (--runningReconciliations == 0)
+                    appliedDuringReconciliation = null;
+            }
+        }
+    }
+
+    /**
+     * Schedule the periodic reconciliation of the loads. Called once on server startup.
+     */
+    public synchronized void scheduleReconciliation() {
+        if (reconciliation != null || executorService == null)
+            return;
+
+        reconciliation = executorService.scheduleWithFixedDelay(() -> {
+            try {
+                self.reconcile();
+            } catch (RuntimeException e) {
+                logger.warn("Reconciling workstation loads failed: {}", e.getMessage());
+            }
+        }, RECONCILIATION_INTERVAL, RECONCILIATION_INTERVAL, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Cancel the periodic reconciliation.
+     */
+    @PreDestroy
+    public synchronized void cancelReconciliation() {
+        if (reconciliation != null)
+            reconciliation.cancel(false);
+        reconciliation = null;
+    }
+
+    /**
+     * Replace the contribution of the job with the given id and update the affected loads.
+     *
+     * @param jobId        id of the job
+     * @param contribution the new contribution or null if the job doesn't contribute anymore
+     */
+    private synchronized void apply(final String jobId, final Contribution contribution) {
+        if (appliedDuringReconciliation != null)
+            appliedDuringReconciliation.put(jobId, contribution);
+
+        final Contribution previous = contribution == null ? contributions.remove(jobId)
+                : contributions.put(jobId, contribution);
+
+        if (previous != null) {
+            final WorkstationLoad load = loads.get(previous.workstationId);
+            if (load != null) {
+                load.add(previous.load, -1);
+                if (load.isEmpty())
+                    loads.remove(previous.workstationId);
+            }
+        }
+
+        if (contribution != null)
+            loads.computeIfAbsent(contribution.workstationId, id -> new WorkstationLoad()).add(contribution.load, 1);
+    }
+
+    /**
+     * Compute the contribution of the given job.
+     *
+     * @param job      the job
+     * @param progress the progress of the job
+     * @return the contribution or null if the job is not active or its current procedure has no workstation
+     */
+    private Contribution getContribution(final Job job, final JobProgress progress) {
+        if (job.getJobState() != JobState.PROCESSING || progress == null || progress.isComplete())
+            return null;
+
+        final Workstation workstation = progress.getCurrentWorkstation();
+        final List<Procedure> procedures = job.getProcedures();
+        if (workstation == null || procedures == null || progress.getCurrentProcedureIndex() >= procedures.size())
+            return null;
+
+        final ProcessStep processStep = procedures.get(progress.getCurrentProcedureIndex()).getProcessStep();
+        final boolean running = progress.getExecPhase() == ExecPhase.WAITING
+                || progress.getExecPhase() == ExecPhase.RUNNING;
+
+        int samples = 0;
+        if (running && job.getAssemblies() != null) {
+            for (Assembly assembly : job.getAssemblies())
+                samples += assembly.getSampleCount();
+        }
+
+        final WorkstationLoad load = new WorkstationLoad(1, running ? 1 : 0,
+                processStep == null ? 0 : processStep.getEstDuration(), samples);
+        return new Contribution(workstation.getId(), load);
+    }
+
+    /**
+     * Compute the loads if they haven't been computed since the application started.
+     * Concurrent first reads wait for a single computation.
+     */
+    private void ensureRebuilt() {
+        if (this.rebuilt)
+            return;
+        synchronized (rebuildLock) {
+            if (!this.rebuilt)
+                self.reconcile();
+        }
+    }
+
+    /**
+     * Contribution of a single job to the load of a workstation.
+     */
+    private static final class Contribution implements Serializable {
+
+        /**
+         * Id of the workstation executing the current procedure of the job
+         */
+        private final String workstationId;
+
+        /**
+         * Load the job adds to the workstation
+         */
+        private final WorkstationLoad load;
+
+        /**
+         * Create a new contribution.
+         *
+         * @param workstationId id of the workstation
+         * @param load          load the job adds to the workstation
+         */
+        private Contribution(final String workstationId, final WorkstationLoad load) {
+            this.workstationId = workstationId;
+            this.load = load;
+        }
+    }
+}
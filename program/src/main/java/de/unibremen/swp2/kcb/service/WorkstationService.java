@@ -1,7 +1,12 @@
 package de.unibremen.swp2.kcb.service;
 
+import de.unibremen.swp2.kcb.metrics.Monitored;
 import de.unibremen.swp2.kcb.model.*;
 import de.unibremen.swp2.kcb.model.Locations.Workstation;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
+import de.unibremen.swp2.kcb.persistence.locations.WorkstationMembershipIndex;
 import de.unibremen.swp2.kcb.persistence.locations.WorkstationRepository;
 import de.unibremen.swp2.kcb.security.WorkstationAccessProvider;
 import de.unibremen.swp2.kcb.security.authz.KCBSecure;
@@ -18,6 +23,7 @@ import javax.inject.Inject;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -33,6 +39,7 @@ import java.util.Set;
  */
 @Transactional
 @KCBSecure
+@Monitored
 public class WorkstationService implements Service<Workstation> {
 
     /**
@@ -46,6 +53,24 @@ public class WorkstationService implements Service<Workstation> {
     @Inject
     private WorkstationRepository workstationRepository;
 
+    /**
+     * Injected instance of {@link PageQuery} to query pages of Workstations.
+     */
+    @Inject
+    private PageQuery pageQuery;
+
+    /**
+     * Injected instance of {@link EntityCache} to evict changed Workstations from the second-level cache.
+     */
+    @Inject
+    private EntityCache entityCache;
+
+    /**
+     * Injected instance of {@link WorkstationMembershipIndex} to invalidate changed assignments of users.
+     */
+    @Inject
+    private WorkstationMembershipIndex workstationMembershipIndex;
+
     /**
      * Injected instance of {@link WorkstationValidator}
      */
@@ -70,6 +95,12 @@ public class WorkstationService implements Service<Workstation> {
     @Inject
     private JobService jobService;
 
+    /**
+     * Injected instance of {@link WorkstationLoadService} to read the load of workstations
+     */
+    @Inject
+    private WorkstationLoadService workstationLoadService;
+
     /**
      * Injected instance of {@link UserValidator}
      */
@@ -125,13 +156,14 @@ public class WorkstationService implements Service<Workstation> {
         try {
             logger.trace("Attempting to save workstation \"{}\" ...", entity);
             repoEntity = workstationRepository.save(entity);
+            workstationMembershipIndex.invalidateAll();
         } catch (PersistenceException e) {
             logger.debug("Error occurred while persisting workstation \"{}\". Can't create workstation.", entity);
             throw new CreationException("Can't create workstation: " + e.getMessage());
         }
 
         logger.trace("Saving of workstation \"{}\" completed without exceptions.", entity);
-        logger.info("Create workstation \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+        logger.info("Create workstation \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUsername());
         logger.trace("Returning workstation \"{}\"", entity);
         return repoEntity;
     }
@@ -179,13 +211,15 @@ public class WorkstationService implements Service<Workstation> {
         try {
             logger.trace("Attempting to save new workstation \"{}\" ...", entity);
             repoEntity = workstationRepository.saveAndFlushAndRefresh(entity);
+            entityCache.evict(Workstation.class, entity.getId());
+            workstationMembershipIndex.invalidateAll();
         } catch (PersistenceException e) {
             logger.debug("Error occurred while persisting workstation \"{}\". Can't update workstation.", entity);
             throw new UpdateException("Can't update workstation: " + e.getMessage());
         }
 
         logger.trace("Saving of workstation \"{}\" completed without exceptions.", entity);
-        logger.info("Update workstation \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+        logger.info("Update workstation \"{}\" - triggered by: {}", entity.getName(), userService.getExecutingUsername());
         logger.trace("Returning workstation \"{}\"", entity);
         return repoEntity;
     }
@@ -211,7 +245,9 @@ public class WorkstationService implements Service<Workstation> {
         try {
             logger.trace("Attempting to delete workstation \"{}\" ...", entity);
             workstationRepository.attachAndRemove(entity);
-            logger.info("Delete workstation \"{}\" triggered by: {}", entity.getName(), userService.getExecutingUser().getUsername());
+            entityCache.evict(Workstation.class, entity.getId());
+            workstationMembershipIndex.invalidateAll();
+            logger.info("Delete workstation \"{}\" triggered by: {}", entity.getName(), userService.getExecutingUsername());
         } catch (PersistenceException e) {
             logger.debug("Error occurred while deleting workstation \"{}\". Can't delete workstation.", entity);
             throw new DeletionException("Can't delete workstation: " + e.getMessage());
@@ -253,11 +289,23 @@ public class WorkstationService implements Service<Workstation> {
             throw new UnauthorizedException("Not authorized for current workstation.");
 
         logger.trace("Finding of workstation by ID \"{}\" completed without exceptions.", id);
-        logger.info("Find workstation by ID \"{}\" - triggered by: {}", id, userService.getExecutingUser().getUsername());
+        logger.info("Find workstation by ID \"{}\" - triggered by: {}", id, userService.getExecutingUsername());
         logger.trace("Returning workstation by ID \"{}\"", id);
         return entity;
     }
 
+    /**
+     * Return the {@link Workstation}s with the given ids in the order of the ids.
+     * The Workstations are queried at once, unknown ids are skipped.
+     *
+     * @param ids of the Workstations
+     * @return the Workstations with the given ids
+     */
+    @RequiresAuthentication
+    public List<Workstation> getByIds(final Collection<String> ids) {
+        return pageQuery.findByIds(Workstation.class, ids);
+    }
+
 
     /**
      * Return the {@link Workstation} with the given name.
@@ -308,6 +356,17 @@ public class WorkstationService implements Service<Workstation> {
         return activeWorkstations;
     }
 
+    /**
+     * Return the number of active {@link Workstation}s without loading them.
+     *
+     * @return number of active workstations
+     */
+    @RequiresAuthentication
+    public long getActiveCount() {
+        final Long count = workstationRepository.countByActive(true);
+        return count == null ? 0 : count;
+    }
+
     /**
      * Return all {@link Workstation}s that are currently inactive/broken.
      *
@@ -349,6 +408,23 @@ public class WorkstationService implements Service<Workstation> {
         return allWorkstations;
     }
 
+    /**
+     * Return the page of {@link Workstation}s described by the given request.
+     *
+     * @param pageRequest describes the requested page, its order and filters
+     * @return the requested page of Workstations
+     * @throws FindByException if the page request is invalid
+     */
+    @RequiresAuthentication
+    public List<Workstation> getAll(final PageRequest pageRequest) throws FindByException {
+        try {
+            return pageQuery.find(Workstation.class, pageRequest);
+        } catch (IllegalArgumentException | PersistenceException e) {
+            logger.debug("Invalid page request for Workstations: {}", e.getMessage());
+            throw new FindByException(e.getMessage());
+        }
+    }
+
     /**
      * Return duration of all Procedures that are currently located at the {@link Workstation}.
      * The duration will be returned as an int, describing the amount of minutes the {@link Workstation}
@@ -402,23 +478,8 @@ public class WorkstationService implements Service<Workstation> {
             throw new FindByException("Validating given User failed.");
         }
 
-        logger.info("Querying database for all Workstations.");
-
-        List<Workstation> workstationsOperableByUser = new ArrayList<>();
-        List<Workstation> allWorkstations;
-        allWorkstations = workstationRepository.findAll();
-        logger.info("Searching for Workstations operable by {}.", user.getUsername());
-
-        for (Workstation w : allWorkstations) {
-            for (User u : w.getUsers()) {
-                if (u.equals(user)) {
-                    workstationsOperableByUser.add(w);
-                }
-            }
-        }
-
-        logger.info("Successfully sorted out Workstations operable by asked user.");
-        return workstationsOperableByUser;
+        logger.debug("Querying Workstations operable by {}.", user.getUsername());
+        return workstationRepository.findByUser(user);
     }
 
     /**
@@ -494,92 +555,45 @@ public class WorkstationService implements Service<Workstation> {
     }
 
     /**
-     * Gets active job count for a given workstation.
+     * Gets the number of active jobs whose current procedure is executed at the given workstation.
      *
      * @param workstation the workstation
      * @return the active job count
      */
     public int getActiveJobCount(Workstation workstation) {
-        if (workstation == null)
-            return 0;
-
-        int count = 0;
-        for (Job job : jobService.getActive()) {
-            Procedure currentProcedure = jobService.getCurrentProcedure(job);
-
-            if (currentProcedure == null)
-                continue;
-
-            if (currentProcedure.getProcessStep().getWorkstation().equals(workstation))
-                count++;
-        }
+        return workstationLoadService.get(workstation).getActiveJobs();
+    }
 
-        return count;
+    /**
+     * Gets the number of procedures that are currently running at the given workstation.
+     *
+     * @param workstation the workstation
+     * @return the running procedure count
+     */
+    public int getRunningProcedureCount(Workstation workstation) {
+        return workstationLoadService.get(workstation).getRunningProcedures();
     }
 
     /**
-     * Gets active job workload for a given workstation..
+     * Gets active job workload for a given workstation, the estimated minutes of all procedures
+     * queued or running at the workstation.
      *
      * @param workstation the workstation
      * @return the duration of the current workstation
      */
     public int getActiveJobWorkload(Workstation workstation) {
-        if (workstation == null)
-            return 0;
-
-        List<Job> currentJobs = jobService.getCurrentlyRunningByWorkstation(workstation);
-
-        if (currentJobs == null || currentJobs.isEmpty())
-            return 0;
-
-        int duration = 0;
-        for (Job job : currentJobs) {
-            Procedure currentProcedure = jobService.getCurrentProcedure(job);
-
-            if (currentProcedure == null)
-                continue;
-
-            if (currentProcedure.getProcessStep().getWorkstation().equals(workstation))
-                duration += currentProcedure.getProcessStep().getEstDuration();
-        }
-        return duration;
+        return workstationLoadService.get(workstation).getQueuedMinutes();
     }
 
     /**
-     * Gets active job assemblies count for a given workstation.
+     * Gets active job assemblies count for a given workstation, the number of samples
+     * of the procedures running at the workstation.
      *
      * @param workstation the workstation
      * @return the active job assemblies count
      */
     public int getActiveJobAssembliesCount(Workstation workstation) {
-        if (workstation == null)
-            return 0;
-
-        List<Job> currentJobs = jobService.getCurrentlyRunningByWorkstation(workstation);
-
-        if (currentJobs == null || currentJobs.isEmpty())
-            return 0;
-
-        List<Assembly> assemblies = null;
-
-        int sampleCount = 0;
-        for (Job job : currentJobs) {
-            Procedure currentProcedure = jobService.getCurrentProcedure(job);
-
-            if (currentProcedure == null)
-                continue;
-
-            if (currentProcedure.getProcessStep().getWorkstation().equals(workstation))
-                assemblies = job.getAssemblies();
-
-            if (assemblies == null)
-                continue;
-
-            for (Assembly assembly : assemblies) {
-                sampleCount += assembly.getSampleCount();
-            }
-        }
-        return sampleCount;
+        return workstationLoadService.get(workstation).getSamplesInProgress();
     }
 
     /**
@@ -1,8 +1,10 @@
 package de.unibremen.swp2.kcb.util;
 
 import de.unibremen.swp2.kcb.model.Assembly;
+import de.unibremen.swp2.kcb.model.OutboxMail;
 import de.unibremen.swp2.kcb.model.Role;
 import de.unibremen.swp2.kcb.model.User;
+import de.unibremen.swp2.kcb.service.OutboxMailService;
 import de.unibremen.swp2.kcb.service.UserService;
 import lombok.Getter;
 import org.apache.logging.log4j.LogManager;
@@ -14,6 +16,7 @@ import javax.annotation.Resource;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.mail.*;
+import javax.mail.internet.AddressException;
 import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeBodyPart;
 import javax.mail.internet.MimeMessage;
@@ -38,6 +41,12 @@ public class EmailUtil {
     @Inject
     private UserService userService;
 
+    /**
+     * Injected instance of outboxMailService to queue mails with
+     */
+    @Inject
+    private OutboxMailService outboxMailService;
+
     /**
      * Logger object of the UserService class
      */
@@ -73,51 +82,72 @@ public class EmailUtil {
     }
 
     /**
-     * Send email with given mimeMessage
+     * Queue a mail to the given address in the outbox. The mail is stored in the transaction of the caller
+     * and delivered asynchronously by the {@link MailDispatcher}.
+     *
+     * @param email   email address of the recipient
+     * @param subject subject of the mail
+     * @param text    plain text body of the mail
+     * @param html    html body of the mail or null for plain text mails
+     * @throws MessagingException if the email address is invalid
+     */
+    public void queue(final String email, final String subject, final String text, final String html) throws MessagingException {
+        if (email == null || email.isEmpty())
+            throw new AddressException("No email address given");
+        new InternetAddress(email, true).validate();
+        outboxMailService.enqueue(email, subject, text, html);
+    }
+
+    /**
+     * Create the message of a queued mail with the configured mail session
      *
-     * @param message the message to be send
+     * @param mail the queued mail
+     * @return MimeMessage ready to be send
+     * @throws MessagingException if the message couldn't be created
      */
-    public void send(final MimeMessage message) throws MessagingException {
-        Transport.send(message);
+    public MimeMessage createMessage(final OutboxMail mail) throws MessagingException {
+        final MimeMessage message = new MimeMessage(this.session);
+        final MimeMultipart multipart = new MimeMultipart();
+        final MimeBodyPart textPart = new MimeBodyPart();
+        textPart.setText(mail.getText() == null ? "" : mail.getText(), encoding);
+        multipart.addBodyPart(textPart);
+
+        if (mail.getHtml() != null) {
+            final MimeBodyPart htmlPart = new MimeBodyPart();
+            htmlPart.setContent(mail.getHtml(), "text/html; charset=utf-8");
+            multipart.addBodyPart(htmlPart);
+        }
+
+        message.setContent(multipart);
+        message.setFrom(this.senderEmail);
+        message.setSubject(mail.getSubject(), encoding);
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress(mail.getRecipient()));
+        message.saveChanges();
+        return message;
     }
 
     /**
-     * Create new Mime Message with configured mail session
+     * Open a connection to the mail server of the configured mail session.
+     * The connection can be used to send several messages and has to be closed afterwards.
      *
-     * @return MimeMessage with configured session
+     * @return the connected transport
+     * @throws MessagingException if the mail server couldn't be reached
      */
-    public MimeMessage createMessage() {
-        return new MimeMessage(this.session);
+    public Transport connect() throws MessagingException {
+        final Transport transport = this.session.getTransport();
+        transport.connect();
+        return transport;
     }
 
     /**
-     * Send a reset password message to the given user.
+     * Queue a reset password message to the given user.
      *
      * @param resetURL generated URL of User to reset password
      * @param user     to reset password of
      */
     public void sendResetMessage(final String resetURL, final User user) throws MessagingException {
         try {
-            final MimeMessage message = this.createMessage();
-            final MimeMultipart multipart = new MimeMultipart();
-            final MimeBodyPart textPart = new MimeBodyPart();
-            textPart.setText(generateResetText(user, resetURL), encoding);
-
-            final MimeBodyPart htmlPart = new MimeBodyPart();
-            htmlPart.setContent(generateResetHTML(user, resetURL), "text/html; charset=utf-8");
-
-            multipart.addBodyPart(textPart);
-            multipart.addBodyPart(htmlPart);
-
-            final Address userEmailAddress = new InternetAddress(user.getEmail());
-
-            message.setContent(multipart);
-            message.setFrom(this.senderEmail);
-            message.setSubject("Passwort zurücksetzen", encoding);
-            message.setRecipient(Message.RecipientType.TO, userEmailAddress);
-
-            this.send(message);
-
+            this.queue(user.getEmail(), "Passwort zurücksetzen", generateResetText(user, resetURL), generateResetHTML(user, resetURL));
         } catch (MessagingException e) {
             logger.warn("E-Mail to user: " + user.getEmail() + " couldn't be send.");
             throw new MessagingException(e.getMessage());
@@ -125,7 +155,7 @@ public class EmailUtil {
     }
 
     /**
-     * Send a message in case an assembly is lost.
+     * Queue a message to every LOGISTIKER and the executing user in case an assembly is lost.
      *
      * @param assembly the assembly
      * @throws MessagingException the messaging exception
@@ -135,42 +165,18 @@ public class EmailUtil {
             // Needed if the executing User is an Admin himself, so he does not get 2 Mails
             List<User> alreadySentTo = new ArrayList<>();
 
-            final MimeMessage message = this.createMessage();
-            final MimeMultipart multipart = new MimeMultipart();
-            final MimeBodyPart textPart = new MimeBodyPart();
-
-            textPart.setText("Assembly " + assembly.getAssemblyID() + " has been marked as lost.", encoding);
-
-            final MimeBodyPart htmlPart = new MimeBodyPart();
-            htmlPart.setContent("Assembly " + assembly.getAssemblyID() + " has been marked as lost.", "text/html; charset=utf-8");
-
-            multipart.addBodyPart(textPart);
-            multipart.addBodyPart(htmlPart);
+            final String subject = "Assembly " + assembly.getAssemblyID() + " lost";
+            final String text = "Assembly " + assembly.getAssemblyID() + " has been marked as lost.";
 
             for(User u : userService.getByRole(Role.LOGISTIKER)) {
-                final Address userEmailAddress = new InternetAddress(u.getEmail());
-
-                message.setContent(multipart);
-                message.setFrom(this.senderEmail);
-                message.setSubject("Assembly " + assembly.getAssemblyID() + " lost", encoding);
-                message.setRecipient(Message.RecipientType.TO, userEmailAddress);
-                this.send(message);
-
+                this.queue(u.getEmail(), subject, text, text);
                 alreadySentTo.add(u);
             }
 
             // If the executing User is not an Admin, send him a mail as well
-            if(!(alreadySentTo.contains(userService.getExecutingUser()))) {
-                final Address userEmailAddress = new InternetAddress(userService.getExecutingUser().getEmail());
-
-                message.setContent(multipart);
-                message.setFrom(this.senderEmail);
-                message.setSubject("Assembly " + assembly.getAssemblyID() + " lost", encoding);
-                message.setRecipient(Message.RecipientType.TO, userEmailAddress);
-                this.send(message);
-            }
-
-
+            final User executingUser = userService.getExecutingUser();
+            if(!(alreadySentTo.contains(executingUser)))
+                this.queue(executingUser.getEmail(), subject, text, text);
 
         } catch (MessagingException e) {
             logger.warn("E-Mail to user couldn't be send.");
@@ -8,6 +8,7 @@ import javax.enterprise.inject.Default;
 import javax.enterprise.inject.Disposes;
 import javax.enterprise.inject.Produces;
 import javax.inject.Inject;
+import javax.persistence.Cache;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 
@@ -29,6 +30,15 @@ public class EntityManagerProducer
     @PersistenceUnitName("prototypePU")
     private EntityManagerFactory entityManagerFactory;
 
+    /**
+     * return the second-level cache shared by all EntityManagers
+     *
+     * @return the second-level cache
+     */
+    public Cache getCache() {
+        return entityManagerFactory.getCache();
+    }
+
     /**
      * return the EntityManager
      *
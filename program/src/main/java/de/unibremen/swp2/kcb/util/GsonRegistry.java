@@ -0,0 +1,141 @@
+package de.unibremen.swp2.kcb.util;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Application wide registry of the Gson instance used to convert entities to and from json.
+ * Gson instances are thread-safe, so a single instance is shared instead of creating one per entity or call.
+ * The type adapter of every serialized class is created once and cached.
+ * Output is compact by default, pretty printing has to be requested explicitly.
+ *
+ * @author Marius
+ */
+public final class GsonRegistry {
+
+    /**
+     * Indent used for pretty printed output
+     */
+    private static final String INDENT = "  ";
+
+    /**
+     * Shared Gson instance. Only serializes fields annotated with {@link com.google.gson.annotations.Expose}.
+     */
+    private static final Gson GSON = new GsonBuilder().serializeNulls().excludeFieldsWithoutExposeAnnotation().create();
+
+    /**
+     * Cached type adapters by class
+     */
+    private static final Map<Class<?>, TypeAdapter<?>> ADAPTERS = new ConcurrentHashMap<>();
+
+    /**
+     * Utility class, no instances.
+     */
+    private GsonRegistry() {
+    }
+
+    /**
+     * Return the shared Gson instance.
+     *
+     * @return the shared Gson instance
+     */
+    public static Gson get() {
+        return GSON;
+    }
+
+    /**
+     * Convert the given object to compact json.
+     *
+     * @param obj the object to be converted
+     * @return json representation of the object
+     */
+    public static String toJson(final Object obj) {
+        return toJson(obj, false);
+    }
+
+    /**
+     * Convert the given object to json.
+     *
+     * @param obj    the object to be converted
+     * @param pretty whether the output should be pretty printed
+     * @return json representation of the object
+     */
+    public static String toJson(final Object obj, final boolean pretty) {
+        final StringWriter writer = new StringWriter();
+        toJson(obj, pretty, writer);
+        return writer.toString();
+    }
+
+    /**
+     * Write the json representation of the given object to the given writer.
+     *
+     * @param obj    the object to be converted
+     * @param pretty whether the output should be pretty printed
+     * @param out    the writer to write the json to
+     * @throws JsonIOException if writing fails
+     */
+    @SuppressWarnings("unchecked")
+    public static void toJson(final Object obj, final boolean pretty, final Writer out) {
+        try {
+            final JsonWriter writer = newJsonWriter(out, pretty);
+
+            if (obj == null) {
+                writer.nullValue();
+            } else {
+                final TypeAdapter<Object> adapter = (TypeAdapter<Object>) getAdapter(obj.getClass());
+                adapter.write(writer, obj);
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    /**
+     * Create a JsonWriter using the settings of the shared Gson instance that writes UTF-8 encoded json
+     * to the given stream. Used to write large documents element by element.
+     *
+     * @param out    the stream to write the json to
+     * @param pretty whether the output should be pretty printed
+     * @return the JsonWriter
+     * @throws IOException if the writer can't be created
+     */
+    public static JsonWriter newJsonWriter(final OutputStream out, final boolean pretty) throws IOException {
+        return newJsonWriter(new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)), pretty);
+    }
+
+    /**
+     * Create a JsonWriter using the settings of the shared Gson instance.
+     *
+     * @param out    the writer to write the json to
+     * @param pretty whether the output should be pretty printed
+     * @return the JsonWriter
+     * @throws IOException if the writer can't be created
+     */
+    public static JsonWriter newJsonWriter(final Writer out, final boolean pretty) throws IOException {
+        final JsonWriter writer = GSON.newJsonWriter(out);
+        if (pretty)
+            writer.setIndent(INDENT);
+        return writer;
+    }
+
+    /**
+     * Return the cached type adapter of the given class.
+     *
+     * @param type the class
+     * @param <T>  the type of the class
+     * @return type adapter of the class
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> TypeAdapter<T> getAdapter(final Class<T> type) {
+        return (TypeAdapter<T>) ADAPTERS.computeIfAbsent(type, GSON::getAdapter);
+    }
+}
@@ -1,9 +1,13 @@
 package de.unibremen.swp2.kcb.util;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import de.unibremen.swp2.kcb.model.KCBEntity;
 
+import javax.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
 /**
  * The class of Json util.
  *
@@ -12,11 +16,6 @@ import de.unibremen.swp2.kcb.model.KCBEntity;
  */
 public class JsonUtil {
 
-    /**
-     * Gson attribute
-     */
-    Gson gson = new GsonBuilder().serializeNulls().excludeFieldsWithoutExposeAnnotation().setPrettyPrinting().create();
-
     /**
      * Marshal an object to a json string. This will also marshal all attributes of the object.
      *
@@ -34,7 +33,31 @@ public class JsonUtil {
      * @return the json representation of the object
      */
     public String marshal(final Object obj) {
-        return gson.toJson(obj);
+        return GsonRegistry.toJson(obj);
+    }
+
+    /**
+     * Marshal an object to a json string.
+     *
+     * @param obj    the obj to be marshalled
+     * @param pretty whether the json should be pretty printed
+     * @return the json representation of the object
+     */
+    public String marshal(final Object obj, final boolean pretty) {
+        return GsonRegistry.toJson(obj, pretty);
+    }
+
+    /**
+     * Marshal an object to json written directly to the response stream instead of building a string first.
+     *
+     * @param obj the obj to be marshalled
+     * @return StreamingOutput writing the json representation of the object
+     */
+    public StreamingOutput stream(final Object obj) {
+        return outputStream -> {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            GsonRegistry.toJson(obj, false, writer);
+        };
     }
 
     /**
@@ -45,6 +68,6 @@ public class JsonUtil {
      * @return the represented object
      */
     public Object unmarshal(final String s, Class<KCBEntity> type) {
-        return gson.fromJson(s, type);
+        return GsonRegistry.get().fromJson(s, type);
     }
 }
@@ -0,0 +1,154 @@
+package de.unibremen.swp2.kcb.util;
+
+import de.unibremen.swp2.kcb.model.OutboxMail;
+import de.unibremen.swp2.kcb.service.OutboxMailService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import javax.annotation.PreDestroy;
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedScheduledExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers the mails queued in the outbox in the background. A single scheduled task sends the due mails
+ * in batches over one connection to the mail server, so at most one connection is used at a time
+ * and neither request threads nor business transactions wait for the mail server.
+ *
+ * @see OutboxMailService
+ *
+ * @author Marius
+ */
+@ApplicationScoped
+public class MailDispatcher implements Serializable {
+
+    /**
+     * Logger object of the MailDispatcher class
+     */
+    private static final Logger logger = LogManager.getLogger(MailDispatcher.class);
+
+    /**
+     * Maximum number of mails sent over one connection
+     */
+    static final int BATCH_SIZE = 25;
+
+    /**
+     * Seconds between two dispatches
+     */
+    private static final long DISPATCH_INTERVAL = 10;
+
+    /**
+     * Injected instance of {@link OutboxMailService}.
+     */
+    @Inject
+    private OutboxMailService outboxMailService;
+
+    /**
+     * Injected instance of {@link EmailUtil} to create messages and connect to the mail server with.
+     */
+    @Inject
+    private EmailUtil emailUtil;
+
+    /**
+     * Executor running the periodic dispatch
+     */
+    @Resource
+    private transient ManagedScheduledExecutorService executorService;
+
+    /**
+     * The scheduled dispatch
+     */
+    private transient ScheduledFuture<?> dispatch;
+
+    /**
+     * Send the due mails of the outbox until no due mails are left or a batch couldn't be delivered completely.
+     *
+     * @return number of mails sent
+     */
+    public int dispatch() {
+        int sent = 0;
+        while (true) {
+            final List<OutboxMail> mails = outboxMailService.getDue(BATCH_SIZE);
+            if (mails.isEmpty())
+                return sent;
+
+            final int sentOfBatch = this.send(mails);
+            sent += sentOfBatch;
+            if (sentOfBatch < mails.size() || mails.size() < BATCH_SIZE)
+                return sent;
+        }
+    }
+
+    /**
+     * Send the given mails over one connection and record the result of every mail.
+     *
+     * @param mails the mails to be sent
+     * @return number of mails sent
+     */
+    private int send(final List<OutboxMail> mails) {
+        final Transport transport;
+        try {
+            transport = emailUtil.connect();
+        } catch (MessagingException e) {
+            logger.warn("Connecting to the mail server failed: {}", e.getMessage());
+            for (OutboxMail mail : mails)
+                outboxMailService.markFailed(mail, e.getMessage());
+            return 0;
+        }
+
+        int sent = 0;
+        try {
+            for (OutboxMail mail : mails) {
+                try {
+                    final MimeMessage message = emailUtil.createMessage(mail);
+                    transport.sendMessage(message, message.getAllRecipients());
+                    outboxMailService.markSent(mail);
+                    sent++;
+                } catch (MessagingException e) {
+                    outboxMailService.markFailed(mail, e.getMessage());
+                }
+            }
+        } finally {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                logger.debug("Closing the connection to the mail server failed: {}", e.getMessage());
+            }
+        }
+        return sent;
+    }
+
+    /**
+     * Schedule the periodic dispatch of the outbox. Called once on server startup.
+     */
+    public synchronized void scheduleDispatch() {
+        if (dispatch != null || executorService == null)
+            return;
+
+        dispatch = executorService.scheduleWithFixedDelay(() -> {
+            try {
+                this.dispatch();
+            } catch (RuntimeException e) {
+                logger.warn("Dispatching the mail outbox failed: {}", e.getMessage());
+            }
+        }, DISPATCH_INTERVAL, DISPATCH_INTERVAL, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Cancel the periodic dispatch.
+     */
+    @PreDestroy
+    public synchronized void cancelDispatch() {
+        if (dispatch != null)
+            dispatch.cancel(false);
+        dispatch = null;
+    }
+}
@@ -1,23 +1,31 @@
 package de.unibremen.swp2.kcb.validator;
 
+import de.unibremen.swp2.kcb.model.ValidationPattern;
 import de.unibremen.swp2.kcb.service.ValidationPatternService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
-import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
 /**
  * Class that provides an interface for accessing configured validation patterns.
+ * Compiled patterns are cached application wide by name, so validators don't query the database
+ * and compile the regex on every validation. Cached patterns are invalidated by the
+ * {@link ValidationPatternService} after an update of a pattern has been committed.
+ * A pattern read before the invalidation isn't cached, so the old regex can't be cached again by a concurrent validation.
  *
  * @author Robin
  * @author Marius
  * @author Arvid
  * @author Sören
  */
-@SessionScoped
+@ApplicationScoped
 public class ValidatorConfig implements Serializable {
 
     /**
@@ -31,6 +39,16 @@ public class ValidatorConfig implements Serializable {
     @Inject
     private ValidationPatternService validationPatternService;
 
+    /**
+     * Compiled patterns by name
+     */
+    private final Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented by every invalidation
+     */
+    private final AtomicLong generation = new AtomicLong();
+
     /**
      * Returns compiled pattern from configuration file 'validator.ini'. If no matching pattern is found,
      * the pattern '.*' will be returned. WARNING: This pattern will match anything!
@@ -41,8 +59,24 @@ public class ValidatorConfig implements Serializable {
      * @return compiled regex pattern for entered name
      */
     public Pattern getPattern(String name) {
-        String regex = this.getRegex(name);
-        return Pattern.compile(regex);
+        final Pattern cached = patterns.get(name);
+        if (cached != null)
+            return cached;
+
+        final long readAt = generation.get();
+        final String regex = validationPatternService.getRegEx(name);
+        if (regex == null) {
+            // Not cached, so a pattern that is created later on will be picked up
+            logger.warn("Pattern '{}' not found in database. Using default pattern. Will match anything!", name);
+            return Pattern.compile(".*");
+        }
+
+        final Pattern pattern = Pattern.compile(regex);
+        patterns.putIfAbsent(name, pattern);
+        // The regex might have been read before an invalidation, so it must not stay cached
+        if (generation.get() != readAt)
+            patterns.remove(name, pattern);
+        return pattern;
     }
 
     /**
@@ -55,14 +89,38 @@ public class ValidatorConfig implements Serializable {
      * @return regex pattern for entered name
      */
     public String getRegex(String name) {
-        String regex = validationPatternService.getRegEx(name);
+        return this.getPattern(name).pattern();
+    }
 
-        if (regex == null) {
-            // Regex was not found. Match anything
-            logger.warn("Pattern '{}' not found in database. Using default pattern. Will match anything!", name);
-            regex = ".*";
-        }
-        return regex;
+    /**
+     * Removes the compiled pattern with the given name from the cache. It will be compiled again on next access.
+     *
+     * @param name of the pattern configured in the database.
+     */
+    public void invalidate(String name) {
+        logger.trace("Invalidating cached pattern '{}'", name);
+        generation.incrementAndGet();
+        patterns.remove(name);
+    }
+
+    /**
+     * Removes all compiled patterns from the cache.
+     */
+    public void invalidateAll() {
+        logger.trace("Invalidating all cached patterns");
+        generation.incrementAndGet();
+        patterns.clear();
+    }
+
+    /**
+     * Compiles and caches all validation patterns stored in the database, so the first validations
+     * don't have to wait for the database.
+     */
+    public void warmUp() {
+        patterns.clear();
+        for (ValidationPattern validationPattern : validationPatternService.getAll())
+            this.getPattern(validationPattern.getName());
+        logger.info("Compiled {} validation patterns.", patterns.size());
     }
 
 }
@@ -0,0 +1,28 @@
+-- Filter and foreign key indexes used by the job, transport and workstation queries.
+-- Tables and columns follow the default naming of the entity mapping. Workstations are stored in the single table
+-- of their Location hierarchy, so the join table of their users is named after the Location table.
+
+-- active jobs are filtered by their state
+CREATE INDEX IF NOT EXISTS idx_job_state ON Job (jobState);
+
+-- jobs of a technologe are selected by their materialized current workstation
+CREATE INDEX IF NOT EXISTS idx_job_current_workstation ON Job (currentWorkstation_id);
+
+-- active jobs join the location of their carriers
+CREATE INDEX IF NOT EXISTS idx_carrier_location ON Carrier (location_id);
+
+-- jobs are looked up by their assemblies and procedures
+CREATE INDEX IF NOT EXISTS idx_job_assembly_assembly ON Job_Assembly (assemblies_id, Job_id);
+CREATE INDEX IF NOT EXISTS idx_job_assembly_job ON Job_Assembly (Job_id);
+CREATE INDEX IF NOT EXISTS idx_job_procedure_procedure ON Job_Procedure (procedures_id);
+
+-- assemblies are looked up by their carriers
+CREATE INDEX IF NOT EXISTS idx_assembly_carrier_carrier ON Assembly_Carrier (carriers_id, Assembly_id);
+CREATE INDEX IF NOT EXISTS idx_assembly_carrier_assembly ON Assembly_Carrier (Assembly_id);
+
+-- workstations are looked up by their users
+CREATE INDEX IF NOT EXISTS idx_workstation_user_user ON Location_User (users_id, Workstation_id);
+
+-- procedures and values are joined with their process step and parameter
+CREATE INDEX IF NOT EXISTS idx_procedure_process_step ON Procedure (processStep_id);
+CREATE INDEX IF NOT EXISTS idx_value_parameter ON Value (parameter_id);
@@ -10,6 +10,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 
 import static org.junit.Assert.assertTrue;
@@ -74,11 +76,12 @@ public class CarrierTypeResourceTest {
      * @throws FindByException the find by exception
      */
     @Test
-    public void testGetAllFail() throws FindByException {
+    public void testGetAllFail() throws FindByException, IOException {
         when(service.getAll()).thenThrow(FindByException.class);
-        String response = resource.getAll();
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        resource.getAll().write(response);
         verify(service, times(1)).getAll();
-        assertTrue("Message should contain #dankeArvid", response.contains("#dankeArvid"));
+        assertTrue("Message should contain #dankeArvid", response.toString().contains("#dankeArvid"));
     }
 
     /**
@@ -0,0 +1,225 @@
+package de.unibremen.swp2.kcb.api.v1;
+
+import de.unibremen.swp2.kcb.persistence.EntityChangeTracker;
+import org.apache.shiro.subject.Subject;
+import org.apache.shiro.util.ThreadContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.*;
+import java.net.URI;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class to test {@link ConditionalGetFilter}
+ *
+ * @author Marius
+ */
+public class ConditionalGetFilterTest {
+
+    /**
+     * Instance of the filter
+     */
+    @InjectMocks
+    private ConditionalGetFilter filter;
+
+    /**
+     * Mocked version of ContainerRequestContext
+     */
+    @Mock
+    private ContainerRequestContext requestContext;
+
+    /**
+     * Mocked version of ContainerResponseContext
+     */
+    @Mock
+    private ContainerResponseContext responseContext;
+
+    /**
+     * Mocked version of Request
+     */
+    @Mock
+    private Request request;
+
+    /**
+     * Mocked version of UriInfo
+     */
+    @Mock
+    private UriInfo uriInfo;
+
+    /**
+     * Mocked version of ResourceInfo
+     */
+    @Mock
+    private ResourceInfo resourceInfo;
+
+    /**
+     * Mocked version of the requesting Subject
+     */
+    @Mock
+    private Subject subject;
+
+    /**
+     * Headers of the response
+     */
+    private MultivaluedMap<String, Object> headers;
+
+    /**
+     * Sets up the mocked request of an authenticated GET of a job.
+     *
+     * @throws NoSuchMethodException if the resource method doesn't exist
+     */
+    @Before
+    public void setUp() throws NoSuchMethodException {
+        MockitoAnnotations.initMocks(this);
+        headers = new MultivaluedHashMap<>();
+        this.mockRequest("/api/v1/job/1");
+        when(responseContext.getHeaders()).thenReturn(headers);
+
+        doReturn(JobResource.class).when(resourceInfo).getResourceClass();
+        when(resourceInfo.getResourceMethod()).thenReturn(JobResource.class.getMethod("getById", String.class));
+        when(subject.isAuthenticated()).thenReturn(true);
+        when(subject.getPrincipal()).thenReturn("TestGuy");
+        ThreadContext.bind(subject);
+    }
+
+    /**
+     * Unbind the subject.
+     */
+    @After
+    public void tearDown() {
+        ThreadContext.unbindSubject();
+    }
+
+    /**
+     * Mock a new GET request of the given path.
+     *
+     * @param path of the request
+     */
+    private void mockRequest(final String path) {
+        reset(requestContext);
+        when(requestContext.getMethod()).thenReturn(HttpMethod.GET);
+        when(requestContext.getRequest()).thenReturn(request);
+        when(requestContext.getUriInfo()).thenReturn(uriInfo);
+        when(uriInfo.getRequestUri()).thenReturn(URI.create("http://localhost:8080" + path));
+        when(uriInfo.getPath()).thenReturn(path);
+    }
+
+    /**
+     * Return the ETag stored in the request properties.
+     *
+     * @return the stored ETag
+     */
+    private EntityTag storedTag() {
+        final ArgumentCaptor<Object> tag = ArgumentCaptor.forClass(Object.class);
+        verify(requestContext).setProperty(eq(ConditionalGetFilter.ETAG_PROPERTY), tag.capture());
+        return (EntityTag) tag.getValue();
+    }
+
+    /**
+     * Test a request without a current ETag is passed to the resource and its response is tagged.
+     */
+    @Test
+    public void testTagResponse() {
+        filter.filter(requestContext);
+        final EntityTag tag = storedTag();
+        assertTrue(tag.getValue().startsWith(EntityChangeTracker.getGeneration() + "-"));
+        verify(requestContext, never()).abortWith(any());
+
+        when(requestContext.getProperty(ConditionalGetFilter.ETAG_PROPERTY)).thenReturn(tag);
+        when(responseContext.getStatus()).thenReturn(200);
+        filter.filter(requestContext, responseContext);
+        assertEquals(tag, headers.getFirst(HttpHeaders.ETAG));
+        assertEquals(ConditionalGetFilter.CACHE_CONTROL, headers.getFirst(HttpHeaders.CACHE_CONTROL));
+    }
+
+    /**
+     * Test a request with the current ETag is answered with 304 without calling the resource.
+     */
+    @Test
+    public void testNotModified() {
+        when(request.evaluatePreconditions(any(EntityTag.class))).thenReturn(Response.notModified());
+        filter.filter(requestContext);
+
+        final ArgumentCaptor<Response> response = ArgumentCaptor.forClass(Response.class);
+        verify(requestContext).abortWith(response.capture());
+        assertEquals(304, response.getValue().getStatus());
+    }
+
+    /**
+     * Test a request with the current ETag isn't answered with 304 if the subject may not call the resource,
+     * so the resource method rejects it.
+     */
+    @Test
+    public void testNotModifiedRequiresPermission() {
+        when(subject.isAuthenticated()).thenReturn(false);
+        when(request.evaluatePreconditions(any(EntityTag.class))).thenReturn(Response.notModified());
+        filter.filter(requestContext);
+        verify(requestContext, never()).abortWith(any());
+    }
+
+    /**
+     * Test the ETag differs between resources and between users.
+     */
+    @Test
+    public void testTagDependsOnResourceAndUser() {
+        filter.filter(requestContext);
+        final EntityTag tag = storedTag();
+
+        this.mockRequest("/api/v1/job/2");
+        filter.filter(requestContext);
+        assertNotEquals(tag, storedTag());
+
+        this.mockRequest("/api/v1/job/1");
+        when(subject.getPrincipal()).thenReturn("OtherGuy");
+        filter.filter(requestContext);
+        assertNotEquals(tag, storedTag());
+
+        this.mockRequest("/api/v1/job/1");
+        when(subject.getPrincipal()).thenReturn("TestGuy");
+        filter.filter(requestContext);
+        assertEquals(tag, storedTag());
+    }
+
+    /**
+     * Test the ETag changes after an entity was changed.
+     */
+    @Test
+    public void testTagChangesWithEntities() {
+        filter.filter(requestContext);
+        final EntityTag before = storedTag();
+
+        new EntityChangeTracker().changed(new Object());
+        this.mockRequest("/api/v1/job/1");
+        filter.filter(requestContext);
+        assertNotEquals(before, storedTag());
+    }
+
+    /**
+     * Test other methods than GET and failed responses aren't tagged.
+     */
+    @Test
+    public void testIgnoreOtherRequests() {
+        when(requestContext.getMethod()).thenReturn(HttpMethod.PUT);
+        filter.filter(requestContext);
+        verify(requestContext, never()).setProperty(any(), any());
+        verify(request, never()).evaluatePreconditions(any(EntityTag.class));
+
+        when(requestContext.getProperty(ConditionalGetFilter.ETAG_PROPERTY)).thenReturn(new EntityTag("1"));
+        when(responseContext.getStatus()).thenReturn(500);
+        filter.filter(requestContext, responseContext);
+        assertTrue(headers.isEmpty());
+    }
+}
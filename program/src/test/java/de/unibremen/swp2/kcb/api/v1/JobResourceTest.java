@@ -1,6 +1,7 @@
 package de.unibremen.swp2.kcb.api.v1;
 
 import de.unibremen.swp2.kcb.model.Job;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.service.JobService;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import de.unibremen.swp2.kcb.util.JsonUtil;
@@ -10,6 +11,11 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.UriInfo;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 
 import static org.junit.Assert.assertTrue;
@@ -47,6 +53,12 @@ public class JobResourceTest {
     @Mock
     private Job mockedCardinalValue;
 
+    /**
+     * Mocked version of uriInfo
+     */
+    @Mock
+    private UriInfo uriInfo;
+
     /**
      * Sets up.
      */
@@ -68,6 +80,88 @@ public class JobResourceTest {
         verify(service, times(1)).getAll();
     }
 
+    /**
+     * Test get all with paging, sorting and filtering parameters.
+     *
+     * @throws FindByException the find by exception
+     */
+    @Test
+    public void testGetAllPaged() throws FindByException {
+        MultivaluedMap<String, String> parameters = new MultivaluedHashMap<>();
+        parameters.putSingle("limit", "20");
+        parameters.putSingle("after", "1");
+        parameters.putSingle("sort", "-name");
+        parameters.putSingle("jobState", "processing");
+        when(uriInfo.getQueryParameters()).thenReturn(parameters);
+        when(service.getAll(any(PageRequest.class))).thenReturn(new ArrayList<>());
+        when(jsonUtil.marshal(any())).thenReturn("");
+
+        resource.getAll();
+        verify(service, never()).getAll();
+        verify(service, times(1)).getAll(argThat((PageRequest page) -> page.getLimit() == 20
+                && "1".equals(page.getAfter()) && "name".equals(page.getSort()) && !page.isAscending()
+                && "processing".equals(page.getFilters().get("jobState"))));
+    }
+
+    /**
+     * Test get all with an invalid paging parameter.
+     *
+     * @throws FindByException the find by exception
+     */
+    @Test
+    public void testGetAllInvalidLimit() throws FindByException, IOException {
+        MultivaluedMap<String, String> parameters = new MultivaluedHashMap<>();
+        parameters.putSingle("limit", "-1");
+        when(uriInfo.getQueryParameters()).thenReturn(parameters);
+
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        resource.getAll().write(response);
+        verify(service, never()).getAll(any(PageRequest.class));
+        assertTrue("Response should contain Limit.", response.toString().contains("Limit"));
+    }
+
+    /**
+     * Test get all with a query parameter that isn't an attribute path.
+     *
+     * @throws FindByException the find by exception
+     * @throws IOException if the response can't be written
+     */
+    @Test
+    public void testGetAllUnknownParameter() throws FindByException, IOException {
+        MultivaluedMap<String, String> parameters = new MultivaluedHashMap<>();
+        parameters.putSingle("_", "1589000000");
+        when(uriInfo.getQueryParameters()).thenReturn(parameters);
+
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        resource.getAll().write(response);
+        verify(service, never()).getAll(any(PageRequest.class));
+        assertTrue("Response should name the parameter.", response.toString().contains("Unknown query parameter"));
+    }
+
+    /**
+     * Test the transport queue is read in pages.
+     *
+     * @throws IOException if the response can't be written
+     */
+    @Test
+    public void testGetTransportQueue() throws IOException {
+        resource.getTransportQueue();
+        verify(service, times(1)).getJobsThatNeedTransport(0, PageRequest.DEFAULT_LIMIT);
+
+        MultivaluedMap<String, String> parameters = new MultivaluedHashMap<>();
+        parameters.putSingle("offset", "50");
+        parameters.putSingle("limit", "25");
+        when(uriInfo.getQueryParameters()).thenReturn(parameters);
+        resource.getTransportQueue();
+        verify(service, times(1)).getJobsThatNeedTransport(50, 25);
+
+        parameters.putSingle("sort", "name");
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        resource.getTransportQueue().write(response);
+        verify(service, never()).getJobsThatNeedTransport();
+        assertTrue("Response should name the supported parameters.", response.toString().contains("offset and limit"));
+    }
+
     /**
      * Test create normal.
      *
@@ -0,0 +1,88 @@
+package de.unibremen.swp2.kcb.api.v1;
+
+import de.unibremen.swp2.kcb.metrics.MetricsRegistry;
+import de.unibremen.swp2.kcb.model.WorkstationLoad;
+import de.unibremen.swp2.kcb.service.JobService;
+import de.unibremen.swp2.kcb.service.TransportTaskService;
+import de.unibremen.swp2.kcb.service.WorkstationLoadService;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * The type Metrics resource test.
+ *
+ * @author Marius
+ */
+public class MetricsResourceTest {
+
+    /**
+     * Injected instance of resource
+     */
+    @InjectMocks
+    private MetricsResource resource;
+
+    /**
+     * Registry of the method metrics
+     */
+    @Spy
+    private MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+    /**
+     * Mocked version of JobService
+     */
+    @Mock
+    private JobService jobService;
+
+    /**
+     * Mocked version of TransportTaskService
+     */
+    @Mock
+    private TransportTaskService transportTaskService;
+
+    /**
+     * Mocked version of WorkstationLoadService
+     */
+    @Mock
+    private WorkstationLoadService workstationLoadService;
+
+    /**
+     * Sets up.
+     */
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(jobService.getActiveCount()).thenReturn(3L);
+        when(transportTaskService.getQueueLength()).thenReturn(2L);
+        when(workstationLoadService.getAll()).thenReturn(Collections.singletonMap("ws1", new WorkstationLoad(1, 1, 30, 4)));
+    }
+
+    /**
+     * Test the gauges are exposed.
+     */
+    @Test
+    public void testGetMetrics() {
+        final String metrics = resource.getMetrics();
+        assertTrue(metrics.contains("kcb_active_jobs 3\n"));
+        assertTrue(metrics.contains("kcb_transport_queue_length 2\n"));
+        assertTrue(metrics.contains("kcb_workstation_queued_minutes{workstation=\"ws1\"} 30\n"));
+        verify(metricsRegistry, times(1)).write(any());
+    }
+
+    /**
+     * Test the method metrics are still exposed if the gauges fail.
+     */
+    @Test
+    public void testGetMetricsGaugesFail() {
+        when(jobService.getActiveCount()).thenThrow(new IllegalStateException());
+        assertTrue(resource.getMetrics().contains("# TYPE kcb_method_calls_total counter"));
+    }
+}
@@ -0,0 +1,154 @@
+package de.unibremen.swp2.kcb.controller;
+
+import de.unibremen.swp2.kcb.model.Job;
+import de.unibremen.swp2.kcb.model.Priority;
+import de.unibremen.swp2.kcb.service.JobService;
+import de.unibremen.swp2.kcb.service.PriorityService;
+import de.unibremen.swp2.kcb.service.UserService;
+import de.unibremen.swp2.kcb.service.WorkstationService;
+import de.unibremen.swp2.kcb.service.serviceExceptions.FindByException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test Class to Test {@link DashboardController}
+ *
+ * @author Marius
+ */
+public class DashboardControllerTest {
+
+    /**
+     * Injected instance of dashboardController.
+     */
+    @InjectMocks
+    private DashboardController dashboardController;
+
+    /**
+     * Mocked version of JobService.
+     */
+    @Mock
+    private JobService jobService;
+
+    /**
+     * Mocked version of WorkstationService.
+     */
+    @Mock
+    private WorkstationService workstationService;
+
+    /**
+     * Mocked version of PriorityService.
+     */
+    @Mock
+    private PriorityService priorityService;
+
+    /**
+     * Mocked version of UserService.
+     */
+    @Mock
+    private UserService userService;
+
+    /**
+     * Mocked version of LocaleController.
+     */
+    @Mock
+    private LocaleController localeController;
+
+    /**
+     * SetUp Method to inject Mock-Objects.
+     */
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(jobService.getDetails(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(jobService.getDetail(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    /**
+     * Creates a job with a priority of the given value.
+     *
+     * @param value value of the priority
+     * @return the job
+     */
+    private Job job(final int value) {
+        final Priority priority = new Priority();
+        priority.setValue(value);
+        final Job job = new Job();
+        job.setPriority(priority);
+        return job;
+    }
+
+    /**
+     * Test pending jobs are queried once and ordered by priority.
+     */
+    @Test
+    public void testGetPending() {
+        final Job low = job(1);
+        final Job high = job(10);
+        final List<Job> jobs = new ArrayList<>();
+        jobs.add(low);
+        jobs.add(high);
+        when(jobService.getPending()).thenReturn(jobs);
+
+        assertEquals(high, dashboardController.getPending().get(0));
+        assertEquals(low, dashboardController.getPending().get(1));
+        verify(jobService, times(1)).getPending();
+    }
+
+    /**
+     * Test the workstations of a user without roles are empty.
+     */
+    @Test
+    public void testGetWorkstationsNoUser() {
+        assertTrue(dashboardController.getWorkstations().isEmpty());
+        assertTrue(dashboardController.getWorkstations().isEmpty());
+        verify(userService, times(1)).getExecutingUser();
+    }
+
+    /**
+     * Test all priority colors are queried once.
+     */
+    @Test
+    public void testGetColor() {
+        final Job job = job(1);
+        final Map<String, String> colors = new HashMap<>();
+        colors.put(job.getPriority().getId(), "rgb(0.0, 255, 100)");
+        when(priorityService.getColors()).thenReturn(colors);
+
+        assertEquals("rgb(0.0, 255, 100)", dashboardController.getColor(job.getPriority()));
+        assertEquals("rgb(0.0, 255, 100)", dashboardController.getColor(job.getPriority()));
+        verify(priorityService, times(1)).getColors();
+        verify(priorityService, never()).getColor(any());
+    }
+
+    /**
+     * Test the active jobs and workstations are counted once without loading them.
+     *
+     * @throws FindByException not expected
+     */
+    @Test
+    public void testGetActiveCounts() throws FindByException {
+        when(jobService.getActiveCount()).thenReturn(4L);
+        when(workstationService.getActiveCount()).thenReturn(2L);
+
+        assertEquals(4, dashboardController.getActiveJobCount());
+        assertEquals(4, dashboardController.getActiveJobCount());
+        assertEquals(2, dashboardController.getActiveWorkstationCount());
+        assertEquals(2, dashboardController.getActiveWorkstationCount());
+        verify(jobService, times(1)).getActiveCount();
+        verify(workstationService, times(1)).getActiveCount();
+        verify(jobService, never()).getActive();
+        verify(workstationService, never()).getActive();
+    }
+}
@@ -2,20 +2,26 @@ package de.unibremen.swp2.kcb.controller.overview;
 
 import de.unibremen.swp2.kcb.controller.LocaleController;
 import de.unibremen.swp2.kcb.model.Assembly;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
 import de.unibremen.swp2.kcb.service.AssemblyService;
 import de.unibremen.swp2.kcb.service.serviceExceptions.FindByException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.InvalidIdException;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.primefaces.model.SortOrder;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNull;
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -59,9 +65,8 @@ public class AssembliesControllerTest {
     @Test
     public void testInit() {
         assembliesController.init();
-        List<Assembly> empty = new ArrayList<>();
-        when(assemblyService.getAll()).thenReturn(empty);
-        verify(assemblyService, times(1)).getAll();
+        assertNotNull(assembliesController.getLazyModel());
+        verify(assemblyService, never()).getAll();
     }
 
     /**
@@ -90,6 +95,70 @@ public class AssembliesControllerTest {
         assertEquals(assembliesController.getEntities(), empty);
     }
 
+    /**
+     * Tests that all assemblies are only loaded on first access of the entities.
+     */
+    @Test
+    public void testGetEntitiesLoadsOnce() {
+        List<Assembly> ass = new ArrayList<>();
+        ass.add(new Assembly());
+        when(assemblyService.getAll()).thenReturn(ass);
+        assembliesController.init();
+        verify(assemblyService, never()).getAll();
+
+        assertEquals(ass, assembliesController.getEntities());
+        assertEquals(ass, assembliesController.getEntities());
+        verify(assemblyService, times(1)).getAll();
+    }
+
+    /**
+     * Tests that the lazy model only queries the requested page and the count.
+     *
+     * @throws FindByException not expected
+     */
+    @Test
+    public void testLazyModelLoad() throws FindByException {
+        Assembly dummy = new Assembly();
+        dummy.setId("111");
+        List<Assembly> page = new ArrayList<>();
+        page.add(dummy);
+        when(assemblyService.getAll(any(PageRequest.class))).thenReturn(page);
+        when(assemblyService.count(any(PageRequest.class))).thenReturn(1234L);
+        assembliesController.init();
+
+        Map<String, Object> filters = new HashMap<>();
+        filters.put("alloy", "Fe");
+        filters.put("assemblyID", "");
+        assertEquals(page, assembliesController.getLazyModel().load(50, 25, "sampleCount",
+                SortOrder.DESCENDING, filters));
+        assertEquals(1234, assembliesController.getLazyModel().getRowCount());
+        assertEquals("111", assembliesController.getLazyModel().getRowKey(dummy));
+
+        ArgumentCaptor<PageRequest> captor = ArgumentCaptor.forClass(PageRequest.class);
+        verify(assemblyService).getAll(captor.capture());
+        assertEquals(50, captor.getValue().getOffset());
+        assertEquals(25, captor.getValue().getLimit());
+        assertEquals("sampleCount", captor.getValue().getSort());
+        assertFalse(captor.getValue().isAscending());
+        assertEquals(Collections.singletonMap("alloy", "Fe"), captor.getValue().getFilters());
+        verify(assemblyService, never()).getAll();
+    }
+
+    /**
+     * Tests that the lazy model returns an empty page for an invalid page request.
+     *
+     * @throws FindByException not expected
+     */
+    @Test
+    public void testLazyModelLoadInvalid() throws FindByException {
+        when(assemblyService.count(any(PageRequest.class))).thenThrow(new FindByException("fail"));
+        assembliesController.init();
+
+        assertTrue(assembliesController.getLazyModel().load(0, 25, "carriers",
+                SortOrder.ASCENDING, new HashMap<>()).isEmpty());
+        assertEquals(0, assembliesController.getLazyModel().getRowCount());
+    }
+
     /**
      * Tests the getById() method of assembliesController.
      *
@@ -1,6 +1,7 @@
 package de.unibremen.swp2.kcb.controller.overview;
 
 import de.unibremen.swp2.kcb.controller.LocaleController;
+import de.unibremen.swp2.kcb.controller.single.ContextMocker;
 import de.unibremen.swp2.kcb.model.Carrier;
 import de.unibremen.swp2.kcb.model.CarrierType;
 import de.unibremen.swp2.kcb.model.Locations.Location;
@@ -14,10 +15,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import javax.faces.context.FacesContext;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.*;
 
@@ -61,9 +65,8 @@ public class CarriersControllerTest {
     @Test
     public void testInit() {
         carriersController.init();
-        List<Carrier> empty = new ArrayList<>();
-        when(carrierService.getAll()).thenReturn(empty);
-        verify(carrierService, times(1)).getAll();
+        assertNotNull(carriersController.getLazyModel());
+        verify(carrierService, never()).getAll();
     }
 
     /**
@@ -80,6 +83,29 @@ public class CarriersControllerTest {
         assertEquals(carriersController.getEntities(), steps);
     }
 
+    /**
+     * Test the selectable carriers are loaded once per request.
+     */
+    @Test
+    public void testGetSelectable() {
+        final List<Carrier> carriers = new ArrayList<>();
+        carriers.add(new Carrier());
+        when(carrierService.getAll()).thenReturn(carriers);
+
+        final FacesContext request = ContextMocker.mockFacesContext();
+        when(request.getAttributes()).thenReturn(new HashMap<>());
+        assertEquals(carriers, carriersController.getSelectable());
+        assertEquals(carriers, carriersController.getSelectable());
+        verify(carrierService, times(1)).getAll();
+        request.release();
+
+        final FacesContext next = ContextMocker.mockFacesContext();
+        when(next.getAttributes()).thenReturn(new HashMap<>());
+        assertEquals(carriers, carriersController.getSelectable());
+        verify(carrierService, times(2)).getAll();
+        next.release();
+    }
+
     /**
      * Test refresh fail.
      */
@@ -11,11 +11,13 @@ import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.primefaces.model.SortOrder;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.*;
 
@@ -51,6 +53,8 @@ public class JobsControllerTest {
     @Before
     public void setUp() {
         MockitoAnnotations.initMocks(this);
+        when(jobService.getDetails(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(jobService.getDetail(any())).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     /**
@@ -59,9 +63,25 @@ public class JobsControllerTest {
     @Test
     public void testInit() {
         jobsController.init();
-        List<Job> empty = new ArrayList<>();
-        when(jobService.getActive()).thenReturn(empty);
-        verify(jobService, times(1)).getAll();
+        assertNotNull(jobsController.getLazyModel());
+        verify(jobService, never()).getAll();
+    }
+
+    /**
+     * Test the transport model only queries the requested page of the queue and its length.
+     */
+    @Test
+    public void testTransportModelLoad() {
+        List<Job> page = new ArrayList<>();
+        page.add(new Job());
+        when(jobService.getJobsThatNeedTransport(50, 25)).thenReturn(page);
+        when(jobService.countJobsThatNeedTransport()).thenReturn(80L);
+        jobsController.init();
+
+        assertEquals(page, jobsController.getTransportModel().load(50, 25, null, SortOrder.ASCENDING, null));
+        assertEquals(80, jobsController.getTransportModel().getRowCount());
+        verify(jobService, never()).getJobsThatNeedTransport();
+        verify(jobService, times(1)).getDetails(page);
     }
 
     /**
@@ -89,6 +109,7 @@ public class JobsControllerTest {
         dummy.setId("111");
         when(jobService.getById("111")).thenReturn(dummy);
         assertEquals(jobsController.getById("111"), dummy);
+        verify(jobService, times(1)).getDetail(dummy);
     }
 
     /**
@@ -156,5 +177,6 @@ public class JobsControllerTest {
         when(jobService.getPending()).thenReturn(list);
         assertEquals(jobsController.getPending(), list);
         verify(jobService, times(1)).getPending();
+        verify(jobService, times(1)).getDetails(list);
     }
 }
\ No newline at end of file
@@ -0,0 +1,88 @@
+package de.unibremen.swp2.kcb.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import javax.interceptor.InvocationContext;
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class to test {@link MetricsInterceptor}
+ *
+ * @author Marius
+ */
+public class MetricsInterceptorTest {
+
+    /**
+     * Injected instance of MetricsInterceptor
+     */
+    @InjectMocks
+    private MetricsInterceptor interceptor;
+
+    /**
+     * Registry the calls are recorded in
+     */
+    @Spy
+    private MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+    /**
+     * Mocked version of InvocationContext
+     */
+    @Mock
+    private InvocationContext context;
+
+    /**
+     * Intercepted method
+     */
+    private Method method;
+
+    /**
+     * Sets up.
+     *
+     * @throws NoSuchMethodException if the method doesn't exist
+     */
+    @Before
+    public void setUp() throws NoSuchMethodException {
+        MockitoAnnotations.initMocks(this);
+        method = MetricsInterceptorTest.class.getDeclaredMethod("setUp");
+        when(context.getTarget()).thenReturn(this);
+        when(context.getMethod()).thenReturn(method);
+    }
+
+    /**
+     * Test a successful call is recorded.
+     *
+     * @throws Exception thrown by the interceptor
+     */
+    @Test
+    public void testMeasure() throws Exception {
+        when(context.proceed()).thenReturn("result");
+        assertEquals("result", interceptor.measure(context));
+
+        final MethodMetrics metrics = metricsRegistry.get(MetricsInterceptorTest.class, method);
+        assertEquals(1, metrics.getCalls());
+        assertEquals(0, metrics.getErrors());
+    }
+
+    /**
+     * Test a failed call is recorded as error and the exception is rethrown.
+     *
+     * @throws Exception thrown by the interceptor
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testMeasureError() throws Exception {
+        when(context.proceed()).thenThrow(new IllegalStateException());
+        try {
+            interceptor.measure(context);
+        } finally {
+            assertEquals(1, metricsRegistry.get(MetricsInterceptorTest.class, method).getErrors());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package de.unibremen.swp2.kcb.metrics;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class to test {@link MetricsRegistry}
+ *
+ * @author Marius
+ */
+public class MetricsRegistryTest {
+
+    /**
+     * Tested registry
+     */
+    private MetricsRegistry registry;
+
+    /**
+     * Method to record calls of
+     */
+    private Method method;
+
+    /**
+     * Sets up.
+     *
+     * @throws NoSuchMethodException if the method doesn't exist
+     */
+    @Before
+    public void setUp() throws NoSuchMethodException {
+        registry = new MetricsRegistry();
+        method = MetricsRegistryTest.class.getDeclaredMethod("setUp");
+    }
+
+    /**
+     * Test calls of the same method share their metrics.
+     */
+    @Test
+    public void testGet() {
+        assertSame(registry.get(MetricsRegistryTest.class, method), registry.get(MetricsRegistryTest.class, method));
+        assertEquals("MetricsRegistryTest", registry.get(MetricsRegistryTest.class, method).getClassName());
+    }
+
+    /**
+     * Test the histogram buckets are cumulative.
+     */
+    @Test
+    public void testRecord() {
+        final MethodMetrics metrics = registry.get(MetricsRegistryTest.class, method);
+        metrics.record(1_000_000L, false);
+        metrics.record(200_000_000L, true);
+        metrics.record(60_000_000_000L, false);
+
+        final long[] buckets = metrics.getCumulativeBucketCounts();
+        assertEquals(1, buckets[0]);
+        assertEquals(2, buckets[MethodMetrics.BUCKETS.length - 1]);
+        assertEquals(3, buckets[MethodMetrics.BUCKETS.length]);
+        assertEquals(3, metrics.getCalls());
+        assertEquals(1, metrics.getErrors());
+    }
+
+    /**
+     * Test the metrics are written in the Prometheus text format.
+     */
+    @Test
+    public void testWrite() {
+        registry.get(MetricsRegistryTest.class, method).record(1_000_000L, true);
+        final StringBuilder out = new StringBuilder();
+        registry.write(out);
+
+        final String labels = "class=\"MetricsRegistryTest\",method=\"setUp\"";
+        final String text = out.toString();
+        assertTrue(text.contains("# TYPE kcb_method_duration_seconds histogram\n"));
+        assertTrue(text.contains("kcb_method_calls_total{" + labels + "} 1\n"));
+        assertTrue(text.contains("kcb_method_errors_total{" + labels + "} 1\n"));
+        assertTrue(text.contains("kcb_method_duration_seconds_bucket{" + labels + ",le=\"0.005\"} 1\n"));
+        assertTrue(text.contains("kcb_method_duration_seconds_bucket{" + labels + ",le=\"+Inf\"} 1\n"));
+        assertTrue(text.contains("kcb_method_duration_seconds_count{" + labels + "} 1\n"));
+    }
+
+    /**
+     * Test label values are escaped.
+     */
+    @Test
+    public void testLabel() {
+        assertEquals("workstation=\"a\\\"b\"", MetricsRegistry.label("workstation", "a\"b"));
+    }
+}
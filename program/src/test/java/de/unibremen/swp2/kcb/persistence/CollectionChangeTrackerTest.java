@@ -0,0 +1,120 @@
+package de.unibremen.swp2.kcb.persistence;
+
+import de.unibremen.swp2.kcb.model.Locations.Location;
+import de.unibremen.swp2.kcb.model.Locations.Workstation;
+import de.unibremen.swp2.kcb.model.User;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Test class to test {@link CollectionChangeTracker} with Hibernate on an in-memory database.
+ * The entity listeners of META-INF/orm.xml aren't registered here, so only collection changes are counted.
+ *
+ * @author Marius
+ */
+public class CollectionChangeTrackerTest {
+
+    /**
+     * Session factory of the test entities
+     */
+    private SessionFactory sessionFactory;
+
+    /**
+     * Stored workstation without users
+     */
+    private Workstation workstation;
+
+    /**
+     * Stored user not using the workstation
+     */
+    private User user;
+
+    /**
+     * Generate the schema and store a workstation and a user.
+     */
+    @Before
+    public void setUp() {
+        final StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DRIVER, "org.h2.Driver")
+                .applySetting(AvailableSettings.URL, "jdbc:h2:mem:collections;DB_CLOSE_DELAY=-1")
+                .applySetting(AvailableSettings.DIALECT, H2Dialect.class.getName())
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false")
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Location.class)
+                .addAnnotatedClass(Workstation.class)
+                .buildMetadata().buildSessionFactory();
+
+        user = new User();
+        user.setUsername("TestGuy");
+        workstation = new Workstation();
+        workstation.setName("Workstation");
+        workstation.setUsers(new ArrayList<>());
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            session.persist(user);
+            session.persist(workstation);
+            session.getTransaction().commit();
+        }
+    }
+
+    /**
+     * Drop the schema.
+     */
+    @After
+    public void tearDown() {
+        if (sessionFactory != null)
+            sessionFactory.close();
+    }
+
+    /**
+     * Test changing only the users of a workstation changes the generation once the transaction has been committed.
+     */
+    @Test
+    public void testCollectionChangeChangesGeneration() {
+        final long before = EntityChangeTracker.getGeneration();
+
+        final TransactionMocker transaction = TransactionMocker.begin();
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            session.get(Workstation.class, workstation.getId()).getUsers().add(session.get(User.class, user.getId()));
+            session.getTransaction().commit();
+        }
+        assertEquals(before, EntityChangeTracker.getGeneration());
+
+        transaction.commit();
+        assertNotEquals(before, EntityChangeTracker.getGeneration());
+    }
+
+    /**
+     * Test reading a collection doesn't change the generation.
+     */
+    @Test
+    public void testReadCollectionKeepsGeneration() {
+        final long before = EntityChangeTracker.getGeneration();
+
+        final TransactionMocker transaction = TransactionMocker.begin();
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            session.get(Workstation.class, workstation.getId()).getUsers().size();
+            session.getTransaction().commit();
+        }
+        transaction.commit();
+        assertEquals(before, EntityChangeTracker.getGeneration());
+    }
+}
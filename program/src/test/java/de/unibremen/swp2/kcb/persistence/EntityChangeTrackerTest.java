@@ -0,0 +1,23 @@
+package de.unibremen.swp2.kcb.persistence;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test Class to Test {@link EntityChangeTracker}
+ *
+ * @author Marius
+ */
+public class EntityChangeTrackerTest {
+
+    /**
+     * Test a change outside of a transaction increments the generation immediately.
+     */
+    @Test
+    public void testChanged() {
+        final long before = EntityChangeTracker.getGeneration();
+        new EntityChangeTracker().changed(new Object());
+        assertTrue(EntityChangeTracker.getGeneration() > before);
+    }
+}
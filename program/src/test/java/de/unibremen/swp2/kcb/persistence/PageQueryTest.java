@@ -0,0 +1,470 @@
+package de.unibremen.swp2.kcb.persistence;
+
+import de.unibremen.swp2.kcb.model.Job;
+import de.unibremen.swp2.kcb.model.JobState;
+import de.unibremen.swp2.kcb.model.Priority;
+import de.unibremen.swp2.kcb.model.User;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Answers;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnitUtil;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.ManagedType;
+import javax.persistence.metamodel.Metamodel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class to test the paged and id queries of {@link PageQuery}
+ *
+ * @author Marius
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class PageQueryTest {
+
+    /**
+     * Injected instance of PageQuery
+     */
+    @InjectMocks
+    private PageQuery pageQuery;
+
+    /**
+     * Mocked version of EntityManager
+     */
+    @Mock
+    private EntityManager entityManager;
+
+    /**
+     * Mocked version of EntityManagerFactory
+     */
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Mocked version of PersistenceUnitUtil
+     */
+    @Mock
+    private PersistenceUnitUtil persistenceUnitUtil;
+
+    /**
+     * Mocked version of CriteriaBuilder
+     */
+    @Mock
+    private CriteriaBuilder cb;
+
+    /**
+     * Mocked version of CriteriaQuery
+     */
+    @Mock
+    private CriteriaQuery<User> query;
+
+    /**
+     * Mocked version of Root
+     */
+    @Mock
+    private Root<User> root;
+
+    /**
+     * Mocked version of the id path
+     */
+    @Mock
+    private Path<Object> idPath;
+
+    /**
+     * Mocked version of TypedQuery
+     */
+    @Mock
+    private TypedQuery<User> typedQuery;
+
+    /**
+     * Stored users
+     */
+    private User a, b;
+
+    /**
+     * Mocked version of Metamodel
+     */
+    @Mock
+    private Metamodel metamodel;
+
+    /**
+     * Mocked metamodel of Priority
+     */
+    @Mock
+    private ManagedType priorityType;
+
+    /**
+     * Mocked metamodel of User
+     */
+    @Mock
+    private ManagedType userType;
+
+    /**
+     * Mocked metamodel of Job
+     */
+    @Mock
+    private ManagedType jobType;
+
+    /**
+     * Mocked id attribute
+     */
+    @Mock
+    private Attribute idAttribute;
+
+    /**
+     * Mocked value attribute of Priority
+     */
+    @Mock
+    private Attribute valueAttribute;
+
+    /**
+     * Mocked password attribute of User
+     */
+    @Mock
+    private Attribute passwordAttribute;
+
+    /**
+     * Mocked jobState attribute of Job
+     */
+    @Mock
+    private Attribute jobStateAttribute;
+
+    /**
+     * Mocked query of the Priorities
+     */
+    @Mock(answer = Answers.RETURNS_SELF)
+    private CriteriaQuery priorityQuery;
+
+    /**
+     * Mocked root of the Priority query
+     */
+    @Mock
+    private Root priorityRoot;
+
+    /**
+     * Mocked id path of the Priority query
+     */
+    @Mock
+    private Path priorityIdPath;
+
+    /**
+     * Mocked value path of the Priority query
+     */
+    @Mock
+    private Path valuePath;
+
+    /**
+     * Mocked typed query of the Priorities
+     */
+    @Mock(answer = Answers.RETURNS_SELF)
+    private TypedQuery priorityTypedQuery;
+
+    /**
+     * Mocked query of the sort value of the cursor
+     */
+    @Mock(answer = Answers.RETURNS_SELF)
+    private CriteriaQuery cursorQuery;
+
+    /**
+     * Mocked root of the cursor query
+     */
+    @Mock
+    private Root cursorRoot;
+
+    /**
+     * Mocked typed query of the cursor
+     */
+    @Mock(answer = Answers.RETURNS_SELF)
+    private TypedQuery cursorTypedQuery;
+
+    /**
+     * Mocked count query of the Jobs
+     */
+    @Mock(answer = Answers.RETURNS_SELF)
+    private CriteriaQuery countQuery;
+
+    /**
+     * Mocked root of the Job count query
+     */
+    @Mock
+    private Root jobRoot;
+
+    /**
+     * Mocked jobState path of the Job count query
+     */
+    @Mock
+    private Path jobStatePath;
+
+    /**
+     * Mocked typed count query of the Jobs
+     */
+    @Mock
+    private TypedQuery countTypedQuery;
+
+    /**
+     * Sets up the mocked criteria query.
+     */
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        a = new User();
+        a.setId("a");
+        b = new User();
+        b.setId("b");
+
+        when(entityManager.getCriteriaBuilder()).thenReturn(cb);
+        when(entityManager.getEntityManagerFactory()).thenReturn(entityManagerFactory);
+        when(entityManagerFactory.getPersistenceUnitUtil()).thenReturn(persistenceUnitUtil);
+        when(persistenceUnitUtil.getIdentifier(any())).thenAnswer(invocation -> ((User) invocation.getArgument(0)).getId());
+        when(cb.createQuery(User.class)).thenReturn(query);
+        when(query.from(User.class)).thenReturn(root);
+        when(root.get("id")).thenReturn(idPath);
+        when(query.select(root)).thenReturn(query);
+        when(query.where(ArgumentMatchers.<Expression<Boolean>>any())).thenReturn(query);
+        when(entityManager.createQuery(query)).thenReturn(typedQuery);
+        when(typedQuery.getResultList()).thenReturn(Arrays.asList(a, b));
+
+        when(entityManager.getMetamodel()).thenReturn(metamodel);
+        when(metamodel.managedType(Priority.class)).thenReturn(priorityType);
+        when(metamodel.managedType(User.class)).thenReturn(userType);
+        when(metamodel.managedType(Job.class)).thenReturn(jobType);
+        when(priorityType.getAttribute("id")).thenReturn(idAttribute);
+        when(priorityType.getAttribute("value")).thenReturn(valueAttribute);
+        when(priorityType.getAttribute("unknown")).thenThrow(new IllegalArgumentException());
+        when(userType.getAttribute("password")).thenReturn(passwordAttribute);
+        when(jobType.getAttribute("jobState")).thenReturn(jobStateAttribute);
+        this.mockBasicAttribute(idAttribute, String.class);
+        this.mockBasicAttribute(valueAttribute, int.class);
+        this.mockBasicAttribute(passwordAttribute, String.class);
+        this.mockBasicAttribute(jobStateAttribute, JobState.class);
+
+        when(cb.createQuery(Priority.class)).thenReturn(priorityQuery);
+        when(priorityQuery.from(Priority.class)).thenReturn(priorityRoot);
+        when(priorityRoot.get("id")).thenReturn(priorityIdPath);
+        when(priorityRoot.get("value")).thenReturn(valuePath);
+        when(entityManager.createQuery(priorityQuery)).thenReturn(priorityTypedQuery);
+        when(priorityTypedQuery.getResultList()).thenReturn(new ArrayList<>());
+
+        when(cb.createQuery(Comparable.class)).thenReturn(cursorQuery);
+        when(cursorQuery.from(Priority.class)).thenReturn(cursorRoot);
+        when(cursorRoot.get("id")).thenReturn(priorityIdPath);
+        when(cursorRoot.get("value")).thenReturn(valuePath);
+        when(entityManager.createQuery(cursorQuery)).thenReturn(cursorTypedQuery);
+        when(cursorTypedQuery.getResultList()).thenReturn(Collections.singletonList(5));
+
+        when(cb.createQuery(Long.class)).thenReturn(countQuery);
+        when(countQuery.from(Job.class)).thenReturn(jobRoot);
+        when(jobRoot.get("jobState")).thenReturn(jobStatePath);
+        when(entityManager.createQuery(countQuery)).thenReturn(countTypedQuery);
+        when(countTypedQuery.getSingleResult()).thenReturn(1L);
+    }
+
+    /**
+     * Mock the given attribute as a single valued basic attribute of the given type.
+     *
+     * @param attribute the mocked attribute
+     * @param type      java type of the attribute
+     */
+    private void mockBasicAttribute(final Attribute attribute, final Class<?> type) {
+        when(attribute.getPersistentAttributeType()).thenReturn(Attribute.PersistentAttributeType.BASIC);
+        when(attribute.getJavaType()).thenReturn(type);
+        when(attribute.isCollection()).thenReturn(false);
+    }
+
+    /**
+     * Tests that the entities are returned in the order of the ids and unknown ids are skipped.
+     */
+    @Test
+    public void testFindByIdsOrder() {
+        assertEquals(Arrays.asList(b, a), pageQuery.findByIds(User.class, Arrays.asList("b", "unknown", "a")));
+        verify(entityManager, times(1)).createQuery(query);
+    }
+
+    /**
+     * Tests that large inputs are queried in chunks.
+     */
+    @Test
+    public void testFindByIdsChunked() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i <= PageQuery.ID_CHUNK_SIZE; i++)
+            ids.add(String.valueOf(i));
+
+        pageQuery.findByIds(User.class, ids);
+        verify(entityManager, times(2)).createQuery(query);
+        verify(idPath, times(1)).in(ArgumentMatchers.<Collection<?>>argThat(chunk -> chunk.size() == PageQuery.ID_CHUNK_SIZE));
+        verify(idPath, times(1)).in(ArgumentMatchers.<Collection<?>>argThat(chunk -> chunk.size() == 1));
+    }
+
+    /**
+     * Tests that nothing is queried without valid ids.
+     */
+    @Test
+    public void testFindByIdsEmpty() {
+        assertTrue(pageQuery.findByIds(User.class, null).isEmpty());
+        assertTrue(pageQuery.findByIds(User.class, Collections.emptyList()).isEmpty());
+        assertTrue(pageQuery.findByIds(User.class, Arrays.asList(null, "")).isEmpty());
+        verify(entityManager, never()).createQuery(query);
+    }
+
+    /**
+     * Tests that a page after a cursor continues after the sort value and id of the cursor entity
+     * instead of skipping an offset.
+     */
+    @Test
+    public void testFindAfterCursor() {
+        PageRequest request = new PageRequest();
+        request.setSort("value");
+        request.setAfter("b");
+        request.setOffset(10);
+
+        pageQuery.find(Priority.class, request);
+        verify(cursorQuery, times(1)).where(ArgumentMatchers.<Expression<Boolean>>any());
+        verify(cb, times(1)).greaterThan(valuePath, (Comparable) 5);
+        verify(cb, times(1)).equal(valuePath, 5);
+        verify(cb, times(1)).greaterThan(priorityIdPath, "b");
+        verify(priorityTypedQuery, times(1)).setMaxResults(PageRequest.DEFAULT_LIMIT);
+        verify(priorityTypedQuery, never()).setFirstResult(anyInt());
+    }
+
+    /**
+     * Tests that a descending page after a cursor continues with smaller values.
+     */
+    @Test
+    public void testFindAfterCursorDescending() {
+        PageRequest request = new PageRequest();
+        request.setSort("-value");
+        request.setAfter("b");
+
+        pageQuery.find(Priority.class, request);
+        verify(cb, times(1)).lessThan(valuePath, (Comparable) 5);
+        verify(cb, times(1)).lessThan(priorityIdPath, "b");
+        verify(cb, never()).greaterThan(valuePath, (Comparable) 5);
+    }
+
+    /**
+     * Tests that a cursor pointing to an unknown entity is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindAfterUnknownCursor() {
+        when(cursorTypedQuery.getResultList()).thenReturn(new ArrayList<>());
+        PageRequest request = new PageRequest();
+        request.setAfter("unknown");
+
+        pageQuery.find(Priority.class, request);
+    }
+
+    /**
+     * Tests that a page without a cursor skips the offset.
+     */
+    @Test
+    public void testFindOffset() {
+        PageRequest request = new PageRequest();
+        request.setOffset(10);
+        request.setLimit(5);
+
+        pageQuery.find(Priority.class, request);
+        verify(priorityTypedQuery, times(1)).setFirstResult(10);
+        verify(priorityTypedQuery, times(1)).setMaxResults(5);
+        verify(cb, never()).createQuery(Comparable.class);
+    }
+
+    /**
+     * Tests that sorting by an unknown attribute is rejected before querying.
+     */
+    @Test
+    public void testFindInvalidSort() {
+        PageRequest request = new PageRequest();
+        request.setSort("unknown");
+
+        try {
+            pageQuery.find(Priority.class, request);
+            fail("Expected the sort attribute to be rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("unknown"));
+        }
+        verify(entityManager, never()).createQuery(priorityQuery);
+    }
+
+    /**
+     * Tests that sorting by an attribute that isn't exposed by the REST-API is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFindHiddenSort() {
+        PageRequest request = new PageRequest();
+        request.setSort("password");
+
+        pageQuery.find(User.class, request);
+    }
+
+    /**
+     * Tests that filter values are converted to the type of their attribute.
+     */
+    @Test
+    public void testFilterConversion() {
+        PageRequest request = new PageRequest();
+        request.getFilters().put("value", "5");
+
+        pageQuery.find(Priority.class, request);
+        verify(cb, times(1)).equal(valuePath, 5);
+    }
+
+    /**
+     * Tests that enum filters are converted case insensitive and "null" filters for missing values.
+     */
+    @Test
+    public void testCountFilterConversion() {
+        PageRequest request = new PageRequest();
+        request.getFilters().put("jobState", "processing");
+        assertEquals(1L, pageQuery.count(Job.class, request));
+        verify(cb, times(1)).equal(jobStatePath, JobState.PROCESSING);
+
+        request.getFilters().put("jobState", "null");
+        pageQuery.count(Job.class, request);
+        verify(cb, times(1)).isNull(jobStatePath);
+    }
+
+    /**
+     * Tests that a filter value that can't be converted is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFilterInvalidValue() {
+        PageRequest request = new PageRequest();
+        request.getFilters().put("value", "five");
+
+        pageQuery.find(Priority.class, request);
+    }
+
+    /**
+     * Tests that a request with an unknown filter is rejected before any predicate is created.
+     */
+    @Test
+    public void testUnknownFilter() {
+        PageRequest request = new PageRequest();
+        request.getFilters().put("value", "5");
+        request.getFilters().put("unknown", "x");
+
+        try {
+            pageQuery.find(Priority.class, request);
+            fail("Expected the filter to be rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("unknown"));
+        }
+        verify(cb, never()).equal(any(Expression.class), any(Object.class));
+        verify(entityManager, never()).createQuery(priorityQuery);
+    }
+}
@@ -0,0 +1,116 @@
+package de.unibremen.swp2.kcb.persistence;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.TransactionSynchronizationRegistry;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mocked JTA transaction for unit tests. While it is active, actions registered with {@link AfterCommit}
+ * are deferred until {@link #commit()} and dropped by {@link #rollback()}.
+ *
+ * @author Marius
+ */
+public final class TransactionMocker implements TransactionSynchronizationRegistry {
+
+    /**
+     * Status of the transaction
+     */
+    private int status = Status.STATUS_ACTIVE;
+
+    /**
+     * Resources put into the transaction
+     */
+    private final Map<Object, Object> resources = new HashMap<>();
+
+    /**
+     * Registered synchronizations
+     */
+    private final List<Synchronization> synchronizations = new ArrayList<>();
+
+    /**
+     * Use {@link #begin()}.
+     */
+    private TransactionMocker() {
+    }
+
+    /**
+     * Begin a mocked transaction, which is used by {@link AfterCommit} until it is completed.
+     *
+     * @return the transaction
+     */
+    public static TransactionMocker begin() {
+        final TransactionMocker transaction = new TransactionMocker();
+        AfterCommit.setRegistry(transaction);
+        return transaction;
+    }
+
+    /**
+     * Commit the transaction and run the actions registered after commit.
+     */
+    public void commit() {
+        this.complete(Status.STATUS_COMMITTED);
+    }
+
+    /**
+     * Roll the transaction back, the actions registered after commit aren't run.
+     */
+    public void rollback() {
+        this.complete(Status.STATUS_ROLLEDBACK);
+    }
+
+    /**
+     * Complete the transaction with the given status. A transaction marked for rollback is rolled back.
+     *
+     * @param completedStatus status of the completed transaction
+     */
+    private void complete(final int completedStatus) {
+        AfterCommit.setRegistry(null);
+        if (status == Status.STATUS_COMMITTED || status == Status.STATUS_ROLLEDBACK)
+            return;
+        final int result = status == Status.STATUS_MARKED_ROLLBACK ? Status.STATUS_ROLLEDBACK : completedStatus;
+        for (Synchronization synchronization : synchronizations)
+            synchronization.beforeCompletion();
+        status = result;
+        for (Synchronization synchronization : synchronizations)
+            synchronization.afterCompletion(result);
+    }
+
+    @Override
+    public Object getTransactionKey() {
+        return this;
+    }
+
+    @Override
+    public void putResource(final Object key, final Object value) {
+        resources.put(key, value);
+    }
+
+    @Override
+    public Object getResource(final Object key) {
+        return resources.get(key);
+    }
+
+    @Override
+    public void registerInterposedSynchronization(final Synchronization synchronization) {
+        synchronizations.add(synchronization);
+    }
+
+    @Override
+    public int getTransactionStatus() {
+        return status;
+    }
+
+    @Override
+    public void setRollbackOnly() {
+        status = Status.STATUS_MARKED_ROLLBACK;
+    }
+
+    @Override
+    public boolean getRollbackOnly() {
+        return status == Status.STATUS_MARKED_ROLLBACK;
+    }
+}
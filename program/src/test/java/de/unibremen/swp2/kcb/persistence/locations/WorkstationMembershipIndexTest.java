@@ -0,0 +1,110 @@
+package de.unibremen.swp2.kcb.persistence.locations;
+
+import de.unibremen.swp2.kcb.model.Locations.Workstation;
+import de.unibremen.swp2.kcb.model.User;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class to test {@link WorkstationMembershipIndex}
+ *
+ * @author Marius
+ */
+public class WorkstationMembershipIndexTest {
+
+    /**
+     * Injected instance of the index
+     */
+    @InjectMocks
+    private WorkstationMembershipIndex index;
+
+    /**
+     * Mocked version of WorkstationRepository
+     */
+    @Mock
+    private WorkstationRepository workstationRepository;
+
+    /**
+     * User to look up the workstations of
+     */
+    private User user;
+
+    /**
+     * SetUp Method to inject Mock-Objects.
+     */
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        user = new User();
+        user.setId("user");
+        when(workstationRepository.findIdsByUserId("user")).thenReturn(Arrays.asList("w1", "w2"));
+    }
+
+    /**
+     * Tests that the workstations of a user are only queried once.
+     */
+    @Test
+    public void testGetWorkstationIdsCached() {
+        assertEquals(new HashSet<>(Arrays.asList("w1", "w2")), index.getWorkstationIds(user));
+        assertEquals(new HashSet<>(Arrays.asList("w1", "w2")), index.getWorkstationIds(user));
+        verify(workstationRepository, times(1)).findIdsByUserId("user");
+    }
+
+    /**
+     * Tests the lookup of a single assignment.
+     */
+    @Test
+    public void testIsAssigned() {
+        Workstation assigned = new Workstation();
+        assigned.setId("w1");
+        Workstation other = new Workstation();
+        other.setId("w3");
+
+        assertTrue(index.isAssigned(user, assigned));
+        assertFalse(index.isAssigned(user, other));
+        assertFalse(index.isAssigned(user, null));
+    }
+
+    /**
+     * Tests that no query is made for a missing user.
+     */
+    @Test
+    public void testGetWorkstationIdsNullUser() {
+        assertTrue(index.getWorkstationIds(null).isEmpty());
+        verify(workstationRepository, never()).findIdsByUserId(anyString());
+    }
+
+    /**
+     * Tests that the workstations are queried again after invalidating the user.
+     */
+    @Test
+    public void testInvalidate() {
+        index.getWorkstationIds(user);
+        index.invalidate(user);
+        when(workstationRepository.findIdsByUserId("user")).thenReturn(Collections.singletonList("w3"));
+
+        assertEquals(Collections.singleton("w3"), index.getWorkstationIds(user));
+        verify(workstationRepository, times(2)).findIdsByUserId("user");
+    }
+
+    /**
+     * Tests that the workstations are queried again after invalidating all users.
+     */
+    @Test
+    public void testInvalidateAll() {
+        index.getWorkstationIds(user);
+        index.invalidateAll();
+        index.getWorkstationIds(user);
+        verify(workstationRepository, times(2)).findIdsByUserId("user");
+    }
+}
@@ -0,0 +1,160 @@
+package de.unibremen.swp2.kcb.persistence.migration;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.sql.DataSource;
+import java.sql.*;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class to test {@link MigrationRunner} and {@link SqlMigration}
+ *
+ * @author Marius
+ */
+public class MigrationRunnerTest {
+
+    /**
+     * Injected instance of MigrationRunner
+     */
+    @InjectMocks
+    private MigrationRunner runner;
+
+    /**
+     * Mocked version of DataSource
+     */
+    @Mock
+    private DataSource dataSource;
+
+    /**
+     * Mocked version of Connection
+     */
+    @Mock
+    private Connection connection;
+
+    /**
+     * Mocked version of Statement
+     */
+    @Mock
+    private Statement statement;
+
+    /**
+     * Mocked version of PreparedStatement recording the history
+     */
+    @Mock
+    private PreparedStatement insert;
+
+    /**
+     * Mocked version of the ResultSet of the applied versions
+     */
+    @Mock
+    private ResultSet history;
+
+    /**
+     * Mocked migrations
+     */
+    @Mock
+    private Migration first, second;
+
+    /**
+     * Sets up.
+     *
+     * @throws SQLException never
+     */
+    @Before
+    public void setUp() throws SQLException {
+        MockitoAnnotations.initMocks(this);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(true);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.prepareStatement(anyString())).thenReturn(insert);
+        when(statement.executeQuery(anyString())).thenReturn(history);
+        when(history.next()).thenReturn(false);
+        when(first.getVersion()).thenReturn(1);
+        when(second.getVersion()).thenReturn(2);
+    }
+
+    /**
+     * Test pending migrations are applied in the order of their versions and recorded.
+     *
+     * @throws SQLException never
+     */
+    @Test
+    public void testMigrate() throws SQLException {
+        assertEquals(2, runner.migrate(Arrays.asList(second, first)));
+
+        InOrder inOrder = inOrder(first, second, connection);
+        inOrder.verify(first).migrate(connection);
+        inOrder.verify(connection).commit();
+        inOrder.verify(second).migrate(connection);
+        inOrder.verify(connection).commit();
+        verify(insert, times(2)).executeUpdate();
+        verify(connection).setAutoCommit(true);
+    }
+
+    /**
+     * Test applied migrations are skipped.
+     *
+     * @throws SQLException never
+     */
+    @Test
+    public void testMigrateApplied() throws SQLException {
+        when(history.next()).thenReturn(true, false);
+        when(history.getInt(1)).thenReturn(1);
+
+        assertEquals(1, runner.migrate(Arrays.asList(first, second)));
+        verify(first, never()).migrate(any());
+        verify(second, times(1)).migrate(connection);
+    }
+
+    /**
+     * Test a failed migration is rolled back and stops later migrations.
+     *
+     * @throws SQLException expected
+     */
+    @Test(expected = SQLException.class)
+    public void testMigrateFail() throws SQLException {
+        doThrow(new SQLException("broken")).when(first).migrate(connection);
+        try {
+            runner.migrate(Arrays.asList(first, second));
+        } finally {
+            verify(connection, times(1)).rollback();
+            verify(connection, never()).commit();
+            verify(second, never()).migrate(any());
+        }
+    }
+
+    /**
+     * Test the statements of the index migration are read without comments and semicolons.
+     *
+     * @throws SQLException never
+     */
+    @Test
+    public void testSqlMigrationStatements() throws SQLException {
+        final List<String> statements = new SqlMigration(1, "indexes", "db/migration/V1__indexes.sql").getStatements();
+        assertTrue(!statements.isEmpty());
+        for (String sql : statements) {
+            assertTrue(sql.startsWith("CREATE INDEX IF NOT EXISTS"));
+            assertTrue(!sql.endsWith(";"));
+        }
+    }
+
+    /**
+     * Test a missing script fails the migration.
+     *
+     * @throws SQLException expected
+     */
+    @Test(expected = SQLException.class)
+    public void testSqlMigrationMissingScript() throws SQLException {
+        new SqlMigration(1, "missing", "db/migration/missing.sql").migrate(connection);
+    }
+}
@@ -0,0 +1,160 @@
+package de.unibremen.swp2.kcb.persistence.migration;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.persistence.Entity;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.LinkedHashSet;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Test class applying the migrations of the {@link MigrationRunner} to an H2 schema generated from the entity mapping,
+ * so the tables and columns used by the migration scripts are checked against the real schema.
+ *
+ * @author Marius
+ */
+public class MigrationSchemaTest {
+
+    /**
+     * Url of the in-memory database, kept open until the test is finished
+     */
+    private static final String URL = "jdbc:h2:mem:migration;DB_CLOSE_DELAY=-1";
+
+    /**
+     * Entity classes listed in the persistence unit
+     */
+    private static final Pattern ENTITY_CLASS = Pattern.compile("<class>\\s*([\\w.$]+)\\s*</class>");
+
+    /**
+     * Index names created by a migration script
+     */
+    private static final Pattern INDEX_NAME = Pattern.compile("CREATE INDEX IF NOT EXISTS (\\w+) ON", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Session factory that generated the schema
+     */
+    private SessionFactory sessionFactory;
+
+    /**
+     * Connection to the generated schema
+     */
+    private Connection connection;
+
+    /**
+     * Generate the schema of all entities of the persistence unit.
+     *
+     * @throws Exception if the schema couldn't be generated
+     */
+    @Before
+    public void setUp() throws Exception {
+        final StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DRIVER, "org.h2.Driver")
+                .applySetting(AvailableSettings.URL, URL)
+                .applySetting(AvailableSettings.DIALECT, H2Dialect.class.getName())
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create")
+                .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, "false")
+                .build();
+
+        final MetadataSources sources = new MetadataSources(registry);
+        for (Class<?> entityClass : getEntityClasses())
+            sources.addAnnotatedClass(entityClass);
+        sessionFactory = sources.buildMetadata().buildSessionFactory();
+
+        connection = DriverManager.getConnection(URL);
+        connection.setAutoCommit(false);
+    }
+
+    /**
+     * Close the connection and drop the schema.
+     *
+     * @throws SQLException if the connection couldn't be closed
+     */
+    @After
+    public void tearDown() throws SQLException {
+        if (connection != null)
+            connection.close();
+        if (sessionFactory != null)
+            sessionFactory.close();
+    }
+
+    /**
+     * Test every migration applies to the generated schema and creates all of its indexes.
+     *
+     * @throws SQLException if a migration fails
+     */
+    @Test
+    public void testMigrationsApplyToMappedSchema() throws SQLException {
+        for (Migration migration : MigrationRunner.MIGRATIONS) {
+            migration.migrate(connection);
+            connection.commit();
+
+            if (!(migration instanceof SqlMigration))
+                continue;
+            for (String statement : ((SqlMigration) migration).getStatements()) {
+                final Matcher matcher = INDEX_NAME.matcher(statement);
+                if (matcher.find())
+                    assertTrue("Index " + matcher.group(1) + " of migration " + migration.getVersion()
+                            + " should exist.", this.indexExists(matcher.group(1)));
+            }
+        }
+    }
+
+    /**
+     * Check whether an index with the given name exists.
+     *
+     * @param name of the index
+     * @return whether the index exists
+     * @throws SQLException if the schema couldn't be read
+     */
+    private boolean indexExists(final String name) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME = ?")) {
+            statement.setString(1, name.toUpperCase());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getLong(1) > 0;
+            }
+        }
+    }
+
+    /**
+     * Return the entity classes of the persistence unit and their entity superclasses.
+     *
+     * @return the entity classes
+     * @throws IOException            if the persistence unit couldn't be read
+     * @throws ClassNotFoundException if a listed class doesn't exist
+     */
+    private static Set<Class<?>> getEntityClasses() throws IOException, ClassNotFoundException {
+        final String persistenceXml;
+        try (InputStream in = MigrationSchemaTest.class.getClassLoader().getResourceAsStream("META-INF/persistence.xml");
+             Scanner scanner = new Scanner(in, StandardCharsets.UTF_8.name())) {
+            persistenceXml = scanner.useDelimiter("\\A").next();
+        }
+
+        final Set<Class<?>> entityClasses = new LinkedHashSet<>();
+        final Matcher matcher = ENTITY_CLASS.matcher(persistenceXml);
+        while (matcher.find()) {
+            Class<?> entityClass = Class.forName(matcher.group(1));
+            while (entityClass != null && entityClass.isAnnotationPresent(Entity.class)) {
+                entityClasses.add(entityClass);
+                entityClass = entityClass.getSuperclass();
+            }
+        }
+        return entityClasses;
+    }
+}
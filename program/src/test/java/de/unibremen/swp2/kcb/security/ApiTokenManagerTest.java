@@ -0,0 +1,133 @@
+package de.unibremen.swp2.kcb.security;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test Class to Test {@link ApiTokenManager}
+ *
+ * @author Marius
+ */
+public class ApiTokenManagerTest {
+
+    /**
+     * Point in time tokens are issued at
+     */
+    private static final Instant NOW = Instant.parse("2020-01-01T12:00:00Z");
+
+    /**
+     * Secret used to sign tokens
+     */
+    private static final byte[] SECRET = "secret".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * Stored password hash of the users
+     */
+    private static final String HASH = "hash";
+
+    /**
+     * Looks up the stored password hash of every user
+     */
+    private static final Function<String, String> HASHES = principal -> HASH;
+
+    /**
+     * Manager issuing tokens
+     */
+    private ApiTokenManager manager;
+
+    /**
+     * Sets up method.
+     */
+    @Before
+    public void setUp() {
+        manager = new ApiTokenManager(SECRET, Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    /**
+     * Test issued token can be verified.
+     */
+    @Test
+    public void testIssueAndVerify() {
+        String token = manager.issue("admin", HASH);
+        assertEquals("admin", manager.verify(token, HASHES));
+    }
+
+    /**
+     * Test expired token is rejected.
+     */
+    @Test
+    public void testVerifyExpired() {
+        String token = manager.issue("admin", HASH);
+        ApiTokenManager later = new ApiTokenManager(SECRET, Duration.ofHours(1),
+                Clock.fixed(NOW.plus(Duration.ofHours(2)), ZoneOffset.UTC));
+        assertNull(later.verify(token, HASHES));
+    }
+
+    /**
+     * Test token signed with another secret is rejected.
+     */
+    @Test
+    public void testVerifyOtherSecret() {
+        ApiTokenManager other = new ApiTokenManager("other".getBytes(StandardCharsets.UTF_8), Duration.ofHours(1),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        assertNull(manager.verify(other.issue("admin", HASH), HASHES));
+    }
+
+    /**
+     * Test tampered token is rejected.
+     */
+    @Test
+    public void testVerifyTampered() {
+        String token = manager.issue("admin", HASH);
+        String forged = new ApiTokenManager(SECRET, Duration.ofDays(365), Clock.fixed(NOW, ZoneOffset.UTC)).issue("root", HASH);
+        String tampered = forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'));
+        assertNull(manager.verify(tampered, HASHES));
+    }
+
+    /**
+     * Test malformed tokens are rejected.
+     */
+    @Test
+    public void testVerifyMalformed() {
+        assertNull(manager.verify(null, HASHES));
+        assertNull(manager.verify("", HASHES));
+        assertNull(manager.verify("abc", HASHES));
+        assertNull(manager.verify("!!!.???", HASHES));
+    }
+
+    /**
+     * Test token of a deleted user is rejected.
+     */
+    @Test
+    public void testVerifyDeletedUser() {
+        String token = manager.issue("admin", HASH);
+        assertNull(manager.verify(token, principal -> null));
+    }
+
+    /**
+     * Test token issued before the password was changed is rejected.
+     */
+    @Test
+    public void testVerifyChangedPassword() {
+        String token = manager.issue("admin", HASH);
+        assertNull(manager.verify(token, principal -> "changed"));
+    }
+
+    /**
+     * Test the stored password hash is looked up for the principal of the token.
+     */
+    @Test
+    public void testVerifyLooksUpPrincipal() {
+        String token = manager.issue("admin|example", HASH);
+        assertEquals("admin|example", manager.verify(token, principal -> "admin|example".equals(principal) ? HASH : null));
+    }
+}
@@ -0,0 +1,89 @@
+package de.unibremen.swp2.kcb.security;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class to test {@link ExpiringCache}
+ *
+ * @author Marius
+ */
+public class ExpiringCacheTest {
+
+    /**
+     * Mocked clock to control the expiration
+     */
+    private Clock clock;
+
+    /**
+     * Tested cache with two entries and a time to live of 100ms
+     */
+    private ExpiringCache<String, String> cache;
+
+    /**
+     * Sets up.
+     */
+    @Before
+    public void setUp() {
+        clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        cache = new ExpiringCache<>(2, 100, clock);
+    }
+
+    /**
+     * Test values are returned until they expire.
+     */
+    @Test
+    public void testExpiration() {
+        cache.put("admin", "ADMIN");
+        when(clock.millis()).thenReturn(99L);
+        assertEquals("ADMIN", cache.get("admin"));
+
+        when(clock.millis()).thenReturn(100L);
+        assertNull(cache.get("admin"));
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * Test the least recently used entry is evicted if the cache is full.
+     */
+    @Test
+    public void testBounded() {
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+
+        assertEquals(2, cache.size());
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("3", cache.get("c"));
+    }
+
+    /**
+     * Test removing a single entry keeps the others.
+     */
+    @Test
+    public void testRemove() {
+        cache.put("a", "1");
+        cache.put("b", "2");
+        assertEquals("1", cache.remove("a"));
+        assertNull(cache.get("a"));
+        assertEquals("2", cache.get("b"));
+    }
+
+    /**
+     * Test the manager returns the same cache for the same name.
+     */
+    @Test
+    public void testCacheManager() {
+        ExpiringCacheManager manager = new ExpiringCacheManager();
+        assertSame(manager.getCache(KCBRealm.AUTHORIZATION_CACHE_NAME), manager.getCache(KCBRealm.AUTHORIZATION_CACHE_NAME));
+    }
+}
@@ -0,0 +1,166 @@
+package de.unibremen.swp2.kcb.security;
+
+import de.unibremen.swp2.kcb.model.Role;
+import de.unibremen.swp2.kcb.model.User;
+import org.apache.shiro.authc.AuthenticationException;
+import org.apache.shiro.authc.AuthenticationInfo;
+import org.apache.shiro.authc.UsernamePasswordToken;
+import org.apache.shiro.authz.AuthorizationInfo;
+import org.apache.shiro.subject.SimplePrincipalCollection;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test Class to Test the persistence access of {@link KCBRealm}
+ *
+ * @author Marius
+ */
+public class KCBRealmTest {
+
+    /**
+     * Realm using the mocked EntityManagers
+     */
+    private KCBRealm realm;
+
+    /**
+     * Mocked version of EntityManager
+     */
+    private EntityManager em;
+
+    /**
+     * Mocked version of the user query
+     */
+    private Query query;
+
+    /**
+     * Stored user
+     */
+    private User user;
+
+    /**
+     * Sets up method.
+     */
+    @Before
+    public void setUp() {
+        em = mock(EntityManager.class);
+        query = mock(Query.class);
+        when(em.createNamedQuery(anyString())).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+
+        user = new User();
+        user.setUsername("admin");
+        user.setEmail("admin@example.com");
+        user.setPassword("hash");
+        user.setRoles(Role.asStringSet(Role.ADMIN));
+        when(query.getResultList()).thenReturn(Collections.singletonList(user));
+
+        realm = new KCBRealm() {
+            @Override
+            protected EntityManager createEntityManager() {
+                return em;
+            }
+        };
+    }
+
+    /**
+     * Test authentication looks the user up by username and closes its EntityManager.
+     */
+    @Test
+    public void testAuthentication() {
+        AuthenticationInfo info = realm.doGetAuthenticationInfo(new UsernamePasswordToken("admin", "kcb"));
+        assertEquals("admin", info.getPrincipals().getPrimaryPrincipal());
+        verify(em, times(1)).createNamedQuery("findUsersByUsername");
+        verify(em, times(1)).close();
+    }
+
+    /**
+     * Test the EntityManager is closed if the user doesn't exist.
+     */
+    @Test(expected = AuthenticationException.class)
+    public void testAuthenticationUnknown() {
+        when(query.getResultList()).thenReturn(Collections.emptyList());
+        try {
+            realm.doGetAuthenticationInfo(new UsernamePasswordToken("admin@example.com", "kcb"));
+        } finally {
+            verify(em, times(1)).createNamedQuery("findUsersByEmail");
+            verify(em, times(1)).close();
+        }
+    }
+
+    /**
+     * Test authorization returns the roles of the user and closes its EntityManager.
+     */
+    @Test
+    public void testAuthorization() {
+        AuthorizationInfo info = realm.doGetAuthorizationInfo(new SimplePrincipalCollection("admin", realm.getName()));
+        assertTrue(info.getRoles().contains(Role.ADMIN.toString()));
+        verify(em, times(1)).close();
+    }
+
+    /**
+     * Test the password hash of a user is looked up and null is returned for unknown users.
+     */
+    @Test
+    public void testGetPasswordHash() {
+        assertEquals("hash", realm.getPasswordHash("admin"));
+        when(query.getResultList()).thenReturn(Collections.emptyList());
+        assertNull(realm.getPasswordHash("deleted"));
+        assertNull(realm.getPasswordHash(null));
+        verify(em, times(2)).close();
+    }
+
+    /**
+     * Test the password hash is cached per principal and evicted when the user is refreshed.
+     */
+    @Test
+    public void testGetPasswordHashCached() {
+        realm.setCacheManager(new ExpiringCacheManager());
+
+        assertEquals("hash", realm.getPasswordHash("admin"));
+        assertEquals("hash", realm.getPasswordHash("admin"));
+        verify(em, times(1)).close();
+
+        user.setPassword("changed");
+        realm.refresh(user);
+        assertEquals("changed", realm.getPasswordHash("admin"));
+        verify(em, times(2)).close();
+    }
+
+    /**
+     * Test unknown users aren't cached, so users created later on are found.
+     */
+    @Test
+    public void testGetPasswordHashUnknownNotCached() {
+        realm.setCacheManager(new ExpiringCacheManager());
+        when(query.getResultList()).thenReturn(Collections.emptyList());
+        assertNull(realm.getPasswordHash("admin"));
+
+        when(query.getResultList()).thenReturn(Collections.singletonList(user));
+        assertEquals("hash", realm.getPasswordHash("admin"));
+        verify(em, times(2)).close();
+    }
+
+    /**
+     * Test a hash read before an eviction isn't kept in the cache.
+     */
+    @Test
+    public void testGetPasswordHashEvictedWhileReading() {
+        realm.setCacheManager(new ExpiringCacheManager());
+        when(query.getResultList()).thenAnswer(invocation -> {
+            realm.refresh("admin");
+            return Collections.singletonList(user);
+        });
+        assertEquals("hash", realm.getPasswordHash("admin"));
+
+        when(query.getResultList()).thenReturn(Collections.singletonList(user));
+        assertEquals("hash", realm.getPasswordHash("admin"));
+        verify(em, times(2)).close();
+    }
+}
@@ -0,0 +1,61 @@
+package de.unibremen.swp2.kcb.security;
+
+import org.junit.Test;
+
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test Class to Test {@link MetricsTokenFilter}
+ *
+ * @author Marius
+ */
+public class MetricsTokenFilterTest {
+
+    /**
+     * Test the configured scrape token is accepted.
+     */
+    @Test
+    public void testScrapeToken() {
+        final MetricsTokenFilter filter = new MetricsTokenFilter("scrape");
+        assertTrue(filter.isScrapeToken("Bearer scrape"));
+        assertTrue(filter.isScrapeToken("Bearer  scrape "));
+    }
+
+    /**
+     * Test other tokens and schemes are not accepted as scrape token.
+     */
+    @Test
+    public void testOtherToken() {
+        final MetricsTokenFilter filter = new MetricsTokenFilter("scrape");
+        assertFalse(filter.isScrapeToken("Bearer other"));
+        assertFalse(filter.isScrapeToken("Bearer scrape2"));
+        assertFalse(filter.isScrapeToken("Basic scrape"));
+        assertFalse(filter.isScrapeToken("Bearer "));
+        assertFalse(filter.isScrapeToken(null));
+    }
+
+    /**
+     * Test no token is accepted as scrape token if none is configured.
+     */
+    @Test
+    public void testNoScrapeToken() {
+        assertFalse(new MetricsTokenFilter(null).isScrapeToken("Bearer "));
+        assertFalse(new MetricsTokenFilter("").isScrapeToken("Bearer "));
+        assertFalse(new MetricsTokenFilter(null).isScrapeToken("Bearer null"));
+    }
+
+    /**
+     * Test requests with the scrape token are allowed without authenticating a subject.
+     */
+    @Test
+    public void testAccessAllowed() {
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getHeader("Authorization")).thenReturn("Bearer scrape");
+        assertTrue(new MetricsTokenFilter("scrape").isAccessAllowed(request, mock(ServletResponse.class), null));
+    }
+}
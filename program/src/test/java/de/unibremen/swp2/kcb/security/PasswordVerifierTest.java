@@ -0,0 +1,205 @@
+package de.unibremen.swp2.kcb.security;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test class to test {@link PasswordVerifier}
+ *
+ * @author Marius
+ */
+public class PasswordVerifierTest {
+
+    /**
+     * Released to let the blocked checks finish
+     */
+    private CountDownLatch release;
+
+    /**
+     * Number of executed checks
+     */
+    private AtomicInteger checks;
+
+    /**
+     * Verifier with one thread and one queue slot
+     */
+    private PasswordVerifier verifier;
+
+    /**
+     * Executor of the concurrent logins
+     */
+    private ExecutorService logins;
+
+    /**
+     * Sets up a verifier whose checks block until released.
+     */
+    @Before
+    public void setUp() {
+        release = new CountDownLatch(1);
+        checks = new AtomicInteger();
+        verifier = new PasswordVerifier(1, 1, 5000, (password, hash) -> {
+            checks.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return password.equals(hash);
+        });
+        logins = Executors.newCachedThreadPool();
+    }
+
+    /**
+     * Stops the threads.
+     */
+    @After
+    public void tearDown() {
+        release.countDown();
+        logins.shutdownNow();
+        verifier.shutdown();
+    }
+
+    /**
+     * Start a login in the background.
+     *
+     * @param principal the principal logging in
+     * @param password  the provided password
+     * @return the result of the login
+     */
+    private Future<Boolean> login(final String principal, final String password) {
+        return logins.submit(() -> verifier.check(principal, password, "secret"));
+    }
+
+    /**
+     * Wait until the given number of checks were started.
+     *
+     * @param count number of checks
+     * @throws InterruptedException if interrupted
+     */
+    private void awaitChecks(final int count) throws InterruptedException {
+        for (int i = 0; i < 500 && checks.get() < count; i++)
+            Thread.sleep(10);
+        assertEquals(count, checks.get());
+    }
+
+    /**
+     * Test the result of the check is returned.
+     */
+    @Test
+    public void testCheck() {
+        release.countDown();
+        assertTrue(verifier.check("user", "secret", "secret"));
+        assertFalse(verifier.check("user", "wrong", "secret"));
+    }
+
+    /**
+     * Test logins are rejected with 503 if the queue is full.
+     *
+     * @throws Exception if the logins fail
+     */
+    @Test
+    public void testRejectWhenSaturated() throws Exception {
+        final Future<Boolean> running = login("a", "secret");
+        awaitChecks(1);
+        final Future<Boolean> queued = login("b", "secret");
+        for (int i = 0; i < 500 && verifier.getQueued() < 1; i++)
+            Thread.sleep(10);
+        assertEquals(1, verifier.getQueued());
+
+        try {
+            verifier.check("c", "secret", "secret");
+            fail("Expected the login to be rejected");
+        } catch (AuthenticationBusyException e) {
+            assertEquals(503, e.getStatus());
+            assertTrue(e.getRetryAfter() > 0);
+        }
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+        assertEquals(2, checks.get());
+    }
+
+    /**
+     * Test concurrent logins of the same principal and password share one check.
+     *
+     * @throws Exception if the logins fail
+     */
+    @Test
+    public void testDeduplicate() throws Exception {
+        final Future<Boolean> first = login("user", "secret");
+        awaitChecks(1);
+        final Future<Boolean> second = login("user", "secret");
+        // give the second login time to join the running check
+        Thread.sleep(200);
+
+        release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, checks.get());
+    }
+
+    /**
+     * Test a concurrent login of the same principal with another password is queued and checked on its own.
+     *
+     * @throws Exception if the logins fail
+     */
+    @Test
+    public void testQueueOtherPasswordInFlight() throws Exception {
+        final Future<Boolean> first = login("user", "secret");
+        awaitChecks(1);
+        final Future<Boolean> guess = login("user", "guess");
+        for (int i = 0; i < 500 && verifier.getQueued() < 1; i++)
+            Thread.sleep(10);
+        assertEquals(1, verifier.getQueued());
+
+        release.countDown();
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertFalse(guess.get(5, TimeUnit.SECONDS));
+        assertEquals(2, checks.get());
+    }
+
+    /**
+     * Test a queued verification nobody waits for anymore is removed from the queue.
+     *
+     * @throws Exception if the logins fail
+     */
+    @Test
+    public void testRemoveTimedOut() throws Exception {
+        verifier.shutdown();
+        verifier = new PasswordVerifier(1, 1, 200, (password, hash) -> {
+            checks.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return password.equals(hash);
+        });
+
+        final Future<Boolean> running = logins.submit(() -> verifier.check("a", "secret", "secret"));
+        awaitChecks(1);
+
+        try {
+            verifier.check("b", "secret", "secret");
+            fail("Expected the login to time out");
+        } catch (AuthenticationBusyException e) {
+            assertEquals(503, e.getStatus());
+        }
+        assertEquals(0, verifier.getQueued());
+
+        release.countDown();
+        try {
+            running.get(5, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof AuthenticationBusyException);
+        }
+        assertEquals(1, checks.get());
+    }
+}
@@ -0,0 +1,116 @@
+package de.unibremen.swp2.kcb.security.authz;
+
+import org.apache.shiro.authz.annotation.Logical;
+import org.apache.shiro.authz.annotation.RequiresAuthentication;
+import org.apache.shiro.authz.annotation.RequiresRoles;
+import org.junit.Test;
+
+import javax.interceptor.InvocationContext;
+import java.lang.reflect.Method;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class to test the security descriptors of {@link ShiroSecuredInterceptor}
+ *
+ * @author Marius
+ */
+public class ShiroSecuredInterceptorTest {
+
+    /**
+     * Class without class level annotations
+     */
+    public static class Plain {
+
+        /**
+         * Method without annotations
+         */
+        public void open() {
+        }
+
+        /**
+         * Method requiring authentication
+         */
+        @RequiresAuthentication
+        public void authenticated() {
+        }
+
+        /**
+         * Method requiring one of two roles
+         */
+        @RequiresRoles(value = {"ADMIN", "PKP"}, logical = Logical.OR)
+        public void roles() {
+        }
+    }
+
+    /**
+     * Class requiring authentication for all methods
+     */
+    @RequiresAuthentication
+    public static class Secured {
+
+        /**
+         * Method inheriting the class annotation
+         */
+        public void inherited() {
+        }
+    }
+
+    /**
+     * Test unannotated methods get the shared empty descriptor.
+     *
+     * @throws NoSuchMethodException never
+     */
+    @Test
+    public void testDescriptorNone() throws NoSuchMethodException {
+        assertSame(SecurityDescriptor.NONE, ShiroSecuredInterceptor.getDescriptor(Plain.class, Plain.class.getMethod("open")));
+    }
+
+    /**
+     * Test method and class annotations are read into the descriptor.
+     *
+     * @throws NoSuchMethodException never
+     */
+    @Test
+    public void testDescriptorAnnotations() throws NoSuchMethodException {
+        SecurityDescriptor authenticated = ShiroSecuredInterceptor.getDescriptor(Plain.class, Plain.class.getMethod("authenticated"));
+        assertTrue(authenticated.isRequiresAuthentication());
+        assertFalse(authenticated.isRequiresRoles());
+
+        SecurityDescriptor roles = ShiroSecuredInterceptor.getDescriptor(Plain.class, Plain.class.getMethod("roles"));
+        assertTrue(roles.isRequiresRoles());
+        assertArrayEquals(new String[]{"ADMIN", "PKP"}, roles.getRoles());
+        assertEquals(Logical.OR, roles.getLogical());
+
+        SecurityDescriptor inherited = ShiroSecuredInterceptor.getDescriptor(Secured.class, Secured.class.getMethod("inherited"));
+        assertTrue(inherited.isRequiresAuthentication());
+    }
+
+    /**
+     * Test the descriptor is computed once per class and method.
+     *
+     * @throws NoSuchMethodException never
+     */
+    @Test
+    public void testDescriptorCached() throws NoSuchMethodException {
+        Method method = Plain.class.getMethod("roles");
+        assertSame(ShiroSecuredInterceptor.getDescriptor(Plain.class, method),
+                ShiroSecuredInterceptor.getDescriptor(Plain.class, method));
+    }
+
+    /**
+     * Test unannotated methods proceed without evaluating the subject.
+     *
+     * @throws Exception never
+     */
+    @Test
+    public void testInterceptUnannotated() throws Exception {
+        InvocationContext context = mock(InvocationContext.class);
+        when(context.getTarget()).thenReturn(new Plain());
+        when(context.getMethod()).thenReturn(Plain.class.getMethod("open"));
+        when(context.proceed()).thenReturn("result");
+
+        assertEquals("result", new ShiroSecuredInterceptor().interceptShiroSecurity(context));
+    }
+}
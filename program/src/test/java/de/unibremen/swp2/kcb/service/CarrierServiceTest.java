@@ -73,6 +73,18 @@ public class CarrierServiceTest {
      */
     @Mock
     private AssemblyService assemblyService;
+
+    /**
+     * Mocked version of TransportTaskService
+     */
+    @Mock
+    private TransportTaskService transportTaskService;
+
+    /**
+     * Mocked version of WorkstationLoadService
+     */
+    @Mock
+    private WorkstationLoadService workstationLoadService;
     /**
      * Mocked version of userService
      */
@@ -4,6 +4,7 @@ import de.unibremen.swp2.kcb.model.Carrier;
 import de.unibremen.swp2.kcb.model.CarrierType;
 import de.unibremen.swp2.kcb.model.User;
 import de.unibremen.swp2.kcb.persistence.CarrierTypeRepository;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import de.unibremen.swp2.kcb.validator.backend.CarrierTypeValidator;
 import de.unibremen.swp2.kcb.validator.backend.ValidationException;
@@ -41,6 +42,12 @@ public class CarrierTypeServiceTest {
     @Mock
     private CarrierTypeRepository repository;
 
+    /**
+     * Mocked version of EntityCache
+     */
+    @Mock
+    private EntityCache entityCache;
+
     /**
      * Mocked version of CarrierTypeValidator
      */
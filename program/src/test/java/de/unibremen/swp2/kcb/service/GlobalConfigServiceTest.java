@@ -2,6 +2,7 @@ package de.unibremen.swp2.kcb.service;
 
 import de.unibremen.swp2.kcb.model.GlobalConfig;
 import de.unibremen.swp2.kcb.model.User;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
 import de.unibremen.swp2.kcb.persistence.GlobalConfigRepository;
 import de.unibremen.swp2.kcb.service.serviceExceptions.CreationException;
 import de.unibremen.swp2.kcb.service.serviceExceptions.DeletionException;
@@ -41,6 +42,12 @@ public class GlobalConfigServiceTest {
     @Mock
     private GlobalConfigRepository repository;
 
+    /**
+     * Mocked version of EntityCache
+     */
+    @Mock
+    private EntityCache entityCache;
+
     /**
      * Mocked version of UserService
      */
@@ -149,6 +156,7 @@ public class GlobalConfigServiceTest {
         setUpCreateUpdateDelete();
 
         assertEquals(globalConfig, service.update(globalConfig));
+        verify(entityCache, times(1)).evict(GlobalConfig.class, globalConfig.getKey());
     }
 
     /**
@@ -164,6 +172,7 @@ public class GlobalConfigServiceTest {
 
         service.delete(globalConfig);
         verify(repository, times(1)).attachAndRemove(any());
+        verify(entityCache, times(1)).evict(GlobalConfig.class, globalConfig.getKey());
     }
 
     /**
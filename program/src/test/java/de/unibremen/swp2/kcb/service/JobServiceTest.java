@@ -1,9 +1,16 @@
 package de.unibremen.swp2.kcb.service;
 
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import de.unibremen.swp2.kcb.model.*;
 import de.unibremen.swp2.kcb.model.Locations.Transport;
+import de.unibremen.swp2.kcb.model.Locations.Workstation;
 import de.unibremen.swp2.kcb.model.StateMachine.StateHistory;
 import de.unibremen.swp2.kcb.persistence.JobRepository;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
+import de.unibremen.swp2.kcb.persistence.PageRequest;
+import de.unibremen.swp2.kcb.persistence.locations.WorkstationMembershipIndex;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import de.unibremen.swp2.kcb.validator.backend.JobValidator;
 import de.unibremen.swp2.kcb.validator.backend.ValidationException;
@@ -14,8 +21,12 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import javax.persistence.PersistenceException;
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -107,6 +118,30 @@ public class JobServiceTest {
     @Mock
     private Transport transport;
 
+    /**
+     * Mocked version of TransportTaskService
+     */
+    @Mock
+    private TransportTaskService transportTaskService;
+
+    /**
+     * Mocked version of WorkstationLoadService
+     */
+    @Mock
+    private WorkstationLoadService workstationLoadService;
+
+    /**
+     * Mocked version of PageQuery
+     */
+    @Mock
+    private PageQuery pageQuery;
+
+    /**
+     * Mocked version of WorkstationMembershipIndex
+     */
+    @Mock
+    private WorkstationMembershipIndex workstationMembershipIndex;
+
     /**
      * Sets up method.
      */
@@ -229,7 +264,7 @@ public class JobServiceTest {
     public void testUpdateSaveInRepoFail()
             throws ValidationException, UpdateException {
         job.setId("1.1");
-        doThrow(PersistenceException.class).when(repository).saveAndFlushAndRefresh(any());
+        doThrow(PersistenceException.class).when(repository).saveAndFlush(any());
         when(validator.validate(any())).thenReturn(true);
         when(repository.findBy(any())).thenReturn(job);
         service.update(job);
@@ -247,7 +282,7 @@ public class JobServiceTest {
         setUpCreateUpdateDelete();
 
         service.update(job);
-        verify(repository, times(1)).saveAndFlushAndRefresh(job);
+        verify(repository, times(1)).saveAndFlush(job);
     }
 
     /**
@@ -505,6 +540,18 @@ public class JobServiceTest {
         assertEquals(new ArrayList<>(), service.getActive());
     }
 
+    /**
+     * Tests getActiveCount returns the counted active Jobs and zero if nothing was counted.
+     */
+    @Test
+    public void testGetActiveCount() {
+        when(repository.countActiveJobs()).thenReturn(4L);
+        assertEquals(4, service.getActiveCount());
+
+        when(repository.countActiveJobs()).thenReturn(null);
+        assertEquals(0, service.getActiveCount());
+    }
+
     /**
      * Test get pending normal.
      */
@@ -790,4 +837,325 @@ public class JobServiceTest {
         assertFalse(service.isCancelledAndAssemblyNotInStock(job));
     }
 
+    /**
+     * Test get current procedure is answered from a valid stored progress.
+     */
+    @Test
+    public void testGetCurrentProcedureFromProgress() {
+        Procedure first = new Procedure();
+        Procedure second = new Procedure();
+        List<Procedure> procedures = new ArrayList<>();
+        procedures.add(first);
+        procedures.add(second);
+
+        JobProgress progress = new JobProgress();
+        progress.setProcedureCount(2);
+        progress.setCurrentProcedureIndex(1);
+        progress.setProgressPercent(50);
+
+        Job realJob = new Job();
+        realJob.setProcedures(procedures);
+        realJob.setProgress(progress);
+
+        assertEquals(second, service.getCurrentProcedure(realJob));
+        assertFalse(service.hasNextProcedure(realJob));
+        assertEquals(50, service.getProgressInChain(realJob), 0);
+        verify(procedureService, never()).isComplete(any());
+    }
+
+    /**
+     * Test outdated progress gets recomputed.
+     */
+    @Test
+    public void testGetProgressRecomputesOutdatedProgress() {
+        Procedure first = new Procedure();
+        Procedure second = new Procedure();
+        List<Procedure> procedures = new ArrayList<>();
+        procedures.add(first);
+        procedures.add(second);
+
+        JobProgress progress = new JobProgress();
+        progress.setProcedureCount(1);
+        progress.setCurrentProcedureIndex(0);
+
+        Job realJob = new Job();
+        realJob.setProcedures(procedures);
+        realJob.setProgress(progress);
+
+        when(procedureService.isComplete(first)).thenReturn(true);
+        when(procedureService.isComplete(second)).thenReturn(false);
+
+        JobProgress result = service.getProgress(realJob);
+        assertEquals(1, result.getCurrentProcedureIndex());
+        assertEquals(2, result.getProcedureCount());
+        assertEquals(ExecPhase.NONE, result.getExecPhase());
+        assertSame(progress, realJob.getProgress());
+        assertEquals(second, service.getCurrentProcedure(realJob));
+    }
+
+    /**
+     * Test getDetails replaces the given jobs by their loaded details in the given order.
+     */
+    @Test
+    public void testGetDetails() {
+        Job first = new Job();
+        Job second = new Job();
+        Job unsaved = new Job();
+        Job loadedFirst = new Job();
+        loadedFirst.setId(first.getId());
+        Job loadedSecond = new Job();
+        loadedSecond.setId(second.getId());
+        when(repository.findDetailByIds(Arrays.asList(first.getId(), second.getId(), unsaved.getId())))
+                .thenReturn(Arrays.asList(loadedSecond, loadedFirst));
+
+        List<Job> result = service.getDetails(Arrays.asList(first, second, unsaved));
+        assertSame(loadedFirst, result.get(0));
+        assertSame(loadedSecond, result.get(1));
+        assertSame(unsaved, result.get(2));
+        assertTrue(service.getDetails(new ArrayList<>()).isEmpty());
+    }
+
+    /**
+     * Test backfill stores the progress of jobs with missing or outdated progress only.
+     */
+    @Test
+    public void testBackfillProgress() {
+        Procedure procedure = new Procedure();
+        List<Procedure> procedures = new ArrayList<>();
+        procedures.add(procedure);
+
+        Job missing = new Job();
+        missing.setProcedures(procedures);
+
+        JobProgress valid = new JobProgress();
+        valid.setProcedureCount(1);
+        valid.setCurrentProcedureIndex(-1);
+        Job stored = new Job();
+        stored.setProcedures(procedures);
+        stored.setProgress(valid);
+
+        when(repository.findAll()).thenReturn(Arrays.asList(missing, stored));
+        when(procedureService.isComplete(procedure)).thenReturn(true);
+
+        assertEquals(1, service.backfillProgress());
+        assertNotNull(missing.getProgress());
+        assertEquals(1, missing.getProgress().getProcedureCount());
+        assertSame(valid, stored.getProgress());
+    }
+
+    /**
+     * Test is complete for a job without incomplete procedures.
+     */
+    @Test
+    public void testIsCompleteFromProgress() {
+        Procedure finished = new Procedure();
+        List<Procedure> procedures = new ArrayList<>();
+        procedures.add(finished);
+
+        Job realJob = new Job();
+        realJob.setProcedures(procedures);
+
+        when(procedureService.isComplete(finished)).thenReturn(true);
+
+        assertTrue(service.isComplete(realJob));
+        assertNull(service.getCurrentProcedure(realJob));
+        assertFalse(service.hasNextProcedure(realJob));
+    }
+
+    /**
+     * Test get all with a page request.
+     *
+     * @throws FindByException in case it fails
+     */
+    @Test
+    public void testGetAllPaged() throws FindByException {
+        PageRequest pageRequest = new PageRequest();
+        List<Job> jobs = new ArrayList<>();
+        jobs.add(job);
+        when(pageQuery.find(Job.class, pageRequest, Job.SUMMARY_GRAPH)).thenReturn(jobs);
+
+        assertEquals(jobs, service.getAll(pageRequest));
+        verify(repository, never()).findAll();
+    }
+
+    /**
+     * Test get all with an invalid page request.
+     *
+     * @throws FindByException expected
+     */
+    @Test(expected = FindByException.class)
+    public void testGetAllPagedInvalid() throws FindByException {
+        PageRequest pageRequest = new PageRequest();
+        pageRequest.setSort("assemblies");
+        when(pageQuery.find(Job.class, pageRequest, Job.SUMMARY_GRAPH)).thenThrow(IllegalArgumentException.class);
+        service.getAll(pageRequest);
+    }
+
+    /**
+     * Test that the active jobs of the executing technologe are queried with a single query
+     * over the workstations the technologe is assigned to.
+     *
+     * @throws GetAllActiveJobsForCurrentTechnologeException not expected
+     */
+    @Test
+    public void testGetAllActiveJobsForCurrentTechnologe() throws GetAllActiveJobsForCurrentTechnologeException {
+        Set<String> workstationIds = Collections.singleton("workstation");
+        List<Job> jobs = Collections.singletonList(job);
+        when(userService.getExecutingUser()).thenReturn(user);
+        when(workstationMembershipIndex.getWorkstationIds(user)).thenReturn(workstationIds);
+        when(repository.findActiveByCurrentWorkstations(workstationIds)).thenReturn(jobs);
+
+        assertEquals(jobs, service.getAllActiveJobsForCurrentTechnologe());
+        verify(repository, never()).findActiveJobs();
+    }
+
+    /**
+     * Test that active jobs stored without progress are matched by their computed current workstation.
+     *
+     * @throws GetAllActiveJobsForCurrentTechnologeException not expected
+     */
+    @Test
+    public void testGetAllActiveJobsForCurrentTechnologeWithoutProgress() throws GetAllActiveJobsForCurrentTechnologeException {
+        Workstation assigned = new Workstation();
+        Workstation other = new Workstation();
+        Set<String> workstationIds = Collections.singleton(assigned.getId());
+
+        when(userService.getExecutingUser()).thenReturn(user);
+        when(workstationMembershipIndex.getWorkstationIds(user)).thenReturn(workstationIds);
+        when(repository.findActiveByCurrentWorkstations(workstationIds)).thenReturn(Collections.singletonList(job));
+        when(procedureService.isComplete(any())).thenReturn(false);
+
+        Job atAssigned = this.jobAt(assigned);
+        when(repository.findActiveWithoutProgress()).thenReturn(Arrays.asList(atAssigned, this.jobAt(other)));
+
+        assertEquals(Arrays.asList(job, atAssigned), service.getAllActiveJobsForCurrentTechnologe());
+        assertNull(atAssigned.getProgress());
+    }
+
+    /**
+     * Creates a job without progress whose only procedure is executed at the given workstation.
+     *
+     * @param workstation the workstation
+     * @return the job
+     */
+    private Job jobAt(final Workstation workstation) {
+        ProcessStep processStep = new ProcessStep();
+        processStep.setWorkstation(workstation);
+        Procedure procedure = new Procedure();
+        procedure.setProcessStep(processStep);
+        Job result = new Job();
+        result.setProcedures(new ArrayList<>(Collections.singletonList(procedure)));
+        return result;
+    }
+
+    /**
+     * Test that no query is made if the executing technologe isn't assigned to any workstation.
+     *
+     * @throws GetAllActiveJobsForCurrentTechnologeException not expected
+     */
+    @Test
+    public void testGetAllActiveJobsForCurrentTechnologeNoWorkstations() throws GetAllActiveJobsForCurrentTechnologeException {
+        when(userService.getExecutingUser()).thenReturn(user);
+        when(workstationMembershipIndex.getWorkstationIds(user)).thenReturn(Collections.emptySet());
+
+        assertTrue(service.getAllActiveJobsForCurrentTechnologe().isEmpty());
+        verify(repository, never()).findActiveByCurrentWorkstations(any());
+    }
+
+    /**
+     * Test that an exception is thrown without executing user.
+     *
+     * @throws GetAllActiveJobsForCurrentTechnologeException expected
+     */
+    @Test(expected = GetAllActiveJobsForCurrentTechnologeException.class)
+    public void testGetAllActiveJobsForCurrentTechnologeNoUser() throws GetAllActiveJobsForCurrentTechnologeException {
+        when(userService.getExecutingUser()).thenReturn(null);
+        service.getAllActiveJobsForCurrentTechnologe();
+    }
+
+    /**
+     * Test counting the jobs matching a page request.
+     *
+     * @throws FindByException not expected
+     */
+    @Test
+    public void testCount() throws FindByException {
+        PageRequest pageRequest = new PageRequest();
+        pageRequest.getFilters().put("jobState", "pending");
+        when(pageQuery.count(Job.class, pageRequest)).thenReturn(42L);
+
+        assertEquals(42L, service.count(pageRequest));
+        verify(repository, never()).findAll();
+    }
+
+    /**
+     * Test counting the jobs with an invalid page request.
+     *
+     * @throws FindByException expected
+     */
+    @Test(expected = FindByException.class)
+    public void testCountInvalid() throws FindByException {
+        PageRequest pageRequest = new PageRequest();
+        pageRequest.getFilters().put("assemblies", "x");
+        when(pageQuery.count(Job.class, pageRequest)).thenThrow(IllegalArgumentException.class);
+        service.count(pageRequest);
+    }
+
+    /**
+     * Test the detail of a job is loaded with the detail graph.
+     */
+    @Test
+    public void testGetDetail() {
+        Job stored = new Job();
+        when(job.getId()).thenReturn("job");
+        when(repository.findDetailById("job")).thenReturn(Collections.singletonList(stored));
+
+        assertEquals(stored, service.getDetail(job));
+    }
+
+    /**
+     * Test the given job is returned if it isn't stored.
+     */
+    @Test
+    public void testGetDetailNotStored() {
+        when(job.getId()).thenReturn("job");
+        when(repository.findDetailById("job")).thenReturn(new ArrayList<>());
+
+        assertEquals(job, service.getDetail(job));
+        assertNull(service.getDetail(null));
+    }
+
+    /**
+     * Test parameters are written to the stream as one array.
+     *
+     * @throws ExportException in case it fails
+     */
+    @Test
+    public void testWriteParameters() throws ExportException {
+        List<Procedure> procedures = new ArrayList<>();
+        procedures.add(procedure);
+        procedures.add(procedure);
+        JsonObject parameters = new JsonObject();
+        parameters.addProperty("step", "test");
+
+        when(job.getProcedures()).thenReturn(procedures);
+        when(procedureService.getAsSFBJSON(procedure)).thenReturn(parameters);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        service.writeParameters(job, outputStream);
+
+        JsonArray result = JsonParser.parseString(outputStream.toString()).getAsJsonArray();
+        assertEquals(2, result.size());
+        assertEquals("test", result.get(1).getAsJsonObject().get("step").getAsString());
+    }
+
+    /**
+     * Test protocol can't be written for null job.
+     *
+     * @throws ProtocolGenerationException expected
+     */
+    @Test(expected = ProtocolGenerationException.class)
+    public void testWriteProtocolNull() throws ProtocolGenerationException {
+        service.writeProtocol(null, new ByteArrayOutputStream());
+    }
 }
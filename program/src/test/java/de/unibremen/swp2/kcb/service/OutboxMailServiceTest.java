@@ -0,0 +1,103 @@
+package de.unibremen.swp2.kcb.service;
+
+import de.unibremen.swp2.kcb.model.OutboxMail;
+import de.unibremen.swp2.kcb.model.OutboxMailStatus;
+import de.unibremen.swp2.kcb.persistence.OutboxMailRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test Class to Test {@link OutboxMailService}
+ *
+ * @author Marius
+ */
+public class OutboxMailServiceTest {
+
+    /**
+     * Injected instance of OutboxMailService
+     */
+    @InjectMocks
+    private OutboxMailService service;
+
+    /**
+     * Mocked version of OutboxMailRepository
+     */
+    @Mock
+    private OutboxMailRepository outboxMailRepository;
+
+    /**
+     * Sets up method.
+     */
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(outboxMailRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    /**
+     * Test enqueue stores a pending mail that is due immediately.
+     */
+    @Test
+    public void testEnqueue() {
+        final OutboxMail mail = service.enqueue("user@example.com", "subject", "text", null);
+        assertEquals(OutboxMailStatus.PENDING, mail.getStatus());
+        assertEquals("user@example.com", mail.getRecipient());
+        assertFalse(mail.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        verify(outboxMailRepository, times(1)).save(mail);
+    }
+
+    /**
+     * Test markSent marks the mail as sent.
+     */
+    @Test
+    public void testMarkSent() {
+        final OutboxMail mail = new OutboxMail();
+        mail.setLastError("error");
+        service.markSent(mail);
+        assertEquals(OutboxMailStatus.SENT, mail.getStatus());
+        assertNotNull(mail.getSentAt());
+        assertNull(mail.getLastError());
+    }
+
+    /**
+     * Test markFailed postpones the next attempt.
+     */
+    @Test
+    public void testMarkFailed() {
+        final OutboxMail mail = new OutboxMail();
+        service.markFailed(mail, "error");
+        assertEquals(OutboxMailStatus.PENDING, mail.getStatus());
+        assertEquals(1, mail.getAttempts());
+        assertEquals("error", mail.getLastError());
+        assertTrue(mail.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(OutboxMailService.RETRY_DELAY - 5)));
+    }
+
+    /**
+     * Test markFailed marks the mail as dead after too many attempts.
+     */
+    @Test
+    public void testMarkFailedDead() {
+        final OutboxMail mail = new OutboxMail();
+        mail.setAttempts(OutboxMailService.MAX_ATTEMPTS - 1);
+        service.markFailed(mail, "error");
+        assertEquals(OutboxMailStatus.DEAD, mail.getStatus());
+    }
+
+    /**
+     * Test the retry delay doubles and is capped.
+     */
+    @Test
+    public void testGetRetryDelay() {
+        assertEquals(OutboxMailService.RETRY_DELAY, OutboxMailService.getRetryDelay(1));
+        assertEquals(2 * OutboxMailService.RETRY_DELAY, OutboxMailService.getRetryDelay(2));
+        assertEquals(OutboxMailService.MAX_RETRY_DELAY, OutboxMailService.getRetryDelay(100));
+    }
+}
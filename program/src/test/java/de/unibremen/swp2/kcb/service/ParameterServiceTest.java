@@ -2,6 +2,7 @@ package de.unibremen.swp2.kcb.service;
 
 import de.unibremen.swp2.kcb.model.User;
 import de.unibremen.swp2.kcb.model.parameter.Parameter;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
 import de.unibremen.swp2.kcb.persistence.parameter.ParameterRepository;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import de.unibremen.swp2.kcb.validator.backend.ParameterValidator;
@@ -38,6 +39,12 @@ public class ParameterServiceTest {
     @Mock
     private ParameterValidator validator;
 
+    /**
+     * Mocked version of EntityCache
+     */
+    @Mock
+    private EntityCache entityCache;
+
     /**
      * Mocked version repository
      */
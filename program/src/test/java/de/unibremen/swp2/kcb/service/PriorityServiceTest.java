@@ -2,6 +2,7 @@ package de.unibremen.swp2.kcb.service;
 
 import de.unibremen.swp2.kcb.model.Priority;
 import de.unibremen.swp2.kcb.model.User;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
 import de.unibremen.swp2.kcb.persistence.PriorityRepository;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import de.unibremen.swp2.kcb.validator.backend.PriorityValidator;
@@ -41,6 +42,12 @@ public class PriorityServiceTest {
     @Mock
     private PriorityRepository priorityRepository;
 
+    /**
+     * Mocked version of EntityCache
+     */
+    @Mock
+    private EntityCache entityCache;
+
     /**
      * Injected instance of {@link UserService}
      */
@@ -53,6 +60,12 @@ public class PriorityServiceTest {
     @Mock
     private PriorityValidator priorityValidator;
 
+    /**
+     * Mocked version of TransportTaskService
+     */
+    @Mock
+    private TransportTaskService transportTaskService;
+
     /**
      * Sets up tests.
      */
@@ -216,6 +229,7 @@ public class PriorityServiceTest {
         when(userService.getExecutingUser()).thenReturn(u);
 
         priorityService.update(a);
+        verify(transportTaskService, times(1)).updatePriority(a);
     }
 
     /**
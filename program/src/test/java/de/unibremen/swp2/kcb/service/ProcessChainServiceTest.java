@@ -2,6 +2,7 @@ package de.unibremen.swp2.kcb.service;
 
 import de.unibremen.swp2.kcb.model.ProcessChain;
 import de.unibremen.swp2.kcb.model.ProcessStep;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
 import de.unibremen.swp2.kcb.persistence.ProcessChainRepository;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import de.unibremen.swp2.kcb.validator.backend.ProcessChainValidator;
@@ -42,6 +43,12 @@ public class ProcessChainServiceTest {
     @Mock
     private ProcessChainValidator processChainValidator;
 
+    /**
+     * Mocked version of EntityCache
+     */
+    @Mock
+    private EntityCache entityCache;
+
     /**
      * Mocked version of processStepValidator
      */
@@ -54,6 +61,12 @@ public class ProcessChainServiceTest {
     @Mock
     private ProcessChainRepository processChainRepository;
 
+    /**
+     * Mocked version of jobService
+     */
+    @Mock
+    private JobService jobService;
+
     /**
      * ProcessStepList Attribute
      */
@@ -345,4 +358,18 @@ public class ProcessChainServiceTest {
         assertEquals(processChainService.getByProcessStep(ps2), chainList);
         assertEquals(processChainService.getByProcessStep(ps3), chainList);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test the active processChains are queried without loading the jobs.
+     */
+    @Test
+    public void testGetActive() {
+        List<ProcessChain> chains = new ArrayList<>();
+        chains.add(p);
+        when(jobService.getProcessChains()).thenReturn(chains);
+
+        assertEquals(chains, processChainService.getActive());
+        assertEquals(false, processChainService.canDelete(p));
+        verify(jobService, never()).getAll();
+    }
+}
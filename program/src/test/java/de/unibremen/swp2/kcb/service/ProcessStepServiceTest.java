@@ -2,6 +2,7 @@ package de.unibremen.swp2.kcb.service;
 
 import de.unibremen.swp2.kcb.model.ProcessStep;
 import de.unibremen.swp2.kcb.model.User;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
 import de.unibremen.swp2.kcb.persistence.ProcessStepRepository;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import de.unibremen.swp2.kcb.validator.backend.ProcessStepValidator;
@@ -38,6 +39,12 @@ public class ProcessStepServiceTest {
     @Mock
     private ProcessStepRepository processStepRepository;
 
+    /**
+     * Mocked version of EntityCache
+     */
+    @Mock
+    private EntityCache entityCache;
+
     /**
      * Mocked version of processStepValidator
      */
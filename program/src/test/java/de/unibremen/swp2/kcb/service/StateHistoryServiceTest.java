@@ -382,6 +382,22 @@ public class StateHistoryServiceTest {
         assertEquals(null, stateHistoryService.getCurrentStateExec(stateHistory));
     }
 
+    /**
+     * Test append state exec adds the state exec to the end of the history.
+     */
+    @Test
+    public void testAppendStateExec() {
+        StateHistory history = new StateHistory();
+        StateExec first = new StateExec();
+        StateExec second = new StateExec();
+
+        stateHistoryService.appendStateExec(history, first);
+        stateHistoryService.appendStateExec(history, second);
+
+        assertEquals(2, history.getStateExecs().size());
+        assertEquals(second, stateHistoryService.getCurrentStateExec(history));
+    }
+
     /**
      * Test get all.
      */
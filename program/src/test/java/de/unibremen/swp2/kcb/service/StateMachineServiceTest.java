@@ -3,6 +3,7 @@ package de.unibremen.swp2.kcb.service;
 import de.unibremen.swp2.kcb.model.StateMachine.State;
 import de.unibremen.swp2.kcb.model.StateMachine.StateMachine;
 import de.unibremen.swp2.kcb.model.User;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
 import de.unibremen.swp2.kcb.persistence.statemachine.StateMachineRepository;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import de.unibremen.swp2.kcb.validator.backend.StateMachineValidator;
@@ -38,6 +39,12 @@ public class StateMachineServiceTest {
     @Mock
     private StateMachine stateMachine;
 
+    /**
+     * Mocked version of EntityCache
+     */
+    @Mock
+    private EntityCache entityCache;
+
     /**
      * Mocked version of stateMachineValidator
      */
@@ -7,6 +7,7 @@ import de.unibremen.swp2.kcb.model.StateMachine.StateExec;
 import de.unibremen.swp2.kcb.model.StateMachine.StateHistory;
 import de.unibremen.swp2.kcb.model.StateMachine.StateMachine;
 import de.unibremen.swp2.kcb.model.User;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
 import de.unibremen.swp2.kcb.persistence.statemachine.StateRepository;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import de.unibremen.swp2.kcb.validator.backend.StateValidator;
@@ -45,6 +46,12 @@ public class StateServiceTest {
     @Mock
     private StateValidator validator;
 
+    /**
+     * Mocked version of EntityCache
+     */
+    @Mock
+    private EntityCache entityCache;
+
     /**
      * Mocked version of repository
      */
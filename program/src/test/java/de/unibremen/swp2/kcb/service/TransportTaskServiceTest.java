@@ -0,0 +1,230 @@
+package de.unibremen.swp2.kcb.service;
+
+import de.unibremen.swp2.kcb.model.Job;
+import de.unibremen.swp2.kcb.model.Priority;
+import de.unibremen.swp2.kcb.model.TransportTask;
+import de.unibremen.swp2.kcb.model.TransportTaskType;
+import de.unibremen.swp2.kcb.persistence.TransportTaskRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.persistence.PersistenceException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test Class to Test {@link TransportTaskService}
+ *
+ * @author Marius
+ */
+public class TransportTaskServiceTest {
+
+    /**
+     * Injected instance of TransportTaskService
+     */
+    @InjectMocks
+    private TransportTaskService service;
+
+    /**
+     * Mocked version of TransportTaskRepository
+     */
+    @Mock
+    private TransportTaskRepository repository;
+
+    /**
+     * Mocked version of JobService
+     */
+    @Mock
+    private JobService jobService;
+
+    /**
+     * Mocked version of Job
+     */
+    @Mock
+    private Job job;
+
+    /**
+     * Sets up method.
+     */
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(repository.findByJob(job)).thenReturn(new ArrayList<>());
+    }
+
+    /**
+     * Test required type null.
+     */
+    @Test
+    public void testGetRequiredTypeNull() {
+        assertNull(service.getRequiredType(null));
+    }
+
+    /**
+     * Test required type of cancelled job is return.
+     */
+    @Test
+    public void testGetRequiredTypeReturn() {
+        when(jobService.isCancelledAndAssemblyNotInStock(job)).thenReturn(true);
+        when(jobService.needsDelivery(job)).thenReturn(true);
+        assertEquals(TransportTaskType.RETURN, service.getRequiredType(job));
+    }
+
+    /**
+     * Test required type collect.
+     */
+    @Test
+    public void testGetRequiredTypeCollect() {
+        when(jobService.needsCollection(job)).thenReturn(true);
+        assertEquals(TransportTaskType.COLLECT, service.getRequiredType(job));
+    }
+
+    /**
+     * Test sync creates a task for a job that needs delivery.
+     */
+    @Test
+    public void testSyncCreatesTask() {
+        when(jobService.needsDelivery(job)).thenReturn(true);
+        service.sync(job);
+        verify(repository, times(1)).save(argThat(task -> task.getJob() == job
+                && task.getType() == TransportTaskType.DELIVER && task.getCreatedAt() != null));
+    }
+
+    /**
+     * Test sync keeps an existing task of the same type untouched.
+     */
+    @Test
+    public void testSyncKeepsExistingTask() {
+        TransportTask task = new TransportTask();
+        task.setJob(job);
+        task.setType(TransportTaskType.COLLECT);
+        List<TransportTask> stored = new ArrayList<>();
+        stored.add(task);
+
+        when(repository.findByJob(job)).thenReturn(stored);
+        when(jobService.needsCollection(job)).thenReturn(true);
+
+        service.sync(job);
+        verify(repository, never()).save(any());
+        verify(repository, never()).attachAndRemove(any());
+    }
+
+    /**
+     * Test sync removes the task of a job that doesn't need transport anymore.
+     */
+    @Test
+    public void testSyncRemovesTask() {
+        TransportTask task = new TransportTask();
+        task.setJob(job);
+        task.setType(TransportTaskType.DELIVER);
+        List<TransportTask> stored = new ArrayList<>();
+        stored.add(task);
+
+        when(repository.findByJob(job)).thenReturn(stored);
+
+        service.sync(job);
+        verify(repository, times(1)).attachAndRemove(task);
+        verify(repository, never()).save(any());
+    }
+
+    /**
+     * Test sync updates the priority of a queued job without changing its waiting time.
+     */
+    @Test
+    public void testSyncUpdatesPriority() {
+        LocalDateTime createdAt = LocalDateTime.now().minusMinutes(5);
+        TransportTask task = new TransportTask();
+        task.setJob(job);
+        task.setType(TransportTaskType.COLLECT);
+        task.setPriorityValue(1);
+        task.setCreatedAt(createdAt);
+        List<TransportTask> stored = new ArrayList<>();
+        stored.add(task);
+
+        Priority priority = new Priority();
+        priority.setValue(5);
+        when(job.getPriority()).thenReturn(priority);
+        when(repository.findByJob(job)).thenReturn(stored);
+        when(jobService.needsCollection(job)).thenReturn(true);
+
+        service.sync(job);
+        verify(repository, times(1)).save(task);
+        assertEquals(Integer.valueOf(5), task.getPriorityValue());
+        assertEquals(createdAt, task.getCreatedAt());
+    }
+
+    /**
+     * Test rebuild replaces the queue with the tasks of the active and cancelled jobs.
+     */
+    @Test
+    public void testRebuild() {
+        TransportTask old = new TransportTask();
+        List<TransportTask> stored = new ArrayList<>();
+        stored.add(old);
+        List<Job> jobs = new ArrayList<>();
+        jobs.add(job);
+        when(repository.findAll()).thenReturn(stored);
+        when(jobService.getActive()).thenReturn(jobs);
+        when(jobService.getCancelled()).thenReturn(new ArrayList<>());
+        when(jobService.needsDelivery(job)).thenReturn(true);
+
+        service.rebuild();
+        verify(repository, times(1)).attachAndRemove(old);
+        verify(repository, times(1)).save(any());
+    }
+
+    /**
+     * Test reading the queue doesn't rebuild it.
+     */
+    @Test
+    public void testGetQueuedJobs() {
+        List<Job> jobs = new ArrayList<>();
+        jobs.add(job);
+        when(repository.findQueuedJobs()).thenReturn(jobs);
+
+        assertEquals(jobs, service.getQueuedJobs());
+        verify(jobService, never()).getActive();
+    }
+
+    /**
+     * Test reading a page of the queue.
+     */
+    @Test
+    public void testGetQueuedJobsPaged() {
+        List<Job> jobs = new ArrayList<>();
+        jobs.add(job);
+        when(repository.findQueuedJobs(25, 25)).thenReturn(jobs);
+
+        assertEquals(jobs, service.getQueuedJobs(25, 25));
+        verify(repository, never()).findQueuedJobs();
+    }
+
+    /**
+     * Test a failing save isn't swallowed, since it marked the transaction for rollback.
+     */
+    @Test(expected = PersistenceException.class)
+    public void testSyncPropagatesPersistenceException() {
+        when(jobService.needsDelivery(job)).thenReturn(true);
+        when(repository.save(any())).thenThrow(new PersistenceException("duplicate job"));
+        service.sync(job);
+    }
+
+    /**
+     * Test a changed priority updates the queued jobs.
+     */
+    @Test
+    public void testUpdatePriority() {
+        Priority priority = new Priority();
+        priority.setValue(3);
+        service.updatePriority(priority);
+        service.updatePriority(null);
+        verify(repository, times(1)).updatePriorityValue(priority, 3);
+    }
+}
@@ -3,22 +3,32 @@ package de.unibremen.swp2.kcb.service;
 import de.unibremen.swp2.kcb.model.ResetToken;
 import de.unibremen.swp2.kcb.model.Role;
 import de.unibremen.swp2.kcb.model.User;
+import de.unibremen.swp2.kcb.persistence.PageQuery;
 import de.unibremen.swp2.kcb.persistence.ResetTokenRepository;
+import de.unibremen.swp2.kcb.persistence.TransactionMocker;
 import de.unibremen.swp2.kcb.persistence.UserRepository;
+import de.unibremen.swp2.kcb.security.ExecutingUserHolder;
+import de.unibremen.swp2.kcb.security.ExpiringCacheManager;
+import de.unibremen.swp2.kcb.security.KCBRealm;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
 import de.unibremen.swp2.kcb.util.EmailUtil;
 import de.unibremen.swp2.kcb.util.EntityManagerProducer;
 import de.unibremen.swp2.kcb.validator.backend.UserValidator;
 import de.unibremen.swp2.kcb.validator.backend.ValidationException;
 import org.apache.shiro.UnavailableSecurityManagerException;
+import org.apache.shiro.authz.AuthorizationInfo;
+import org.apache.shiro.authz.SimpleAuthorizationInfo;
+import org.apache.shiro.mgt.DefaultSecurityManager;
+import org.apache.shiro.subject.Subject;
+import org.apache.shiro.util.ThreadContext;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import javax.mail.MessagingException;
-import javax.mail.internet.MimeMessage;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityTransaction;
 import javax.persistence.PersistenceException;
@@ -26,6 +36,7 @@ import java.time.LocalTime;
 import java.util.*;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.*;
 
@@ -71,6 +82,12 @@ public class UserServiceTest {
     @Mock
     private EntityManager entityManager;
 
+    /**
+     * Mocked version of the PageQuery
+     */
+    @Mock
+    private PageQuery pageQuery;
+
     /**
      * Mocked version of the EmailUtil
      */
@@ -83,6 +100,18 @@ public class UserServiceTest {
     @Mock
     private User user;
 
+    /**
+     * Holder of the executing user of the current request
+     */
+    @Spy
+    private ExecutingUserHolder executingUserHolder = new ExecutingUserHolder();
+
+    /**
+     * Mocked version of the executing Subject
+     */
+    @Mock
+    private Subject subject;
+
     /**
      * Sets up.
      */
@@ -181,6 +210,73 @@ public class UserServiceTest {
         userService.update(user);
     }
 
+    /**
+     * Test the cached roles of an updated user are evicted after the transaction has been committed,
+     * so a role check before the commit can't cache the old roles again.
+     *
+     * @throws ValidationException the validation exception
+     * @throws UpdateException the update exception
+     */
+    @Test
+    public void testUpdateEvictsRealmCacheAfterCommit() throws ValidationException, UpdateException {
+        final KCBRealm realm = this.bindRealmWithCachedRoles();
+        final AuthorizationInfo roles = realm.getAuthorizationCache().get("TestGuy");
+        final TransactionMocker transaction = TransactionMocker.begin();
+        try {
+            userService.update(user);
+            assertEquals(roles, realm.getAuthorizationCache().get("TestGuy"));
+
+            transaction.commit();
+            assertNull(realm.getAuthorizationCache().get("TestGuy"));
+        } finally {
+            transaction.rollback();
+            ThreadContext.unbindSecurityManager();
+            ThreadContext.unbindSubject();
+        }
+    }
+
+    /**
+     * Test the cached roles of a user are kept if the update is rolled back.
+     *
+     * @throws ValidationException the validation exception
+     * @throws UpdateException the update exception
+     */
+    @Test
+    public void testUpdateRolledBackKeepsRealmCache() throws ValidationException, UpdateException {
+        final KCBRealm realm = this.bindRealmWithCachedRoles();
+        final TransactionMocker transaction = TransactionMocker.begin();
+        try {
+            userService.update(user);
+            transaction.rollback();
+            assertNotNull(realm.getAuthorizationCache().get("TestGuy"));
+        } finally {
+            transaction.rollback();
+            ThreadContext.unbindSecurityManager();
+            ThreadContext.unbindSubject();
+        }
+    }
+
+    /**
+     * Bind the executing subject and a security manager whose KCBRealm has cached the roles of the user,
+     * and let updates of the user succeed.
+     *
+     * @return the realm
+     * @throws ValidationException never
+     */
+    private KCBRealm bindRealmWithCachedRoles() throws ValidationException {
+        when(userValidator.validate(user)).thenReturn(true);
+        when(userRepository.findBy("123")).thenReturn(user);
+        when(userRepository.saveAndFlushAndRefresh(user)).thenReturn(user);
+        when(subject.getPrincipal()).thenReturn("TestGuy");
+
+        final KCBRealm realm = new KCBRealm();
+        realm.setCacheManager(new ExpiringCacheManager());
+        realm.getAuthorizationCache().put("TestGuy", new SimpleAuthorizationInfo(Collections.singleton("ADMIN")));
+        ThreadContext.bind(subject);
+        ThreadContext.bind(new DefaultSecurityManager(realm));
+        return realm;
+    }
+
     /**
      * Test update validate false.
      *
@@ -371,13 +467,9 @@ public class UserServiceTest {
      */
     @Test
     public void testSendNewAccountMail() throws MessagingException {
-        MimeMessage mimeMessage = mock(MimeMessage.class);
-        when(emailUtil.createMessage()).thenReturn(mimeMessage);
-
-        doNothing().when(mimeMessage).setContent(any());
+        when(user.getEmail()).thenReturn("user@example.com");
         userService.sendNewAccountMail(user);
-        verify(emailUtil, times(1)).send(any());
-
+        verify(emailUtil, times(1)).queue(eq("user@example.com"), any(), any(), any());
     }
 
     /**
@@ -387,11 +479,7 @@ public class UserServiceTest {
      */
     @Test(expected = MessagingException.class)
     public void testSendNewAccountMailFail() throws MessagingException {
-        MimeMessage mimeMessage = mock(MimeMessage.class);
-        when(emailUtil.createMessage()).thenReturn(mimeMessage);
-        doThrow(MessagingException.class).when(emailUtil).send(any());
-
-        doNothing().when(mimeMessage).setContent(any());
+        doThrow(MessagingException.class).when(emailUtil).queue(any(), any(), any(), any());
         userService.sendNewAccountMail(user);
     }
 
@@ -472,18 +560,19 @@ public class UserServiceTest {
     }
 
     /**
-     * Test get by ids.
+     * Test get by ids queries all users at once.
      */
-    @Test(expected = UnavailableSecurityManagerException.class)
+    @Test
     public void testGetByIds() {
         List<String> ids = new ArrayList<>();
         ids.add("123");
         List<User> users = new ArrayList<>();
         users.add(user);
 
-        when(userRepository.findBy("123")).thenReturn(user);
+        when(pageQuery.findByIds(User.class, ids)).thenReturn(users);
 
-        assertEquals(user, userService.getByIds(ids));
+        assertEquals(users, userService.getByIds(ids));
+        verify(userRepository, never()).findBy(anyString());
     }
 
     /**
@@ -491,13 +580,10 @@ public class UserServiceTest {
      */
     @Test
     public void testGetByIdsNull() {
-        List<String> ids = null;
-        List<User> users = new ArrayList<>();
-        users.add(user);
-
-        when(userRepository.findBy("123")).thenReturn(user);
+        when(pageQuery.findByIds(eq(User.class), any())).thenCallRealMethod();
 
         assertEquals(Collections.emptyList(), userService.getByIds(null));
+        verify(userRepository, never()).findBy(anyString());
     }
 
     /**
@@ -506,12 +592,10 @@ public class UserServiceTest {
     @Test
     public void testGetByIdsSizeZero() {
         List<String> ids = new ArrayList<>();
-        List<User> users = new ArrayList<>();
-        users.add(user);
-
-        when(userRepository.findBy("123")).thenReturn(user);
+        when(pageQuery.findByIds(eq(User.class), any())).thenCallRealMethod();
 
         assertEquals(Collections.emptyList(), userService.getByIds(ids));
+        verify(userRepository, never()).findBy(anyString());
     }
 
     /**
@@ -521,12 +605,10 @@ public class UserServiceTest {
     public void testGetByIdsNullID() {
         List<String> ids = new ArrayList<>();
         ids.add(null);
-        List<User> users = new ArrayList<>();
-        users.add(user);
-
-        when(userRepository.findBy("123")).thenReturn(user);
+        when(pageQuery.findByIds(eq(User.class), any())).thenCallRealMethod();
 
         assertEquals(Collections.emptyList(), userService.getByIds(ids));
+        verify(userRepository, never()).findBy(anyString());
     }
 
     /**
@@ -685,4 +767,53 @@ public class UserServiceTest {
 
         assertEquals(user, userService.toggleMenu(user));
     }
+
+    /**
+     * Test the executing user is loaded once per request.
+     */
+    @Test
+    public void testGetExecutingUserHeld() {
+        when(subject.getPrincipal()).thenReturn("TestGuy");
+        when(userRepository.findByUsername("TestGuy")).thenReturn(Collections.singletonList(user));
+        ThreadContext.bind(subject);
+        try {
+            assertEquals(user, userService.getExecutingUser());
+            assertEquals(user, userService.getExecutingUser());
+            verify(userRepository, times(1)).findByUsername("TestGuy");
+        } finally {
+            ThreadContext.unbindSubject();
+        }
+    }
+
+    /**
+     * Test the held user is only returned for the principal it was loaded for.
+     */
+    @Test
+    public void testGetExecutingUserOtherPrincipal() {
+        executingUserHolder.set("OtherGuy", mock(User.class));
+        when(subject.getPrincipal()).thenReturn("TestGuy");
+        when(userRepository.findByUsername("TestGuy")).thenReturn(Collections.singletonList(user));
+        ThreadContext.bind(subject);
+        try {
+            assertEquals(user, userService.getExecutingUser());
+        } finally {
+            ThreadContext.unbindSubject();
+        }
+    }
+
+    /**
+     * Test the executing username is resolved without loading the user.
+     */
+    @Test
+    public void testGetExecutingUsername() {
+        when(subject.getPrincipal()).thenReturn("TestGuy");
+        ThreadContext.bind(subject);
+        try {
+            assertEquals("TestGuy", userService.getExecutingUsername());
+            verify(userRepository, never()).findByUsername(any());
+        } finally {
+            ThreadContext.unbindSubject();
+        }
+    }
+
 }
@@ -1,7 +1,10 @@
 package de.unibremen.swp2.kcb.service;
 
 import de.unibremen.swp2.kcb.model.ValidationPattern;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
 import de.unibremen.swp2.kcb.persistence.ValidationPatternRepository;
+import de.unibremen.swp2.kcb.service.serviceExceptions.UpdateException;
+import de.unibremen.swp2.kcb.validator.ValidatorConfig;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.InjectMocks;
@@ -9,7 +12,8 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import static org.junit.Assert.assertEquals;
-import static org.mockito.Mockito.when;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.*;
 
 /**
  * The type Reg ex service test.
@@ -30,6 +34,18 @@ public class ValidationPatternServiceTest {
     @Mock
     ValidationPatternRepository validationPatternRepository;
 
+    /**
+     * Mocked version of EntityCache
+     */
+    @Mock
+    private EntityCache entityCache;
+
+    /**
+     * The validator config caching compiled patterns.
+     */
+    @Mock
+    ValidatorConfig validatorConfig;
+
     /**
      * SetUp Method to inject Mock-Objects.
      */
@@ -86,4 +102,30 @@ public class ValidationPatternServiceTest {
         assertEquals(validationPatternService.getRegEx("StateMachineName"), result);
     }
 
-}
\ No newline at end of file
+    /**
+     * Test get reg ex of missing pattern.
+     */
+    @Test
+    public void testGetRegExNotFound() {
+        assertNull(validationPatternService.getRegEx("missing"));
+    }
+
+    /**
+     * Test update invalidates the cached pattern.
+     *
+     * @throws UpdateException if update fails
+     */
+    @Test
+    public void testUpdateInvalidatesPattern() throws UpdateException {
+        ValidationPattern validationPattern = new ValidationPattern();
+        validationPattern.setName("Name");
+        validationPattern.setMinLength(1);
+        validationPattern.setMaxLength(20);
+        when(validationPatternRepository.findBy("Name")).thenReturn(validationPattern);
+
+        validationPatternService.update(validationPattern);
+        verify(validationPatternRepository, times(1)).save(validationPattern);
+        verify(validatorConfig, times(1)).invalidate("Name");
+    }
+
+}
@@ -0,0 +1,208 @@
+package de.unibremen.swp2.kcb.service;
+
+import de.unibremen.swp2.kcb.model.*;
+import de.unibremen.swp2.kcb.model.Locations.Workstation;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test Class to Test {@link WorkstationLoadService}
+ *
+ * @author Marius
+ */
+public class WorkstationLoadServiceTest {
+
+    /**
+     * Injected instance of WorkstationLoadService
+     */
+    @InjectMocks
+    private WorkstationLoadService service;
+
+    /**
+     * Mocked version of JobService
+     */
+    @Mock
+    private JobService jobService;
+
+    /**
+     * Mocked proxy of the WorkstationLoadService, delegating to the tested instance
+     */
+    @Mock
+    private WorkstationLoadService self;
+
+    /**
+     * Workstation executing the current procedure of the job
+     */
+    private Workstation workstation;
+
+    /**
+     * Active job at the workstation
+     */
+    private Job job;
+
+    /**
+     * Sets up method.
+     */
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        when(jobService.getActive()).thenReturn(new ArrayList<>());
+        when(self.reconcile()).thenAnswer(invocation -> service.reconcile());
+
+        workstation = new Workstation();
+        workstation.setId("workstation");
+
+        ProcessStep processStep = new ProcessStep();
+        processStep.setEstDuration(30);
+        Procedure procedure = new Procedure();
+        procedure.setProcessStep(processStep);
+        Assembly assembly = new Assembly();
+        assembly.setSampleCount(4);
+
+        JobProgress progress = new JobProgress();
+        progress.setProcedureCount(1);
+        progress.setCurrentProcedureIndex(0);
+        progress.setExecPhase(ExecPhase.RUNNING);
+        progress.setCurrentWorkstation(workstation);
+
+        job = new Job();
+        job.setId("job");
+        job.setJobState(JobState.PROCESSING);
+        job.setProcedures(Collections.singletonList(procedure));
+        job.setAssemblies(Collections.singletonList(assembly));
+        job.setProgress(progress);
+    }
+
+    /**
+     * Test sync adds the load of a running job to its workstation.
+     */
+    @Test
+    public void testSync() {
+        service.sync(job);
+        assertEquals(new WorkstationLoad(1, 1, 30, 4), service.get(workstation));
+    }
+
+    /**
+     * Test syncing a job twice doesn't count it twice.
+     */
+    @Test
+    public void testSyncTwice() {
+        service.sync(job);
+        job.getProgress().setExecPhase(ExecPhase.FINISHED);
+        service.sync(job);
+        assertEquals(new WorkstationLoad(1, 0, 30, 0), service.get(workstation));
+    }
+
+    /**
+     * Test remove drops the load of a job.
+     */
+    @Test
+    public void testRemove() {
+        service.sync(job);
+        service.remove(job);
+        assertTrue(service.get(workstation).isEmpty());
+    }
+
+    /**
+     * Test a finished job doesn't contribute to any workstation.
+     */
+    @Test
+    public void testSyncFinishedJob() {
+        service.sync(job);
+        job.setJobState(JobState.FINISHED);
+        service.sync(job);
+        assertTrue(service.get(workstation).isEmpty());
+    }
+
+    /**
+     * Test the load of a null workstation is empty.
+     */
+    @Test
+    public void testGetNull() {
+        assertTrue(service.get(null).isEmpty());
+        verify(jobService, never()).getActive();
+    }
+
+    /**
+     * Test the loads are computed once before the first read, through the proxy of the service.
+     */
+    @Test
+    public void testGetRebuildsOnce() {
+        when(jobService.getActive()).thenReturn(Collections.singletonList(job));
+        when(jobService.getProgress(job)).thenReturn(job.getProgress());
+
+        assertEquals(1, service.get(workstation).getActiveJobs());
+        assertEquals(1, service.get(workstation).getActiveJobs());
+        verify(self, times(1)).reconcile();
+        verify(jobService, times(1)).getActive();
+    }
+
+    /**
+     * Test reconcile reports and repairs drifted loads.
+     */
+    @Test
+    public void testReconcileDrift() {
+        assertEquals(0, service.reconcile());
+        service.sync(job);
+
+        assertEquals(1, service.reconcile());
+        assertTrue(service.get(workstation).isEmpty());
+    }
+
+    /**
+     * Test reconcile doesn't report loads maintained correctly.
+     */
+    @Test
+    public void testReconcileNoDrift() {
+        when(jobService.getActive()).thenReturn(Collections.singletonList(job));
+        when(jobService.getProgress(job)).thenReturn(job.getProgress());
+
+        service.reconcile();
+        service.sync(job);
+        assertEquals(0, service.reconcile());
+    }
+
+    /**
+     * Test a contribution applied while the reconciliation queries the active jobs isn't overwritten by the older snapshot.
+     */
+    @Test
+    public void testReconcileKeepsSyncDuringSnapshot() {
+        service.reconcile();
+        when(jobService.getActive()).thenAnswer(invocation -> {
+            service.sync(job);
+            return new ArrayList<>();
+        });
+
+        assertEquals(0, service.reconcile());
+        assertEquals(new WorkstationLoad(1, 1, 30, 4), service.get(workstation));
+    }
+
+    /**
+     * Test a job removed while the reconciliation queries the active jobs isn't restored by the older snapshot.
+     */
+    @Test
+    public void testReconcileKeepsRemoveDuringSnapshot() {
+        service.reconcile();
+        service.sync(job);
+        when(jobService.getProgress(job)).thenReturn(job.getProgress());
+        when(jobService.getActive()).thenAnswer(invocation -> {
+            service.remove(job);
+            return Collections.singletonList(job);
+        });
+
+        assertEquals(0, service.reconcile());
+        assertTrue(service.get(workstation).isEmpty());
+
+        when(jobService.getActive()).thenReturn(new ArrayList<>());
+        assertEquals(0, service.reconcile());
+    }
+}
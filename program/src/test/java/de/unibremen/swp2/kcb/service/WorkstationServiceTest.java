@@ -2,8 +2,12 @@ package de.unibremen.swp2.kcb.service;
 
 import de.unibremen.swp2.kcb.model.Locations.Workstation;
 import de.unibremen.swp2.kcb.model.User;
+import de.unibremen.swp2.kcb.model.WorkstationLoad;
+import de.unibremen.swp2.kcb.persistence.EntityCache;
+import de.unibremen.swp2.kcb.persistence.locations.WorkstationMembershipIndex;
 import de.unibremen.swp2.kcb.persistence.locations.WorkstationRepository;
 import de.unibremen.swp2.kcb.service.serviceExceptions.*;
+import de.unibremen.swp2.kcb.validator.backend.UserValidator;
 import de.unibremen.swp2.kcb.validator.backend.ValidationException;
 import de.unibremen.swp2.kcb.validator.backend.WorkstationValidator;
 import org.junit.Before;
@@ -13,6 +17,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import javax.persistence.PersistenceException;
+import java.util.Collections;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.*;
@@ -38,6 +43,30 @@ public class WorkstationServiceTest {
     @Mock
     private WorkstationValidator validator;
 
+    /**
+     * Mocked version of EntityCache
+     */
+    @Mock
+    private EntityCache entityCache;
+
+    /**
+     * Mocked version of WorkstationMembershipIndex
+     */
+    @Mock
+    private WorkstationMembershipIndex workstationMembershipIndex;
+
+    /**
+     * Mocked version of WorkstationLoadService
+     */
+    @Mock
+    private WorkstationLoadService workstationLoadService;
+
+    /**
+     * Mocked version of UserValidator
+     */
+    @Mock
+    private UserValidator userValidator;
+
     /**
      * Mocked version of repository
      */
@@ -181,6 +210,7 @@ public class WorkstationServiceTest {
 
         service.update(workstation);
         verify(repository, times(1)).saveAndFlushAndRefresh(workstation);
+        verify(workstationMembershipIndex, times(1)).invalidateAll();
     }
 
     /**
@@ -236,6 +266,7 @@ public class WorkstationServiceTest {
         setUpCreateUpdateDelete();
 
         service.delete(workstation);
+        verify(workstationMembershipIndex, times(1)).invalidateAll();
     }
 
     /**
@@ -287,4 +318,55 @@ public class WorkstationServiceTest {
         doThrow(PersistenceException.class).when(repository).findBy(anyString());
         service.getById("TestID");
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests, if getByUser queries the workstations of the user instead of walking all workstations.
+     *
+     * @throws ValidationException not expected
+     * @throws FindByException     not expected
+     */
+    @Test
+    public void testGetByUser() throws ValidationException, FindByException {
+        when(userValidator.validate(user)).thenReturn(true);
+        when(repository.findByUser(user)).thenReturn(Collections.singletonList(workstation));
+
+        assertEquals(Collections.singletonList(workstation), service.getByUser(user));
+        verify(repository, never()).findAll();
+    }
+
+    /**
+     * Tests, if getByUser throws a FindByException if the user is invalid.
+     *
+     * @throws ValidationException expected to be caught
+     * @throws FindByException     expected
+     */
+    @Test(expected = FindByException.class)
+    public void testGetByUserValidationFail() throws ValidationException, FindByException {
+        when(userValidator.validate(null)).thenThrow(new ValidationException("User was null."));
+        service.getByUser(null);
+    }
+
+    /**
+     * Tests that the load of a workstation is read from the maintained counters.
+     */
+    @Test
+    public void testGetLoad() {
+        when(workstationLoadService.get(workstation)).thenReturn(new WorkstationLoad(3, 2, 90, 12));
+        assertEquals(3, service.getActiveJobCount(workstation));
+        assertEquals(2, service.getRunningProcedureCount(workstation));
+        assertEquals(90, service.getActiveJobWorkload(workstation));
+        assertEquals(12, service.getActiveJobAssembliesCount(workstation));
+    }
+
+    /**
+     * Tests getActiveCount returns the counted active Workstations and zero if nothing was counted.
+     */
+    @Test
+    public void testGetActiveCount() {
+        when(repository.countByActive(true)).thenReturn(3L);
+        assertEquals(3, service.getActiveCount());
+
+        when(repository.countByActive(true)).thenReturn(null);
+        assertEquals(0, service.getActiveCount());
+    }
+}
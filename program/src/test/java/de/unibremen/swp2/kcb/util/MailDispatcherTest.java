@@ -0,0 +1,137 @@
+package de.unibremen.swp2.kcb.util;
+
+import de.unibremen.swp2.kcb.model.OutboxMail;
+import de.unibremen.swp2.kcb.service.OutboxMailService;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.mail.MessagingException;
+import javax.mail.Transport;
+import javax.mail.internet.MimeMessage;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test Class to Test {@link MailDispatcher} against a stand-in of the mail server.
+ *
+ * @author Marius
+ */
+public class MailDispatcherTest {
+
+    /**
+     * Injected instance of MailDispatcher
+     */
+    @InjectMocks
+    private MailDispatcher dispatcher;
+
+    /**
+     * Mocked version of OutboxMailService
+     */
+    @Mock
+    private OutboxMailService outboxMailService;
+
+    /**
+     * Mocked version of EmailUtil
+     */
+    @Mock
+    private EmailUtil emailUtil;
+
+    /**
+     * Stand-in of the connection to the mail server
+     */
+    @Mock
+    private Transport transport;
+
+    /**
+     * Queued mails
+     */
+    private OutboxMail first, second;
+
+    /**
+     * Messages of the queued mails
+     */
+    private MimeMessage firstMessage, secondMessage;
+
+    /**
+     * Sets up method.
+     *
+     * @throws MessagingException the messaging exception
+     */
+    @Before
+    public void setUp() throws MessagingException {
+        MockitoAnnotations.initMocks(this);
+        first = new OutboxMail();
+        second = new OutboxMail();
+        firstMessage = mock(MimeMessage.class);
+        secondMessage = mock(MimeMessage.class);
+        when(emailUtil.connect()).thenReturn(transport);
+        when(emailUtil.createMessage(first)).thenReturn(firstMessage);
+        when(emailUtil.createMessage(second)).thenReturn(secondMessage);
+        when(outboxMailService.getDue(MailDispatcher.BATCH_SIZE))
+                .thenReturn(Arrays.asList(first, second), Collections.emptyList());
+    }
+
+    /**
+     * Test all mails of a batch are sent over one connection.
+     *
+     * @throws MessagingException the messaging exception
+     */
+    @Test
+    public void testDispatch() throws MessagingException {
+        assertEquals(2, dispatcher.dispatch());
+        verify(emailUtil, times(1)).connect();
+        verify(transport, times(2)).sendMessage(any(), any());
+        verify(transport, times(1)).close();
+        verify(outboxMailService, times(1)).markSent(first);
+        verify(outboxMailService, times(1)).markSent(second);
+    }
+
+    /**
+     * Test a rejected mail is recorded as failed without affecting the other mails.
+     *
+     * @throws MessagingException the messaging exception
+     */
+    @Test
+    public void testDispatchRejected() throws MessagingException {
+        doThrow(new MessagingException("rejected")).when(transport).sendMessage(eq(firstMessage), any());
+
+        assertEquals(1, dispatcher.dispatch());
+        verify(outboxMailService, times(1)).markFailed(first, "rejected");
+        verify(outboxMailService, times(1)).markSent(second);
+        verify(transport, times(1)).close();
+    }
+
+    /**
+     * Test all mails are recorded as failed if the mail server can't be reached.
+     *
+     * @throws MessagingException the messaging exception
+     */
+    @Test
+    public void testDispatchUnreachable() throws MessagingException {
+        when(emailUtil.connect()).thenThrow(new MessagingException("unreachable"));
+
+        assertEquals(0, dispatcher.dispatch());
+        verify(outboxMailService, times(1)).markFailed(first, "unreachable");
+        verify(outboxMailService, times(1)).markFailed(second, "unreachable");
+        verify(outboxMailService, never()).markSent(any());
+    }
+
+    /**
+     * Test nothing is sent if no mail is due.
+     *
+     * @throws MessagingException the messaging exception
+     */
+    @Test
+    public void testDispatchEmpty() throws MessagingException {
+        when(outboxMailService.getDue(MailDispatcher.BATCH_SIZE)).thenReturn(Collections.emptyList());
+
+        assertEquals(0, dispatcher.dispatch());
+        verify(emailUtil, never()).connect();
+    }
+}
@@ -11,7 +11,7 @@ import org.mockito.MockitoAnnotations;
 import java.util.regex.Pattern;
 
 import static org.junit.Assert.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 /**
  * Test Class to test {@link de.unibremen.swp2.kcb.model.ValidationPattern}s.
@@ -89,4 +89,53 @@ public class ValidatorConfigTest {
         assertFalse("AssemblyId should not match pattern.", pattern.matcher("A98.9lsajdla").matches());
     }
 
+    /**
+     * Test compiled patterns are cached.
+     */
+    @Test
+    public void testPatternCached() {
+        when(validationPatternService.getRegEx("testCached")).thenReturn("^[a-z]+$");
+        Pattern pattern = validatorConfig.getPattern("testCached");
+        assertSame(pattern, validatorConfig.getPattern("testCached"));
+        assertEquals("^[a-z]+$", validatorConfig.getRegex("testCached"));
+        verify(validationPatternService, times(1)).getRegEx("testCached");
+    }
+
+    /**
+     * Test invalidated patterns are compiled again.
+     */
+    @Test
+    public void testInvalidate() {
+        when(validationPatternService.getRegEx("testInvalidate")).thenReturn("^[a-z]+$");
+        assertTrue(validatorConfig.getPattern("testInvalidate").matcher("foo").matches());
+
+        when(validationPatternService.getRegEx("testInvalidate")).thenReturn("^[0-9]+$");
+        validatorConfig.invalidate("testInvalidate");
+        assertFalse(validatorConfig.getPattern("testInvalidate").matcher("foo").matches());
+        assertTrue(validatorConfig.getPattern("testInvalidate").matcher("123").matches());
+    }
+
+    /**
+     * Test a regex read before a concurrent invalidation is not cached.
+     */
+    @Test
+    public void testInvalidateWhileReading() {
+        when(validationPatternService.getRegEx("testConcurrent")).thenAnswer(invocation -> {
+            validatorConfig.invalidate("testConcurrent");
+            return "^[a-z]+$";
+        }).thenReturn("^[0-9]+$");
+        assertTrue(validatorConfig.getPattern("testConcurrent").matcher("foo").matches());
+        assertTrue(validatorConfig.getPattern("testConcurrent").matcher("123").matches());
+    }
+
+    /**
+     * Test the default pattern of missing patterns is not cached.
+     */
+    @Test
+    public void testNotFoundNotCached() {
+        validatorConfig.getPattern("testMissing");
+        when(validationPatternService.getRegEx("testMissing")).thenReturn("^[a-z]+$");
+        assertFalse(validatorConfig.getPattern("testMissing").matcher("123").matches());
+    }
+
 }
@@ -0,0 +1,36 @@
+#!/usr/bin/env python
+
+__author__ = "Marius Schäffer"
+
+import time
+
+import requests
+from requests.auth import AuthBase, HTTPBasicAuth
+
+USERNAME = "admin"
+
+PASSWORD = "kcb"
+
+_tokens = {}
+
+
+class BearerAuth(AuthBase):
+    def __init__(self, token):
+        self.token = token
+
+    def __call__(self, r):
+        r.headers["Authorization"] = f"Bearer {self.token}"
+        return r
+
+
+def token_auth(url):
+    """Return bearer auth for the api at url. Tokens are issued with basic auth and reused until they expire."""
+    token, expires_at = _tokens.get(url, (None, 0))
+    if token is None or time.time() >= expires_at:
+        response = requests.post(f"{url}api/v1/auth/token", auth=HTTPBasicAuth(USERNAME, PASSWORD))
+        response.raise_for_status()
+        body = response.json()
+        token = body["token"]
+        # Renew shortly before the token expires
+        _tokens[url] = (token, time.time() + body["expiresIn"] - 30)
+    return BearerAuth(token)
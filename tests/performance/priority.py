@@ -6,7 +6,7 @@ import names
 __author__ = "Marius Schäffer"
 
 import requests
-from requests.auth import HTTPBasicAuth
+from api_token import token_auth
 
 
 def _create_priority_payload(value):
@@ -19,7 +19,7 @@ def _create_priority_payload(value):
 
 def create_priority(value, url):
     payload = _create_priority_payload(value)
-    response = requests.post(f"{url}api/v1/priority", json=payload, auth=HTTPBasicAuth("admin", "kcb"))
+    response = requests.post(f"{url}api/v1/priority", json=payload, auth=token_auth(url))
     if response.status_code == 200:
         print(f"Created priority for value {value}.")
     elif "message" in response.content:
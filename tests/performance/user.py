@@ -8,7 +8,7 @@ import random
 import names
 
 import requests
-from requests.auth import HTTPBasicAuth
+from api_token import token_auth
 
 AVAILABLE_ROLES = ["ADMIN", "PKP", "LOGISTIKER", "TRANSPORT", "TECHNOLOGE"]
 
@@ -49,7 +49,7 @@ def _create_user_payload(username, role):
 def create(username, url):
     role = _select_role()
     payload = _create_user_payload(username, role)
-    response = requests.post(f"{url}api/v1/user", json=payload, auth=HTTPBasicAuth("admin", "kcb"))
+    response = requests.post(f"{url}api/v1/user", json=payload, auth=token_auth(url))
     if not response.status_code == 200:
         logging.error(f"Couldn't create user {username}")
         return None
@@ -7,7 +7,7 @@ import names
 __author__ = "Marius Schäffer"
 
 import requests
-from requests.auth import HTTPBasicAuth
+from api_token import token_auth
 
 
 def _create_workstation_payload(i):
@@ -23,7 +23,7 @@ def _create_workstation_payload(i):
 
 def create_workstation(i, url):
     payload = _create_workstation_payload(i)
-    response = requests.post(f"{url}api/v1/workstation", json=payload, auth=HTTPBasicAuth("admin", "kcb"))
+    response = requests.post(f"{url}api/v1/workstation", json=payload, auth=token_auth(url))
     if response.status_code == 200:
         print(f"Created priority for workstation {i}.")
     elif "message" in response.content:
@@ -1,19 +1,44 @@
+import time
+
 import requests
+from requests.auth import AuthBase
+
+
+class BearerAuth(AuthBase):
+    def __init__(self, token):
+        self._token = token
+
+    def __call__(self, r):
+        r.headers["Authorization"] = f"Bearer {self._token}"
+        return r
 
 
 class AuthcRequest(object):
     def __init__(self, username, password):
         self._username = username
         self._password = password
+        self._token = None
+        self._expires_at = 0
 
     def get(self, url):
-        return requests.get(self._update_url(url), auth=(self._username, self._password))
+        return requests.get(self._update_url(url), auth=self._auth(url))
 
     def post(self, url, json=None):
-        return requests.post(self._update_url(url), auth=(self._username, self._password), json=json)
+        return requests.post(self._update_url(url), auth=self._auth(url), json=json)
 
     def put(self, url, json=None):
-        return requests.put(self._update_url(url), auth=(self._username, self._password), json=json)
+        return requests.put(self._update_url(url), auth=self._auth(url), json=json)
+
+    def _auth(self, url):
+        # Basic auth is only used to issue an api token, which is reused until it expires
+        if self._token is None or time.time() >= self._expires_at:
+            token_url = url[:url.index("/api/")] + "/api/v1/auth/token"
+            response = requests.post(self._update_url(token_url), auth=(self._username, self._password))
+            response.raise_for_status()
+            body = response.json()
+            self._token = body["token"]
+            self._expires_at = time.time() + body["expiresIn"] - 30
+        return BearerAuth(self._token)
 
     @staticmethod
     def _update_url(url):